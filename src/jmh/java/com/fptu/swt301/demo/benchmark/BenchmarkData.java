@@ -0,0 +1,77 @@
+package com.fptu.swt301.demo.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Đọc input shape cho benchmark từ các CSV test data dưới src/main/resources
+ * (cùng format với các test: header ở dòng đầu, bỏ qua dòng trống và comment #)
+ */
+final class BenchmarkData {
+
+    static final String LAB2_CSV = "/lab2/lab2_test_data.csv";
+    static final String PREMIUM_CSV = "/insurance/insurance_premium_test_data.csv";
+    static final String BROKER_PROFILE_CSV = "/insurance/broker_profile_test_data.csv";
+    static final String CALCULATOR_CSV = "/calculator/calculator_test_data.csv";
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Đọc toàn bộ dòng dữ liệu (không gồm header)
+     */
+    static List<String[]> rows(String resourcePath) {
+        List<String[]> rows = new ArrayList<>();
+        try (InputStream inputStream = BenchmarkData.class.getResourceAsStream(resourcePath)) {
+            if (inputStream == null) {
+                throw new IllegalStateException("Benchmark data not found: " + resourcePath);
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+            reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty() || line.trim().startsWith("#")) {
+                    continue;
+                }
+                String[] values = line.split(",", -1);
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = values[i].trim();
+                }
+                rows.add(values);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read benchmark data " + resourcePath, e);
+        }
+        return rows;
+    }
+
+    /**
+     * Đọc dòng dữ liệu theo testCaseId (cột đầu tiên)
+     */
+    static Map<String, String[]> rowsById(String resourcePath) {
+        Map<String, String[]> rowsById = new LinkedHashMap<>();
+        for (String[] row : rows(resourcePath)) {
+            rowsById.put(row[0], row);
+        }
+        return rowsById;
+    }
+
+    /**
+     * Tìm một test case, fail sớm nếu @Param trỏ tới id không còn trong CSV
+     */
+    static String[] row(String resourcePath, String testCaseId) {
+        String[] row = rowsById(resourcePath).get(testCaseId);
+        if (row == null) {
+            throw new IllegalStateException("Test case " + testCaseId + " not found in " + resourcePath);
+        }
+        return row;
+    }
+}
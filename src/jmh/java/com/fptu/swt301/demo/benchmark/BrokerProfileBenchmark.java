@@ -0,0 +1,105 @@
+package com.fptu.swt301.demo.benchmark;
+
+import com.fptu.swt301.demo.insurance.domain.model.BrokerProfile;
+import com.fptu.swt301.demo.insurance.domain.valueobject.PhoneNumber;
+import com.fptu.swt301.demo.insurance.exception.ValidationException;
+import com.fptu.swt301.demo.insurance.service.validator.ProfileValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark cho ProfileValidator (validate, stackless validate, check) và
+ * PhoneNumber (of, tryParse)
+ *
+ * Input shape lấy từ broker_profile_test_data.csv: profile hợp lệ, phone biên
+ * (9/10/11/12 chữ số), thiếu field và title không hợp lệ. Với input không hợp
+ * lệ, benchmark đo cả chi phí tạo ValidationException.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BrokerProfileBenchmark {
+
+    @Param({ "TC_P01", "TC_P03", "TC_P09", "TC_P10", "TC_P11", "TC_P12", "TC_P15", "TC_P29" })
+    private String testCaseId;
+
+    private final ProfileValidator validator = new ProfileValidator();
+    private final ProfileValidator stacklessValidator = new ProfileValidator(true);
+    private BrokerProfile profile;
+    private String phone;
+
+    @Setup
+    public void setUp() {
+        String[] row = BenchmarkData.row(BenchmarkData.BROKER_PROFILE_CSV, testCaseId);
+        phone = row[6];
+        profile = BrokerProfile.builder()
+                .userId(row[2])
+                .title(row[3])
+                .firstName(row[4])
+                .surname(row[5])
+                .phone(row[6])
+                .dateOfBirth(row[7].isEmpty() || "null".equalsIgnoreCase(row[7]) ? null : LocalDate.parse(row[7]))
+                .licenseType(row[8])
+                .licensePeriod(Integer.parseInt(row[9]))
+                .occupation(row[10])
+                .street(row[11])
+                .city(row[12])
+                .county(row[13])
+                .postCode(row[14])
+                .build();
+    }
+
+    @Benchmark
+    public Object validate() {
+        try {
+            validator.validate(profile);
+            return profile;
+        } catch (ValidationException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object validateStackless() {
+        try {
+            stacklessValidator.validate(profile);
+            return profile;
+        } catch (ValidationException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object check() {
+        return validator.check(profile);
+    }
+
+    @Benchmark
+    public Object phoneNumberOf() {
+        try {
+            return PhoneNumber.of(phone);
+        } catch (ValidationException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object phoneNumberTryParse() {
+        return PhoneNumber.tryParse(phone);
+    }
+}
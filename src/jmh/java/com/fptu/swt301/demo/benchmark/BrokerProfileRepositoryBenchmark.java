@@ -0,0 +1,126 @@
+package com.fptu.swt301.demo.benchmark;
+
+import com.fptu.swt301.demo.insurance.domain.model.BrokerProfile;
+import com.fptu.swt301.demo.insurance.repository.BrokerProfileRepository;
+import com.fptu.swt301.demo.insurance.repository.InMemoryBrokerProfileRepository;
+import com.fptu.swt301.demo.insurance.repository.JdbcBrokerProfileRepository;
+import com.fptu.swt301.demo.insurance.repository.OffHeapBrokerProfileRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * So sánh InMemoryBrokerProfileRepository, OffHeapBrokerProfileRepository và
+ * JdbcBrokerProfileRepository (H2 in-memory, có/không có cache) cho bulk load
+ * và point lookup
+ *
+ * Profile được tạo từ các dòng hợp lệ của broker_profile_test_data.csv, nhân
+ * bản với userId khác nhau tới profileCount.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BrokerProfileRepositoryBenchmark {
+
+    @Param({ "inMemory", "offHeap", "jdbc", "jdbcNoCache" })
+    private String repositoryType;
+
+    @Param({ "1000" })
+    private int profileCount;
+
+    private BrokerProfileRepository repository;
+    private List<BrokerProfile> profiles;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        List<String[]> rows = new ArrayList<>();
+        for (String[] row : BenchmarkData.rows(BenchmarkData.BROKER_PROFILE_CSV)) {
+            if (row[15].endsWith("- Valid") && !row[7].isEmpty() && !"null".equalsIgnoreCase(row[7])) {
+                rows.add(row);
+            }
+        }
+        profiles = new ArrayList<>(profileCount);
+        for (int i = 0; i < profileCount; i++) {
+            String[] row = rows.get(i % rows.size());
+            profiles.add(BrokerProfile.builder()
+                    .userId(row[2] + "-" + i)
+                    .title(row[3])
+                    .firstName(row[4])
+                    .surname(row[5])
+                    .phone(row[6])
+                    .dateOfBirth(LocalDate.parse(row[7]))
+                    .licenseType(row[8])
+                    .licensePeriod(Integer.parseInt(row[9]))
+                    .occupation(row[10])
+                    .street(row[11])
+                    .city(row[12])
+                    .county(row[13])
+                    .postCode(row[14])
+                    .build());
+        }
+
+        String url = "jdbc:h2:mem:broker_profile_benchmark_" + repositoryType + ";DB_CLOSE_DELAY=-1";
+        switch (repositoryType) {
+            case "jdbc":
+                repository = new JdbcBrokerProfileRepository(url);
+                break;
+            case "jdbcNoCache":
+                repository = new JdbcBrokerProfileRepository(url, null, null, 0);
+                break;
+            case "offHeap":
+                repository = new OffHeapBrokerProfileRepository();
+                break;
+            default:
+                repository = new InMemoryBrokerProfileRepository();
+        }
+        bulkLoad();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (repository instanceof JdbcBrokerProfileRepository) {
+            ((JdbcBrokerProfileRepository) repository).close();
+        }
+    }
+
+    /**
+     * Xoá rồi load lại toàn bộ profile (JDBC: một batch trong một transaction)
+     */
+    @Benchmark
+    public long bulkLoad() {
+        repository.deleteAll();
+        if (repository instanceof JdbcBrokerProfileRepository) {
+            ((JdbcBrokerProfileRepository) repository).saveAll(profiles);
+        } else {
+            for (BrokerProfile profile : profiles) {
+                repository.save(profile);
+            }
+        }
+        return repository.count();
+    }
+
+    @Benchmark
+    public Object findByUserId() {
+        BrokerProfile profile = profiles.get(next);
+        next = (next + 1) % profiles.size();
+        return repository.findByUserId(profile.getUserId());
+    }
+}
@@ -0,0 +1,96 @@
+package com.fptu.swt301.demo.benchmark;
+
+import com.fptu.swt301.demo.lab2.domain.model.CalorieCalculationRequest;
+import com.fptu.swt301.demo.lab2.domain.valueobject.SwimmingStyle;
+import com.fptu.swt301.demo.lab2.repository.BulkCalorieCalculator;
+import com.fptu.swt301.demo.lab2.repository.InMemoryCalorieCalculationRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * So sánh BulkCalorieCalculator (Vector API và scalar) với việc gọi
+ * calculateCaloriesBurned / calculateCaloriesPerMinute cho từng buổi bơi
+ *
+ * Vector API chỉ được dùng khi chạy cùng profile vector
+ * (mvn -Pbenchmarks,vector ...); không có profile này bulk đo vòng lặp scalar.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkCalorieBenchmark {
+
+    @Param({ "100000" })
+    private int sessionCount;
+
+    private int[] styleOrdinals;
+    private double[] durationsMin;
+    private double[] bodyWeightsKg;
+    private double[] caloriesBurned;
+    private double[] caloriesPerMinute;
+    private CalorieCalculationRequest[] requests;
+    private InMemoryCalorieCalculationRepository repository;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42L);
+        SwimmingStyle[] styles = SwimmingStyle.values();
+        styleOrdinals = new int[sessionCount];
+        durationsMin = new double[sessionCount];
+        bodyWeightsKg = new double[sessionCount];
+        caloriesBurned = new double[sessionCount];
+        caloriesPerMinute = new double[sessionCount];
+        requests = new CalorieCalculationRequest[sessionCount];
+        for (int i = 0; i < sessionCount; i++) {
+            styleOrdinals[i] = random.nextInt(styles.length);
+            durationsMin[i] = 10 + random.nextInt(110);
+            bodyWeightsKg[i] = 45 + random.nextDouble() * 60;
+            requests[i] = CalorieCalculationRequest.builder()
+                    .swimmingStyle(styles[styleOrdinals[i]])
+                    .durationMin(durationsMin[i])
+                    .bodyWeightKg(bodyWeightsKg[i])
+                    .build();
+        }
+        repository = new InMemoryCalorieCalculationRepository(1);
+    }
+
+    @Benchmark
+    public double[] bulk() {
+        BulkCalorieCalculator.calculate(styleOrdinals, durationsMin, bodyWeightsKg, caloriesBurned,
+                caloriesPerMinute);
+        return caloriesBurned;
+    }
+
+    @Benchmark
+    public double[] bulkScalar() {
+        BulkCalorieCalculator.calculateScalar(styleOrdinals, durationsMin, bodyWeightsKg, caloriesBurned,
+                caloriesPerMinute);
+        return caloriesBurned;
+    }
+
+    /**
+     * Từng request qua repository (bao gồm ghi lịch sử vào ring buffer 1 entry)
+     */
+    @Benchmark
+    public double[] perRequest() {
+        for (int i = 0; i < requests.length; i++) {
+            caloriesBurned[i] = repository.calculateCaloriesBurned(requests[i]);
+            caloriesPerMinute[i] = repository.calculateCaloriesPerMinute(requests[i]);
+        }
+        return caloriesBurned;
+    }
+}
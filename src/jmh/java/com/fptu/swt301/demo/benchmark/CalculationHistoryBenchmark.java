@@ -0,0 +1,59 @@
+package com.fptu.swt301.demo.benchmark;
+
+import com.fptu.swt301.demo.lab2.domain.model.CalorieCalculationRequest;
+import com.fptu.swt301.demo.lab2.domain.valueobject.SwimmingStyle;
+import com.fptu.swt301.demo.lab2.repository.InMemoryCalorieCalculationRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark throughput của InMemoryCalorieCalculationRepository khi nhiều
+ * thread cùng tính toán và ghi lịch sử vào một repository dùng chung
+ *
+ * Đo scaling bằng cách chạy lại với số thread khác nhau, ví dụ:
+ * -Djmh.args="CalculationHistory -t 1" rồi "-t 4", "-t 8"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(Threads.MAX)
+public class CalculationHistoryBenchmark {
+
+    private InMemoryCalorieCalculationRepository repository;
+    private CalorieCalculationRequest request;
+
+    @Setup
+    public void setUp() {
+        repository = new InMemoryCalorieCalculationRepository();
+        request = CalorieCalculationRequest.builder()
+                .swimmingStyle(SwimmingStyle.CRAWL_RECREATIONAL)
+                .durationMin(30.0)
+                .bodyWeightKg(70.0)
+                .build();
+    }
+
+    @Setup(Level.Iteration)
+    public void clearHistory() {
+        repository.clearHistory();
+    }
+
+    @Benchmark
+    public double calculateAndRecord() {
+        return repository.calculateCaloriesBurned(request);
+    }
+}
@@ -0,0 +1,95 @@
+package com.fptu.swt301.demo.benchmark;
+
+import com.fptu.swt301.demo.calculator.Calculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark cho Calculator
+ *
+ * Chạy toàn bộ các dòng của calculator_test_data.csv (kể cả chia cho 0) mỗi
+ * invocation; thời gian báo cáo là cho cả bảng.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculatorBenchmark {
+
+    private static final int ADD = 0;
+    private static final int SUBTRACT = 1;
+    private static final int MULTIPLY = 2;
+    private static final int DIVIDE = 3;
+
+    private final Calculator calculator = new Calculator();
+    private double[] a;
+    private double[] b;
+    private int[] operations;
+
+    @Setup
+    public void setUp() {
+        List<String[]> rows = BenchmarkData.rows(BenchmarkData.CALCULATOR_CSV);
+        a = new double[rows.size()];
+        b = new double[rows.size()];
+        operations = new int[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            String[] row = rows.get(i);
+            a[i] = Double.parseDouble(row[0]);
+            b[i] = Double.parseDouble(row[1]);
+            operations[i] = operationOf(row[2]);
+        }
+    }
+
+    @Benchmark
+    public double calculateAll() {
+        double sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            switch (operations[i]) {
+                case ADD:
+                    sum += calculator.add(a[i], b[i]);
+                    break;
+                case SUBTRACT:
+                    sum += calculator.subtract(a[i], b[i]);
+                    break;
+                case MULTIPLY:
+                    sum += calculator.multiply(a[i], b[i]);
+                    break;
+                default:
+                    try {
+                        sum += calculator.divide(a[i], b[i]);
+                    } catch (ArithmeticException e) {
+                        sum -= 1;
+                    }
+            }
+        }
+        return sum;
+    }
+
+    private static int operationOf(String operation) {
+        switch (operation.toLowerCase()) {
+            case "add":
+                return ADD;
+            case "subtract":
+                return SUBTRACT;
+            case "multiply":
+                return MULTIPLY;
+            case "divide":
+                return DIVIDE;
+            default:
+                throw new IllegalStateException("Unknown operation: " + operation);
+        }
+    }
+}
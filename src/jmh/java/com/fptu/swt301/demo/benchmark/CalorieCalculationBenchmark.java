@@ -0,0 +1,94 @@
+package com.fptu.swt301.demo.benchmark;
+
+import com.fptu.swt301.demo.lab2.domain.model.CalorieCalculationRequest;
+import com.fptu.swt301.demo.lab2.repository.InMemoryCalorieCalculationRepository;
+import com.fptu.swt301.demo.lab2.service.CalorieResult;
+import com.fptu.swt301.demo.lab2.service.SwimmingCalorieService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark cho InMemoryCalorieCalculationRepository.calculateCaloriesBurned
+ *
+ * Input shape lấy từ lab2_test_data.csv: body weight/duration biên, MET cao
+ * nhất/thấp nhất và các tổ hợp. Mỗi lần gọi đều ghi lịch sử nên lịch sử được
+ * clear sau mỗi iteration để tránh đo cả chi phí tăng trưởng bộ nhớ.
+ *
+ * separateServiceCalls / serviceCalculateAll: UI cần cả giá trị làm tròn,
+ * exact, per minute và chuỗi formatted (gọi từng method so với calculateAll).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalorieCalculationBenchmark {
+
+    @Param({ "TC03", "TC05", "TC06", "TC11", "TC22", "TC27", "TC29" })
+    private String testCaseId;
+
+    private InMemoryCalorieCalculationRepository repository;
+    private CalorieCalculationRequest request;
+    private SwimmingCalorieService service;
+
+    @Setup
+    public void setUp() {
+        repository = new InMemoryCalorieCalculationRepository();
+        service = new SwimmingCalorieService(repository);
+
+        String[] row = BenchmarkData.row(BenchmarkData.LAB2_CSV, testCaseId);
+        request = CalorieCalculationRequest.builder()
+                .swimmingStyle(row[2])
+                .durationMin(Double.parseDouble(row[3]))
+                .bodyWeightKg(Double.parseDouble(row[4]))
+                .build();
+    }
+
+    @Setup(Level.Iteration)
+    public void clearHistory() {
+        repository.clearHistory();
+    }
+
+    @Benchmark
+    public double calculateCaloriesBurned() {
+        return repository.calculateCaloriesBurned(request);
+    }
+
+    @Benchmark
+    public double calculateCaloriesBurnedExact() {
+        return repository.calculateCaloriesBurnedExact(request);
+    }
+
+    @Benchmark
+    public void separateServiceCalls(Blackhole blackhole) {
+        blackhole.consume(service.calculateCaloriesBurned(request));
+        blackhole.consume(service.calculateCaloriesBurnedExact(request));
+        blackhole.consume(service.calculateCaloriesPerMinute(request));
+        blackhole.consume(service.calculateCaloriesBurnedFormatted(request, false));
+        blackhole.consume(service.calculateCaloriesPerMinuteFormatted(request, false));
+    }
+
+    @Benchmark
+    public void serviceCalculateAll(Blackhole blackhole) {
+        CalorieResult result = service.calculateAll(request);
+        blackhole.consume(result.getCaloriesBurned());
+        blackhole.consume(result.getCaloriesBurnedExact());
+        blackhole.consume(result.getCaloriesPerMinute());
+        blackhole.consume(result.getCaloriesBurnedFormatted(false));
+        blackhole.consume(result.getCaloriesPerMinuteFormatted(false));
+    }
+}
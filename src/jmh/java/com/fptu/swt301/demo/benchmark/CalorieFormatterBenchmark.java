@@ -0,0 +1,81 @@
+package com.fptu.swt301.demo.benchmark;
+
+import com.fptu.swt301.demo.lab2.service.CalorieFormatter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.DecimalFormat;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark cho CalorieFormatter
+ *
+ * Giá trị format là expected result của lab2_test_data.csv (giá trị nhỏ,
+ * chuẩn và lớn nhất).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalorieFormatterBenchmark {
+
+    @Param({ "TC03", "TC05", "TC06", "TC28" })
+    private String testCaseId;
+
+    private double calories;
+    private final DecimalFormat decimalFormat = new DecimalFormat("0.00");
+    private final StringBuilder builder = new StringBuilder(32);
+
+    @Setup
+    public void setUp() {
+        calories = Double.parseDouble(BenchmarkData.row(BenchmarkData.LAB2_CSV, testCaseId)[5]);
+    }
+
+    @Benchmark
+    public String formatTotalCalories() {
+        return CalorieFormatter.formatTotalCalories(calories);
+    }
+
+    @Benchmark
+    public String formatTotalCaloriesDetailed() {
+        return CalorieFormatter.formatTotalCaloriesDetailed(calories);
+    }
+
+    @Benchmark
+    public String formatTotalCaloriesEuropean() {
+        return CalorieFormatter.formatTotalCaloriesEuropean(calories);
+    }
+
+    /**
+     * Ghi vào StringBuilder dùng lại (không tạo String)
+     */
+    @Benchmark
+    public StringBuilder formatTotalCaloriesTo() {
+        builder.setLength(0);
+        return CalorieFormatter.DECIMAL_2.formatTo(calories, builder);
+    }
+
+    /**
+     * DecimalFormat("0.00") riêng cho thread, như cách format trước đây
+     */
+    @Benchmark
+    public String decimalFormat() {
+        return decimalFormat.format(calories);
+    }
+
+    @Benchmark
+    public String formatWithUnit() {
+        return CalorieFormatter.formatWithUnit(calories, false);
+    }
+}
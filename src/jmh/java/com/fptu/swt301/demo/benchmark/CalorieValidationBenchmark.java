@@ -0,0 +1,86 @@
+package com.fptu.swt301.demo.benchmark;
+
+import com.fptu.swt301.demo.lab2.domain.model.CalorieCalculationRequest;
+import com.fptu.swt301.demo.lab2.domain.valueobject.SwimmingStyle;
+import com.fptu.swt301.demo.lab2.exception.ValidationException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark cho validation của CalorieCalculationRequest (build + throw,
+ * build + throw + getMessage, check, isValid)
+ *
+ * Input (body weight:duration): hợp lệ, body weight âm (message %.60f) và
+ * duration quá nhỏ.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalorieValidationBenchmark {
+
+    @Param({ "70.0:30.0", "-5.0:30.0", "70.0:1e-70" })
+    private String weightAndDuration;
+
+    private double bodyWeightKg;
+    private double durationMin;
+
+    @Setup
+    public void setUp() {
+        String[] parts = weightAndDuration.split(":");
+        bodyWeightKg = Double.parseDouble(parts[0]);
+        durationMin = Double.parseDouble(parts[1]);
+    }
+
+    @Benchmark
+    public Object build() {
+        try {
+            return CalorieCalculationRequest.builder()
+                    .swimmingStyle(SwimmingStyle.BUTTERFLY)
+                    .durationMin(durationMin)
+                    .bodyWeightKg(bodyWeightKg)
+                    .build();
+        } catch (ValidationException e) {
+            return e;
+        }
+    }
+
+    /**
+     * Như cách làm trước đây: message luôn được format
+     */
+    @Benchmark
+    public Object buildWithMessage() {
+        try {
+            return CalorieCalculationRequest.builder()
+                    .swimmingStyle(SwimmingStyle.BUTTERFLY)
+                    .durationMin(durationMin)
+                    .bodyWeightKg(bodyWeightKg)
+                    .build();
+        } catch (ValidationException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public Object check() {
+        return CalorieCalculationRequest.check(SwimmingStyle.BUTTERFLY, durationMin, bodyWeightKg);
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return CalorieCalculationRequest.isValid(SwimmingStyle.BUTTERFLY, durationMin, bodyWeightKg);
+    }
+}
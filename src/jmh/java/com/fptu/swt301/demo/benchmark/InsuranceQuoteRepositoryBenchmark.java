@@ -0,0 +1,96 @@
+package com.fptu.swt301.demo.benchmark;
+
+import com.fptu.swt301.demo.insurance.domain.model.InsuranceQuote;
+import com.fptu.swt301.demo.insurance.domain.model.PremiumCalculationRequest;
+import com.fptu.swt301.demo.insurance.repository.MappedInsuranceQuoteRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Đo save/delete và retrieve của MappedInsuranceQuoteRepository
+ *
+ * saveAndDelete giữ số quote ổn định (mỗi quote mới thay một quote cũ) nên
+ * compaction tự động được tính vào thời gian đo.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InsuranceQuoteRepositoryBenchmark {
+
+    @Param({ "100000" })
+    private int quoteCount;
+
+    private Path journal;
+    private MappedInsuranceQuoteRepository repository;
+    private InsuranceQuote[] quotes;
+    private int nextLookup;
+    private int nextSave;
+
+    @Setup
+    public void setUp() throws IOException {
+        journal = Files.createTempFile("quote-benchmark", ".journal");
+        repository = new MappedInsuranceQuoteRepository(journal);
+        PremiumCalculationRequest request = PremiumCalculationRequest.builder()
+                .breakdownCover("At home")
+                .windscreenRepair(true)
+                .numberOfAccidents(1)
+                .totalMileage(10000)
+                .estimatedValue(6000)
+                .parkingLocation("Garage")
+                .build();
+        quotes = new InsuranceQuote[quoteCount];
+        for (int i = 0; i < quoteCount; i++) {
+            quotes[i] = InsuranceQuote.builder()
+                    .identificationNumber(String.valueOf(10000 + i))
+                    .request(request)
+                    .calculatedPremium(500 + i % 100)
+                    .userId("SE" + i)
+                    .registrationNumber("29A-" + i)
+                    .startOfPolicy("2024-06-01")
+                    .build();
+            repository.save(quotes[i]);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        repository.close();
+        Files.deleteIfExists(journal);
+    }
+
+    @Benchmark
+    public Object findByIdentificationNumber() {
+        InsuranceQuote quote = quotes[nextLookup];
+        nextLookup = (nextLookup + 1) % quotes.length;
+        return repository.findByIdentificationNumber(quote.getIdentificationNumber());
+    }
+
+    /**
+     * Xoá rồi lưu lại cùng quote (một tombstone và một entry mới mỗi lần)
+     */
+    @Benchmark
+    public boolean saveAndDelete() {
+        InsuranceQuote quote = quotes[nextSave];
+        nextSave = (nextSave + 1) % quotes.length;
+        repository.delete(quote.getIdentificationNumber());
+        return repository.save(quote);
+    }
+}
@@ -0,0 +1,86 @@
+package com.fptu.swt301.demo.benchmark;
+
+import com.fptu.swt301.demo.insurance.domain.model.PremiumCalculationRequest;
+import com.fptu.swt301.demo.insurance.service.PremiumCalculationService;
+import com.fptu.swt301.demo.insurance.service.rule.PremiumRuleSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark cho PremiumCalculationService.calculatePremium (cả request và
+ * convenience overload)
+ *
+ * Input shape lấy từ insurance_premium_test_data.csv: giá trị biên 100/101,
+ * tariff tối thiểu, tổ hợp nhiều phụ phí và xe giá trị cao.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PremiumCalculationBenchmark {
+
+    @Param({ "TC02", "TC03", "TC10", "TC18", "TC26", "TC27" })
+    private String testCaseId;
+
+    /**
+     * scalar: rule pipeline, table: precomputed lookup table
+     */
+    @Param({ "scalar", "table" })
+    private String mode;
+
+    private PremiumCalculationService service;
+    private PremiumCalculationRequest request;
+
+    private String breakdownCover;
+    private String windscreenRepair;
+    private int numberOfAccidents;
+    private int totalMileage;
+    private double estimatedValue;
+    private String parkingLocation;
+
+    @Setup
+    public void setUp() {
+        service = new PremiumCalculationService(PremiumRuleSet.defaultRules().compile(), "table".equals(mode));
+
+        String[] row = BenchmarkData.row(BenchmarkData.PREMIUM_CSV, testCaseId);
+        breakdownCover = row[2];
+        windscreenRepair = row[3];
+        numberOfAccidents = Integer.parseInt(row[4]);
+        totalMileage = Integer.parseInt(row[5]);
+        estimatedValue = Double.parseDouble(row[6]);
+        parkingLocation = row[7];
+
+        request = PremiumCalculationRequest.builder()
+                .breakdownCover(breakdownCover)
+                .windscreenRepair(windscreenRepair)
+                .numberOfAccidents(numberOfAccidents)
+                .totalMileage(totalMileage)
+                .estimatedValue(estimatedValue)
+                .parkingLocation(parkingLocation)
+                .build();
+    }
+
+    @Benchmark
+    public double calculatePremiumRequest() {
+        return service.calculatePremium(request);
+    }
+
+    @Benchmark
+    public double calculatePremiumFields() {
+        return service.calculatePremium(breakdownCover, windscreenRepair, numberOfAccidents, totalMileage,
+                estimatedValue, parkingLocation);
+    }
+}
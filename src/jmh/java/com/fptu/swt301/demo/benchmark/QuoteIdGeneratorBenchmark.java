@@ -0,0 +1,62 @@
+package com.fptu.swt301.demo.benchmark;
+
+import com.fptu.swt301.demo.insurance.domain.id.QuoteIdGenerator;
+import com.fptu.swt301.demo.insurance.domain.id.RandomQuoteIdGenerator;
+import com.fptu.swt301.demo.insurance.domain.id.SequenceQuoteIdGenerator;
+import com.fptu.swt301.demo.insurance.domain.id.SnowflakeQuoteIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * So sánh các QuoteIdGenerator với cách cũ (new Random() mỗi quote, 5 chữ
+ * số) khi nhiều thread cùng dùng một generator
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class QuoteIdGeneratorBenchmark {
+
+    @Param({ "legacyRandom", "sequence", "snowflake", "threadLocalRandom" })
+    private String generatorType;
+
+    private QuoteIdGenerator generator;
+
+    @Setup
+    public void setUp() {
+        switch (generatorType) {
+            case "sequence":
+                generator = new SequenceQuoteIdGenerator();
+                break;
+            case "snowflake":
+                generator = new SnowflakeQuoteIdGenerator(1);
+                break;
+            case "threadLocalRandom":
+                generator = new RandomQuoteIdGenerator();
+                break;
+            default:
+                generator = () -> String.valueOf(10000 + new Random().nextInt(90000));
+        }
+    }
+
+    @Benchmark
+    public String nextId() {
+        return generator.nextId();
+    }
+}
@@ -0,0 +1,87 @@
+package com.fptu.swt301.demo.benchmark;
+
+import com.fptu.swt301.demo.common.DecimalRounding;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * So sánh cách làm tròn cũ (Math.pow + Math.round mỗi lần gọi) với
+ * DecimalRounding.round / roundExact và BigDecimal
+ *
+ * Một nửa input có dạng x.xx5 (sát ranh giới làm tròn) để roundExact phải đi
+ * qua nhánh BigDecimal.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoundingBenchmark {
+
+    private static final int DECIMAL_PLACES = 2;
+    private static final int VALUE_COUNT = 1024;
+
+    private double[] values;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42L);
+        values = new double[VALUE_COUNT];
+        for (int i = 0; i < VALUE_COUNT; i++) {
+            values[i] = i % 2 == 0
+                    ? (random.nextInt(100_000) * 10 + 5) / 1000.0
+                    : random.nextDouble() * 1000;
+        }
+    }
+
+    @Benchmark
+    public double legacyMathPow() {
+        double sum = 0;
+        for (double value : values) {
+            double multiplier = Math.pow(10, DECIMAL_PLACES);
+            sum += Math.round(value * multiplier) / multiplier;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double round() {
+        double sum = 0;
+        for (double value : values) {
+            sum += DecimalRounding.round(value, DECIMAL_PLACES);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double roundExact() {
+        double sum = 0;
+        for (double value : values) {
+            sum += DecimalRounding.roundExact(value, DECIMAL_PLACES);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public double bigDecimal() {
+        double sum = 0;
+        for (double value : values) {
+            sum += BigDecimal.valueOf(value).setScale(DECIMAL_PLACES, RoundingMode.HALF_UP).doubleValue();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,87 @@
+package com.fptu.swt301.demo.benchmark;
+
+import com.fptu.swt301.demo.lab2.domain.model.CalorieCalculationRequest;
+import com.fptu.swt301.demo.lab2.domain.valueobject.SwimmingStyle;
+import com.fptu.swt301.demo.lab2.repository.InMemoryCalorieCalculationRepository;
+import com.fptu.swt301.demo.lab2.repository.SwimSessionDataset;
+import com.fptu.swt301.demo.lab2.repository.SwimSessionDataset.GroupStats;
+import com.fptu.swt301.demo.lab2.repository.SwimSessionDataset.Grouping;
+import com.fptu.swt301.demo.lab2.repository.SwimSessionDataset.Measure;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * So sánh aggregate theo style của SwimSessionDataset (cột primitive,
+ * fork/join) với cách làm theo từng object: tạo CalorieCalculationRequest rồi
+ * gọi repository cho từng buổi bơi
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SwimSessionDatasetBenchmark {
+
+    @Param({ "1000000" })
+    private int sessionCount;
+
+    private SwimSessionDataset dataset;
+    private CalorieCalculationRequest[] requests;
+    private InMemoryCalorieCalculationRepository repository;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42L);
+        SwimmingStyle[] styles = SwimmingStyle.values();
+        SwimSessionDataset.Builder builder = SwimSessionDataset.builder(sessionCount);
+        requests = new CalorieCalculationRequest[sessionCount];
+        for (int i = 0; i < sessionCount; i++) {
+            SwimmingStyle style = styles[random.nextInt(styles.length)];
+            double durationMin = 10 + random.nextInt(110);
+            double bodyWeightKg = 45 + random.nextDouble() * 60;
+            builder.add(style, durationMin, bodyWeightKg);
+            requests[i] = CalorieCalculationRequest.builder()
+                    .swimmingStyle(style)
+                    .durationMin(durationMin)
+                    .bodyWeightKg(bodyWeightKg)
+                    .build();
+        }
+        dataset = builder.build();
+        repository = new InMemoryCalorieCalculationRepository(1);
+    }
+
+    @Benchmark
+    public GroupStats datasetSumByStyle() {
+        return dataset.aggregate(Grouping.byStyle(), Measure.CALORIES_BURNED);
+    }
+
+    @Benchmark
+    public double[][] datasetPercentilesByStyle() {
+        return dataset.percentiles(Grouping.byStyle(), Measure.CALORIES_BURNED, 50, 90, 99);
+    }
+
+    /**
+     * Từng request qua repository (bao gồm ghi lịch sử vào ring buffer 1 entry)
+     */
+    @Benchmark
+    public double[] perRequestSumByStyle() {
+        double[] sums = new double[SwimmingStyle.values().length];
+        for (CalorieCalculationRequest request : requests) {
+            sums[request.getSwimmingStyle().ordinal()] += repository.calculateCaloriesBurned(request);
+        }
+        return sums;
+    }
+}
@@ -0,0 +1,46 @@
+package com.fptu.swt301.demo.benchmark;
+
+import com.fptu.swt301.demo.lab2.domain.valueobject.SwimmingStyle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark cho SwimmingStyle.fromString
+ *
+ * Gồm tên chính xác lấy từ lab2_test_data.csv (đầu và cuối enum), khác hoa
+ * thường, partial match hai chiều và tên không tồn tại (đi hết input qua cả
+ * hai automaton của SwimmingStyleIndex).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SwimmingStyleBenchmark {
+
+    @Param({
+            "Backstroke (intense)",
+            "Water walking (relaxed)",
+            "  butterfly  ",
+            "Crawl",
+            "Treading water (relaxed) for 10 minutes",
+            "Synchronized swimming" })
+    private String name;
+
+    @Benchmark
+    public Optional<SwimmingStyle> fromString() {
+        return SwimmingStyle.fromString(name);
+    }
+}
@@ -0,0 +1,145 @@
+package com.fptu.swt301.demo.common;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Làm tròn số thập phân dùng chung cho lab2 (calories) và insurance (premium)
+ *
+ * Hai chế độ:
+ * <ul>
+ * <li>round: làm tròn half-up như Math.round (x.5 làm tròn về phía +vô cùng)
+ * giá trị nhị phân thực của double. Dùng bảng lũy thừa
+ * 10 tính sẵn thay vì Math.pow mỗi lần gọi; phép nhân value * 10^n chỉ có thể
+ * làm sai kết quả khi tích rơi đúng vào x.5, trường hợp đó được kiểm tra lại
+ * bằng phần dư chính xác của Math.fma.</li>
+ * <li>roundExact / toScaledLong: làm tròn RoundingMode.HALF_UP (x.5 làm tròn
+ * ra xa số 0) giá trị thập phân mà double hiển thị (Double.toString), ví dụ
+ * 1.005 -> 1.01 dù double 1.005 thực tế nhỏ hơn 1.005 một chút. Dùng cho
+ * tiền; BigDecimal chỉ được dùng khi giá trị nằm sát ranh giới làm tròn.</li>
+ * </ul>
+ */
+public final class DecimalRounding {
+
+    /**
+     * Số chữ số thập phân tối đa (10^n vẫn biểu diễn chính xác bằng double)
+     */
+    public static final int MAX_DECIMAL_PLACES = 22;
+
+    private static final double[] POWERS_OF_TEN = new double[MAX_DECIMAL_PLACES + 1];
+
+    static {
+        double power = 1.0;
+        for (int i = 0; i <= MAX_DECIMAL_PLACES; i++) {
+            POWERS_OF_TEN[i] = power;
+            power *= 10;
+        }
+    }
+
+    /**
+     * Từ 2^52 trở lên mọi double đều là số nguyên
+     */
+    private static final double EXACT_INTEGER_LIMIT = 0x1p52;
+
+    private DecimalRounding() {
+    }
+
+    /**
+     * 10^decimalPlaces (chính xác)
+     */
+    public static double powerOfTen(int decimalPlaces) {
+        checkDecimalPlaces(decimalPlaces);
+        return POWERS_OF_TEN[decimalPlaces];
+    }
+
+    /**
+     * Làm tròn HALF_UP giá trị nhị phân của value đến decimalPlaces chữ số
+     * thập phân
+     *
+     * Giống Math.round(value * 10^n) / 10^n ngoại trừ khi phép nhân làm tròn
+     * lên đúng x.5 (kết quả cũ bị làm tròn lên sai). NaN, vô cùng và giá trị
+     * đã đủ độ chính xác (|value * 10^n| >= 2^52) được trả về nguyên vẹn.
+     */
+    public static double round(double value, int decimalPlaces) {
+        checkDecimalPlaces(decimalPlaces);
+        double multiplier = POWERS_OF_TEN[decimalPlaces];
+        double scaled = value * multiplier;
+        if (!(Math.abs(scaled) < EXACT_INTEGER_LIMIT)) {
+            return value;
+        }
+        double floor = Math.floor(scaled);
+        double fraction = scaled - floor;
+        double rounded = fraction >= 0.5 ? floor + 1 : floor;
+        // Tích thực value * 10^n nhỏ hơn x.5 nhưng phép nhân đã làm tròn lên x.5
+        if (fraction == 0.5 && Math.fma(value, multiplier, -scaled) < 0) {
+            rounded = floor;
+        }
+        // + 0.0: -0.0 trả về 0.0 như Math.round
+        return rounded / multiplier + 0.0;
+    }
+
+    /**
+     * Làm tròn HALF_UP giá trị thập phân (theo Double.toString) của value đến
+     * decimalPlaces chữ số thập phân
+     *
+     * NaN và vô cùng được trả về nguyên vẹn.
+     */
+    public static double roundExact(double value, int decimalPlaces) {
+        checkDecimalPlaces(decimalPlaces);
+        if (!Double.isFinite(value)) {
+            return value;
+        }
+        double multiplier = POWERS_OF_TEN[decimalPlaces];
+        double scaled = value * multiplier;
+        if (isFarFromHalf(scaled)) {
+            return roundHalfAwayFromZero(scaled) / multiplier;
+        }
+        return BigDecimal.valueOf(value).setScale(decimalPlaces, RoundingMode.HALF_UP).doubleValue();
+    }
+
+    /**
+     * Giá trị thập phân của value làm tròn HALF_UP, tính theo đơn vị
+     * 10^-decimalPlaces (ví dụ 12.345 với 2 chữ số -> 1235)
+     *
+     * @throws IllegalArgumentException nếu value là NaN hoặc vô cùng
+     * @throws ArithmeticException      nếu kết quả vượt quá phạm vi long
+     */
+    public static long toScaledLong(double value, int decimalPlaces) {
+        checkDecimalPlaces(decimalPlaces);
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("Value must be finite. Provided value: " + value);
+        }
+        double scaled = value * POWERS_OF_TEN[decimalPlaces];
+        if (isFarFromHalf(scaled)) {
+            return (long) roundHalfAwayFromZero(scaled);
+        }
+        return BigDecimal.valueOf(value)
+                .setScale(decimalPlaces, RoundingMode.HALF_UP)
+                .unscaledValue()
+                .longValueExact();
+    }
+
+    private static double roundHalfAwayFromZero(double scaled) {
+        return Math.copySign(Math.floor(Math.abs(scaled) + 0.5), scaled) + 0.0;
+    }
+
+    /**
+     * true nếu scaled cách x.5 gần nhất đủ xa để sai số của phép nhân (cả so
+     * với giá trị nhị phân lẫn giá trị thập phân hiển thị, tổng nhỏ hơn 1.5
+     * ulp) không đổi được kết quả làm tròn
+     */
+    private static boolean isFarFromHalf(double scaled) {
+        if (!(Math.abs(scaled) < EXACT_INTEGER_LIMIT)) {
+            return false;
+        }
+        double fraction = scaled - Math.floor(scaled);
+        return Math.abs(fraction - 0.5) >= 2 * Math.ulp(scaled);
+    }
+
+    private static void checkDecimalPlaces(int decimalPlaces) {
+        if (decimalPlaces < 0 || decimalPlaces > MAX_DECIMAL_PLACES) {
+            throw new IllegalArgumentException("Decimal places must be between 0 and " + MAX_DECIMAL_PLACES
+                    + ". Provided value: " + decimalPlaces);
+        }
+    }
+}
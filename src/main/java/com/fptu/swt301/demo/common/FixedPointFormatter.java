@@ -0,0 +1,248 @@
+package com.fptu.swt301.demo.common;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+
+/**
+ * Format số thập phân dạng fixed-point (không grouping), cho kết quả giống
+ * hệt DecimalFormat với pattern "0.00", "0.#####"... và cùng
+ * DecimalFormatSymbols
+ *
+ * Immutable và thread-safe (DecimalFormat thì không). Chữ số được ghi thẳng
+ * vào StringBuilder / Appendable / byte[] của caller: làm tròn HALF_EVEN
+ * trên giá trị nhị phân chính xác của double (như DecimalFormat), phần dư
+ * của phép nhân value * 10^n được tính bằng Math.fma. NaN, vô cùng, giá trị
+ * quá lớn hoặc symbols có ký tự ngoài ASCII dùng một DecimalFormat riêng
+ * cho từng thread.
+ */
+public final class FixedPointFormatter {
+
+    /**
+     * Số chữ số thập phân tối đa
+     */
+    public static final int MAX_FRACTION_DIGITS = 15;
+
+    /**
+     * Fast path chỉ dùng khi |value| * 10^n nhỏ hơn giới hạn này (phần
+     * nguyên và phần lẻ đều chính xác)
+     */
+    private static final double FAST_PATH_LIMIT = 0x1p52;
+
+    private static final long[] LONG_POWERS_OF_TEN = new long[19];
+
+    static {
+        long power = 1;
+        for (int i = 0; i < LONG_POWERS_OF_TEN.length; i++) {
+            LONG_POWERS_OF_TEN[i] = power;
+            power *= 10;
+        }
+    }
+
+    private final int minFractionDigits;
+    private final int maxFractionDigits;
+    private final double multiplier;
+    private final char decimalSeparator;
+    private final char minusSign;
+    private final boolean asciiSymbols;
+    private final ThreadLocal<DecimalFormat> fallbackFormat;
+
+    /**
+     * @param minFractionDigits Số chữ số thập phân luôn hiển thị (số '0' sau
+     *                          dấu thập phân trong pattern)
+     * @param maxFractionDigits Số chữ số thập phân tối đa (số '0' + '#'),
+     *                          các số 0 thừa ở cuối bị bỏ
+     * @param symbols           Dấu thập phân, dấu âm và chữ số (được copy)
+     * @throws IllegalArgumentException nếu số chữ số không hợp lệ hoặc symbols
+     *                                  null
+     */
+    public FixedPointFormatter(int minFractionDigits, int maxFractionDigits, DecimalFormatSymbols symbols) {
+        if (minFractionDigits < 0 || maxFractionDigits < minFractionDigits
+                || maxFractionDigits > MAX_FRACTION_DIGITS) {
+            throw new IllegalArgumentException("Fraction digits must satisfy 0 <= min <= max <= "
+                    + MAX_FRACTION_DIGITS + ". Provided values: " + minFractionDigits + ", " + maxFractionDigits);
+        }
+        if (symbols == null) {
+            throw new IllegalArgumentException("Decimal format symbols cannot be null");
+        }
+        DecimalFormatSymbols copy = (DecimalFormatSymbols) symbols.clone();
+        this.minFractionDigits = minFractionDigits;
+        this.maxFractionDigits = maxFractionDigits;
+        this.multiplier = DecimalRounding.powerOfTen(maxFractionDigits);
+        this.decimalSeparator = copy.getDecimalSeparator();
+        this.minusSign = copy.getMinusSign();
+        this.asciiSymbols = copy.getZeroDigit() == '0' && decimalSeparator < 0x80 && minusSign < 0x80;
+
+        String pattern = maxFractionDigits == 0
+                ? "0"
+                : "0." + "0".repeat(minFractionDigits) + "#".repeat(maxFractionDigits - minFractionDigits);
+        this.fallbackFormat = ThreadLocal.withInitial(() -> new DecimalFormat(pattern, copy));
+    }
+
+    /**
+     * Format thành String (giống DecimalFormat.format)
+     */
+    public String format(double value) {
+        return formatTo(value, new StringBuilder(24)).toString();
+    }
+
+    /**
+     * Ghi value đã format vào cuối builder
+     *
+     * @return builder
+     */
+    public StringBuilder formatTo(double value, StringBuilder builder) {
+        long digits = roundedDigits(value);
+        if (digits < 0) {
+            return builder.append(fallbackFormat.get().format(value));
+        }
+        if (isNegative(value)) {
+            builder.append(minusSign);
+        }
+        long fractionScale = LONG_POWERS_OF_TEN[maxFractionDigits];
+        builder.append(digits / fractionScale);
+        int fractionDigits = visibleFractionDigits(digits % fractionScale);
+        if (fractionDigits > 0) {
+            builder.append(decimalSeparator);
+            long fraction = (digits % fractionScale) / LONG_POWERS_OF_TEN[maxFractionDigits - fractionDigits];
+            for (int i = fractionDigits - 1; i >= 0; i--) {
+                builder.append((char) ('0' + (fraction / LONG_POWERS_OF_TEN[i]) % 10));
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * Ghi value đã format vào appendable
+     *
+     * @return appendable
+     * @throws IOException nếu appendable ném IOException
+     */
+    public <A extends Appendable> A formatTo(double value, A appendable) throws IOException {
+        if (appendable instanceof StringBuilder) {
+            formatTo(value, (StringBuilder) appendable);
+            return appendable;
+        }
+        long digits = roundedDigits(value);
+        if (digits < 0) {
+            appendable.append(fallbackFormat.get().format(value));
+            return appendable;
+        }
+        if (isNegative(value)) {
+            appendable.append(minusSign);
+        }
+        long fractionScale = LONG_POWERS_OF_TEN[maxFractionDigits];
+        appendDigits(appendable, digits / fractionScale, 1);
+        int fractionDigits = visibleFractionDigits(digits % fractionScale);
+        if (fractionDigits > 0) {
+            appendable.append(decimalSeparator);
+            long fraction = (digits % fractionScale) / LONG_POWERS_OF_TEN[maxFractionDigits - fractionDigits];
+            appendDigits(appendable, fraction, fractionDigits);
+        }
+        return appendable;
+    }
+
+    /**
+     * Ghi value đã format (UTF-8, với symbols ASCII chỉ gồm ASCII) vào buffer
+     * bắt đầu từ offset
+     *
+     * @return Vị trí ngay sau byte cuối cùng được ghi
+     * @throws IndexOutOfBoundsException nếu buffer không đủ chỗ
+     */
+    public int formatTo(double value, byte[] buffer, int offset) {
+        long digits = roundedDigits(value);
+        if (digits < 0) {
+            byte[] bytes = fallbackFormat.get().format(value).getBytes(StandardCharsets.UTF_8);
+            System.arraycopy(bytes, 0, buffer, offset, bytes.length);
+            return offset + bytes.length;
+        }
+        long fractionScale = LONG_POWERS_OF_TEN[maxFractionDigits];
+        long integer = digits / fractionScale;
+        int fractionDigits = visibleFractionDigits(digits % fractionScale);
+        int integerDigits = digitCount(integer);
+        boolean negative = isNegative(value);
+        int end = offset + (negative ? 1 : 0) + integerDigits + (fractionDigits > 0 ? 1 + fractionDigits : 0);
+        if (offset < 0 || end > buffer.length) {
+            throw new IndexOutOfBoundsException("Buffer too small: need " + (end - offset) + " bytes at offset "
+                    + offset + ", length " + buffer.length);
+        }
+
+        int position = end;
+        if (fractionDigits > 0) {
+            long fraction = (digits % fractionScale) / LONG_POWERS_OF_TEN[maxFractionDigits - fractionDigits];
+            for (int i = 0; i < fractionDigits; i++) {
+                buffer[--position] = (byte) ('0' + fraction % 10);
+                fraction /= 10;
+            }
+            buffer[--position] = (byte) decimalSeparator;
+        }
+        do {
+            buffer[--position] = (byte) ('0' + integer % 10);
+            integer /= 10;
+        } while (integer != 0);
+        if (negative) {
+            buffer[--position] = (byte) minusSign;
+        }
+        return end;
+    }
+
+    /**
+     * |value| * 10^maxFractionDigits làm tròn HALF_EVEN, hoặc -1 nếu phải
+     * dùng DecimalFormat
+     */
+    private long roundedDigits(double value) {
+        double magnitude = Math.abs(value);
+        double scaled = magnitude * multiplier;
+        if (!asciiSymbols || !(scaled < FAST_PATH_LIMIT)) {
+            return -1;
+        }
+        double floor = Math.floor(scaled);
+        double fraction = scaled - floor;
+        long rounded = (long) floor;
+        if (fraction > 0.5) {
+            rounded++;
+        } else if (fraction == 0.5) {
+            // Tích thực = scaled + residual (chính xác)
+            double residual = Math.fma(magnitude, multiplier, -scaled);
+            if (residual > 0 || (residual == 0 && (rounded & 1) != 0)) {
+                rounded++;
+            }
+        }
+        return rounded;
+    }
+
+    /**
+     * Số chữ số thập phân được hiển thị: bỏ các số 0 ở cuối nhưng giữ ít nhất
+     * minFractionDigits
+     */
+    private int visibleFractionDigits(long fraction) {
+        int digits = maxFractionDigits;
+        while (digits > minFractionDigits && fraction % 10 == 0) {
+            fraction /= 10;
+            digits--;
+        }
+        return digits;
+    }
+
+    /**
+     * DecimalFormat giữ dấu âm cả khi kết quả làm tròn bằng 0 (kể cả -0.0)
+     */
+    private static boolean isNegative(double value) {
+        return Double.doubleToRawLongBits(value) < 0;
+    }
+
+    private static int digitCount(long value) {
+        int count = 1;
+        while (count < LONG_POWERS_OF_TEN.length && value >= LONG_POWERS_OF_TEN[count]) {
+            count++;
+        }
+        return count;
+    }
+
+    private static void appendDigits(Appendable appendable, long value, int minDigits) throws IOException {
+        for (int i = Math.max(digitCount(value), minDigits) - 1; i >= 0; i--) {
+            appendable.append((char) ('0' + (value / LONG_POWERS_OF_TEN[i]) % 10));
+        }
+    }
+}
@@ -63,4 +63,25 @@ public final class PremiumConstants {
      * Số chữ số thập phân để làm tròn premium
      */
     public static final int PREMIUM_DECIMAL_PLACES = 2;
+
+    /**
+     * Parking code cho batch/columnar input: Parking Location khác "Public Place"
+     */
+    public static final byte PARKING_CODE_OTHER = 0;
+
+    /**
+     * Parking code cho batch/columnar input: Parking Location = "Public Place"
+     */
+    public static final byte PARKING_CODE_PUBLIC = 1;
+
+    /**
+     * System property chứa node id (0..1023) của generator quote id mặc định
+     * (SnowflakeQuoteIdGenerator); mỗi node phải có giá trị riêng
+     */
+    public static final String QUOTE_NODE_ID_PROPERTY = "insurance.quote.node-id";
+
+    /**
+     * Node id mặc định khi không cấu hình QUOTE_NODE_ID_PROPERTY (một node)
+     */
+    public static final int DEFAULT_QUOTE_NODE_ID = 0;
 }
@@ -70,4 +70,9 @@ public final class ProfileConstants {
      * Vietnam country code
      */
     public static final String VN_COUNTRY_CODE = "84";
+
+    /**
+     * Số profile tối đa trong read-through cache của JdbcBrokerProfileRepository
+     */
+    public static final int DEFAULT_PROFILE_CACHE_SIZE = 10_000;
 }
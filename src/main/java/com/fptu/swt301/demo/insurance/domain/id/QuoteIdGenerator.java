@@ -0,0 +1,15 @@
+package com.fptu.swt301.demo.insurance.domain.id;
+
+/**
+ * Strategy tạo identification number cho InsuranceQuote
+ * Implementation phải thread-safe và không trả về cùng một id hai lần
+ * (trong phạm vi đảm bảo được mô tả ở từng implementation)
+ */
+@FunctionalInterface
+public interface QuoteIdGenerator {
+
+    /**
+     * @return Identification number mới
+     */
+    String nextId();
+}
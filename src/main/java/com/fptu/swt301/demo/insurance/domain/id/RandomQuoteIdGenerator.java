@@ -0,0 +1,21 @@
+package com.fptu.swt301.demo.insurance.domain.id;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sinh identification number ngẫu nhiên 18 chữ số bằng ThreadLocalRandom
+ * (không chia sẻ seed giữa các thread, không cần phối hợp giữa các node)
+ *
+ * Unique theo xác suất: với n id, xác suất có trùng xấp xỉ
+ * n^2 / (2 * 9 * 10^17), khoảng 5.6 * 10^-7 với một triệu quote.
+ */
+public final class RandomQuoteIdGenerator implements QuoteIdGenerator {
+
+    public static final long MIN_ID = 100_000_000_000_000_000L;
+    public static final long MAX_ID_EXCLUSIVE = 1_000_000_000_000_000_000L;
+
+    @Override
+    public String nextId() {
+        return Long.toString(ThreadLocalRandom.current().nextLong(MIN_ID, MAX_ID_EXCLUSIVE));
+    }
+}
@@ -0,0 +1,43 @@
+package com.fptu.swt301.demo.insurance.domain.id;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sinh identification number tăng dần bằng AtomicLong (lock-free, một
+ * lệnh fetch-and-add mỗi id)
+ *
+ * Đảm bảo unique trong phạm vi một instance. Bộ đếm không được lưu lại: khi
+ * chạy lại ứng dụng phải truyền giá trị bắt đầu lớn hơn id lớn nhất đã lưu
+ * (ví dụ MappedInsuranceQuoteRepository.getHighestNumericIdentificationNumber()
+ * + 1), nếu không các id cũ sẽ bị cấp lại. Vì vậy generator này không phải
+ * generator mặc định.
+ */
+public final class SequenceQuoteIdGenerator implements QuoteIdGenerator {
+
+    /**
+     * Giá trị đầu tiên mặc định (giữ format 5 chữ số như 51700, 61699)
+     */
+    public static final long DEFAULT_START = 10000L;
+
+    private final AtomicLong next;
+
+    public SequenceQuoteIdGenerator() {
+        this(DEFAULT_START);
+    }
+
+    public SequenceQuoteIdGenerator(long start) {
+        if (start < 0) {
+            throw new IllegalArgumentException("Sequence start cannot be negative. Provided value: " + start);
+        }
+        this.next = new AtomicLong(start);
+    }
+
+    @Override
+    public String nextId() {
+        long id = next.getAndIncrement();
+        if (id < 0) {
+            throw new IllegalStateException("Quote id sequence exhausted");
+        }
+        return Long.toString(id);
+    }
+}
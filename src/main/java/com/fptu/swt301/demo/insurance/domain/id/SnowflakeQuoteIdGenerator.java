@@ -0,0 +1,119 @@
+package com.fptu.swt301.demo.insurance.domain.id;
+
+import com.fptu.swt301.demo.insurance.config.PremiumConstants;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Sinh identification number kiểu Snowflake cho triển khai nhiều node:
+ * [41 bit millisecond từ epoch][10 bit node id][12 bit counter]
+ *
+ * Timestamp và counter được giữ chung trong một AtomicLong và cập nhật bằng
+ * CAS (lock-free). Khi counter tràn trong cùng một millisecond, hoặc đồng hồ
+ * bị lùi, timestamp logic được tăng thêm thay vì chờ đồng hồ thật, nên id của
+ * một node luôn tăng nghiêm ngặt. Id unique giữa các node khi mỗi node có
+ * node id riêng, và giữa các lần chạy lại vì timestamp nằm ở các bit cao.
+ */
+public final class SnowflakeQuoteIdGenerator implements QuoteIdGenerator {
+
+    /**
+     * Epoch mặc định: 2024-01-01T00:00:00Z (41 bit timestamp đủ khoảng 69 năm)
+     */
+    public static final long DEFAULT_EPOCH_MILLIS = 1_704_067_200_000L;
+
+    public static final int NODE_ID_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_ID_BITS) - 1;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeId;
+    private final long epochMillis;
+    private final LongSupplier clock;
+
+    /**
+     * (timestamp logic << SEQUENCE_BITS) | counter của id gần nhất
+     */
+    private final AtomicLong state = new AtomicLong();
+
+    public SnowflakeQuoteIdGenerator(int nodeId) {
+        this(nodeId, DEFAULT_EPOCH_MILLIS, System::currentTimeMillis);
+    }
+
+    /**
+     * @param nodeId      Node id (0..MAX_NODE_ID), unique cho từng node
+     * @param epochMillis Mốc thời gian của timestamp
+     * @param clock       Nguồn thời gian hiện tại (millisecond)
+     */
+    public SnowflakeQuoteIdGenerator(int nodeId, long epochMillis, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID
+                    + ". Provided value: " + nodeId);
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        this.nodeId = nodeId;
+        this.epochMillis = epochMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Generator cho node id cấu hình qua system property
+     * PremiumConstants.QUOTE_NODE_ID_PROPERTY (mặc định DEFAULT_QUOTE_NODE_ID)
+     *
+     * @throws IllegalArgumentException nếu giá trị không phải node id hợp lệ
+     */
+    public static SnowflakeQuoteIdGenerator forConfiguredNode() {
+        String value = System.getProperty(PremiumConstants.QUOTE_NODE_ID_PROPERTY);
+        if (value == null || value.isBlank()) {
+            return new SnowflakeQuoteIdGenerator(PremiumConstants.DEFAULT_QUOTE_NODE_ID);
+        }
+        try {
+            return new SnowflakeQuoteIdGenerator(Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(PremiumConstants.QUOTE_NODE_ID_PROPERTY
+                    + " must be an integer between 0 and " + MAX_NODE_ID + ". Provided value: " + value, e);
+        }
+    }
+
+    @Override
+    public String nextId() {
+        return Long.toString(nextLongId());
+    }
+
+    /**
+     * @return Id dạng số (dương, tăng nghiêm ngặt trên node này)
+     */
+    public long nextLongId() {
+        // Đọc đồng hồ một lần; khi CAS thất bại timestamp logic chỉ có thể đã tăng thêm
+        long now = clock.getAsLong() - epochMillis;
+        while (true) {
+            long current = state.get();
+            // Counter tràn sẽ nhớ sang timestamp logic
+            long next = now > current >>> SEQUENCE_BITS ? now << SEQUENCE_BITS : current + 1;
+            if (state.compareAndSet(current, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                return (timestamp << (NODE_ID_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS)
+                        | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    public int getNodeId() {
+        return (int) nodeId;
+    }
+
+    public static long timestampOf(long id) {
+        return id >>> (NODE_ID_BITS + SEQUENCE_BITS);
+    }
+
+    public static int nodeIdOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE_ID);
+    }
+
+    public static int sequenceOf(long id) {
+        return (int) (id & SEQUENCE_MASK);
+    }
+}
@@ -164,12 +164,8 @@ public class BrokerProfile {
         }
 
         public Builder phone(String phone) {
-            try {
-                this.phone = PhoneNumber.of(phone);
-            } catch (Exception e) {
-                // Will be validated later
-                this.phone = null;
-            }
+            // Will be validated later - số không hợp lệ được bỏ qua (null)
+            this.phone = PhoneNumber.tryParse(phone);
             return this;
         }
 
@@ -1,8 +1,9 @@
 package com.fptu.swt301.demo.insurance.domain.model;
 
+import com.fptu.swt301.demo.insurance.domain.id.QuoteIdGenerator;
+import com.fptu.swt301.demo.insurance.domain.id.SnowflakeQuoteIdGenerator;
 import com.fptu.swt301.demo.insurance.exception.ValidationException;
 import java.time.LocalDate;
-import java.util.Random;
 import java.util.Objects;
 
 /**
@@ -10,6 +11,14 @@ import java.util.Objects;
  * Bao gồm identification number để retrieve sau này
  */
 public class InsuranceQuote {
+
+    /**
+     * Generator dùng khi builder không chỉ định identification number hay
+     * generator riêng: Snowflake với node id từ system property
+     * PremiumConstants.QUOTE_NODE_ID_PROPERTY, nên id không bị cấp lại sau khi
+     * chạy lại ứng dụng
+     */
+    private static volatile QuoteIdGenerator defaultIdGenerator = SnowflakeQuoteIdGenerator.forConfiguredNode();
     
     private final String identificationNumber;
     private final PremiumCalculationRequest request;
@@ -22,7 +31,7 @@ public class InsuranceQuote {
     private InsuranceQuote(Builder builder) {
         this.identificationNumber = builder.identificationNumber != null 
                 ? builder.identificationNumber 
-                : generateIdentificationNumber();
+                : (builder.idGenerator != null ? builder.idGenerator : defaultIdGenerator).nextId();
         this.request = builder.request;
         this.calculatedPremium = builder.calculatedPremium;
         this.createdDate = builder.createdDate != null 
@@ -37,14 +46,19 @@ public class InsuranceQuote {
         return new Builder();
     }
 
+    public static QuoteIdGenerator getDefaultIdGenerator() {
+        return defaultIdGenerator;
+    }
+
     /**
-     * Tạo identification number ngẫu nhiên (5 chữ số)
-     * Giống như ví dụ: 51700, 61699
+     * Thay generator mặc định (ví dụ SequenceQuoteIdGenerator bắt đầu sau id
+     * lớn nhất đã lưu)
      */
-    private String generateIdentificationNumber() {
-        Random random = new Random();
-        int number = 10000 + random.nextInt(90000); // Tạo số từ 10000-99999
-        return String.valueOf(number);
+    public static void setDefaultIdGenerator(QuoteIdGenerator idGenerator) {
+        if (idGenerator == null) {
+            throw new IllegalArgumentException("Quote id generator cannot be null");
+        }
+        defaultIdGenerator = idGenerator;
     }
 
     // Getters
@@ -141,6 +155,7 @@ public class InsuranceQuote {
      */
     public static class Builder {
         private String identificationNumber;
+        private QuoteIdGenerator idGenerator;
         private PremiumCalculationRequest request;
         private double calculatedPremium;
         private LocalDate createdDate;
@@ -153,6 +168,11 @@ public class InsuranceQuote {
             return this;
         }
 
+        public Builder idGenerator(QuoteIdGenerator idGenerator) {
+            this.idGenerator = idGenerator;
+            return this;
+        }
+
         public Builder request(PremiumCalculationRequest request) {
             this.request = request;
             return this;
@@ -0,0 +1,151 @@
+package com.fptu.swt301.demo.insurance.domain.model;
+
+import java.util.Arrays;
+
+/**
+ * Kết quả tổng hợp sau khi reprice một portfolio premium
+ * Bao gồm tổng, min/max, mean và histogram phân bố premium
+ */
+public final class PortfolioSummary {
+
+    private final long count;
+    private final long rejectedCount;
+    private final double total;
+    private final double min;
+    private final double max;
+    private final double bucketWidth;
+    private final long[] histogram;
+
+    private PortfolioSummary(Accumulator accumulator) {
+        this.count = accumulator.count;
+        this.rejectedCount = accumulator.rejectedCount;
+        this.total = accumulator.total;
+        this.min = accumulator.count > 0 ? accumulator.min : Double.NaN;
+        this.max = accumulator.count > 0 ? accumulator.max : Double.NaN;
+        this.bucketWidth = accumulator.bucketWidth;
+        this.histogram = accumulator.histogram.clone();
+    }
+
+    /**
+     * Số dòng được tính premium thành công
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Số dòng không hợp lệ (premium = NaN)
+     */
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public double getTotal() {
+        return total;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    public double getMean() {
+        return count > 0 ? total / count : Double.NaN;
+    }
+
+    public double getBucketWidth() {
+        return bucketWidth;
+    }
+
+    /**
+     * Histogram premium: bucket i chứa premium trong [i * width, (i + 1) * width),
+     * bucket cuối chứa tất cả premium còn lại (overflow)
+     *
+     * @return Copy của histogram
+     */
+    public long[] getHistogram() {
+        return histogram.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "PortfolioSummary{" +
+                "count=" + count +
+                ", rejectedCount=" + rejectedCount +
+                ", total=" + total +
+                ", min=" + min +
+                ", max=" + max +
+                ", mean=" + getMean() +
+                ", histogram=" + Arrays.toString(histogram) +
+                '}';
+    }
+
+    /**
+     * Accumulator riêng cho từng worker (không chia sẻ giữa các thread)
+     * Các accumulator được merge lại sau khi worker hoàn thành
+     */
+    public static final class Accumulator {
+        private final double bucketWidth;
+        private final long[] histogram;
+        private long count;
+        private long rejectedCount;
+        private double total;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        public Accumulator(double bucketWidth, int bucketCount) {
+            if (bucketWidth <= 0 || bucketCount <= 0) {
+                throw new IllegalArgumentException("Histogram bucket width and count must be positive");
+            }
+            this.bucketWidth = bucketWidth;
+            this.histogram = new long[bucketCount];
+        }
+
+        public void add(double premium) {
+            count++;
+            total += premium;
+            if (premium < min) {
+                min = premium;
+            }
+            if (premium > max) {
+                max = premium;
+            }
+            int bucket = (int) (premium / bucketWidth);
+            if (bucket < 0) {
+                bucket = 0;
+            } else if (bucket >= histogram.length) {
+                bucket = histogram.length - 1;
+            }
+            histogram[bucket]++;
+        }
+
+        public void reject(long rows) {
+            rejectedCount += rows;
+        }
+
+        /**
+         * Merge accumulator khác vào accumulator này
+         */
+        public Accumulator merge(Accumulator other) {
+            if (other.histogram.length != histogram.length || other.bucketWidth != bucketWidth) {
+                throw new IllegalArgumentException("Cannot merge accumulators with different histogram layouts");
+            }
+            count += other.count;
+            rejectedCount += other.rejectedCount;
+            total += other.total;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] += other.histogram[i];
+            }
+            return this;
+        }
+
+        public PortfolioSummary toSummary() {
+            return new PortfolioSummary(this);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.fptu.swt301.demo.insurance.domain.model;
+
+import com.fptu.swt301.demo.insurance.config.PremiumConstants;
+import java.util.List;
+
+/**
+ * Batch input dạng struct-of-arrays (columnar) cho Premium Calculation
+ * Mỗi cột là một mảng primitive, dòng thứ i của batch là phần tử thứ i của
+ * mỗi mảng. Dùng cho reprice hàng loạt mà không tạo PremiumCalculationRequest
+ * cho từng dòng.
+ *
+ * Các mảng được giữ nguyên (không copy) để tránh allocation - caller không nên
+ * sửa mảng trong khi batch đang được tính.
+ */
+public final class PremiumBatch {
+
+    private final double[] estimatedValues;
+    private final int[] mileages;
+    private final int[] accidents;
+    private final byte[] coverCodes;
+    private final boolean[] windscreenRepairs;
+    private final byte[] parkingCodes;
+
+    public PremiumBatch(
+            double[] estimatedValues,
+            int[] mileages,
+            int[] accidents,
+            byte[] coverCodes,
+            boolean[] windscreenRepairs,
+            byte[] parkingCodes) {
+        int size = estimatedValues.length;
+        if (mileages.length != size || accidents.length != size || coverCodes.length != size
+                || windscreenRepairs.length != size || parkingCodes.length != size) {
+            throw new IllegalArgumentException("All batch columns must have the same length: " + size);
+        }
+        this.estimatedValues = estimatedValues;
+        this.mileages = mileages;
+        this.accidents = accidents;
+        this.coverCodes = coverCodes;
+        this.windscreenRepairs = windscreenRepairs;
+        this.parkingCodes = parkingCodes;
+    }
+
+    /**
+     * Chuyển danh sách request (row-based) sang batch columnar
+     *
+     * @param requests Danh sách request đã được validate
+     * @return PremiumBatch với cùng thứ tự dòng
+     */
+    public static PremiumBatch from(List<PremiumCalculationRequest> requests) {
+        int size = requests.size();
+        double[] estimatedValues = new double[size];
+        int[] mileages = new int[size];
+        int[] accidents = new int[size];
+        byte[] coverCodes = new byte[size];
+        boolean[] windscreenRepairs = new boolean[size];
+        byte[] parkingCodes = new byte[size];
+
+        for (int i = 0; i < size; i++) {
+            PremiumCalculationRequest request = requests.get(i);
+            estimatedValues[i] = request.getEstimatedValue();
+            mileages[i] = request.getTotalMileage();
+            accidents[i] = request.getNumberOfAccidents();
+            coverCodes[i] = request.getBreakdownCover().getCode();
+            windscreenRepairs[i] = request.isWindscreenRepair();
+            parkingCodes[i] = parkingCodeOf(request.getParkingLocation());
+        }
+        return new PremiumBatch(estimatedValues, mileages, accidents, coverCodes, windscreenRepairs, parkingCodes);
+    }
+
+    /**
+     * Chuyển Parking Location sang parking code
+     *
+     * @param parkingLocation Parking Location (ví dụ: "Public Place")
+     * @return PARKING_CODE_PUBLIC nếu là "Public Place" (case insensitive), ngược
+     *         lại PARKING_CODE_OTHER
+     */
+    public static byte parkingCodeOf(String parkingLocation) {
+        if (parkingLocation != null && "Public Place".equalsIgnoreCase(parkingLocation.trim())) {
+            return PremiumConstants.PARKING_CODE_PUBLIC;
+        }
+        return PremiumConstants.PARKING_CODE_OTHER;
+    }
+
+    public int size() {
+        return estimatedValues.length;
+    }
+
+    public double[] getEstimatedValues() {
+        return estimatedValues;
+    }
+
+    public int[] getMileages() {
+        return mileages;
+    }
+
+    public int[] getAccidents() {
+        return accidents;
+    }
+
+    public byte[] getCoverCodes() {
+        return coverCodes;
+    }
+
+    public boolean[] getWindscreenRepairs() {
+        return windscreenRepairs;
+    }
+
+    public byte[] getParkingCodes() {
+        return parkingCodes;
+    }
+}
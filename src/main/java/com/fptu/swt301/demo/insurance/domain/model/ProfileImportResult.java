@@ -0,0 +1,101 @@
+package com.fptu.swt301.demo.insurance.domain.model;
+
+import java.util.Arrays;
+
+/**
+ * Kết quả của một lần bulk import broker profile
+ * Chỉ giữ các bộ đếm (không giữ profile hay error) nên kích thước không phụ
+ * thuộc vào số dòng của file
+ */
+public final class ProfileImportResult {
+
+    /**
+     * Stage của import pipeline nơi một dòng bị reject
+     */
+    public enum Stage {
+        /**
+         * Tách cột, parse số và ngày
+         */
+        PARSE,
+        /**
+         * Dựng value object (PhoneNumber, LicenseInfo) và BrokerProfile
+         */
+        BUILD,
+        /**
+         * ProfileValidator
+         */
+        VALIDATE,
+        /**
+         * Lưu vào repository (userId đã tồn tại)
+         */
+        PERSIST
+    }
+
+    private final long rowsRead;
+    private final long importedCount;
+    private final long[] rejectedByStage;
+    private final long elapsedNanos;
+
+    public ProfileImportResult(long rowsRead, long importedCount, long[] rejectedByStage, long elapsedNanos) {
+        if (rejectedByStage.length != Stage.values().length) {
+            throw new IllegalArgumentException("Expected one rejected count per stage");
+        }
+        this.rowsRead = rowsRead;
+        this.importedCount = importedCount;
+        this.rejectedByStage = rejectedByStage.clone();
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Số dòng dữ liệu đã đọc (không tính header, dòng trống và comment)
+     */
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    /**
+     * Số profile đã được lưu vào repository
+     */
+    public long getImportedCount() {
+        return importedCount;
+    }
+
+    /**
+     * Tổng số dòng bị reject ở mọi stage
+     */
+    public long getRejectedCount() {
+        long total = 0;
+        for (long count : rejectedByStage) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * Số dòng bị reject tại một stage
+     */
+    public long getRejectedCount(Stage stage) {
+        return rejectedByStage[stage.ordinal()];
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Throughput của toàn bộ pipeline (dòng đọc được / giây)
+     */
+    public double getRowsPerSecond() {
+        return elapsedNanos > 0 ? rowsRead * 1_000_000_000.0 / elapsedNanos : 0.0;
+    }
+
+    @Override
+    public String toString() {
+        return "ProfileImportResult{" +
+                "rowsRead=" + rowsRead +
+                ", importedCount=" + importedCount +
+                ", rejectedByStage=" + Arrays.toString(rejectedByStage) +
+                ", rowsPerSecond=" + String.format("%.1f", getRowsPerSecond()) +
+                '}';
+    }
+}
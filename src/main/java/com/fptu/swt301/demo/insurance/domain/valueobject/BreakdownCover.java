@@ -8,15 +8,22 @@ import java.util.Objects;
  */
 public final class BreakdownCover {
 
-    public static final BreakdownCover NO_COVER = new BreakdownCover("No cover", 0.01);
-    public static final BreakdownCover ROADSIDE = new BreakdownCover("Roadside", 0.02);
-    public static final BreakdownCover AT_HOME = new BreakdownCover("At home", 0.03);
-    public static final BreakdownCover EUROPEAN = new BreakdownCover("European", 0.04);
+    public static final BreakdownCover NO_COVER = new BreakdownCover((byte) 0, "No cover", 0.01);
+    public static final BreakdownCover ROADSIDE = new BreakdownCover((byte) 1, "Roadside", 0.02);
+    public static final BreakdownCover AT_HOME = new BreakdownCover((byte) 2, "At home", 0.03);
+    public static final BreakdownCover EUROPEAN = new BreakdownCover((byte) 3, "European", 0.04);
 
+    /**
+     * Tất cả breakdown cover, index theo code (dùng cho batch/columnar input)
+     */
+    private static final BreakdownCover[] BY_CODE = { NO_COVER, ROADSIDE, AT_HOME, EUROPEAN };
+
+    private final byte code;
     private final String name;
     private final double percentageIncrease;
 
-    private BreakdownCover(String name, double percentageIncrease) {
+    private BreakdownCover(byte code, String name, double percentageIncrease) {
+        this.code = code;
         this.name = name;
         this.percentageIncrease = percentageIncrease;
     }
@@ -48,6 +55,31 @@ public final class BreakdownCover {
         }
     }
 
+    /**
+     * Factory method để lấy BreakdownCover từ code (0..3)
+     * 
+     * @param code Code của breakdown cover
+     * @return BreakdownCover instance
+     * @throws IllegalArgumentException nếu code không hợp lệ
+     */
+    public static BreakdownCover fromCode(int code) {
+        if (code < 0 || code >= BY_CODE.length) {
+            throw new IllegalArgumentException("Invalid breakdown cover code: " + code);
+        }
+        return BY_CODE[code];
+    }
+
+    /**
+     * Số lượng breakdown cover hợp lệ
+     */
+    public static int count() {
+        return BY_CODE.length;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
     public String getName() {
         return name;
     }
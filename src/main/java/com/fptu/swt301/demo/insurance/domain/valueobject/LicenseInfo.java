@@ -3,15 +3,35 @@ package com.fptu.swt301.demo.insurance.domain.valueobject;
 import com.fptu.swt301.demo.insurance.config.ProfileConstants;
 import com.fptu.swt301.demo.insurance.exception.ValidationException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
 /**
  * Value Object cho License Information
  * Immutable và có validation
+ *
+ * of() trả về instance dùng chung (flyweight) cho các tổ hợp chuẩn "Full" /
+ * "Provisional" x period 0..50, nên hàng triệu profile chỉ tham chiếu tới 102
+ * instance. Type viết khác chuẩn (ví dụ "full") vẫn hợp lệ và được giữ nguyên
+ * như trước, nhưng tạo instance riêng.
  */
 public final class LicenseInfo {
 
+    private static final int PERIOD_COUNT = ProfileConstants.MAX_LICENSE_PERIOD
+            - ProfileConstants.MIN_LICENSE_PERIOD + 1;
+
+    private static final LicenseInfo[] FULL = new LicenseInfo[PERIOD_COUNT];
+    private static final LicenseInfo[] PROVISIONAL = new LicenseInfo[PERIOD_COUNT];
+
+    static {
+        for (int i = 0; i < PERIOD_COUNT; i++) {
+            FULL[i] = new LicenseInfo(ProfileConstants.LICENSE_TYPE_FULL, ProfileConstants.MIN_LICENSE_PERIOD + i);
+            PROVISIONAL[i] = new LicenseInfo(ProfileConstants.LICENSE_TYPE_PROVISIONAL,
+                    ProfileConstants.MIN_LICENSE_PERIOD + i);
+        }
+    }
+
     private final String type;
     private final int period; // years
 
@@ -29,17 +49,66 @@ public final class LicenseInfo {
      * @throws ValidationException nếu invalid
      */
     public static LicenseInfo of(String type, int period) throws ValidationException {
-        List<String> errors = new ArrayList<>();
+        String typeTrimmed = type != null ? type.trim() : null;
+        LicenseInfo shared = shared(typeTrimmed, period);
+        if (shared != null) {
+            return shared;
+        }
+        List<String> errors = errors(typeTrimmed, period);
+        if (!errors.isEmpty()) {
+            throw new ValidationException(errors);
+        }
+        return new LicenseInfo(typeTrimmed, period);
+    }
 
-        if (type == null || type.trim().isEmpty()) {
-            errors.add("License type is required");
-        } else {
-            String typeTrimmed = type.trim();
-            if (!ProfileConstants.LICENSE_TYPE_FULL.equalsIgnoreCase(typeTrimmed)
-                    && !ProfileConstants.LICENSE_TYPE_PROVISIONAL.equalsIgnoreCase(typeTrimmed)) {
-                errors.add("License type must be 'Full' or 'Provisional'");
+    /**
+     * Tạo LicenseInfo không throw exception
+     *
+     * @return LicenseInfo, null nếu không hợp lệ
+     */
+    public static LicenseInfo tryOf(String type, int period) {
+        String typeTrimmed = type != null ? type.trim() : null;
+        LicenseInfo shared = shared(typeTrimmed, period);
+        if (shared != null) {
+            return shared;
+        }
+        return errors(typeTrimmed, period).isEmpty() ? new LicenseInfo(typeTrimmed, period) : null;
+    }
+
+    /**
+     * Danh sách lỗi validation (giống ValidationException.getErrors() của of)
+     *
+     * @return Danh sách lỗi, rỗng nếu hợp lệ
+     */
+    public static List<String> validationErrors(String type, int period) {
+        String typeTrimmed = type != null ? type.trim() : null;
+        return shared(typeTrimmed, period) != null ? Collections.emptyList() : errors(typeTrimmed, period);
+    }
+
+    /**
+     * Instance dùng chung cho tổ hợp chuẩn, null nếu không phải tổ hợp chuẩn
+     */
+    private static LicenseInfo shared(String typeTrimmed, int period) {
+        if (period >= ProfileConstants.MIN_LICENSE_PERIOD && period <= ProfileConstants.MAX_LICENSE_PERIOD) {
+            if (ProfileConstants.LICENSE_TYPE_FULL.equals(typeTrimmed)) {
+                return FULL[period - ProfileConstants.MIN_LICENSE_PERIOD];
+            }
+            if (ProfileConstants.LICENSE_TYPE_PROVISIONAL.equals(typeTrimmed)) {
+                return PROVISIONAL[period - ProfileConstants.MIN_LICENSE_PERIOD];
             }
         }
+        return null;
+    }
+
+    private static List<String> errors(String typeTrimmed, int period) {
+        List<String> errors = new ArrayList<>(0);
+
+        if (typeTrimmed == null || typeTrimmed.isEmpty()) {
+            errors.add("License type is required");
+        } else if (!ProfileConstants.LICENSE_TYPE_FULL.equalsIgnoreCase(typeTrimmed)
+                && !ProfileConstants.LICENSE_TYPE_PROVISIONAL.equalsIgnoreCase(typeTrimmed)) {
+            errors.add("License type must be 'Full' or 'Provisional'");
+        }
 
         if (period < ProfileConstants.MIN_LICENSE_PERIOD) {
             errors.add("License period cannot be negative. Provided value: " + period);
@@ -48,12 +117,7 @@ public final class LicenseInfo {
             errors.add("License period cannot exceed " + ProfileConstants.MAX_LICENSE_PERIOD
                     + " years. Provided value: " + period);
         }
-
-        if (!errors.isEmpty()) {
-            throw new ValidationException(errors);
-        }
-
-        return new LicenseInfo(type != null ? type.trim() : type, period);
+        return errors;
     }
 
     public String getType() {
@@ -2,119 +2,368 @@ package com.fptu.swt301.demo.insurance.domain.valueobject;
 
 import com.fptu.swt301.demo.insurance.config.ProfileConstants;
 import com.fptu.swt301.demo.insurance.exception.ValidationException;
-import java.util.ArrayList;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Value Object cho Phone Number (Vietnam format)
  * Immutable và có validation
+ *
+ * Parser quét input một lần (không regex, không collection tạm): vừa kiểm tra
+ * ký tự hợp lệ, vừa đếm và gom chữ số vào một long, sau đó kiểm tra độ dài và
+ * prefix bằng bảng tra dựng sẵn từ ProfileConstants. Message lỗi chỉ được
+ * render khi input không hợp lệ và giống hệt các message trước đây.
+ *
+ * Instance chỉ lưu các chữ số dạng packed long (số chữ số << 40 | giá trị);
+ * chuỗi gốc chỉ được giữ khi nó khác chuỗi chữ số (ví dụ "+84 929 345 678").
+ * getValue()/getDigitsOnly() render lại chuỗi từ packed long khi được gọi.
  */
 public final class PhoneNumber {
 
-    private final String value;
-    private final String digitsOnly;
+    private static final int OK = 0;
+    private static final int REQUIRED = 1;
+    private static final int NEGATIVE = 2;
+    private static final int INVALID_CHARACTERS = 3;
+    private static final int INVALID_LENGTH = 4;
+    private static final int TEN_DIGIT_NOT_ZERO = 5;
+    private static final int TEN_DIGIT_PREFIX = 6;
+    private static final int ELEVEN_DIGIT_COUNTRY_CODE = 7;
+    private static final int ELEVEN_DIGIT_PREFIX = 8;
 
-    private PhoneNumber(String value) {
-        this.value = value;
-        this.digitsOnly = extractDigits(value);
+    private static final int STATUS_SHIFT = 56;
+    private static final int COUNT_SHIFT = 40;
+    private static final long DIGITS_MASK = (1L << COUNT_SHIFT) - 1;
+
+    /**
+     * Số chữ số tối đa được gom vào long (đủ để phân biệt độ dài > 11)
+     */
+    private static final int MAX_COUNTED_DIGITS = ProfileConstants.VN_PHONE_LENGTH_11 + 1;
+
+    private static final int COUNTRY_CODE = Integer.parseInt(ProfileConstants.VN_COUNTRY_CODE);
+
+    /**
+     * Số 10 chữ số: prefix = "0" + chữ số thứ hai
+     */
+    private static final boolean[] TEN_DIGIT_PREFIXES = new boolean[10];
+
+    /**
+     * Số 11 chữ số: prefix = "0" + chữ số thứ 3 và 4 (tra trong
+     * VN_PHONE_PREFIXES giống logic trước đây)
+     */
+    private static final boolean[] ELEVEN_DIGIT_PREFIXES = new boolean[100];
+
+    static {
+        List<String> prefixes = Arrays.asList(ProfileConstants.VN_PHONE_PREFIXES);
+        for (int digit = 0; digit < TEN_DIGIT_PREFIXES.length; digit++) {
+            TEN_DIGIT_PREFIXES[digit] = prefixes.contains("0" + digit);
+        }
+        for (int digits = 0; digits < ELEVEN_DIGIT_PREFIXES.length; digits++) {
+            ELEVEN_DIGIT_PREFIXES[digits] = prefixes.contains("0" + (digits < 10 ? "0" : "") + digits);
+        }
+    }
+
+    /**
+     * Số chữ số << COUNT_SHIFT | giá trị các chữ số
+     */
+    private final long packedDigits;
+
+    /**
+     * Chuỗi gốc (đã trim), null nếu chuỗi gốc chỉ gồm chữ số
+     */
+    private final String formatted;
+
+    private PhoneNumber(long packedDigits, String formatted) {
+        this.packedDigits = packedDigits;
+        this.formatted = formatted;
     }
 
     /**
      * Factory method để tạo PhoneNumber từ string
-     * 
+     *
      * @param phoneNumber Số điện thoại
      * @return PhoneNumber instance
      * @throws ValidationException nếu phone number không hợp lệ
      */
     public static PhoneNumber of(String phoneNumber) throws ValidationException {
-        if (phoneNumber == null || phoneNumber.trim().isEmpty()) {
-            throw new ValidationException("Phone number is required");
+        return parse(phoneNumber);
+    }
+
+    /**
+     * Parse số điện thoại từ CharSequence (String, StringBuilder, CharBuffer...)
+     *
+     * @throws ValidationException nếu phone number không hợp lệ
+     */
+    public static PhoneNumber parse(CharSequence phoneNumber) throws ValidationException {
+        long scan = scan(phoneNumber);
+        if (status(scan) != OK) {
+            throw toException(status(scan), phoneNumber);
         }
+        return create(phoneNumber, scan);
+    }
 
-        List<String> errors = validatePhoneNumber(phoneNumber);
-        if (!errors.isEmpty()) {
-            throw new ValidationException(errors);
+    /**
+     * Parse số điện thoại trực tiếp từ buffer byte (ASCII/UTF-8), ví dụ buffer
+     * đọc file của bulk import
+     *
+     * @throws ValidationException nếu phone number không hợp lệ
+     */
+    public static PhoneNumber parse(byte[] buffer, int offset, int length) throws ValidationException {
+        long scan = scan(buffer, offset, length);
+        if (status(scan) != OK) {
+            throw toException(status(scan), new String(buffer, offset, length, StandardCharsets.UTF_8));
         }
+        return create(buffer, offset, length, scan);
+    }
 
-        return new PhoneNumber(phoneNumber.trim());
+    /**
+     * Parse không throw exception
+     *
+     * @return PhoneNumber, null nếu không hợp lệ
+     */
+    public static PhoneNumber tryParse(CharSequence phoneNumber) {
+        long scan = scan(phoneNumber);
+        return status(scan) == OK ? create(phoneNumber, scan) : null;
     }
 
-    private static List<String> validatePhoneNumber(String phone) {
-        List<String> errors = new ArrayList<>();
-        String phoneTrimmed = phone.trim();
+    /**
+     * Parse từ buffer byte không throw exception
+     *
+     * @return PhoneNumber, null nếu không hợp lệ
+     */
+    public static PhoneNumber tryParse(byte[] buffer, int offset, int length) {
+        long scan = scan(buffer, offset, length);
+        return status(scan) == OK ? create(buffer, offset, length, scan) : null;
+    }
 
-        // Reject negative numbers
-        if (phoneTrimmed.startsWith("-")) {
-            errors.add("Phone number cannot be negative (cannot start with minus sign)");
-            return errors; // Early return - no need to check further
-        }
+    /**
+     * Danh sách lỗi validation (giống ValidationException.getErrors() của of)
+     *
+     * @return Danh sách lỗi, rỗng nếu hợp lệ
+     */
+    public static List<String> validationErrors(CharSequence phoneNumber) {
+        int status = status(scan(phoneNumber));
+        return status == OK ? Collections.emptyList()
+                : Collections.singletonList(message(status, phoneNumber));
+    }
 
-        // Only allow digits, +, and spaces
-        String phoneWithoutValidChars = phone.replaceAll("[0-9+\\s]", "");
-        if (!phoneWithoutValidChars.isEmpty()) {
-            errors.add(
-                    "Phone number can only contain digits, + (for country code), and spaces. Invalid characters found: "
-                            + phoneWithoutValidChars);
-            return errors; // Early return
+    /**
+     * Quét input một lần
+     *
+     * @return status | số chữ số | giá trị các chữ số, pack vào một long
+     */
+    private static long scan(CharSequence phone) {
+        if (phone == null) {
+            return pack(REQUIRED, 0, 0);
         }
-
-        // Extract only digits
-        String phoneDigits = phone.replaceAll("[^0-9]", "");
-
-        // Validate length
-        if (phoneDigits.length() != ProfileConstants.VN_PHONE_LENGTH_10
-                && phoneDigits.length() != ProfileConstants.VN_PHONE_LENGTH_11) {
-            errors.add("Phone number must be 10 or 11 digits (Vietnam format: 0xxxxxxxxx or +84xxxxxxxxx)");
-            return errors; // Early return
+        boolean content = false;
+        boolean negative = false;
+        boolean invalid = false;
+        int count = 0;
+        long digits = 0;
+        for (int i = 0, length = phone.length(); i < length; i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (count < MAX_COUNTED_DIGITS) {
+                    count++;
+                    digits = digits * 10 + (c - '0');
+                }
+            } else if (c != '+' && !isWhitespace(c)) {
+                invalid = true;
+            }
+            if (!content && c > ' ') {
+                content = true;
+                negative = c == '-';
+            }
         }
+        return classify(content, negative, invalid, count, digits);
+    }
 
-        // Validate 10-digit format
-        if (phoneDigits.length() == ProfileConstants.VN_PHONE_LENGTH_10) {
-            if (!phoneDigits.startsWith("0")) {
-                errors.add("10-digit phone number must start with '0' (Vietnam format)");
-            } else {
-                String prefix = phoneDigits.substring(0, 2);
-                Set<String> validPrefixes = Arrays.stream(ProfileConstants.VN_PHONE_PREFIXES)
-                        .collect(Collectors.toSet());
-                if (!validPrefixes.contains(prefix)) {
-                    errors.add("Phone number prefix must be one of: "
-                            + Arrays.toString(ProfileConstants.VN_PHONE_PREFIXES));
+    private static long scan(byte[] buffer, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, buffer.length);
+        boolean content = false;
+        boolean negative = false;
+        boolean invalid = false;
+        int count = 0;
+        long digits = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            int b = buffer[i] & 0xFF;
+            if (b >= '0' && b <= '9') {
+                if (count < MAX_COUNTED_DIGITS) {
+                    count++;
+                    digits = digits * 10 + (b - '0');
                 }
+            } else if (b != '+' && !isWhitespace((char) b)) {
+                // Byte >= 0x80 thuộc ký tự non-ASCII, luôn không hợp lệ
+                invalid = true;
+            }
+            if (!content && b > ' ') {
+                content = true;
+                negative = b == '-';
             }
         }
+        return classify(content, negative, invalid, count, digits);
+    }
 
-        // Validate 11-digit format
-        if (phoneDigits.length() == ProfileConstants.VN_PHONE_LENGTH_11) {
-            if (!phoneDigits.startsWith(ProfileConstants.VN_COUNTRY_CODE)) {
-                errors.add("11-digit phone number (with country code) must start with '84'");
-            } else {
-                String prefix = phoneDigits.substring(2, 4);
-                Set<String> validPrefixes = Arrays.stream(ProfileConstants.VN_PHONE_PREFIXES)
-                        .collect(Collectors.toSet());
-                if (!validPrefixes.contains("0" + prefix)) {
-                    errors.add("Phone number prefix (after +84) must be one of: "
-                            + Arrays.toString(ProfileConstants.VN_PHONE_PREFIXES));
-                }
+    /**
+     * Thứ tự kiểm tra giống validation trước đây: required, dấu trừ, ký tự
+     * không hợp lệ, độ dài, rồi prefix theo độ dài
+     */
+    private static long classify(boolean content, boolean negative, boolean invalid, int count, long digits) {
+        if (!content) {
+            return pack(REQUIRED, count, digits);
+        }
+        if (negative) {
+            return pack(NEGATIVE, count, digits);
+        }
+        if (invalid) {
+            return pack(INVALID_CHARACTERS, count, digits);
+        }
+        if (count == ProfileConstants.VN_PHONE_LENGTH_10) {
+            if (digits >= 1_000_000_000L) {
+                return pack(TEN_DIGIT_NOT_ZERO, count, digits);
+            }
+            if (!TEN_DIGIT_PREFIXES[(int) (digits / 100_000_000L)]) {
+                return pack(TEN_DIGIT_PREFIX, count, digits);
+            }
+            return pack(OK, count, digits);
+        }
+        if (count == ProfileConstants.VN_PHONE_LENGTH_11) {
+            if (digits / 1_000_000_000L != COUNTRY_CODE) {
+                return pack(ELEVEN_DIGIT_COUNTRY_CODE, count, digits);
+            }
+            if (!ELEVEN_DIGIT_PREFIXES[(int) (digits / 10_000_000L % 100)]) {
+                return pack(ELEVEN_DIGIT_PREFIX, count, digits);
             }
+            return pack(OK, count, digits);
         }
+        return pack(INVALID_LENGTH, count, digits);
+    }
+
+    /**
+     * Regex \s (không bật UNICODE_CHARACTER_CLASS): [ \t\n\x0B\f\r]
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    private static long pack(int status, int count, long digits) {
+        return ((long) status << STATUS_SHIFT) | ((long) count << COUNT_SHIFT) | (digits & DIGITS_MASK);
+    }
 
-        return errors;
+    private static int status(long scan) {
+        return (int) (scan >>> STATUS_SHIFT);
     }
 
-    private static String extractDigits(String phone) {
-        return phone == null ? "" : phone.replaceAll("[^0-9]", "");
+    /**
+     * Tạo instance từ input hợp lệ; chuỗi gốc được trim giống String.trim() và
+     * chỉ được giữ lại nếu chứa ký tự khác chữ số
+     */
+    private static PhoneNumber create(CharSequence phone, long scan) {
+        int start = 0;
+        int end = phone.length();
+        while (start < end && phone.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && phone.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        long packed = scan & ~(-1L << STATUS_SHIFT);
+        return new PhoneNumber(packed, end - start == digitCount(packed) ? null
+                : phone.subSequence(start, end).toString());
+    }
+
+    private static PhoneNumber create(byte[] buffer, int offset, int length, long scan) {
+        int start = offset;
+        int end = offset + length;
+        while (start < end && (buffer[start] & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (buffer[end - 1] & 0xFF) <= ' ') {
+            end--;
+        }
+        long packed = scan & ~(-1L << STATUS_SHIFT);
+        // Input hợp lệ chỉ chứa ASCII
+        return new PhoneNumber(packed, end - start == digitCount(packed) ? null
+                : new String(buffer, start, end - start, StandardCharsets.ISO_8859_1));
+    }
+
+    private static int digitCount(long packed) {
+        return (int) ((packed >>> COUNT_SHIFT) & 0xFF);
+    }
+
+    private static String digitString(long packed) {
+        long digits = packed & DIGITS_MASK;
+        char[] chars = new char[digitCount(packed)];
+        for (int i = chars.length - 1; i >= 0; i--) {
+            chars[i] = (char) ('0' + digits % 10);
+            digits /= 10;
+        }
+        return new String(chars);
+    }
+
+    private static ValidationException toException(int status, CharSequence phone) {
+        String message = message(status, phone);
+        return status == REQUIRED ? new ValidationException(message)
+                : new ValidationException(Collections.singletonList(message));
+    }
+
+    private static String message(int status, CharSequence phone) {
+        switch (status) {
+            case REQUIRED:
+                return "Phone number is required";
+            case NEGATIVE:
+                return "Phone number cannot be negative (cannot start with minus sign)";
+            case INVALID_CHARACTERS:
+                return "Phone number can only contain digits, + (for country code), and spaces. "
+                        + "Invalid characters found: " + invalidCharacters(phone);
+            case INVALID_LENGTH:
+                return "Phone number must be 10 or 11 digits (Vietnam format: 0xxxxxxxxx or +84xxxxxxxxx)";
+            case TEN_DIGIT_NOT_ZERO:
+                return "10-digit phone number must start with '0' (Vietnam format)";
+            case TEN_DIGIT_PREFIX:
+                return "Phone number prefix must be one of: " + Arrays.toString(ProfileConstants.VN_PHONE_PREFIXES);
+            case ELEVEN_DIGIT_COUNTRY_CODE:
+                return "11-digit phone number (with country code) must start with '84'";
+            case ELEVEN_DIGIT_PREFIX:
+                return "Phone number prefix (after +84) must be one of: "
+                        + Arrays.toString(ProfileConstants.VN_PHONE_PREFIXES);
+            default:
+                throw new IllegalStateException("Unknown phone number status: " + status);
+        }
+    }
+
+    private static String invalidCharacters(CharSequence phone) {
+        StringBuilder invalid = new StringBuilder();
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if ((c < '0' || c > '9') && c != '+' && !isWhitespace(c)) {
+                invalid.append(c);
+            }
+        }
+        return invalid.toString();
     }
 
     public String getValue() {
-        return value;
+        return formatted != null ? formatted : digitString(packedDigits);
     }
 
     public String getDigitsOnly() {
-        return digitsOnly;
+        return digitString(packedDigits);
+    }
+
+    /**
+     * Các chữ số dưới dạng số (ví dụ 912345678 cho "0912345678"); kết hợp với
+     * getDigitCount() để phân biệt số 0 đứng đầu
+     */
+    public long getDigitsValue() {
+        return packedDigits & DIGITS_MASK;
+    }
+
+    public int getDigitCount() {
+        return digitCount(packedDigits);
     }
 
     @Override
@@ -124,16 +373,16 @@ public final class PhoneNumber {
         if (o == null || getClass() != o.getClass())
             return false;
         PhoneNumber that = (PhoneNumber) o;
-        return Objects.equals(digitsOnly, that.digitsOnly);
+        return packedDigits == that.packedDigits;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(digitsOnly);
+        return Long.hashCode(packedDigits);
     }
 
     @Override
     public String toString() {
-        return value;
+        return getValue();
     }
 }
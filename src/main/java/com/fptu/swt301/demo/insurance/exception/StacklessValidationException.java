@@ -0,0 +1,34 @@
+package com.fptu.swt301.demo.insurance.exception;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * ValidationException không capture stack trace
+ * Dùng cho hot path (ví dụ bulk import) nơi validation fail là chuyện bình
+ * thường và stack trace không mang thêm thông tin: bỏ qua fillInStackTrace là
+ * phần đắt nhất khi tạo exception.
+ */
+public class StacklessValidationException extends ValidationException {
+
+    public StacklessValidationException(List<String> errors) {
+        super(errors);
+    }
+
+    public StacklessValidationException(String singleError) {
+        super(singleError);
+    }
+
+    /**
+     * @param errorSupplier Supplier trả về danh sách lỗi, chỉ được gọi khi cần
+     *                      message hoặc errors
+     */
+    public StacklessValidationException(Supplier<List<String>> errorSupplier) {
+        super(errorSupplier);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
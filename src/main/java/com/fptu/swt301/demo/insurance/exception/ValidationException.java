@@ -2,35 +2,65 @@ package com.fptu.swt301.demo.insurance.exception;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Exception chứa nhiều validation errors cùng lúc
  * Thay vì báo từng lỗi một, thu thập tất cả lỗi và báo cùng lúc
+ *
+ * Message chỉ được format khi getMessage() được gọi lần đầu.
  */
 public class ValidationException extends IllegalArgumentException {
-    private final List<String> errors;
+    private List<String> errors;
+    private Supplier<List<String>> errorSupplier;
+    private String message;
 
     public ValidationException(List<String> errors) {
-        super(formatErrorMessage(errors));
         this.errors = new ArrayList<>(errors);
     }
 
     public ValidationException(String singleError) {
-        super(singleError);
         this.errors = new ArrayList<>();
         this.errors.add(singleError);
+        this.message = singleError;
+    }
+
+    /**
+     * Constructor với danh sách lỗi được render lazily (chỉ khi cần message
+     * hoặc errors)
+     *
+     * @param errorSupplier Supplier trả về danh sách lỗi
+     */
+    protected ValidationException(Supplier<List<String>> errorSupplier) {
+        this.errorSupplier = errorSupplier;
     }
 
     public List<String> getErrors() {
-        return new ArrayList<>(errors);
+        return new ArrayList<>(errors());
     }
 
     public int getErrorCount() {
-        return errors.size();
+        return errors().size();
     }
 
     public boolean hasErrors() {
-        return !errors.isEmpty();
+        return !errors().isEmpty();
+    }
+
+    @Override
+    public String getMessage() {
+        if (message == null) {
+            message = formatErrorMessage(errors());
+        }
+        return message;
+    }
+
+    private List<String> errors() {
+        if (errors == null) {
+            errors = new ArrayList<>(errorSupplier.get());
+            errorSupplier = null;
+        }
+        return errors;
     }
 
     private static String formatErrorMessage(List<String> errors) {
@@ -56,4 +86,3 @@ public class ValidationException extends IllegalArgumentException {
         return getMessage();
     }
 }
-
@@ -0,0 +1,72 @@
+package com.fptu.swt301.demo.insurance.repository;
+
+import com.fptu.swt301.demo.insurance.domain.model.BrokerProfile;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Thread-safe implementation của BrokerProfileRepository
+ * Dùng các thao tác atomic của ConcurrentHashMap thay cho check-then-act:
+ * - save: putIfAbsent (không thể tạo trùng userId)
+ * - update: replace (chỉ ghi khi key còn tồn tại)
+ * - delete: remove
+ */
+public class ConcurrentBrokerProfileRepository implements BrokerProfileRepository {
+
+    private final ConcurrentMap<String, BrokerProfile> profiles;
+
+    public ConcurrentBrokerProfileRepository() {
+        this.profiles = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public Optional<BrokerProfile> findByUserId(String userId) {
+        if (userId == null || userId.trim().isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(profiles.get(userId));
+    }
+
+    @Override
+    public boolean save(BrokerProfile profile) {
+        if (profile == null || profile.getUserId() == null) {
+            return false;
+        }
+        return profiles.putIfAbsent(profile.getUserId(), profile) == null;
+    }
+
+    @Override
+    public boolean update(BrokerProfile profile) {
+        if (profile == null || profile.getUserId() == null) {
+            return false;
+        }
+        return profiles.replace(profile.getUserId(), profile) != null;
+    }
+
+    @Override
+    public boolean delete(String userId) {
+        if (userId == null || userId.trim().isEmpty()) {
+            return false;
+        }
+        return profiles.remove(userId) != null;
+    }
+
+    @Override
+    public boolean exists(String userId) {
+        if (userId == null || userId.trim().isEmpty()) {
+            return false;
+        }
+        return profiles.containsKey(userId);
+    }
+
+    @Override
+    public long count() {
+        return profiles.size();
+    }
+
+    @Override
+    public void deleteAll() {
+        profiles.clear();
+    }
+}
@@ -0,0 +1,51 @@
+package com.fptu.swt301.demo.insurance.repository;
+
+import com.fptu.swt301.demo.insurance.domain.model.InsuranceQuote;
+import java.util.Optional;
+
+/**
+ * Repository interface cho Insurance Quote
+ * Cho phép retrieve quote đã lưu theo identification number
+ */
+public interface InsuranceQuoteRepository {
+
+    /**
+     * Tìm quote theo identification number
+     *
+     * @param identificationNumber Identification number của quote
+     * @return Optional<InsuranceQuote> - empty nếu không tìm thấy
+     */
+    Optional<InsuranceQuote> findByIdentificationNumber(String identificationNumber);
+
+    /**
+     * Lưu quote mới
+     *
+     * @param quote Quote cần lưu
+     * @return true nếu lưu thành công, false nếu identification number đã tồn
+     *         tại
+     */
+    boolean save(InsuranceQuote quote);
+
+    /**
+     * Xóa quote
+     *
+     * @param identificationNumber Identification number của quote
+     * @return true nếu xóa thành công, false nếu không tìm thấy
+     */
+    boolean delete(String identificationNumber);
+
+    /**
+     * Kiểm tra quote có tồn tại không
+     *
+     * @param identificationNumber Identification number của quote
+     * @return true nếu tồn tại, false nếu không
+     */
+    boolean exists(String identificationNumber);
+
+    /**
+     * Đếm tổng số quotes
+     *
+     * @return Số lượng quotes
+     */
+    long count();
+}
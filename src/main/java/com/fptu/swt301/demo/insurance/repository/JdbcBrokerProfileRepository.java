@@ -0,0 +1,464 @@
+package com.fptu.swt301.demo.insurance.repository;
+
+import com.fptu.swt301.demo.insurance.config.ProfileConstants;
+import com.fptu.swt301.demo.insurance.domain.model.BrokerProfile;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * JDBC implementation của BrokerProfileRepository (mặc định H2, ví dụ
+ * "jdbc:h2:file:./data/broker_profiles" để dữ liệu còn sau khi restart)
+ *
+ * - Bảng broker_profile với user_id là primary key (được index)
+ * - saveAll/updateAll dùng JDBC batch trong một transaction cho bulk onboarding
+ * - Read-through LRU cache trong process trước findByUserId; save/update/delete
+ * cập nhật cache (write-through), batch write invalidate các key liên quan
+ *
+ * Dùng một connection duy nhất, mọi thao tác được synchronized.
+ */
+public class JdbcBrokerProfileRepository implements BrokerProfileRepository, AutoCloseable {
+
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS broker_profile ("
+            + "user_id VARCHAR(64) PRIMARY KEY, "
+            + "title VARCHAR(32), "
+            + "first_name VARCHAR(255), "
+            + "surname VARCHAR(255), "
+            + "phone VARCHAR(32), "
+            + "date_of_birth DATE, "
+            + "license_type VARCHAR(32), "
+            + "license_period INT NOT NULL, "
+            + "occupation VARCHAR(255), "
+            + "street VARCHAR(255), "
+            + "city VARCHAR(255), "
+            + "county VARCHAR(255), "
+            + "post_code VARCHAR(32), "
+            + "driver_history VARCHAR(4000))";
+
+    private static final String COLUMNS = "title, first_name, surname, phone, date_of_birth, license_type, "
+            + "license_period, occupation, street, city, county, post_code, driver_history";
+
+    private static final String INSERT = "INSERT INTO broker_profile (" + COLUMNS + ", user_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE = "UPDATE broker_profile SET title = ?, first_name = ?, surname = ?, "
+            + "phone = ?, date_of_birth = ?, license_type = ?, license_period = ?, occupation = ?, street = ?, "
+            + "city = ?, county = ?, post_code = ?, driver_history = ? WHERE user_id = ?";
+
+    private static final String SELECT_BY_ID = "SELECT user_id, " + COLUMNS
+            + " FROM broker_profile WHERE user_id = ?";
+
+    private static final String UNIQUE_VIOLATION_STATE = "23505";
+    private static final String INTEGRITY_VIOLATION_STATE = "23000";
+    private static final int MYSQL_DUPLICATE_ENTRY = 1062;
+
+    private final Connection connection;
+    private final PreparedStatement insert;
+    private final PreparedStatement update;
+    private final PreparedStatement selectById;
+    private final PreparedStatement deleteById;
+    private final PreparedStatement existsById;
+
+    private final int cacheSize;
+    private final LinkedHashMap<String, BrokerProfile> cache;
+    private long cacheHitCount;
+    private long cacheMissCount;
+
+    public JdbcBrokerProfileRepository(String jdbcUrl) {
+        this(jdbcUrl, null, null, ProfileConstants.DEFAULT_PROFILE_CACHE_SIZE);
+    }
+
+    /**
+     * @param jdbcUrl   JDBC URL
+     * @param user      Database user (có thể null)
+     * @param password  Database password (có thể null)
+     * @param cacheSize Số profile tối đa trong cache, 0 để tắt cache
+     * @throws IllegalArgumentException nếu cacheSize âm
+     * @throws IllegalStateException    nếu không kết nối hoặc tạo bảng được
+     */
+    public JdbcBrokerProfileRepository(String jdbcUrl, String user, String password, int cacheSize) {
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("Cache size cannot be negative. Provided value: " + cacheSize);
+        }
+        this.cacheSize = cacheSize;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true);
+        Connection opened = null;
+        List<PreparedStatement> prepared = new ArrayList<>();
+        try {
+            opened = DriverManager.getConnection(jdbcUrl, user, password);
+            try (Statement statement = opened.createStatement()) {
+                statement.execute(CREATE_TABLE);
+            }
+            this.insert = prepare(opened, INSERT, prepared);
+            this.update = prepare(opened, UPDATE, prepared);
+            this.selectById = prepare(opened, SELECT_BY_ID, prepared);
+            this.deleteById = prepare(opened, "DELETE FROM broker_profile WHERE user_id = ?", prepared);
+            this.existsById = prepare(opened, "SELECT 1 FROM broker_profile WHERE user_id = ?", prepared);
+            this.connection = opened;
+        } catch (SQLException e) {
+            // Không để rò rỉ connection / statement đã mở khi tạo bảng hoặc prepare lỗi
+            for (PreparedStatement statement : prepared) {
+                try {
+                    statement.close();
+                } catch (SQLException closeError) {
+                    e.addSuppressed(closeError);
+                }
+            }
+            if (opened != null) {
+                try {
+                    opened.close();
+                } catch (SQLException closeError) {
+                    e.addSuppressed(closeError);
+                }
+            }
+            throw new IllegalStateException("Cannot initialise broker_profile table at " + jdbcUrl, e);
+        }
+    }
+
+    @Override
+    public synchronized Optional<BrokerProfile> findByUserId(String userId) {
+        if (userId == null || userId.trim().isEmpty()) {
+            return Optional.empty();
+        }
+        BrokerProfile cached = cache.get(userId);
+        if (cached != null) {
+            cacheHitCount++;
+            return Optional.of(cached);
+        }
+        cacheMissCount++;
+
+        try {
+            selectById.setString(1, userId);
+            try (ResultSet resultSet = selectById.executeQuery()) {
+                if (!resultSet.next()) {
+                    return Optional.empty();
+                }
+                BrokerProfile profile = mapRow(resultSet);
+                cachePut(profile);
+                return Optional.of(profile);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot load broker profile " + userId, e);
+        }
+    }
+
+    @Override
+    public synchronized boolean save(BrokerProfile profile) {
+        if (profile == null || profile.getUserId() == null) {
+            return false;
+        }
+        try {
+            bind(insert, profile);
+            insert.executeUpdate();
+            cachePut(profile);
+            return true;
+        } catch (SQLException e) {
+            if (isDuplicateKey(e)) {
+                return false; // Already exists
+            }
+            throw new IllegalStateException("Cannot save broker profile " + profile.getUserId(), e);
+        }
+    }
+
+    @Override
+    public synchronized boolean update(BrokerProfile profile) {
+        if (profile == null || profile.getUserId() == null) {
+            return false;
+        }
+        try {
+            bind(update, profile);
+            boolean updated = update.executeUpdate() == 1;
+            if (updated) {
+                cachePut(profile);
+            }
+            return updated;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot update broker profile " + profile.getUserId(), e);
+        }
+    }
+
+    /**
+     * Bulk insert bằng JDBC batch trong một transaction
+     * Profile null, không có userId, trùng userId trong input (giữ bản đầu
+     * tiên) hoặc đã tồn tại trong database sẽ bị bỏ qua.
+     *
+     * @param profiles Danh sách profile cần lưu
+     * @return Số profile được insert
+     */
+    public synchronized int saveAll(Collection<BrokerProfile> profiles) {
+        List<BrokerProfile> batch = new ArrayList<>(distinctByUserId(profiles).values());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            connection.setAutoCommit(false);
+            try {
+                for (BrokerProfile profile : batch) {
+                    bind(insert, profile);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+                connection.commit();
+                invalidate(batch);
+                return batch.size();
+            } catch (BatchUpdateException e) {
+                // Có userId đã tồn tại: rollback rồi insert từng dòng, bỏ qua duplicate.
+                // Lỗi khác duplicate rollback cả batch, không commit các dòng đã insert
+                connection.rollback();
+                insert.clearBatch();
+                int inserted = 0;
+                try {
+                    for (BrokerProfile profile : batch) {
+                        bind(insert, profile);
+                        try {
+                            insert.executeUpdate();
+                            inserted++;
+                        } catch (SQLException rowError) {
+                            if (!isDuplicateKey(rowError)) {
+                                throw rowError;
+                            }
+                        }
+                    }
+                } catch (SQLException rowError) {
+                    connection.rollback();
+                    throw rowError;
+                }
+                connection.commit();
+                invalidate(batch);
+                return inserted;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot save broker profiles", e);
+        }
+    }
+
+    /**
+     * Bulk update bằng JDBC batch trong một transaction
+     * Profile không tồn tại sẽ bị bỏ qua.
+     *
+     * @param profiles Danh sách profile với thông tin mới
+     * @return Số profile được update
+     */
+    public synchronized int updateAll(Collection<BrokerProfile> profiles) {
+        List<BrokerProfile> batch = new ArrayList<>(distinctByUserId(profiles).values());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        try {
+            connection.setAutoCommit(false);
+            try {
+                for (BrokerProfile profile : batch) {
+                    bind(update, profile);
+                    update.addBatch();
+                }
+                int updated = 0;
+                for (int count : update.executeBatch()) {
+                    updated += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+                }
+                connection.commit();
+                invalidate(batch);
+                return updated;
+            } catch (SQLException e) {
+                connection.rollback();
+                update.clearBatch();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot update broker profiles", e);
+        }
+    }
+
+    @Override
+    public synchronized boolean delete(String userId) {
+        if (userId == null || userId.trim().isEmpty()) {
+            return false;
+        }
+        try {
+            deleteById.setString(1, userId);
+            cache.remove(userId);
+            return deleteById.executeUpdate() == 1;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot delete broker profile " + userId, e);
+        }
+    }
+
+    @Override
+    public synchronized boolean exists(String userId) {
+        if (userId == null || userId.trim().isEmpty()) {
+            return false;
+        }
+        if (cache.containsKey(userId)) {
+            return true;
+        }
+        try {
+            existsById.setString(1, userId);
+            try (ResultSet resultSet = existsById.executeQuery()) {
+                return resultSet.next();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot check broker profile " + userId, e);
+        }
+    }
+
+    @Override
+    public synchronized long count() {
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM broker_profile")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot count broker profiles", e);
+        }
+    }
+
+    @Override
+    public synchronized void deleteAll() {
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM broker_profile");
+            cache.clear();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot delete broker profiles", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot close broker profile connection", e);
+        }
+    }
+
+    public synchronized long getCacheHitCount() {
+        return cacheHitCount;
+    }
+
+    public synchronized long getCacheMissCount() {
+        return cacheMissCount;
+    }
+
+    private void cachePut(BrokerProfile profile) {
+        if (cacheSize == 0) {
+            return;
+        }
+        cache.put(profile.getUserId(), profile);
+        if (cache.size() > cacheSize) {
+            Iterator<String> eldest = cache.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private void invalidate(List<BrokerProfile> profiles) {
+        for (BrokerProfile profile : profiles) {
+            cache.remove(profile.getUserId());
+        }
+    }
+
+    private static PreparedStatement prepare(Connection connection, String sql, List<PreparedStatement> prepared)
+            throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        prepared.add(statement);
+        return statement;
+    }
+
+    private static Map<String, BrokerProfile> distinctByUserId(Collection<BrokerProfile> profiles) {
+        Map<String, BrokerProfile> distinct = new LinkedHashMap<>();
+        if (profiles != null) {
+            for (BrokerProfile profile : profiles) {
+                if (profile != null && profile.getUserId() != null) {
+                    distinct.putIfAbsent(profile.getUserId(), profile);
+                }
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * Bind tham số theo thứ tự COLUMNS, user_id ở vị trí cuối (dùng chung cho
+     * INSERT và UPDATE)
+     */
+    private static void bind(PreparedStatement statement, BrokerProfile profile) throws SQLException {
+        statement.setString(1, profile.getTitle());
+        statement.setString(2, profile.getFirstName());
+        statement.setString(3, profile.getSurname());
+        statement.setString(4, profile.getPhoneValue());
+        if (profile.getDateOfBirth() != null) {
+            statement.setDate(5, Date.valueOf(profile.getDateOfBirth()));
+        } else {
+            statement.setNull(5, Types.DATE);
+        }
+        statement.setString(6, profile.getLicenseType());
+        statement.setInt(7, profile.getLicensePeriod());
+        statement.setString(8, profile.getOccupation());
+        statement.setString(9, profile.getStreet());
+        statement.setString(10, profile.getCity());
+        statement.setString(11, profile.getCounty());
+        statement.setString(12, profile.getPostCode());
+        statement.setString(13, profile.getDriverHistory());
+        statement.setString(14, profile.getUserId());
+    }
+
+    private static BrokerProfile mapRow(ResultSet resultSet) throws SQLException {
+        BrokerProfile.Builder builder = BrokerProfile.builder()
+                .userId(resultSet.getString("user_id"))
+                .title(resultSet.getString("title"))
+                .firstName(resultSet.getString("first_name"))
+                .surname(resultSet.getString("surname"))
+                .occupation(resultSet.getString("occupation"))
+                .driverHistory(resultSet.getString("driver_history"));
+
+        String phone = resultSet.getString("phone");
+        if (phone != null) {
+            builder.phone(phone);
+        }
+        Date dateOfBirth = resultSet.getDate("date_of_birth");
+        if (dateOfBirth != null) {
+            builder.dateOfBirth(dateOfBirth.toLocalDate());
+        }
+        String licenseType = resultSet.getString("license_type");
+        if (licenseType != null) {
+            builder.licenseType(licenseType).licensePeriod(resultSet.getInt("license_period"));
+        }
+
+        String street = resultSet.getString("street");
+        String city = resultSet.getString("city");
+        String county = resultSet.getString("county");
+        String postCode = resultSet.getString("post_code");
+        if (street != null || city != null || county != null || postCode != null) {
+            builder.address(new BrokerProfile.Address(street, city, county, postCode));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Chỉ unique violation (duplicate primary key) mới được coi là trùng;
+     * vi phạm ràng buộc khác của class 23 (NOT NULL, CHECK, FK) vẫn là lỗi.
+     * MySQL báo duplicate bằng SQLState chung 23000 nên so thêm vendor code
+     */
+    private static boolean isDuplicateKey(SQLException e) {
+        return UNIQUE_VIOLATION_STATE.equals(e.getSQLState())
+                || (INTEGRITY_VIOLATION_STATE.equals(e.getSQLState()) && e.getErrorCode() == MYSQL_DUPLICATE_ENTRY);
+    }
+}
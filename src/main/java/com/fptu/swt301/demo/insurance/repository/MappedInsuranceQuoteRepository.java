@@ -0,0 +1,603 @@
+package com.fptu.swt301.demo.insurance.repository;
+
+import com.fptu.swt301.demo.insurance.domain.model.InsuranceQuote;
+import com.fptu.swt301.demo.insurance.domain.model.PremiumCalculationRequest;
+import com.fptu.swt301.demo.insurance.domain.valueobject.BreakdownCover;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+/**
+ * InsuranceQuoteRepository lưu quote vào journal append-only được map vào bộ
+ * nhớ (MappedByteBuffer)
+ *
+ * Mỗi entry trong journal có dạng [int length][int crc32][payload]; payload là
+ * quote đã serialize (hoặc tombstone khi delete). Khi append, payload và CRC
+ * được ghi trước, length ghi sau cùng: entry chưa ghi xong có length = 0 hoặc
+ * CRC sai. Khi mở lại file, journal được scan từ đầu để dựng lại index
+ * identificationNumber -> offset; việc scan dừng ở entry không hợp lệ đầu tiên
+ * và phần còn lại của file được xoá về 0.
+ *
+ * Khi dead bytes (quote đã delete, tombstone) vượt quá live bytes và
+ * compaction threshold, các entry còn sống được ghi sang file tạm rồi thay thế
+ * journal bằng atomic move.
+ *
+ * Ghi vào MappedByteBuffer an toàn khi process bị kill (page cache của OS vẫn
+ * được flush); gọi sync() để đảm bảo dữ liệu xuống đĩa khi mất điện. Journal
+ * dùng một mapping duy nhất nên kích thước tối đa khoảng 2 GiB.
+ *
+ * Thread-safe: đọc dùng read lock, ghi/compaction dùng write lock.
+ */
+public class MappedInsuranceQuoteRepository implements InsuranceQuoteRepository, AutoCloseable {
+
+    /**
+     * Kích thước mapping ban đầu của journal (byte)
+     */
+    public static final int DEFAULT_INITIAL_SIZE = 1024 * 1024;
+
+    /**
+     * Dead bytes tối thiểu trước khi compaction tự động chạy
+     */
+    public static final long DEFAULT_COMPACTION_THRESHOLD = 4L * 1024 * 1024;
+
+    private static final int HEADER_SIZE = 8;
+    private static final byte TYPE_QUOTE = 1;
+    private static final byte TYPE_DELETE = 2;
+
+    private final Path journalPath;
+    private final Path compactionPath;
+    private final int initialSize;
+    private final long compactionThreshold;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> offsets = new HashMap<>();
+    private FileChannel channel;
+    private MappedByteBuffer journal;
+    private int writePosition;
+    private long liveBytes;
+    private long deadBytes;
+    private long highestNumericId = -1;
+
+    public MappedInsuranceQuoteRepository(Path journalPath) {
+        this(journalPath, DEFAULT_INITIAL_SIZE, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Mở (hoặc tạo mới) journal và khôi phục index từ các entry đã ghi
+     *
+     * @param journalPath         File journal
+     * @param initialSize         Kích thước mapping ban đầu (byte)
+     * @param compactionThreshold Dead bytes tối thiểu để compaction tự động
+     */
+    public MappedInsuranceQuoteRepository(Path journalPath, int initialSize, long compactionThreshold) {
+        if (journalPath == null) {
+            throw new IllegalArgumentException("Journal path cannot be null");
+        }
+        if (initialSize < HEADER_SIZE) {
+            throw new IllegalArgumentException("Initial size must be at least " + HEADER_SIZE
+                    + " bytes. Provided value: " + initialSize);
+        }
+        if (compactionThreshold < 0) {
+            throw new IllegalArgumentException("Compaction threshold cannot be negative. Provided value: "
+                    + compactionThreshold);
+        }
+        this.journalPath = journalPath;
+        this.compactionPath = journalPath.resolveSibling(journalPath.getFileName() + ".compact");
+        this.initialSize = initialSize;
+        this.compactionThreshold = compactionThreshold;
+
+        try {
+            // File tạm của lần compaction bị gián đoạn; journal gốc vẫn nguyên vẹn
+            Files.deleteIfExists(compactionPath);
+            channel = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            long fileSize = channel.size();
+            if (fileSize > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Quote journal " + journalPath + " exceeds 2 GiB");
+            }
+            journal = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(initialSize, fileSize));
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot open quote journal " + journalPath, e);
+        }
+        recover();
+        compactIfNeeded();
+    }
+
+    @Override
+    public Optional<InsuranceQuote> findByIdentificationNumber(String identificationNumber) {
+        if (identificationNumber == null) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            Integer offset = offsets.get(identificationNumber);
+            return offset == null ? Optional.empty() : Optional.of(decode(readPayload(journal, offset)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return false nếu quote đã tồn tại hoặc không serialize được (thiếu
+     *         identification number, request hoặc breakdown cover)
+     */
+    @Override
+    public boolean save(InsuranceQuote quote) {
+        if (quote == null || quote.getIdentificationNumber() == null || quote.getRequest() == null
+                || quote.getRequest().getBreakdownCover() == null) {
+            return false;
+        }
+        byte[] payload = encode(quote);
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            if (offsets.containsKey(quote.getIdentificationNumber())) {
+                return false;
+            }
+            offsets.put(quote.getIdentificationNumber(), append(payload));
+            liveBytes += HEADER_SIZE + payload.length;
+            highestNumericId = Math.max(highestNumericId, numericId(quote.getIdentificationNumber()));
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean delete(String identificationNumber) {
+        if (identificationNumber == null) {
+            return false;
+        }
+        byte[] tombstone = encodeTombstone(identificationNumber);
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            Integer offset = offsets.remove(identificationNumber);
+            if (offset == null) {
+                return false;
+            }
+            append(tombstone);
+            int entrySize = entrySize(offset);
+            liveBytes -= entrySize;
+            deadBytes += entrySize + HEADER_SIZE + tombstone.length;
+            compactIfNeeded();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean exists(String identificationNumber) {
+        if (identificationNumber == null) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            return offsets.containsKey(identificationNumber);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long count() {
+        lock.readLock().lock();
+        try {
+            return offsets.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ghi các entry còn sống sang file tạm, sau đó thay thế journal bằng atomic
+     * move
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            compactLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void compactLocked() {
+        Map<String, Integer> compacted = new HashMap<>(offsets.size() * 2);
+        int position = 0;
+        try {
+            try (FileChannel target = FileChannel.open(compactionPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = target.map(FileChannel.MapMode.READ_WRITE, 0,
+                        Math.max(initialSize, liveBytes));
+                for (Map.Entry<String, Integer> entry : offsets.entrySet()) {
+                    byte[] bytes = new byte[entrySize(entry.getValue())];
+                    journal.get(entry.getValue(), bytes);
+                    buffer.put(position, bytes);
+                    compacted.put(entry.getKey(), position);
+                    position += bytes.length;
+                }
+                buffer.force();
+            }
+            // Move trước khi đóng channel cũ: nếu move lỗi, journal gốc và channel vẫn dùng được
+            Files.move(compactionPath, journalPath, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            deleteCompactionFile();
+            throw new IllegalStateException("Cannot compact quote journal " + journalPath, e);
+        }
+
+        FileChannel previous = channel;
+        try {
+            FileChannel compactedChannel = FileChannel.open(journalPath, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            MappedByteBuffer compactedJournal;
+            try {
+                compactedJournal = compactedChannel.map(FileChannel.MapMode.READ_WRITE, 0, compactedChannel.size());
+            } catch (IOException e) {
+                closeQuietly(compactedChannel);
+                throw e;
+            }
+            channel = compactedChannel;
+            journal = compactedJournal;
+            offsets.clear();
+            offsets.putAll(compacted);
+            writePosition = position;
+            deadBytes = 0;
+        } catch (IOException e) {
+            // Channel cũ trỏ tới file đã bị thay thế, ghi tiếp sẽ mất dữ liệu: đóng repository
+            channel = null;
+            journal = null;
+            throw new IllegalStateException("Cannot reopen compacted quote journal " + journalPath, e);
+        } finally {
+            closeQuietly(previous);
+        }
+    }
+
+    /**
+     * Đảm bảo các entry đã ghi được flush xuống đĩa
+     */
+    public void sync() {
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            journal.force();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (channel == null) {
+                return;
+            }
+            journal.force();
+            channel.close();
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot close quote journal " + journalPath, e);
+        } finally {
+            channel = null;
+            journal = null;
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Identification number dạng số lớn nhất có trong journal (kể cả quote đã
+     * delete nhưng chưa bị compact), dùng làm high-water mark khi khởi tạo
+     * SequenceQuoteIdGenerator sau khi chạy lại ứng dụng
+     *
+     * @return Empty nếu journal không có id nào chỉ gồm chữ số
+     */
+    public OptionalLong getHighestNumericIdentificationNumber() {
+        lock.readLock().lock();
+        try {
+            return highestNumericId < 0 ? OptionalLong.empty() : OptionalLong.of(highestNumericId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Kích thước phần journal đã ghi (byte)
+     */
+    public long getJournalSize() {
+        lock.readLock().lock();
+        try {
+            return writePosition;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tổng kích thước các entry còn sống (byte)
+     */
+    public long getLiveBytes() {
+        lock.readLock().lock();
+        try {
+            return liveBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tổng kích thước các entry đã bị delete và tombstone chưa được compact
+     * (byte)
+     */
+    public long getDeadBytes() {
+        lock.readLock().lock();
+        try {
+            return deadBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void deleteCompactionFile() {
+        try {
+            Files.deleteIfExists(compactionPath);
+        } catch (IOException e) {
+            // File tạm còn sót lại được xoá khi mở lại journal
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Channel không còn được dùng
+        }
+    }
+
+    private void ensureOpen() {
+        if (channel == null) {
+            throw new IllegalStateException("Quote journal " + journalPath + " is closed");
+        }
+    }
+
+    // ---------------------------------------------------------------- journal
+
+    /**
+     * Scan journal từ đầu, dựng lại index và xoá phần đuôi chưa ghi xong
+     */
+    private void recover() {
+        int capacity = journal.capacity();
+        int position = 0;
+        while (position <= capacity - HEADER_SIZE) {
+            int length = journal.getInt(position);
+            if (length <= 0 || length > capacity - position - HEADER_SIZE) {
+                break;
+            }
+            byte[] payload = readPayload(journal, position);
+            if (crc(payload) != journal.getInt(position + 4)) {
+                break;
+            }
+            replay(payload, position);
+            position += HEADER_SIZE + length;
+        }
+        writePosition = position;
+
+        // Entry ghi dở (hoặc entry cũ sau nó) không được phép xuất hiện lại sau lần append kế tiếp
+        for (int i = position; i < capacity; i++) {
+            if (journal.get(i) != 0) {
+                journal.put(i, (byte) 0);
+            }
+        }
+    }
+
+    private void replay(byte[] payload, int position) {
+        String identificationNumber = readIdentificationNumber(payload);
+        int entrySize = HEADER_SIZE + payload.length;
+        highestNumericId = Math.max(highestNumericId, numericId(identificationNumber));
+        if (payload[0] == TYPE_QUOTE) {
+            Integer previous = offsets.put(identificationNumber, position);
+            if (previous != null) {
+                liveBytes -= entrySize(previous);
+                deadBytes += entrySize(previous);
+            }
+            liveBytes += entrySize;
+        } else {
+            Integer previous = offsets.remove(identificationNumber);
+            if (previous != null) {
+                liveBytes -= entrySize(previous);
+                deadBytes += entrySize(previous);
+            }
+            deadBytes += entrySize;
+        }
+    }
+
+    /**
+     * Append entry; length được ghi sau payload và CRC
+     *
+     * @return Offset của entry
+     */
+    private int append(byte[] payload) {
+        int entrySize = HEADER_SIZE + payload.length;
+        ensureCapacity(entrySize);
+        int position = writePosition;
+        journal.put(position + HEADER_SIZE, payload);
+        journal.putInt(position + 4, crc(payload));
+        journal.putInt(position, payload.length);
+        writePosition += entrySize;
+        return position;
+    }
+
+    private void ensureCapacity(int entrySize) {
+        long required = (long) writePosition + entrySize;
+        if (required <= journal.capacity()) {
+            return;
+        }
+        if (required > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Quote journal " + journalPath + " exceeds 2 GiB");
+        }
+        long newCapacity = Math.min(Integer.MAX_VALUE, Math.max(required, 2L * journal.capacity()));
+        try {
+            // Map vùng lớn hơn sẽ mở rộng file; mapping cũ được giải phóng khi GC
+            journal = channel.map(FileChannel.MapMode.READ_WRITE, 0, newCapacity);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot grow quote journal " + journalPath, e);
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (deadBytes > liveBytes && deadBytes >= compactionThreshold) {
+            compact();
+        }
+    }
+
+    private int entrySize(int offset) {
+        return HEADER_SIZE + journal.getInt(offset);
+    }
+
+    private static byte[] readPayload(ByteBuffer journal, int offset) {
+        byte[] payload = new byte[journal.getInt(offset)];
+        journal.get(offset + HEADER_SIZE, payload);
+        return payload;
+    }
+
+    /**
+     * @return Giá trị của id chỉ gồm chữ số ASCII (vừa long), hoặc -1
+     */
+    private static long numericId(String identificationNumber) {
+        int length = identificationNumber.length();
+        if (length == 0) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            char c = identificationNumber.charAt(i);
+            if (c < '0' || c > '9' || value > (Long.MAX_VALUE - (c - '0')) / 10) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    // ---------------------------------------------------------------- encoding
+
+    private static byte[] encode(InsuranceQuote quote) {
+        PremiumCalculationRequest request = quote.getRequest();
+        byte[] identificationNumber = utf8(quote.getIdentificationNumber());
+        byte[] userId = utf8(quote.getUserId());
+        byte[] registrationNumber = utf8(quote.getRegistrationNumber());
+        byte[] startOfPolicy = utf8(quote.getStartOfPolicy());
+        byte[] parkingLocation = utf8(request.getParkingLocation());
+
+        int size = 1 + stringSize(identificationNumber) + stringSize(userId) + stringSize(registrationNumber)
+                + stringSize(startOfPolicy) + stringSize(parkingLocation) + 8 + 8 + 1 + 1 + 4 + 4 + 8;
+        ByteBuffer payload = ByteBuffer.allocate(size);
+        payload.put(TYPE_QUOTE);
+        putString(payload, identificationNumber);
+        putString(payload, userId);
+        putString(payload, registrationNumber);
+        putString(payload, startOfPolicy);
+        payload.putLong(quote.getCreatedDate().toEpochDay());
+        payload.putDouble(quote.getCalculatedPremium());
+        payload.put(request.getBreakdownCover().getCode());
+        payload.put((byte) (request.isWindscreenRepair() ? 1 : 0));
+        payload.putInt(request.getNumberOfAccidents());
+        payload.putInt(request.getTotalMileage());
+        payload.putDouble(request.getEstimatedValue());
+        putString(payload, parkingLocation);
+        return payload.array();
+    }
+
+    private static byte[] encodeTombstone(String identificationNumber) {
+        byte[] bytes = utf8(identificationNumber);
+        ByteBuffer payload = ByteBuffer.allocate(1 + stringSize(bytes));
+        payload.put(TYPE_DELETE);
+        putString(payload, bytes);
+        return payload.array();
+    }
+
+    private static InsuranceQuote decode(byte[] bytes) {
+        ByteBuffer payload = ByteBuffer.wrap(bytes, 1, bytes.length - 1);
+        String identificationNumber = getString(payload);
+        String userId = getString(payload);
+        String registrationNumber = getString(payload);
+        String startOfPolicy = getString(payload);
+        LocalDate createdDate = LocalDate.ofEpochDay(payload.getLong());
+        double calculatedPremium = payload.getDouble();
+
+        PremiumCalculationRequest request = PremiumCalculationRequest.builder()
+                .breakdownCover(BreakdownCover.fromCode(payload.get()))
+                .windscreenRepair(payload.get() != 0)
+                .numberOfAccidents(payload.getInt())
+                .totalMileage(payload.getInt())
+                .estimatedValue(payload.getDouble())
+                .parkingLocation(getString(payload))
+                .build();
+
+        return InsuranceQuote.builder()
+                .identificationNumber(identificationNumber)
+                .request(request)
+                .calculatedPremium(calculatedPremium)
+                .createdDate(createdDate)
+                .userId(userId)
+                .registrationNumber(registrationNumber)
+                .startOfPolicy(startOfPolicy)
+                .build();
+    }
+
+    private static String readIdentificationNumber(byte[] payload) {
+        return getString(ByteBuffer.wrap(payload, 1, payload.length - 1));
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int stringSize(byte[] value) {
+        return 4 + (value != null ? value.length : 0);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(value.length);
+            buffer.put(value);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+                StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+}
@@ -0,0 +1,582 @@
+package com.fptu.swt301.demo.insurance.repository;
+
+import com.fptu.swt301.demo.insurance.config.ProfileConstants;
+import com.fptu.swt301.demo.insurance.domain.model.BrokerProfile;
+import com.fptu.swt301.demo.insurance.domain.valueobject.LicenseInfo;
+import com.fptu.swt301.demo.insurance.domain.valueobject.PhoneNumber;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * BrokerProfileRepository lưu profile off-heap (direct ByteBuffer) cho tập dữ
+ * liệu hàng chục triệu profile
+ *
+ * Mỗi profile được encode thành một record (snapshot tại thời điểm
+ * save/update) gồm phần cố định và phần độ dài thay đổi:
+ *
+ * <pre>
+ * [int length][byte flags][byte licenseCode][int licensePeriod][long dateOfBirth epochDay]
+ * [userId][title][firstName][surname][phone][licenseType nếu khác chuẩn][occupation]
+ * [street][city][county][postCode][driverHistory]
+ * </pre>
+ *
+ * mỗi String là [int số byte, -1 nếu null][UTF-8 bytes]. Record được append vào
+ * các chunk direct ByteBuffer; index userId là open-addressing hash table trên
+ * mảng primitive (hash 64-bit của userId -> địa chỉ record), hash trùng được
+ * phân biệt bằng cách so sánh userId trong record. Heap chỉ chứa index (khoảng
+ * 17 byte mỗi slot) nên GC không phải duyệt các profile.
+ *
+ * BrokerProfile chỉ được decode khi findByUserId được gọi. Update/delete đánh
+ * dấu record cũ là dead; khi dead bytes vượt quá live bytes (và ít nhất một
+ * chunk) các record còn sống được copy sang chunk mới (compaction).
+ *
+ * Thread-safe: đọc dùng read lock (chỉ dùng absolute get), ghi dùng write lock.
+ */
+public class OffHeapBrokerProfileRepository implements BrokerProfileRepository {
+
+    /**
+     * Kích thước mặc định mỗi chunk off-heap (byte)
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+
+    private static final int INITIAL_INDEX_CAPACITY = 1024;
+    private static final double MAX_INDEX_LOAD = 0.6;
+
+    private static final int OFFSET_FLAGS = 4;
+    private static final int OFFSET_LICENSE_CODE = 5;
+    private static final int OFFSET_LICENSE_PERIOD = 6;
+    private static final int OFFSET_DATE_OF_BIRTH = 10;
+    private static final int OFFSET_STRINGS = 18;
+
+    private static final byte FLAG_LIVE = 1;
+    private static final byte FLAG_ADDRESS = 2;
+    private static final byte FLAG_DATE_OF_BIRTH = 4;
+
+    private static final byte LICENSE_NONE = 0;
+    private static final byte LICENSE_FULL = 1;
+    private static final byte LICENSE_PROVISIONAL = 2;
+    private static final byte LICENSE_OTHER = 3;
+
+    private static final byte SLOT_EMPTY = 0;
+    private static final byte SLOT_USED = 1;
+    private static final byte SLOT_DELETED = 2;
+
+    private final int chunkSize;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private List<ByteBuffer> chunks;
+    private int writeOffset;
+
+    private long[] slotHashes;
+    private long[] slotAddresses;
+    private byte[] slotStates;
+    private int usedSlots;
+    private int deletedSlots;
+
+    private long liveBytes;
+    private long deadBytes;
+
+    public OffHeapBrokerProfileRepository() {
+        this(DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param chunkSize Kích thước mỗi chunk off-heap (byte); record lớn hơn
+     *                  chunk được đặt trong chunk riêng vừa đủ
+     */
+    public OffHeapBrokerProfileRepository(int chunkSize) {
+        if (chunkSize < 1024) {
+            throw new IllegalArgumentException("Chunk size must be at least 1024 bytes. Provided value: "
+                    + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        reset();
+    }
+
+    @Override
+    public Optional<BrokerProfile> findByUserId(String userId) {
+        if (userId == null || userId.trim().isEmpty()) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            int slot = findSlot(userId, userId.getBytes(StandardCharsets.UTF_8), hash(userId));
+            return slot < 0 ? Optional.empty() : Optional.of(decode(slotAddresses[slot]));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean save(BrokerProfile profile) {
+        if (profile == null || profile.getUserId() == null) {
+            return false;
+        }
+        byte[] record = encode(profile);
+        String userId = profile.getUserId();
+        long hash = hash(userId);
+
+        lock.writeLock().lock();
+        try {
+            if (findSlot(userId, userId.getBytes(StandardCharsets.UTF_8), hash) >= 0) {
+                return false;
+            }
+            ensureIndexCapacity();
+            insertSlot(hash, append(record));
+            liveBytes += record.length;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean update(BrokerProfile profile) {
+        if (profile == null || profile.getUserId() == null) {
+            return false;
+        }
+        byte[] record = encode(profile);
+        String userId = profile.getUserId();
+
+        lock.writeLock().lock();
+        try {
+            int slot = findSlot(userId, userId.getBytes(StandardCharsets.UTF_8), hash(userId));
+            if (slot < 0) {
+                return false;
+            }
+            markDead(slotAddresses[slot]);
+            slotAddresses[slot] = append(record);
+            liveBytes += record.length;
+            compactIfNeeded();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean delete(String userId) {
+        if (userId == null || userId.trim().isEmpty()) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            int slot = findSlot(userId, userId.getBytes(StandardCharsets.UTF_8), hash(userId));
+            if (slot < 0) {
+                return false;
+            }
+            markDead(slotAddresses[slot]);
+            slotStates[slot] = SLOT_DELETED;
+            usedSlots--;
+            deletedSlots++;
+            compactIfNeeded();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean exists(String userId) {
+        if (userId == null || userId.trim().isEmpty()) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return findSlot(userId, userId.getBytes(StandardCharsets.UTF_8), hash(userId)) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long count() {
+        lock.readLock().lock();
+        try {
+            return usedSlots;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        lock.writeLock().lock();
+        try {
+            reset();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Copy các record còn sống sang chunk mới và bỏ tombstone khỏi index
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            List<ByteBuffer> oldChunks = chunks;
+            long[] oldAddresses = slotAddresses;
+            long[] oldHashes = slotHashes;
+            byte[] oldStates = slotStates;
+
+            chunks = new ArrayList<>();
+            chunks.add(ByteBuffer.allocateDirect(chunkSize));
+            writeOffset = 0;
+            deadBytes = 0;
+            rebuildIndex(oldStates.length);
+            for (int slot = 0; slot < oldStates.length; slot++) {
+                if (oldStates[slot] == SLOT_USED) {
+                    insertSlot(oldHashes[slot], append(readRecord(oldChunks, oldAddresses[slot])));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Tổng dung lượng off-heap đã cấp phát (byte)
+     */
+    public long getAllocatedBytes() {
+        lock.readLock().lock();
+        try {
+            long total = 0;
+            for (ByteBuffer chunk : chunks) {
+                total += chunk.capacity();
+            }
+            return total;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tổng kích thước các record còn sống (byte)
+     */
+    public long getLiveBytes() {
+        lock.readLock().lock();
+        try {
+            return liveBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Tổng kích thước các record đã bị update/delete chưa được compact (byte)
+     */
+    public long getDeadBytes() {
+        lock.readLock().lock();
+        try {
+            return deadBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getChunkCount() {
+        lock.readLock().lock();
+        try {
+            return chunks.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Xoá toàn bộ record; chunk đầu tiên được giữ lại để tái sử dụng (cấp phát
+     * direct buffer tốn kém và chỉ được giải phóng khi GC)
+     */
+    private void reset() {
+        ByteBuffer first = chunks != null && chunks.get(0).capacity() == chunkSize
+                ? chunks.get(0)
+                : ByteBuffer.allocateDirect(chunkSize);
+        chunks = new ArrayList<>();
+        chunks.add(first);
+        writeOffset = 0;
+        liveBytes = 0;
+        deadBytes = 0;
+        rebuildIndex(INITIAL_INDEX_CAPACITY);
+    }
+
+    // ---------------------------------------------------------------- encoding
+
+    private static byte[] encode(BrokerProfile profile) {
+        LicenseInfo licenseInfo = profile.getLicenseInfo();
+        byte licenseCode = LICENSE_NONE;
+        String otherLicenseType = null;
+        if (licenseInfo != null) {
+            if (ProfileConstants.LICENSE_TYPE_FULL.equals(licenseInfo.getType())) {
+                licenseCode = LICENSE_FULL;
+            } else if (ProfileConstants.LICENSE_TYPE_PROVISIONAL.equals(licenseInfo.getType())) {
+                licenseCode = LICENSE_PROVISIONAL;
+            } else {
+                licenseCode = LICENSE_OTHER;
+                otherLicenseType = licenseInfo.getType();
+            }
+        }
+
+        BrokerProfile.Address address = profile.getAddress();
+        byte[][] strings = {
+                utf8(profile.getUserId()),
+                utf8(profile.getTitle()),
+                utf8(profile.getFirstName()),
+                utf8(profile.getSurname()),
+                utf8(profile.getPhoneValue()),
+                utf8(otherLicenseType),
+                utf8(profile.getOccupation()),
+                utf8(address != null ? address.getStreet() : null),
+                utf8(address != null ? address.getCity() : null),
+                utf8(address != null ? address.getCounty() : null),
+                utf8(address != null ? address.getPostCode() : null),
+                utf8(profile.getDriverHistory())
+        };
+
+        int length = OFFSET_STRINGS;
+        for (byte[] value : strings) {
+            length += 4 + (value != null ? value.length : 0);
+        }
+
+        ByteBuffer record = ByteBuffer.allocate(length);
+        byte flags = FLAG_LIVE;
+        if (address != null) {
+            flags |= FLAG_ADDRESS;
+        }
+        if (profile.getDateOfBirth() != null) {
+            flags |= FLAG_DATE_OF_BIRTH;
+        }
+        record.putInt(length);
+        record.put(flags);
+        record.put(licenseCode);
+        record.putInt(licenseInfo != null ? licenseInfo.getPeriod() : 0);
+        record.putLong(profile.getDateOfBirth() != null ? profile.getDateOfBirth().toEpochDay() : 0L);
+        for (byte[] value : strings) {
+            if (value == null) {
+                record.putInt(-1);
+            } else {
+                record.putInt(value.length);
+                record.put(value);
+            }
+        }
+        return record.array();
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    /**
+     * Decode record thành BrokerProfile (chỉ gọi khi profile được truy cập)
+     */
+    private BrokerProfile decode(long address) {
+        ByteBuffer record = ByteBuffer.wrap(readRecord(chunks, address));
+        byte flags = record.get(OFFSET_FLAGS);
+        byte licenseCode = record.get(OFFSET_LICENSE_CODE);
+        int licensePeriod = record.getInt(OFFSET_LICENSE_PERIOD);
+        long dateOfBirth = record.getLong(OFFSET_DATE_OF_BIRTH);
+        record.position(OFFSET_STRINGS);
+
+        String userId = readString(record);
+        String title = readString(record);
+        String firstName = readString(record);
+        String surname = readString(record);
+        String phone = readString(record);
+        String otherLicenseType = readString(record);
+        String occupation = readString(record);
+        String street = readString(record);
+        String city = readString(record);
+        String county = readString(record);
+        String postCode = readString(record);
+        String driverHistory = readString(record);
+
+        LicenseInfo licenseInfo = null;
+        if (licenseCode == LICENSE_FULL) {
+            licenseInfo = LicenseInfo.of(ProfileConstants.LICENSE_TYPE_FULL, licensePeriod);
+        } else if (licenseCode == LICENSE_PROVISIONAL) {
+            licenseInfo = LicenseInfo.of(ProfileConstants.LICENSE_TYPE_PROVISIONAL, licensePeriod);
+        } else if (licenseCode == LICENSE_OTHER) {
+            licenseInfo = LicenseInfo.of(otherLicenseType, licensePeriod);
+        }
+
+        return BrokerProfile.builder()
+                .userId(userId)
+                .title(title)
+                .firstName(firstName)
+                .surname(surname)
+                .phone(phone != null ? PhoneNumber.tryParse(phone) : null)
+                .dateOfBirth((flags & FLAG_DATE_OF_BIRTH) != 0 ? LocalDate.ofEpochDay(dateOfBirth) : null)
+                .licenseInfo(licenseInfo)
+                .occupation(occupation)
+                .address((flags & FLAG_ADDRESS) != 0 ? new BrokerProfile.Address(street, city, county, postCode)
+                        : null)
+                .driverHistory(driverHistory)
+                .build();
+    }
+
+    private static String readString(ByteBuffer record) {
+        int length = record.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(record.array(), record.position(), length, StandardCharsets.UTF_8);
+        record.position(record.position() + length);
+        return value;
+    }
+
+    // ----------------------------------------------------------------- storage
+
+    private static long address(int chunk, int offset) {
+        return ((long) chunk << 32) | offset;
+    }
+
+    private static int chunkOf(long address) {
+        return (int) (address >>> 32);
+    }
+
+    private static int offsetOf(long address) {
+        return (int) address;
+    }
+
+    /**
+     * Append record vào chunk hiện tại (hoặc chunk mới nếu không đủ chỗ)
+     *
+     * @return Địa chỉ record
+     */
+    private long append(byte[] record) {
+        ByteBuffer chunk = chunks.get(chunks.size() - 1);
+        if (chunk.capacity() - writeOffset < record.length) {
+            chunk = ByteBuffer.allocateDirect(Math.max(chunkSize, record.length));
+            chunks.add(chunk);
+            writeOffset = 0;
+        }
+        long address = address(chunks.size() - 1, writeOffset);
+        chunk.put(writeOffset, record);
+        writeOffset += record.length;
+        return address;
+    }
+
+    private static byte[] readRecord(List<ByteBuffer> chunks, long address) {
+        ByteBuffer chunk = chunks.get(chunkOf(address));
+        int offset = offsetOf(address);
+        byte[] record = new byte[chunk.getInt(offset)];
+        chunk.get(offset, record);
+        return record;
+    }
+
+    private void markDead(long address) {
+        ByteBuffer chunk = chunks.get(chunkOf(address));
+        int offset = offsetOf(address);
+        int length = chunk.getInt(offset);
+        chunk.put(offset + OFFSET_FLAGS, (byte) (chunk.get(offset + OFFSET_FLAGS) & ~FLAG_LIVE));
+        liveBytes -= length;
+        deadBytes += length;
+    }
+
+    private void compactIfNeeded() {
+        if (deadBytes > liveBytes && deadBytes >= chunkSize) {
+            compact();
+        }
+    }
+
+    // ------------------------------------------------------------------- index
+
+    /**
+     * Hash 64-bit của userId (FNV-1a trên char, sau đó mix kiểu MurmurHash3
+     * fmix64)
+     */
+    private static long hash(String userId) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < userId.length(); i++) {
+            h = (h ^ userId.charAt(i)) * 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * @return Slot chứa userId, -1 nếu không tồn tại
+     */
+    private int findSlot(String userId, byte[] userIdBytes, long hash) {
+        int mask = slotStates.length - 1;
+        for (int slot = (int) hash & mask;; slot = (slot + 1) & mask) {
+            byte state = slotStates[slot];
+            if (state == SLOT_EMPTY) {
+                return -1;
+            }
+            if (state == SLOT_USED && slotHashes[slot] == hash && userIdEquals(slotAddresses[slot], userIdBytes)) {
+                return slot;
+            }
+        }
+    }
+
+    private boolean userIdEquals(long address, byte[] userIdBytes) {
+        ByteBuffer chunk = chunks.get(chunkOf(address));
+        int offset = offsetOf(address) + OFFSET_STRINGS;
+        if (chunk.getInt(offset) != userIdBytes.length) {
+            return false;
+        }
+        offset += 4;
+        for (int i = 0; i < userIdBytes.length; i++) {
+            if (chunk.get(offset + i) != userIdBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Chèn vào slot trống hoặc tombstone đầu tiên (userId chắc chắn chưa có)
+     */
+    private void insertSlot(long hash, long address) {
+        int mask = slotStates.length - 1;
+        int slot = (int) hash & mask;
+        while (slotStates[slot] == SLOT_USED) {
+            slot = (slot + 1) & mask;
+        }
+        if (slotStates[slot] == SLOT_DELETED) {
+            deletedSlots--;
+        }
+        slotStates[slot] = SLOT_USED;
+        slotHashes[slot] = hash;
+        slotAddresses[slot] = address;
+        usedSlots++;
+    }
+
+    private void ensureIndexCapacity() {
+        int capacity = slotStates.length;
+        if (usedSlots + deletedSlots + 1 <= capacity * MAX_INDEX_LOAD) {
+            return;
+        }
+        int newCapacity = usedSlots + 1 > capacity * MAX_INDEX_LOAD / 2 ? capacity * 2 : capacity;
+        long[] oldHashes = slotHashes;
+        long[] oldAddresses = slotAddresses;
+        byte[] oldStates = slotStates;
+        rebuildIndex(newCapacity);
+        for (int slot = 0; slot < oldStates.length; slot++) {
+            if (oldStates[slot] == SLOT_USED) {
+                insertSlot(oldHashes[slot], oldAddresses[slot]);
+            }
+        }
+    }
+
+    private void rebuildIndex(int capacity) {
+        slotHashes = new long[capacity];
+        slotAddresses = new long[capacity];
+        slotStates = new byte[capacity];
+        Arrays.fill(slotStates, SLOT_EMPTY);
+        usedSlots = 0;
+        deletedSlots = 0;
+    }
+}
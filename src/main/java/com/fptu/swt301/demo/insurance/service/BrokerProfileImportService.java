@@ -0,0 +1,562 @@
+package com.fptu.swt301.demo.insurance.service;
+
+import com.fptu.swt301.demo.insurance.domain.model.BrokerProfile;
+import com.fptu.swt301.demo.insurance.domain.model.ProfileImportResult;
+import com.fptu.swt301.demo.insurance.domain.model.ProfileImportResult.Stage;
+import com.fptu.swt301.demo.insurance.domain.valueobject.LicenseInfo;
+import com.fptu.swt301.demo.insurance.domain.valueobject.PhoneNumber;
+import com.fptu.swt301.demo.insurance.exception.ValidationException;
+import com.fptu.swt301.demo.insurance.repository.BrokerProfileRepository;
+import com.fptu.swt301.demo.insurance.service.validator.ProfileValidator;
+import com.fptu.swt301.demo.insurance.service.validator.ValidationResult;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Service để bulk import broker profile từ CSV (dạng
+ * broker_profile_test_data.csv)
+ *
+ * Pipeline gồm 4 stage: parse -> build -> validate (ProfileValidator) ->
+ * persist. File được đọc streaming thành các chunk; parse/build/validate của
+ * mỗi chunk chạy song song trên ForkJoinPool, tối đa maxChunksInFlight chunk
+ * cùng lúc nên bộ nhớ không phụ thuộc vào kích thước file. Persist chạy trên
+ * thread gọi theo đúng thứ tự file, vì vậy khi userId bị trùng thì dòng xuất
+ * hiện trước luôn được giữ lại.
+ *
+ * Dòng không hợp lệ không làm dừng import mà được ghi vào error report (CSV:
+ * lineNumber,userId,stage,errors). Stage validate dùng ProfileValidator.check
+ * nên không tạo exception; message lỗi chỉ được render khi có error report.
+ */
+public class BrokerProfileImportService {
+
+    /**
+     * Số dòng mặc định mỗi chunk
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1_024;
+
+    /**
+     * Header của error report
+     */
+    public static final String ERROR_REPORT_HEADER = "lineNumber,userId,stage,errors";
+
+    private static final String[] REQUIRED_COLUMNS = { "userId", "title", "firstName", "surname", "phone",
+            "dateOfBirth", "licenseType", "licensePeriod", "occupation" };
+
+    private static final String[] OPTIONAL_COLUMNS = { "street", "city", "county", "postCode",
+            "driverHistory" };
+
+    private final BrokerProfileRepository repository;
+    private final ProfileValidator validator;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final int maxChunksInFlight;
+
+    /**
+     * Constructor với parallelism = số CPU và chunk size mặc định
+     */
+    public BrokerProfileImportService(BrokerProfileRepository repository) {
+        this(repository, new ProfileValidator(), Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param repository  Repository để lưu profile hợp lệ
+     * @param validator   Validator dùng cho stage validate
+     * @param parallelism Số worker thread
+     * @param chunkSize   Số dòng mỗi chunk (tối đa 2 * parallelism chunk được
+     *                    giữ trong bộ nhớ cùng lúc)
+     */
+    public BrokerProfileImportService(BrokerProfileRepository repository, ProfileValidator validator,
+            int parallelism, int chunkSize) {
+        if (repository == null || validator == null) {
+            throw new IllegalArgumentException("Repository and validator cannot be null");
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive. Provided value: " + parallelism);
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive. Provided value: " + chunkSize);
+        }
+        this.repository = repository;
+        this.validator = validator;
+        this.pool = new ForkJoinPool(parallelism);
+        this.chunkSize = chunkSize;
+        this.maxChunksInFlight = parallelism * 2;
+    }
+
+    /**
+     * Import profile từ file CSV (UTF-8)
+     *
+     * @param csvFile     File CSV có header row
+     * @param errorReport Writer nhận error report, null nếu không cần
+     * @return Kết quả import
+     * @throws ValidationException nếu header thiếu cột bắt buộc
+     */
+    public ProfileImportResult importCsv(Path csvFile, Writer errorReport) throws IOException {
+        try (Reader reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8)) {
+            return importCsv(reader, errorReport);
+        }
+    }
+
+    /**
+     * Import profile từ CSV
+     * Dòng trống và dòng comment (bắt đầu bằng #) được bỏ qua; dòng dữ liệu đầu
+     * tiên là header, cột được map theo tên (không phân biệt hoa thường) nên
+     * thứ tự cột và các cột thừa như testCaseId không ảnh hưởng.
+     *
+     * @param csv         Nguồn CSV (caller chịu trách nhiệm đóng)
+     * @param errorReport Writer nhận error report, null nếu không cần
+     * @return Kết quả import
+     * @throws ValidationException nếu thiếu header hoặc header thiếu cột bắt
+     *                             buộc
+     */
+    public ProfileImportResult importCsv(Reader csv, Writer errorReport) throws IOException {
+        long start = System.nanoTime();
+        BufferedReader reader = csv instanceof BufferedReader ? (BufferedReader) csv : new BufferedReader(csv);
+        ImportState state = new ImportState(errorReport);
+        ArrayDeque<Future<ChunkResult>> inFlight = new ArrayDeque<>();
+
+        try {
+            if (errorReport != null) {
+                errorReport.write(ERROR_REPORT_HEADER);
+                errorReport.write('\n');
+            }
+
+            ColumnMapping columns = null;
+            Chunk chunk = new Chunk(chunkSize);
+            String line;
+            long lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.trim();
+                if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                    continue;
+                }
+                if (columns == null) {
+                    columns = ColumnMapping.of(line);
+                    continue;
+                }
+
+                chunk.add(lineNumber, line);
+                if (chunk.size == chunkSize) {
+                    inFlight.add(submit(chunk, columns));
+                    chunk = new Chunk(chunkSize);
+                    if (inFlight.size() >= maxChunksInFlight) {
+                        state.persist(await(inFlight.poll()));
+                    }
+                }
+            }
+
+            if (columns == null) {
+                throw new ValidationException("CSV header row is missing");
+            }
+            if (chunk.size > 0) {
+                inFlight.add(submit(chunk, columns));
+            }
+            while (!inFlight.isEmpty()) {
+                state.persist(await(inFlight.poll()));
+            }
+        } finally {
+            for (Future<ChunkResult> pending : inFlight) {
+                pending.cancel(true);
+            }
+            if (errorReport != null) {
+                errorReport.flush();
+            }
+        }
+
+        return new ProfileImportResult(state.rowsRead, state.importedCount, state.rejectedByStage,
+                System.nanoTime() - start);
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Shutdown ForkJoinPool khi không dùng nữa
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private Future<ChunkResult> submit(Chunk chunk, ColumnMapping columns) {
+        return pool.submit(() -> process(chunk, columns));
+    }
+
+    private static ChunkResult await(Future<ChunkResult> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Profile import was interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Profile import failed", cause);
+        }
+    }
+
+    /**
+     * Parse, build và validate một chunk (chạy trên worker thread)
+     */
+    private ChunkResult process(Chunk chunk, ColumnMapping columns) {
+        ChunkResult result = new ChunkResult(chunk);
+        for (int i = 0; i < chunk.size; i++) {
+            String[] values = chunk.lines[i].split(",", -1);
+            result.userIds[i] = values.length > columns.userId ? values[columns.userId].trim() : null;
+
+            // Stage 1: parse
+            List<String> errors = new ArrayList<>(0);
+            if (values.length != columns.columnCount) {
+                result.reject(i, Stage.PARSE, Collections.singletonList("Expected " + columns.columnCount
+                        + " columns but found " + values.length));
+                continue;
+            }
+            String rawPeriod = values[columns.licensePeriod].trim();
+            long licensePeriod = parseInt(rawPeriod);
+            if (licensePeriod == Long.MIN_VALUE) {
+                errors.add("License period must be a whole number. Provided value: " + rawPeriod);
+            }
+            String rawDateOfBirth = values[columns.dateOfBirth].trim();
+            LocalDate dateOfBirth = parseDate(rawDateOfBirth);
+            if (dateOfBirth == null && !isMissing(rawDateOfBirth)) {
+                errors.add("Date of birth must be a valid date in yyyy-MM-dd format. Provided value: "
+                        + rawDateOfBirth);
+            }
+            if (!errors.isEmpty()) {
+                result.reject(i, Stage.PARSE, errors);
+                continue;
+            }
+
+            // Stage 2: build value object và profile
+            PhoneNumber phone = null;
+            String rawPhone = values[columns.phone].trim();
+            if (!rawPhone.isEmpty()) {
+                phone = PhoneNumber.tryParse(rawPhone);
+                if (phone == null) {
+                    errors.addAll(PhoneNumber.validationErrors(rawPhone));
+                }
+            }
+            LicenseInfo licenseInfo = LicenseInfo.tryOf(values[columns.licenseType], (int) licensePeriod);
+            if (licenseInfo == null) {
+                errors.addAll(LicenseInfo.validationErrors(values[columns.licenseType], (int) licensePeriod));
+            }
+            if (!errors.isEmpty()) {
+                result.reject(i, Stage.BUILD, errors);
+                continue;
+            }
+
+            BrokerProfile profile = BrokerProfile.builder()
+                    .userId(result.userIds[i])
+                    .title(values[columns.title].trim())
+                    .firstName(values[columns.firstName].trim())
+                    .surname(values[columns.surname].trim())
+                    .phone(phone)
+                    .dateOfBirth(dateOfBirth)
+                    .licenseInfo(licenseInfo)
+                    .occupation(values[columns.occupation].trim())
+                    .address(columns.hasAddress() ? new BrokerProfile.Address(
+                            optional(values, columns.street), optional(values, columns.city),
+                            optional(values, columns.county), optional(values, columns.postCode)) : null)
+                    .driverHistory(optional(values, columns.driverHistory))
+                    .build();
+
+            // Stage 3: validate
+            ValidationResult validation = validator.check(profile);
+            if (!validation.isValid()) {
+                result.rejectValidation(i, validation);
+                continue;
+            }
+            result.profiles[i] = profile;
+        }
+        return result;
+    }
+
+    /**
+     * Parse số nguyên (có thể âm) không dùng exception
+     *
+     * @return Giá trị, Long.MIN_VALUE nếu không hợp lệ hoặc ngoài phạm vi int
+     */
+    private static long parseInt(String value) {
+        int length = value.length();
+        int start = length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+') ? 1 : 0;
+        if (length == start || length - start > 10) {
+            return Long.MIN_VALUE;
+        }
+        long result = 0;
+        for (int i = start; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return Long.MIN_VALUE;
+            }
+            result = result * 10 + (c - '0');
+        }
+        result = value.charAt(0) == '-' ? -result : result;
+        return result < Integer.MIN_VALUE || result > Integer.MAX_VALUE ? Long.MIN_VALUE : result;
+    }
+
+    /**
+     * Parse ngày dạng yyyy-MM-dd không dùng exception cho sai format
+     *
+     * @return LocalDate, null nếu trống hoặc không hợp lệ
+     */
+    private static LocalDate parseDate(String value) {
+        if (value.length() != 10 || value.charAt(4) != '-' || value.charAt(7) != '-') {
+            return null;
+        }
+        int year = digits(value, 0, 4);
+        int month = digits(value, 5, 7);
+        int day = digits(value, 8, 10);
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > 31) {
+            return null;
+        }
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            // Ngày không tồn tại, ví dụ 2023-02-30
+            return null;
+        }
+    }
+
+    private static int digits(String value, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    /**
+     * Ngày sinh trống (hoặc literal "null") được để lại cho validator báo
+     * "Date of birth is required"
+     */
+    private static boolean isMissing(String value) {
+        return value.isEmpty() || "null".equalsIgnoreCase(value);
+    }
+
+    private static String optional(String[] values, int column) {
+        if (column < 0) {
+            return null;
+        }
+        String value = values[column].trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Vị trí các cột trong CSV, lấy từ header row
+     */
+    private static final class ColumnMapping {
+        private final int columnCount;
+        private final int userId;
+        private final int title;
+        private final int firstName;
+        private final int surname;
+        private final int phone;
+        private final int dateOfBirth;
+        private final int licenseType;
+        private final int licensePeriod;
+        private final int occupation;
+        private final int street;
+        private final int city;
+        private final int county;
+        private final int postCode;
+        private final int driverHistory;
+
+        private ColumnMapping(int columnCount, int[] required, int[] optional) {
+            this.columnCount = columnCount;
+            this.userId = required[0];
+            this.title = required[1];
+            this.firstName = required[2];
+            this.surname = required[3];
+            this.phone = required[4];
+            this.dateOfBirth = required[5];
+            this.licenseType = required[6];
+            this.licensePeriod = required[7];
+            this.occupation = required[8];
+            this.street = optional[0];
+            this.city = optional[1];
+            this.county = optional[2];
+            this.postCode = optional[3];
+            this.driverHistory = optional[4];
+        }
+
+        static ColumnMapping of(String headerLine) {
+            String[] header = headerLine.split(",", -1);
+            int[] required = indexesOf(header, REQUIRED_COLUMNS);
+            int[] optional = indexesOf(header, OPTIONAL_COLUMNS);
+
+            List<String> errors = new ArrayList<>();
+            for (int i = 0; i < REQUIRED_COLUMNS.length; i++) {
+                if (required[i] < 0) {
+                    errors.add("CSV header is missing required column '" + REQUIRED_COLUMNS[i] + "'");
+                }
+            }
+            if (!errors.isEmpty()) {
+                throw new ValidationException(errors);
+            }
+            return new ColumnMapping(header.length, required, optional);
+        }
+
+        private static int[] indexesOf(String[] header, String[] names) {
+            int[] indexes = new int[names.length];
+            for (int i = 0; i < names.length; i++) {
+                indexes[i] = -1;
+                String name = names[i].toLowerCase(Locale.ROOT);
+                for (int column = 0; column < header.length; column++) {
+                    if (header[column].trim().toLowerCase(Locale.ROOT).equals(name)) {
+                        indexes[i] = column;
+                        break;
+                    }
+                }
+            }
+            return indexes;
+        }
+
+        boolean hasAddress() {
+            return street >= 0 || city >= 0 || county >= 0 || postCode >= 0;
+        }
+    }
+
+    /**
+     * Các dòng thô của một chunk cùng số dòng trong file
+     */
+    private static final class Chunk {
+        private final long[] lineNumbers;
+        private final String[] lines;
+        private int size;
+
+        Chunk(int capacity) {
+            this.lineNumbers = new long[capacity];
+            this.lines = new String[capacity];
+        }
+
+        void add(long lineNumber, String line) {
+            lineNumbers[size] = lineNumber;
+            lines[size] = line;
+            size++;
+        }
+    }
+
+    /**
+     * Kết quả parse/build/validate của một chunk: profile hợp lệ hoặc stage và
+     * lỗi của dòng bị reject
+     */
+    private static final class ChunkResult {
+        private final Chunk chunk;
+        private final String[] userIds;
+        private final BrokerProfile[] profiles;
+        private final Stage[] rejectedStages;
+        private final List<List<String>> errors;
+        private final ValidationResult[] validationResults;
+
+        ChunkResult(Chunk chunk) {
+            this.chunk = chunk;
+            this.userIds = new String[chunk.size];
+            this.profiles = new BrokerProfile[chunk.size];
+            this.rejectedStages = new Stage[chunk.size];
+            this.errors = new ArrayList<>(Collections.nCopies(chunk.size, null));
+            this.validationResults = new ValidationResult[chunk.size];
+        }
+
+        void reject(int row, Stage stage, List<String> rowErrors) {
+            rejectedStages[row] = stage;
+            errors.set(row, rowErrors);
+        }
+
+        void rejectValidation(int row, ValidationResult validation) {
+            rejectedStages[row] = Stage.VALIDATE;
+            validationResults[row] = validation;
+        }
+
+        List<String> errorsOf(int row) {
+            return validationResults[row] != null ? validationResults[row].getMessages() : errors.get(row);
+        }
+    }
+
+    /**
+     * Bộ đếm và error report writer, chỉ dùng trên thread gọi importCsv
+     */
+    private final class ImportState {
+        private final Writer errorReport;
+        private final long[] rejectedByStage = new long[Stage.values().length];
+        private long rowsRead;
+        private long importedCount;
+
+        ImportState(Writer errorReport) {
+            this.errorReport = errorReport;
+        }
+
+        /**
+         * Stage 4: persist các profile hợp lệ của chunk theo thứ tự file và ghi
+         * error report cho các dòng bị reject
+         */
+        void persist(ChunkResult result) throws IOException {
+            for (int i = 0; i < result.chunk.size; i++) {
+                rowsRead++;
+                BrokerProfile profile = result.profiles[i];
+                if (profile != null) {
+                    if (repository.save(profile)) {
+                        importedCount++;
+                    } else {
+                        rejectedByStage[Stage.PERSIST.ordinal()]++;
+                        report(result.chunk.lineNumbers[i], result.userIds[i], Stage.PERSIST,
+                                Collections.singletonList("Profile already exists for user ID: "
+                                        + profile.getUserId()));
+                    }
+                } else {
+                    rejectedByStage[result.rejectedStages[i].ordinal()]++;
+                    if (errorReport != null) {
+                        report(result.chunk.lineNumbers[i], result.userIds[i], result.rejectedStages[i],
+                                result.errorsOf(i));
+                    }
+                }
+            }
+        }
+
+        private void report(long lineNumber, String userId, Stage stage, List<String> rowErrors)
+                throws IOException {
+            if (errorReport != null) {
+                errorReport.write(lineNumber + "," + csvField(userId) + "," + stage + ","
+                        + csvField(String.join(" | ", rowErrors)) + "\n");
+            }
+        }
+    }
+}
@@ -3,11 +3,16 @@ package com.fptu.swt301.demo.insurance.service;
 import com.fptu.swt301.demo.insurance.domain.model.BrokerProfile;
 import com.fptu.swt301.demo.insurance.exception.ValidationException;
 import com.fptu.swt301.demo.insurance.repository.BrokerProfileRepository;
+import com.fptu.swt301.demo.insurance.repository.ConcurrentBrokerProfileRepository;
 import com.fptu.swt301.demo.insurance.service.validator.ProfileValidator;
 
 /**
  * Service để quản lý Broker Profiles
  * Sử dụng Repository pattern và Validator pattern
+ *
+ * Create/update dựa vào save()/update() của repository để đảm bảo atomic;
+ * thread-safe khi dùng với repository thread-safe (mặc định:
+ * ConcurrentBrokerProfileRepository)
  */
 public class BrokerProfileService {
 
@@ -15,7 +20,7 @@ public class BrokerProfileService {
     private final ProfileValidator validator;
 
     public BrokerProfileService() {
-        this.repository = new com.fptu.swt301.demo.insurance.repository.InMemoryBrokerProfileRepository();
+        this.repository = new ConcurrentBrokerProfileRepository();
         this.validator = new ProfileValidator();
     }
 
@@ -55,12 +60,8 @@ public class BrokerProfileService {
         // Validate profile
         validator.validate(profile);
 
-        // Check if already exists
-        if (repository.exists(profile.getUserId())) {
-            return false;
-        }
-
-        // Save to repository
+        // Save to repository - save() từ chối userId đã tồn tại một cách atomic,
+        // không check exists() trước để tránh race giữa check và save
         return repository.save(profile);
     }
 
@@ -79,12 +80,7 @@ public class BrokerProfileService {
         // Validate profile
         validator.validate(profile);
 
-        // Check if exists
-        if (!repository.exists(profile.getUserId())) {
-            return false;
-        }
-
-        // Update in repository
+        // Update in repository - update() trả về false nếu không tìm thấy
         return repository.update(profile);
     }
 
@@ -0,0 +1,160 @@
+package com.fptu.swt301.demo.insurance.service;
+
+import com.fptu.swt301.demo.insurance.domain.model.PortfolioSummary;
+import com.fptu.swt301.demo.insurance.domain.model.PremiumBatch;
+import com.fptu.swt301.demo.insurance.domain.model.PremiumCalculationRequest;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Service để reprice portfolio lớn song song trên ForkJoinPool
+ * Chia batch thành các chunk, mỗi worker tính premium bằng batch path của
+ * PremiumCalculationService và dùng accumulator riêng (total, min/max,
+ * histogram) nên không có shared contention. Kết quả được merge khi join.
+ */
+public class PortfolioRepricingService {
+
+    /**
+     * Số dòng mặc định mỗi chunk
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 16_384;
+
+    /**
+     * Độ rộng mặc định mỗi bucket của histogram (£)
+     */
+    public static final double DEFAULT_BUCKET_WIDTH = 50.0;
+
+    /**
+     * Số bucket mặc định của histogram (bucket cuối là overflow)
+     */
+    public static final int DEFAULT_BUCKET_COUNT = 20;
+
+    private final PremiumCalculationService premiumService;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final double bucketWidth;
+    private final int bucketCount;
+
+    /**
+     * Constructor với parallelism = số CPU và cấu hình mặc định
+     */
+    public PortfolioRepricingService(PremiumCalculationService premiumService) {
+        this(premiumService, Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public PortfolioRepricingService(PremiumCalculationService premiumService, int parallelism, int chunkSize) {
+        this(premiumService, parallelism, chunkSize, DEFAULT_BUCKET_WIDTH, DEFAULT_BUCKET_COUNT);
+    }
+
+    /**
+     * @param premiumService Service tính premium
+     * @param parallelism    Số worker thread của ForkJoinPool
+     * @param chunkSize      Số dòng tối đa mỗi chunk (leaf task)
+     * @param bucketWidth    Độ rộng mỗi bucket histogram
+     * @param bucketCount    Số bucket histogram
+     */
+    public PortfolioRepricingService(PremiumCalculationService premiumService, int parallelism, int chunkSize,
+            double bucketWidth, int bucketCount) {
+        if (premiumService == null) {
+            throw new IllegalArgumentException("Premium service cannot be null");
+        }
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive. Provided value: " + parallelism);
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive. Provided value: " + chunkSize);
+        }
+        if (bucketWidth <= 0 || bucketCount <= 0) {
+            throw new IllegalArgumentException("Histogram bucket width and count must be positive");
+        }
+        this.premiumService = premiumService;
+        this.pool = new ForkJoinPool(parallelism);
+        this.chunkSize = chunkSize;
+        this.bucketWidth = bucketWidth;
+        this.bucketCount = bucketCount;
+    }
+
+    /**
+     * Reprice portfolio dạng columnar
+     *
+     * @param batch    Portfolio (columnar)
+     * @param premiums Mảng output do caller cấp (độ dài >= batch.size()),
+     *                 dòng không hợp lệ được ghi NaN
+     * @return Tổng hợp của portfolio
+     */
+    public PortfolioSummary reprice(PremiumBatch batch, double[] premiums) {
+        if (premiums.length < batch.size()) {
+            throw new IllegalArgumentException("Output array is smaller than batch size: " + batch.size());
+        }
+        return pool.invoke(new RepriceTask(batch, premiums, 0, batch.size())).toSummary();
+    }
+
+    /**
+     * Reprice portfolio dạng danh sách request
+     * Request được chuyển sang columnar trước khi chia chunk
+     *
+     * @param requests Danh sách request
+     * @param premiums Mảng output do caller cấp (độ dài >= requests.size())
+     * @return Tổng hợp của portfolio
+     */
+    public PortfolioSummary reprice(List<PremiumCalculationRequest> requests, double[] premiums) {
+        return reprice(PremiumBatch.from(requests), premiums);
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Shutdown ForkJoinPool khi không dùng nữa
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Fork/join task: chia đôi cho đến khi <= chunkSize, leaf tính premium và
+     * tích luỹ vào accumulator riêng
+     */
+    private final class RepriceTask extends RecursiveTask<PortfolioSummary.Accumulator> {
+        private final PremiumBatch batch;
+        private final double[] premiums;
+        private final int from;
+        private final int to;
+
+        RepriceTask(PremiumBatch batch, double[] premiums, int from, int to) {
+            this.batch = batch;
+            this.premiums = premiums;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected PortfolioSummary.Accumulator compute() {
+            if (to - from <= chunkSize) {
+                PortfolioSummary.Accumulator accumulator = new PortfolioSummary.Accumulator(bucketWidth, bucketCount);
+                int rejected = premiumService.calculatePremiums(batch, premiums, from, to);
+                accumulator.reject(rejected);
+                for (int i = from; i < to; i++) {
+                    double premium = premiums[i];
+                    if (!Double.isNaN(premium)) {
+                        accumulator.add(premium);
+                    }
+                }
+                return accumulator;
+            }
+
+            int mid = (from + to) >>> 1;
+            RepriceTask left = new RepriceTask(batch, premiums, from, mid);
+            RepriceTask right = new RepriceTask(batch, premiums, mid, to);
+            left.fork();
+            PortfolioSummary.Accumulator rightResult = right.compute();
+            return left.join().merge(rightResult);
+        }
+    }
+}
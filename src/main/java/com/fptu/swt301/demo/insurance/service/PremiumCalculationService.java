@@ -1,8 +1,12 @@
 package com.fptu.swt301.demo.insurance.service;
 
+import com.fptu.swt301.demo.common.DecimalRounding;
 import com.fptu.swt301.demo.insurance.config.PremiumConstants;
+import com.fptu.swt301.demo.insurance.domain.model.PremiumBatch;
 import com.fptu.swt301.demo.insurance.domain.model.PremiumCalculationRequest;
 import com.fptu.swt301.demo.insurance.domain.valueobject.BreakdownCover;
+import com.fptu.swt301.demo.insurance.service.rule.CompiledPremiumRules;
+import com.fptu.swt301.demo.insurance.service.rule.PremiumRuleSet;
 
 /**
  * Service để tính toán Insurance Premium
@@ -10,6 +14,52 @@ import com.fptu.swt301.demo.insurance.domain.valueobject.BreakdownCover;
  */
 public class PremiumCalculationService {
 
+    /**
+     * Số bucket Estimated Value có base premium khác nhau: = 100, = 101, còn lại
+     * (xem calculateBasePremium)
+     */
+    static final int ESTIMATED_VALUE_BUCKETS = 3;
+
+    /**
+     * Giá trị đại diện cho mỗi bucket Estimated Value
+     */
+    static final double[] ESTIMATED_VALUE_BUCKET_REPRESENTATIVES = { 100.0, 101.0, 1000.0 };
+
+    private final CompiledPremiumRules rules;
+    private final PremiumLookupTable lookupTable;
+
+    /**
+     * Constructor với tariff mặc định (PremiumRuleSet.defaultRules())
+     */
+    public PremiumCalculationService() {
+        this(PremiumRuleSet.defaultRules().compile());
+    }
+
+    /**
+     * Constructor với rule set đã compile (ví dụ load từ file tariff)
+     */
+    public PremiumCalculationService(CompiledPremiumRules rules) {
+        this(rules, false);
+    }
+
+    /**
+     * Constructor với tuỳ chọn precomputed lookup table
+     * Khi bật, mọi tariff cell được tính trước một lần bằng scalar path và kiểm
+     * tra bằng PremiumLookupTable.verify(...); quote sau đó chỉ là tính index và
+     * đọc một phần tử mảng.
+     * 
+     * @param rules              Rule set đã compile
+     * @param usePrecomputedTable Bật lookup table mode
+     * @throws IllegalStateException nếu lookup table không khớp scalar path
+     */
+    public PremiumCalculationService(CompiledPremiumRules rules, boolean usePrecomputedTable) {
+        if (rules == null) {
+            throw new IllegalArgumentException("Premium rules cannot be null");
+        }
+        this.rules = rules;
+        this.lookupTable = usePrecomputedTable ? PremiumLookupTable.build(this) : null;
+    }
+
     /**
      * Tính premium dựa trên request
      * BASE_PREMIUM được tính dựa trên Estimated Value thay vì dùng constant
@@ -18,46 +68,170 @@ public class PremiumCalculationService {
      * @return Calculated premium (rounded to 2 decimal places)
      */
     public double calculatePremium(PremiumCalculationRequest request) {
-        // Tính BASE_PREMIUM dựa trên Estimated Value
-        // Logic đặc biệt cho Estimated Value = 100 và 101
-        double basePremium = calculateBasePremium(request.getEstimatedValue(), request);
+        return premiumOf(
+                request.getEstimatedValue(),
+                request.getTotalMileage(),
+                request.getNumberOfAccidents(),
+                request.getBreakdownCover(),
+                request.isWindscreenRepair(),
+                isPublicParking(request.getParkingLocation()));
+    }
 
-        // Apply breakdown cover percentage
-        BreakdownCover breakdownCover = request.getBreakdownCover();
-        double premium = basePremium * (1 + breakdownCover.getPercentageIncrease());
+    /**
+     * Tính premium cho cả batch dạng struct-of-arrays (columnar)
+     * Dùng cho reprice hàng loạt: không tạo Builder/Request cho từng dòng,
+     * không allocate object trong vòng lặp.
+     * 
+     * Dòng không hợp lệ (cùng rule với PremiumCalculationRequest.validate() hoặc
+     * cover code không tồn tại) được ghi Double.NaN vào premiums thay vì throw.
+     * 
+     * @param estimatedValue Giá trị ước tính của xe
+     * @param mileage        Total mileage
+     * @param accidents      Number of accidents
+     * @param coverCode      BreakdownCover code (xem BreakdownCover.getCode())
+     * @param windscreen     Có windscreen repair hay không
+     * @param parkingCode    PremiumConstants.PARKING_CODE_PUBLIC hoặc
+     *                       PARKING_CODE_OTHER
+     * @param premiums       Mảng output do caller cấp (cùng độ dài)
+     * @return Số dòng không hợp lệ (premium = NaN)
+     * @throws IllegalArgumentException nếu các mảng không cùng độ dài
+     */
+    public int calculatePremiums(
+            double[] estimatedValue,
+            int[] mileage,
+            int[] accidents,
+            byte[] coverCode,
+            boolean[] windscreen,
+            byte[] parkingCode,
+            double[] premiums) {
 
-        // Apply windscreen repair charge
-        if (request.isWindscreenRepair()) {
-            premium += PremiumConstants.WINDSCREEN_CHARGE;
+        int size = estimatedValue.length;
+        if (mileage.length != size || accidents.length != size || coverCode.length != size
+                || windscreen.length != size || parkingCode.length != size || premiums.length != size) {
+            throw new IllegalArgumentException("All batch columns must have the same length: " + size);
         }
+        return calculatePremiums(estimatedValue, mileage, accidents, coverCode, windscreen, parkingCode,
+                premiums, 0, size);
+    }
 
-        // Apply zero accident discount
-        if (request.getNumberOfAccidents() == 0) {
-            premium = premium * (1 - PremiumConstants.ZERO_ACCIDENT_DISCOUNT);
+    /**
+     * Tính premium cho batch dạng PremiumBatch
+     * 
+     * @param batch    Batch input (columnar)
+     * @param premiums Mảng output do caller cấp (độ dài >= batch.size())
+     * @return Số dòng không hợp lệ (premium = NaN)
+     */
+    public int calculatePremiums(PremiumBatch batch, double[] premiums) {
+        if (premiums.length < batch.size()) {
+            throw new IllegalArgumentException("Output array is smaller than batch size: " + batch.size());
         }
+        return calculatePremiums(batch, premiums, 0, batch.size());
+    }
+
+    /**
+     * Tính premium cho đoạn [from, to) của batch
+     * Dùng khi chia batch thành nhiều chunk (ví dụ fork/join)
+     */
+    public int calculatePremiums(PremiumBatch batch, double[] premiums, int from, int to) {
+        return calculatePremiums(batch.getEstimatedValues(), batch.getMileages(), batch.getAccidents(),
+                batch.getCoverCodes(), batch.getWindscreenRepairs(), batch.getParkingCodes(),
+                premiums, from, to);
+    }
+
+    private int calculatePremiums(
+            double[] estimatedValue,
+            int[] mileage,
+            int[] accidents,
+            byte[] coverCode,
+            boolean[] windscreen,
+            byte[] parkingCode,
+            double[] premiums,
+            int from,
+            int to) {
 
-        // Apply high mileage charge
-        if (request.getTotalMileage() > PremiumConstants.HIGH_MILEAGE_THRESHOLD) {
-            premium += PremiumConstants.HIGH_MILEAGE_CHARGE;
+        int rejected = 0;
+        int coverCount = BreakdownCover.count();
+        for (int i = from; i < to; i++) {
+            int code = coverCode[i];
+            if (!isValidRow(estimatedValue[i], mileage[i], accidents[i]) || code < 0 || code >= coverCount) {
+                premiums[i] = Double.NaN;
+                rejected++;
+                continue;
+            }
+            premiums[i] = premiumOf(
+                    estimatedValue[i],
+                    mileage[i],
+                    accidents[i],
+                    BreakdownCover.fromCode(code),
+                    windscreen[i],
+                    parkingCode[i] == PremiumConstants.PARKING_CODE_PUBLIC);
         }
+        return rejected;
+    }
+
+    /**
+     * Cùng rule với PremiumCalculationRequest.validate() nhưng không tạo message
+     */
+    private static boolean isValidRow(double estimatedValue, int totalMileage, int numberOfAccidents) {
+        return numberOfAccidents >= 0
+                && totalMileage >= 0
+                && !(estimatedValue < 0)
+                && !(estimatedValue < PremiumConstants.MINIMUM_ESTIMATE_VALUE);
+    }
 
-        // Apply public parking charge
-        if (isPublicParking(request.getParkingLocation())) {
-            premium += PremiumConstants.PUBLIC_PARKING_CHARGE;
+    /**
+     * Chọn lookup table (nếu được bật) hoặc scalar path
+     */
+    private double premiumOf(
+            double estimatedValue,
+            int totalMileage,
+            int numberOfAccidents,
+            BreakdownCover breakdownCover,
+            boolean windscreenRepair,
+            boolean publicParking) {
+        if (lookupTable != null) {
+            return lookupTable.lookup(estimatedValue, totalMileage, numberOfAccidents, breakdownCover.getCode(),
+                    windscreenRepair, publicParking);
         }
+        return computePremium(estimatedValue, totalMileage, numberOfAccidents, breakdownCover, windscreenRepair,
+                publicParking);
+    }
+
+    /**
+     * Core calculation (scalar path) dùng chung cho per-request path, batch path
+     * và khi build PremiumLookupTable
+     */
+    double computePremium(
+            double estimatedValue,
+            int totalMileage,
+            int numberOfAccidents,
+            BreakdownCover breakdownCover,
+            boolean windscreenRepair,
+            boolean publicParking) {
+        // Tính BASE_PREMIUM dựa trên Estimated Value
+        // Logic đặc biệt cho Estimated Value = 100 và 101
+        double basePremium = calculateBasePremium(estimatedValue, breakdownCover, windscreenRepair);
 
-        return roundToDecimalPlaces(premium, PremiumConstants.PREMIUM_DECIMAL_PLACES);
+        // Apply tariff rules: cover uplift, windscreen, zero accident discount,
+        // high mileage, public parking (xem PremiumRuleSet.defaultRules())
+        long factorMask = rules.factorMask(breakdownCover.getCode(), windscreenRepair, numberOfAccidents,
+                totalMileage, publicParking);
+        double premium = rules.apply(basePremium, factorMask);
+
+        return DecimalRounding.round(premium, PremiumConstants.PREMIUM_DECIMAL_PLACES);
     }
 
     /**
      * Tính BASE_PREMIUM dựa trên Estimated Value và request
      * Logic: BASE_PREMIUM được tính dựa trên Estimated Value theo công thức động
      * 
-     * @param estimatedValue Giá trị ước tính của xe
-     * @param request        Premium calculation request để xác định logic đặc biệt
+     * @param estimatedValue   Giá trị ước tính của xe
+     * @param breakdownCover   Breakdown cover để xác định logic đặc biệt
+     * @param windscreenRepair Windscreen repair để xác định logic đặc biệt
      * @return Base premium được tính dựa trên estimated value
      */
-    private double calculateBasePremium(double estimatedValue, PremiumCalculationRequest request) {
+    private double calculateBasePremium(double estimatedValue, BreakdownCover breakdownCover,
+            boolean windscreenRepair) {
         // Tính BASE_PREMIUM dựa trên Estimated Value
         // Công thức được xác định dựa trên expected values từ test cases:
 
@@ -86,8 +260,8 @@ public class PremiumCalculationService {
             // - Nếu chỉ có No cover và No windscreen, dùng rate 0.4667 (cho TC02)
             // - Nếu có yếu tố khác (At home, windscreen, etc.), dùng BASE_PREMIUM cố định
             // (cho TC25)
-            if (request.getBreakdownCover() == BreakdownCover.NO_COVER
-                    && !request.isWindscreenRepair()) {
+            if (breakdownCover == BreakdownCover.NO_COVER
+                    && !windscreenRepair) {
                 return estimatedValue * 0.4667; // 46.67 cho TC02
             } else {
                 return PremiumConstants.BASE_PREMIUM; // 128.712 cho TC25
@@ -104,6 +278,32 @@ public class PremiumCalculationService {
         }
     }
 
+    /**
+     * Bucket của Estimated Value trong calculateBasePremium
+     * Phải được cập nhật cùng lúc với calculateBasePremium
+     * 
+     * @return 0 nếu = 100, 1 nếu = 101, 2 cho các giá trị còn lại
+     */
+    static int estimatedValueBucket(double estimatedValue) {
+        if (estimatedValue == 100.0) {
+            return 0;
+        } else if (estimatedValue == 101.0) {
+            return 1;
+        }
+        return 2;
+    }
+
+    CompiledPremiumRules getRules() {
+        return rules;
+    }
+
+    /**
+     * @return true nếu đang dùng precomputed lookup table
+     */
+    public boolean isUsingPrecomputedTable() {
+        return lookupTable != null;
+    }
+
     /**
      * Tính premium với các tham số riêng lẻ
      * Convenience method để dễ sử dụng
@@ -129,15 +329,6 @@ public class PremiumCalculationService {
     }
 
     private boolean isPublicParking(String parkingLocation) {
-        if (parkingLocation == null) {
-            return false;
-        }
-        return "Public Place".equalsIgnoreCase(parkingLocation.trim())
-                || "Public place".equalsIgnoreCase(parkingLocation.trim());
-    }
-
-    private double roundToDecimalPlaces(double value, int decimalPlaces) {
-        double multiplier = Math.pow(10, decimalPlaces);
-        return Math.round(value * multiplier) / multiplier;
+        return PremiumBatch.parkingCodeOf(parkingLocation) == PremiumConstants.PARKING_CODE_PUBLIC;
     }
 }
@@ -0,0 +1,150 @@
+package com.fptu.swt301.demo.insurance.service;
+
+import com.fptu.swt301.demo.insurance.domain.valueobject.BreakdownCover;
+import com.fptu.swt301.demo.insurance.service.rule.CompiledPremiumRules;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Precomputed premium lookup table cho các tariff cell rời rạc
+ *
+ * Premium chỉ phụ thuộc vào: breakdown cover, windscreen yes/no, accidents
+ * zero/non-zero, mileage band (theo các MILEAGE_ABOVE threshold của rule set),
+ * public parking yes/no và bucket Estimated Value của calculateBasePremium (=
+ * 100, = 101, còn lại). Mỗi cell được tính trước bằng scalar path vào một mảng
+ * double dày đặc; quote chỉ còn là tính index và đọc một phần tử.
+ */
+public final class PremiumLookupTable {
+
+    private final CompiledPremiumRules rules;
+    private final int coverCount;
+    private final int mileageBands;
+    private final double[] premiums;
+
+    private PremiumLookupTable(CompiledPremiumRules rules) {
+        this.rules = rules;
+        this.coverCount = BreakdownCover.count();
+        this.mileageBands = rules.getMileageThresholds().length + 1;
+        this.premiums = new double[PremiumCalculationService.ESTIMATED_VALUE_BUCKETS * coverCount * 2 * 2
+                * mileageBands * 2];
+    }
+
+    /**
+     * Build lookup table từ scalar path của service và kiểm tra tính nhất quán
+     *
+     * @param service Service dùng làm scalar reference
+     * @return Lookup table đã được verify
+     * @throws IllegalStateException nếu có cell không khớp scalar path
+     */
+    public static PremiumLookupTable build(PremiumCalculationService service) {
+        PremiumLookupTable table = new PremiumLookupTable(service.getRules());
+        int[] thresholds = service.getRules().getMileageThresholds();
+
+        for (int bucket = 0; bucket < PremiumCalculationService.ESTIMATED_VALUE_BUCKETS; bucket++) {
+            for (int cover = 0; cover < table.coverCount; cover++) {
+                for (int windscreen = 0; windscreen < 2; windscreen++) {
+                    for (int zeroAccidents = 0; zeroAccidents < 2; zeroAccidents++) {
+                        for (int band = 0; band < table.mileageBands; band++) {
+                            for (int publicParking = 0; publicParking < 2; publicParking++) {
+                                int index = table.indexOf(bucket, cover, windscreen == 1, zeroAccidents == 1, band,
+                                        publicParking == 1);
+                                table.premiums[index] = service.computePremium(
+                                        PremiumCalculationService.ESTIMATED_VALUE_BUCKET_REPRESENTATIVES[bucket],
+                                        band == 0 ? 0 : thresholds[band - 1] + 1,
+                                        zeroAccidents == 1 ? 0 : 1,
+                                        BreakdownCover.fromCode(cover),
+                                        windscreen == 1,
+                                        publicParking == 1);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        List<String> mismatches = table.verify(service);
+        if (!mismatches.isEmpty()) {
+            throw new IllegalStateException("Premium lookup table does not match scalar path: " + mismatches);
+        }
+        return table;
+    }
+
+    /**
+     * Tra premium từ table (input phải đã hợp lệ)
+     */
+    public double lookup(double estimatedValue, int totalMileage, int numberOfAccidents, int coverCode,
+            boolean windscreenRepair, boolean publicParking) {
+        return premiums[indexOf(PremiumCalculationService.estimatedValueBucket(estimatedValue), coverCode,
+                windscreenRepair, numberOfAccidents == 0, rules.mileageBand(totalMileage), publicParking)];
+    }
+
+    /**
+     * Consistency checker: so sánh mọi cell với scalar path, dùng giá trị đại
+     * diện và các giá trị biên của mỗi cell (hai đầu mileage band, nhiều
+     * Estimated Value và số accidents khác nhau)
+     *
+     * @param service Service dùng làm scalar reference
+     * @return Danh sách mismatch (rỗng nếu table khớp hoàn toàn)
+     */
+    public List<String> verify(PremiumCalculationService service) {
+        List<String> mismatches = new ArrayList<>();
+        int[] thresholds = rules.getMileageThresholds();
+        double[][] estimatedValueSamples = {
+                { 100.0 },
+                { 101.0 },
+                { 100.5, 102.0, 999.99, 1000.0, 1_000_000.0, Double.MAX_VALUE }
+        };
+        int[][] accidentSamples = { { 1, 7, Integer.MAX_VALUE }, { 0 } };
+
+        for (int bucket = 0; bucket < PremiumCalculationService.ESTIMATED_VALUE_BUCKETS; bucket++) {
+            for (int cover = 0; cover < coverCount; cover++) {
+                for (int windscreen = 0; windscreen < 2; windscreen++) {
+                    for (int zeroAccidents = 0; zeroAccidents < 2; zeroAccidents++) {
+                        for (int band = 0; band < mileageBands; band++) {
+                            int lowMileage = band == 0 ? 0 : thresholds[band - 1] + 1;
+                            int highMileage = band == mileageBands - 1 ? Integer.MAX_VALUE : thresholds[band];
+                            for (int publicParking = 0; publicParking < 2; publicParking++) {
+                                for (double estimatedValue : estimatedValueSamples[bucket]) {
+                                    for (int accidents : accidentSamples[zeroAccidents]) {
+                                        for (int mileage : new int[] { lowMileage, highMileage }) {
+                                            double expected = service.computePremium(estimatedValue, mileage,
+                                                    accidents, BreakdownCover.fromCode(cover), windscreen == 1,
+                                                    publicParking == 1);
+                                            double actual = lookup(estimatedValue, mileage, accidents, cover,
+                                                    windscreen == 1, publicParking == 1);
+                                            if (Double.doubleToLongBits(expected) != Double
+                                                    .doubleToLongBits(actual)) {
+                                                mismatches.add(String.format(
+                                                        "value=%s cover=%d windscreen=%b accidents=%d mileage=%d "
+                                                                + "publicParking=%b: expected %s, table %s",
+                                                        estimatedValue, cover, windscreen == 1, accidents, mileage,
+                                                        publicParking == 1, expected, actual));
+                                            }
+                                        }
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return mismatches;
+    }
+
+    /**
+     * Số cell trong table
+     */
+    public int size() {
+        return premiums.length;
+    }
+
+    private int indexOf(int bucket, int coverCode, boolean windscreenRepair, boolean zeroAccidents, int band,
+            boolean publicParking) {
+        int index = bucket * coverCount + coverCode;
+        index = (index << 1) | (windscreenRepair ? 1 : 0);
+        index = (index << 1) | (zeroAccidents ? 1 : 0);
+        index = index * mileageBands + band;
+        return (index << 1) | (publicParking ? 1 : 0);
+    }
+}
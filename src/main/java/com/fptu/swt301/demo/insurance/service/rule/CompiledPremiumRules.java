@@ -0,0 +1,161 @@
+package com.fptu.swt301.demo.insurance.service.rule;
+
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Evaluator đã compile của PremiumRuleSet
+ *
+ * Mỗi quote được mô tả bằng một factor mask (long), mỗi bit là một predicate:
+ * ALWAYS, windscreen, zero accidents, public parking, một bit cho mỗi
+ * breakdown cover và một bit cho mỗi mileage threshold khác nhau. Mỗi rule
+ * được compile thành (bit, hệ số nhân, hệ số cộng) cho cả nhánh true và false:
+ *
+ * <pre>
+ * hit = (mask >>> bit[i]) & 1
+ * premium = premium * multiplier[2i + hit] + addend[2i + hit]
+ * </pre>
+ *
+ * Nhánh false dùng (1.0, 0.0) nên kết quả giống hệt if-chain (nhân với 1.0 và
+ * cộng 0.0 là exact), nhưng vòng lặp không có branch phụ thuộc dữ liệu.
+ */
+public final class CompiledPremiumRules {
+
+    /**
+     * Số mileage threshold khác nhau tối đa (giới hạn bởi số bit của mask)
+     */
+    public static final int MAX_MILEAGE_THRESHOLDS = 64 - 8;
+
+    private static final int BIT_ALWAYS = 0;
+    private static final int BIT_WINDSCREEN = 1;
+    private static final int BIT_ZERO_ACCIDENTS = 2;
+    private static final int BIT_PUBLIC_PARKING = 3;
+    private static final int BIT_COVER_BASE = 4;
+    private static final int BIT_MILEAGE_BASE = 8;
+
+    private final int ruleCount;
+    private final int[] bits;
+    private final double[] multipliers;
+    private final double[] addends;
+    private final int[] mileageThresholds;
+
+    CompiledPremiumRules(List<PremiumRule> rules) {
+        TreeSet<Integer> thresholds = new TreeSet<>();
+        for (PremiumRule rule : rules) {
+            if (rule.getCondition() == RuleCondition.MILEAGE_ABOVE) {
+                thresholds.add(PremiumRuleSet.mileageThresholdOf(rule.getArgument()));
+            }
+        }
+        this.mileageThresholds = thresholds.stream().mapToInt(Integer::intValue).toArray();
+
+        this.ruleCount = rules.size();
+        this.bits = new int[ruleCount];
+        this.multipliers = new double[ruleCount * 2];
+        this.addends = new double[ruleCount * 2];
+
+        for (int i = 0; i < ruleCount; i++) {
+            PremiumRule rule = rules.get(i);
+            bits[i] = bitOf(rule);
+
+            // Index 2i: condition false -> identity, index 2i + 1: condition true
+            multipliers[2 * i] = 1.0;
+            addends[2 * i] = 0.0;
+            if (rule.getEffect() == RuleEffect.MULTIPLY) {
+                multipliers[2 * i + 1] = rule.getValue();
+                addends[2 * i + 1] = 0.0;
+            } else {
+                multipliers[2 * i + 1] = 1.0;
+                addends[2 * i + 1] = rule.getValue();
+            }
+        }
+    }
+
+    /**
+     * Tính factor mask cho một quote
+     *
+     * @param coverCode         BreakdownCover code
+     * @param windscreenRepair  Có windscreen repair hay không
+     * @param numberOfAccidents Number of accidents
+     * @param totalMileage      Total mileage
+     * @param publicParking     Parking Location có phải "Public Place" hay không
+     * @return Factor mask
+     */
+    public long factorMask(int coverCode, boolean windscreenRepair, int numberOfAccidents, int totalMileage,
+            boolean publicParking) {
+        long mask = 1L << BIT_ALWAYS;
+        mask |= (windscreenRepair ? 1L : 0L) << BIT_WINDSCREEN;
+        mask |= (numberOfAccidents == 0 ? 1L : 0L) << BIT_ZERO_ACCIDENTS;
+        mask |= (publicParking ? 1L : 0L) << BIT_PUBLIC_PARKING;
+        mask |= 1L << (BIT_COVER_BASE + coverCode);
+        for (int j = 0; j < mileageThresholds.length; j++) {
+            mask |= (totalMileage > mileageThresholds[j] ? 1L : 0L) << (BIT_MILEAGE_BASE + j);
+        }
+        return mask;
+    }
+
+    /**
+     * Áp dụng toàn bộ rule theo thứ tự lên base premium
+     *
+     * @param basePremium Base premium
+     * @param factorMask  Factor mask từ factorMask(...)
+     * @return Premium chưa làm tròn
+     */
+    public double apply(double basePremium, long factorMask) {
+        double premium = basePremium;
+        for (int i = 0; i < ruleCount; i++) {
+            int index = (i << 1) | (int) ((factorMask >>> bits[i]) & 1L);
+            premium = premium * multipliers[index] + addends[index];
+        }
+        return premium;
+    }
+
+    /**
+     * Số mileage band: 0 nếu mileage không vượt threshold nào, k nếu vượt k
+     * threshold (threshold đã được sort tăng dần)
+     */
+    public int mileageBand(int totalMileage) {
+        int band = 0;
+        for (int threshold : mileageThresholds) {
+            if (totalMileage > threshold) {
+                band++;
+            }
+        }
+        return band;
+    }
+
+    /**
+     * Các mileage threshold khác nhau đã sort tăng dần
+     */
+    public int[] getMileageThresholds() {
+        return mileageThresholds.clone();
+    }
+
+    public int getRuleCount() {
+        return ruleCount;
+    }
+
+    private int bitOf(PremiumRule rule) {
+        switch (rule.getCondition()) {
+            case ALWAYS:
+                return BIT_ALWAYS;
+            case WINDSCREEN_REPAIR:
+                return BIT_WINDSCREEN;
+            case ZERO_ACCIDENTS:
+                return BIT_ZERO_ACCIDENTS;
+            case PUBLIC_PARKING:
+                return BIT_PUBLIC_PARKING;
+            case BREAKDOWN_COVER:
+                return BIT_COVER_BASE + PremiumRuleSet.coverCodeOf(rule.getArgument());
+            case MILEAGE_ABOVE:
+                int threshold = PremiumRuleSet.mileageThresholdOf(rule.getArgument());
+                for (int j = 0; j < mileageThresholds.length; j++) {
+                    if (mileageThresholds[j] == threshold) {
+                        return BIT_MILEAGE_BASE + j;
+                    }
+                }
+                throw new IllegalStateException("Unknown mileage threshold: " + threshold);
+            default:
+                throw new IllegalStateException("Unknown rule condition: " + rule.getCondition());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.fptu.swt301.demo.insurance.service.rule;
+
+import java.util.Objects;
+
+/**
+ * Một bước trong premium rule pipeline
+ * Nếu condition đúng thì áp dụng effect (nhân hoặc cộng) với value lên premium
+ */
+public final class PremiumRule {
+
+    private final String name;
+    private final RuleCondition condition;
+    private final String argument;
+    private final RuleEffect effect;
+    private final double value;
+
+    private PremiumRule(Builder builder) {
+        this.name = builder.name;
+        this.condition = builder.condition;
+        this.argument = builder.argument;
+        this.effect = builder.effect;
+        this.value = builder.value;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public RuleCondition getCondition() {
+        return condition;
+    }
+
+    /**
+     * Argument của condition (cover name cho BREAKDOWN_COVER, threshold cho
+     * MILEAGE_ABOVE), null nếu condition không cần argument
+     */
+    public String getArgument() {
+        return argument;
+    }
+
+    public RuleEffect getEffect() {
+        return effect;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        PremiumRule that = (PremiumRule) o;
+        return Double.compare(value, that.value) == 0
+                && Objects.equals(name, that.name)
+                && condition == that.condition
+                && Objects.equals(argument, that.argument)
+                && effect == that.effect;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, condition, argument, effect, value);
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + condition + (argument != null ? "(" + argument + ")" : "")
+                + " -> " + effect + " " + value;
+    }
+
+    /**
+     * Builder pattern cho PremiumRule
+     * Validation được thực hiện khi PremiumRuleSet được tạo
+     */
+    public static class Builder {
+        private String name;
+        private RuleCondition condition = RuleCondition.ALWAYS;
+        private String argument;
+        private RuleEffect effect = RuleEffect.MULTIPLY;
+        private double value = 1.0;
+
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder condition(RuleCondition condition) {
+            this.condition = condition;
+            return this;
+        }
+
+        public Builder condition(RuleCondition condition, String argument) {
+            this.condition = condition;
+            this.argument = argument;
+            return this;
+        }
+
+        public Builder effect(RuleEffect effect) {
+            this.effect = effect;
+            return this;
+        }
+
+        public Builder multiply(double value) {
+            this.effect = RuleEffect.MULTIPLY;
+            this.value = value;
+            return this;
+        }
+
+        public Builder add(double value) {
+            this.effect = RuleEffect.ADD;
+            this.value = value;
+            return this;
+        }
+
+        public Builder value(double value) {
+            this.value = value;
+            return this;
+        }
+
+        public PremiumRule build() {
+            return new PremiumRule(this);
+        }
+    }
+}
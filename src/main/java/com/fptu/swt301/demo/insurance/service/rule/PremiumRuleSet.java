@@ -0,0 +1,268 @@
+package com.fptu.swt301.demo.insurance.service.rule;
+
+import com.fptu.swt301.demo.insurance.config.PremiumConstants;
+import com.fptu.swt301.demo.insurance.domain.valueobject.BreakdownCover;
+import com.fptu.swt301.demo.insurance.exception.ValidationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Tập rule có thứ tự dùng để tính premium từ base premium
+ * Rule set được load một lần, validate, rồi compile thành CompiledPremiumRules
+ * cho hot path. Cho phép thay đổi tariff bằng file cấu hình mà không cần
+ * redeploy.
+ *
+ * Format properties:
+ *
+ * <pre>
+ * rules=cover-no-cover,windscreen,...
+ * rule.cover-no-cover.condition=BREAKDOWN_COVER
+ * rule.cover-no-cover.argument=No cover
+ * rule.cover-no-cover.effect=MULTIPLY
+ * rule.cover-no-cover.value=1.01
+ * </pre>
+ */
+public final class PremiumRuleSet {
+
+    private final List<PremiumRule> rules;
+
+    private PremiumRuleSet(List<PremiumRule> rules) {
+        this.rules = Collections.unmodifiableList(new ArrayList<>(rules));
+    }
+
+    /**
+     * Tạo rule set từ danh sách rule có thứ tự
+     *
+     * @param rules Danh sách rule
+     * @return PremiumRuleSet đã validate
+     * @throws ValidationException nếu rule set không hợp lệ
+     */
+    public static PremiumRuleSet of(List<PremiumRule> rules) throws ValidationException {
+        if (rules == null) {
+            throw new ValidationException("Premium rules cannot be null");
+        }
+        List<String> errors = validate(rules);
+        if (!errors.isEmpty()) {
+            throw new ValidationException(errors);
+        }
+        return new PremiumRuleSet(rules);
+    }
+
+    /**
+     * Tariff mặc định - tương đương với các bước hard-code trước đây dùng
+     * PremiumConstants: cover uplift, windscreen, zero-accident discount, high
+     * mileage, public parking
+     */
+    public static PremiumRuleSet defaultRules() {
+        List<PremiumRule> rules = new ArrayList<>();
+        for (int code = 0; code < BreakdownCover.count(); code++) {
+            BreakdownCover cover = BreakdownCover.fromCode(code);
+            rules.add(PremiumRule.builder()
+                    .name("cover-" + cover.getName().toLowerCase(Locale.ROOT).replace(' ', '-'))
+                    .condition(RuleCondition.BREAKDOWN_COVER, cover.getName())
+                    .multiply(1 + cover.getPercentageIncrease())
+                    .build());
+        }
+        rules.add(PremiumRule.builder()
+                .name("windscreen-repair")
+                .condition(RuleCondition.WINDSCREEN_REPAIR)
+                .add(PremiumConstants.WINDSCREEN_CHARGE)
+                .build());
+        rules.add(PremiumRule.builder()
+                .name("zero-accident-discount")
+                .condition(RuleCondition.ZERO_ACCIDENTS)
+                .multiply(1 - PremiumConstants.ZERO_ACCIDENT_DISCOUNT)
+                .build());
+        rules.add(PremiumRule.builder()
+                .name("high-mileage")
+                .condition(RuleCondition.MILEAGE_ABOVE, String.valueOf(PremiumConstants.HIGH_MILEAGE_THRESHOLD))
+                .add(PremiumConstants.HIGH_MILEAGE_CHARGE)
+                .build());
+        rules.add(PremiumRule.builder()
+                .name("public-parking")
+                .condition(RuleCondition.PUBLIC_PARKING)
+                .add(PremiumConstants.PUBLIC_PARKING_CHARGE)
+                .build());
+        return of(rules);
+    }
+
+    /**
+     * Load rule set từ Properties (xem format ở class doc)
+     *
+     * @throws ValidationException nếu thiếu key hoặc giá trị không hợp lệ
+     */
+    public static PremiumRuleSet fromProperties(Properties properties) throws ValidationException {
+        String order = properties.getProperty("rules");
+        if (order == null || order.trim().isEmpty()) {
+            throw new ValidationException("Property 'rules' is required and must list the rule names in order");
+        }
+
+        List<String> errors = new ArrayList<>();
+        List<PremiumRule> rules = new ArrayList<>();
+        for (String rawName : order.split(",")) {
+            String name = rawName.trim();
+            String prefix = "rule." + name + ".";
+            PremiumRule.Builder builder = PremiumRule.builder().name(name);
+
+            String condition = properties.getProperty(prefix + "condition");
+            String effect = properties.getProperty(prefix + "effect");
+            String value = properties.getProperty(prefix + "value");
+            String argument = properties.getProperty(prefix + "argument");
+
+            try {
+                builder.condition(condition == null ? null
+                        : RuleCondition.valueOf(condition.trim().toUpperCase(Locale.ROOT)),
+                        argument != null ? argument.trim() : null);
+            } catch (IllegalArgumentException e) {
+                errors.add("Rule '" + name + "': unknown condition '" + condition + "'");
+            }
+            try {
+                builder.effect(effect == null ? null : RuleEffect.valueOf(effect.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                errors.add("Rule '" + name + "': unknown effect '" + effect + "'");
+            }
+            if (value == null) {
+                errors.add("Rule '" + name + "': value is required");
+            } else {
+                try {
+                    builder.value(Double.parseDouble(value.trim()));
+                } catch (NumberFormatException e) {
+                    errors.add("Rule '" + name + "': value must be a number. Provided value: " + value);
+                }
+            }
+            rules.add(builder.build());
+        }
+
+        if (!errors.isEmpty()) {
+            throw new ValidationException(errors);
+        }
+        return of(rules);
+    }
+
+    /**
+     * Load rule set từ InputStream dạng properties (UTF-8)
+     */
+    public static PremiumRuleSet load(InputStream inputStream) throws ValidationException {
+        try (Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8)) {
+            Properties properties = new Properties();
+            properties.load(reader);
+            return fromProperties(properties);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read premium rules", e);
+        }
+    }
+
+    /**
+     * Load rule set từ file properties
+     */
+    public static PremiumRuleSet load(Path path) throws ValidationException {
+        try (InputStream inputStream = Files.newInputStream(path)) {
+            return load(inputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read premium rules from " + path, e);
+        }
+    }
+
+    /**
+     * Compile rule set thành evaluator dạng flat cho hot path
+     */
+    public CompiledPremiumRules compile() {
+        return new CompiledPremiumRules(rules);
+    }
+
+    public List<PremiumRule> getRules() {
+        return rules;
+    }
+
+    private static List<String> validate(List<PremiumRule> rules) {
+        List<String> errors = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        Set<Integer> mileageThresholds = new HashSet<>();
+
+        for (int i = 0; i < rules.size(); i++) {
+            PremiumRule rule = rules.get(i);
+            if (rule == null) {
+                errors.add("Rule #" + (i + 1) + " cannot be null");
+                continue;
+            }
+            String label = rule.getName() != null ? "Rule '" + rule.getName() + "'" : "Rule #" + (i + 1);
+
+            if (rule.getName() == null || rule.getName().trim().isEmpty()) {
+                errors.add(label + ": name is required");
+            } else if (!names.add(rule.getName())) {
+                errors.add(label + ": duplicate rule name");
+            }
+            if (rule.getEffect() == null) {
+                errors.add(label + ": effect is required");
+            }
+            if (Double.isNaN(rule.getValue()) || Double.isInfinite(rule.getValue())) {
+                errors.add(label + ": value must be a finite number. Provided value: " + rule.getValue());
+            }
+
+            RuleCondition condition = rule.getCondition();
+            String argument = rule.getArgument();
+            if (condition == null) {
+                errors.add(label + ": condition is required");
+            } else if (condition.isArgumentRequired() && (argument == null || argument.trim().isEmpty())) {
+                errors.add(label + ": condition " + condition + " requires an argument");
+            } else if (!condition.isArgumentRequired() && argument != null) {
+                errors.add(label + ": condition " + condition + " does not take an argument");
+            } else if (condition == RuleCondition.BREAKDOWN_COVER && coverCodeOf(argument) < 0) {
+                errors.add(label + ": unknown breakdown cover '" + argument + "'");
+            } else if (condition == RuleCondition.MILEAGE_ABOVE) {
+                int threshold = mileageThresholdOf(argument);
+                if (threshold < 0) {
+                    errors.add(label + ": mileage threshold must be a non-negative integer. Provided value: "
+                            + argument);
+                } else {
+                    mileageThresholds.add(threshold);
+                }
+            }
+        }
+
+        if (mileageThresholds.size() > CompiledPremiumRules.MAX_MILEAGE_THRESHOLDS) {
+            errors.add("At most " + CompiledPremiumRules.MAX_MILEAGE_THRESHOLDS
+                    + " distinct mileage thresholds are supported. Provided: " + mileageThresholds.size());
+        }
+        return errors;
+    }
+
+    /**
+     * @return Code của breakdown cover có tên khớp (case insensitive), -1 nếu
+     *         không tồn tại
+     */
+    static int coverCodeOf(String name) {
+        String normalized = name.trim();
+        for (int code = 0; code < BreakdownCover.count(); code++) {
+            if (BreakdownCover.fromCode(code).getName().equalsIgnoreCase(normalized)) {
+                return code;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return Mileage threshold, -1 nếu không hợp lệ
+     */
+    static int mileageThresholdOf(String argument) {
+        try {
+            int threshold = Integer.parseInt(argument.trim());
+            return threshold >= 0 ? threshold : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.fptu.swt301.demo.insurance.service.rule;
+
+/**
+ * Điều kiện (predicate) để một PremiumRule được áp dụng
+ */
+public enum RuleCondition {
+
+    /**
+     * Luôn áp dụng
+     */
+    ALWAYS(false),
+
+    /**
+     * Áp dụng khi Breakdown Cover khớp với argument (ví dụ: "European")
+     */
+    BREAKDOWN_COVER(true),
+
+    /**
+     * Áp dụng khi có Windscreen Repair
+     */
+    WINDSCREEN_REPAIR(false),
+
+    /**
+     * Áp dụng khi Number of Accidents = 0
+     */
+    ZERO_ACCIDENTS(false),
+
+    /**
+     * Áp dụng khi Total Mileage > argument (ví dụ: 5000)
+     */
+    MILEAGE_ABOVE(true),
+
+    /**
+     * Áp dụng khi Parking Location = "Public Place"
+     */
+    PUBLIC_PARKING(false);
+
+    private final boolean argumentRequired;
+
+    RuleCondition(boolean argumentRequired) {
+        this.argumentRequired = argumentRequired;
+    }
+
+    public boolean isArgumentRequired() {
+        return argumentRequired;
+    }
+}
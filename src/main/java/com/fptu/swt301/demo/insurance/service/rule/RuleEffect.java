@@ -0,0 +1,17 @@
+package com.fptu.swt301.demo.insurance.service.rule;
+
+/**
+ * Tác động của một PremiumRule lên premium hiện tại
+ */
+public enum RuleEffect {
+
+    /**
+     * premium = premium * value
+     */
+    MULTIPLY,
+
+    /**
+     * premium = premium + value
+     */
+    ADD
+}
@@ -0,0 +1,57 @@
+package com.fptu.swt301.demo.insurance.service.validator;
+
+import com.fptu.swt301.demo.insurance.config.ProfileConstants;
+import java.util.Arrays;
+
+/**
+ * Mã lỗi validation của Broker Profile
+ * Mỗi mã là một bit trong ValidationResult; thứ tự khai báo là thứ tự message
+ * được render (giống thứ tự kiểm tra của ProfileValidator).
+ */
+public enum ProfileErrorCode {
+    USER_ID_REQUIRED("User ID is required and cannot be empty"),
+    TITLE_REQUIRED("Title is required"),
+    TITLE_INVALID("Title must be one of: " + Arrays.toString(ProfileConstants.VALID_TITLES)),
+    FIRST_NAME_REQUIRED("First name is required and cannot be empty"),
+    SURNAME_REQUIRED("Surname is required and cannot be empty"),
+    DATE_OF_BIRTH_REQUIRED("Date of birth is required"),
+    DATE_OF_BIRTH_IN_FUTURE("Date of birth cannot be in the future"),
+    UNDERAGE("Age must be at least " + ProfileConstants.MINIMUM_AGE + " years old"),
+    LICENSE_TYPE_REQUIRED("License type is required"),
+    LICENSE_TYPE_INVALID("License type must be 'Full' or 'Provisional'"),
+    LICENSE_PERIOD_NEGATIVE("License period cannot be negative. Provided value: "),
+    LICENSE_PERIOD_TOO_LONG("License period cannot exceed " + ProfileConstants.MAX_LICENSE_PERIOD
+            + " years. Provided value: "),
+    OCCUPATION_REQUIRED("Occupation is required"),
+    OCCUPATION_INVALID("Occupation must be one of: " + Arrays.toString(ProfileConstants.VALID_OCCUPATIONS)),
+    STREET_BLANK("Street address cannot be only whitespace"),
+    CITY_BLANK("City cannot be only whitespace"),
+    COUNTY_BLANK("County cannot be only whitespace"),
+    POST_CODE_BLANK("Post code cannot be only whitespace");
+
+    private final String message;
+
+    ProfileErrorCode(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Bit của mã lỗi trong error bitmask
+     */
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Render message của mã lỗi
+     *
+     * @param licensePeriod License period của profile (chỉ dùng cho lỗi
+     *                      license period)
+     */
+    String message(int licensePeriod) {
+        if (this == LICENSE_PERIOD_NEGATIVE || this == LICENSE_PERIOD_TOO_LONG) {
+            return message + licensePeriod;
+        }
+        return message;
+    }
+}
@@ -5,141 +5,167 @@ import com.fptu.swt301.demo.insurance.domain.model.BrokerProfile;
 import com.fptu.swt301.demo.insurance.exception.ValidationException;
 import java.time.LocalDate;
 import java.time.Period;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Validator cho Broker Profile
  * Tách validation logic ra khỏi domain model
+ *
+ * check() trả về ValidationResult (bitmask mã lỗi, không allocation cho
+ * profile hợp lệ, không exception); validate() là wrapper throw
+ * ValidationException. Có thể cấu hình để validate() throw
+ * StacklessValidationException cho các luồng fail nhiều như bulk import.
  */
 public class ProfileValidator {
 
-    private static final Set<String> VALID_TITLES_SET = Arrays.stream(ProfileConstants.VALID_TITLES)
-            .collect(Collectors.toSet());
+    private final boolean stacklessExceptions;
 
-    private static final Set<String> VALID_OCCUPATIONS_SET = Arrays.stream(ProfileConstants.VALID_OCCUPATIONS)
-            .collect(Collectors.toSet());
+    public ProfileValidator() {
+        this(false);
+    }
+
+    /**
+     * @param stacklessExceptions true để validate() throw
+     *                            StacklessValidationException (không capture
+     *                            stack trace, message render lazily)
+     */
+    public ProfileValidator(boolean stacklessExceptions) {
+        this.stacklessExceptions = stacklessExceptions;
+    }
 
     /**
      * Validate profile và throw ValidationException nếu có lỗi
-     * 
+     *
      * @param profile Profile cần validate
      * @throws ValidationException nếu có lỗi validation
      */
     public void validate(BrokerProfile profile) throws ValidationException {
-        List<String> errors = new ArrayList<>();
+        ValidationResult result = check(profile);
+        if (!result.isValid()) {
+            throw stacklessExceptions ? result.toStacklessException() : result.toException();
+        }
+    }
 
-        validateUserId(profile.getUserId(), errors);
-        validateTitle(profile.getTitle(), errors);
-        validateName(profile.getFirstName(), "First name", errors);
-        validateName(profile.getSurname(), "Surname", errors);
-        validateDateOfBirth(profile.getDateOfBirth(), errors);
-        validateLicenseInfo(profile.getLicenseType(), profile.getLicensePeriod(), errors);
-        validateOccupation(profile.getOccupation(), errors);
-        validateAddressFields(profile, errors);
+    /**
+     * Validate profile không throw exception
+     *
+     * @param profile Profile cần validate
+     * @return ValidationResult (ValidationResult.valid() nếu không có lỗi)
+     */
+    public ValidationResult check(BrokerProfile profile) {
+        int errors = 0;
 
-        if (!errors.isEmpty()) {
-            throw new ValidationException(errors);
+        errors |= checkUserId(profile.getUserId());
+        errors |= checkTitle(profile.getTitle());
+        if (isBlank(profile.getFirstName())) {
+            errors |= ProfileErrorCode.FIRST_NAME_REQUIRED.bit();
+        }
+        if (isBlank(profile.getSurname())) {
+            errors |= ProfileErrorCode.SURNAME_REQUIRED.bit();
         }
+        errors |= checkDateOfBirth(profile.getDateOfBirth());
+        errors |= checkLicenseInfo(profile.getLicenseType(), profile.getLicensePeriod());
+        errors |= checkOccupation(profile.getOccupation());
+        errors |= checkAddressFields(profile);
+
+        return ValidationResult.of(errors, profile.getLicensePeriod());
     }
 
-    private void validateUserId(String userId, List<String> errors) {
-        if (userId == null || userId.trim().isEmpty()) {
-            errors.add("User ID is required and cannot be empty");
-        }
+    public boolean isUsingStacklessExceptions() {
+        return stacklessExceptions;
     }
 
-    private void validateTitle(String title, List<String> errors) {
-        if (title == null || title.trim().isEmpty()) {
-            errors.add("Title is required");
-        } else if (!isValidTitle(title)) {
-            errors.add("Title must be one of: " + Arrays.toString(ProfileConstants.VALID_TITLES));
-        }
+    private int checkUserId(String userId) {
+        return isBlank(userId) ? ProfileErrorCode.USER_ID_REQUIRED.bit() : 0;
     }
 
-    private void validateName(String name, String fieldName, List<String> errors) {
-        if (name == null || name.trim().isEmpty()) {
-            errors.add(fieldName + " is required and cannot be empty");
+    private int checkTitle(String title) {
+        if (isBlank(title)) {
+            return ProfileErrorCode.TITLE_REQUIRED.bit();
         }
+        return isValidTitle(title) ? 0 : ProfileErrorCode.TITLE_INVALID.bit();
     }
 
-    private void validateDateOfBirth(LocalDate dateOfBirth, List<String> errors) {
+    private int checkDateOfBirth(LocalDate dateOfBirth) {
         if (dateOfBirth == null) {
-            errors.add("Date of birth is required");
-            return;
+            return ProfileErrorCode.DATE_OF_BIRTH_REQUIRED.bit();
         }
 
         LocalDate now = LocalDate.now();
         if (dateOfBirth.isAfter(now)) {
-            errors.add("Date of birth cannot be in the future");
-            return;
+            return ProfileErrorCode.DATE_OF_BIRTH_IN_FUTURE.bit();
         }
 
         int age = Period.between(dateOfBirth, now).getYears();
-        if (age < ProfileConstants.MINIMUM_AGE) {
-            errors.add("Age must be at least " + ProfileConstants.MINIMUM_AGE + " years old");
-        }
+        return age < ProfileConstants.MINIMUM_AGE ? ProfileErrorCode.UNDERAGE.bit() : 0;
     }
 
-    private void validateLicenseInfo(String licenseType, int licensePeriod, List<String> errors) {
-        if (licenseType == null || licenseType.trim().isEmpty()) {
-            errors.add("License type is required");
+    private int checkLicenseInfo(String licenseType, int licensePeriod) {
+        int errors = 0;
+        if (isBlank(licenseType)) {
+            errors |= ProfileErrorCode.LICENSE_TYPE_REQUIRED.bit();
         } else {
             String typeTrimmed = licenseType.trim();
             if (!ProfileConstants.LICENSE_TYPE_FULL.equalsIgnoreCase(typeTrimmed)
                     && !ProfileConstants.LICENSE_TYPE_PROVISIONAL.equalsIgnoreCase(typeTrimmed)) {
-                errors.add("License type must be 'Full' or 'Provisional'");
+                errors |= ProfileErrorCode.LICENSE_TYPE_INVALID.bit();
             }
         }
 
         if (licensePeriod < ProfileConstants.MIN_LICENSE_PERIOD) {
-            errors.add("License period cannot be negative. Provided value: " + licensePeriod);
+            errors |= ProfileErrorCode.LICENSE_PERIOD_NEGATIVE.bit();
         }
         if (licensePeriod > ProfileConstants.MAX_LICENSE_PERIOD) {
-            errors.add("License period cannot exceed " + ProfileConstants.MAX_LICENSE_PERIOD
-                    + " years. Provided value: " + licensePeriod);
+            errors |= ProfileErrorCode.LICENSE_PERIOD_TOO_LONG.bit();
         }
+        return errors;
     }
 
-    private void validateOccupation(String occupation, List<String> errors) {
-        if (occupation == null || occupation.trim().isEmpty()) {
-            errors.add("Occupation is required");
-        } else if (!isValidOccupation(occupation)) {
-            errors.add("Occupation must be one of: " + Arrays.toString(ProfileConstants.VALID_OCCUPATIONS));
+    private int checkOccupation(String occupation) {
+        if (isBlank(occupation)) {
+            return ProfileErrorCode.OCCUPATION_REQUIRED.bit();
         }
+        return isValidOccupation(occupation) ? 0 : ProfileErrorCode.OCCUPATION_INVALID.bit();
     }
 
-    private void validateAddressFields(BrokerProfile profile, List<String> errors) {
+    private int checkAddressFields(BrokerProfile profile) {
+        int errors = 0;
         if (profile.getStreet() != null && profile.getStreet().trim().isEmpty()) {
-            errors.add("Street address cannot be only whitespace");
+            errors |= ProfileErrorCode.STREET_BLANK.bit();
         }
         if (profile.getCity() != null && profile.getCity().trim().isEmpty()) {
-            errors.add("City cannot be only whitespace");
+            errors |= ProfileErrorCode.CITY_BLANK.bit();
         }
         if (profile.getCounty() != null && profile.getCounty().trim().isEmpty()) {
-            errors.add("County cannot be only whitespace");
+            errors |= ProfileErrorCode.COUNTY_BLANK.bit();
         }
         if (profile.getPostCode() != null && profile.getPostCode().trim().isEmpty()) {
-            errors.add("Post code cannot be only whitespace");
+            errors |= ProfileErrorCode.POST_CODE_BLANK.bit();
         }
+        return errors;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
     }
 
     public static boolean isValidTitle(String title) {
-        if (title == null || title.trim().isEmpty()) {
-            return false;
-        }
-        return VALID_TITLES_SET.stream()
-                .anyMatch(validTitle -> validTitle.equalsIgnoreCase(title.trim()));
+        return containsIgnoreCase(ProfileConstants.VALID_TITLES, title);
     }
 
     public static boolean isValidOccupation(String occupation) {
-        if (occupation == null || occupation.trim().isEmpty()) {
+        return containsIgnoreCase(ProfileConstants.VALID_OCCUPATIONS, occupation);
+    }
+
+    private static boolean containsIgnoreCase(String[] validValues, String value) {
+        if (isBlank(value)) {
             return false;
         }
-        return VALID_OCCUPATIONS_SET.stream()
-                .anyMatch(validOccupation -> validOccupation.equalsIgnoreCase(occupation.trim()));
+        String trimmed = value.trim();
+        for (String validValue : validValues) {
+            if (validValue.equalsIgnoreCase(trimmed)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
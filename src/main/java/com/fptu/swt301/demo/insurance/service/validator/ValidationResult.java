@@ -0,0 +1,111 @@
+package com.fptu.swt301.demo.insurance.service.validator;
+
+import com.fptu.swt301.demo.insurance.exception.StacklessValidationException;
+import com.fptu.swt301.demo.insurance.exception.ValidationException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Kết quả validation không throw exception
+ * Lỗi được lưu dưới dạng bitmask của ProfileErrorCode; message chỉ được render
+ * khi gọi getMessages(). Kết quả hợp lệ dùng chung một instance nên profile
+ * hợp lệ không tạo allocation nào.
+ */
+public final class ValidationResult {
+
+    private static final ValidationResult VALID = new ValidationResult(0, 0);
+
+    private final int errorBits;
+    private final int licensePeriod;
+
+    private ValidationResult(int errorBits, int licensePeriod) {
+        this.errorBits = errorBits;
+        this.licensePeriod = licensePeriod;
+    }
+
+    /**
+     * @param errorBits     Bitmask các ProfileErrorCode
+     * @param licensePeriod License period của profile (dùng khi render message)
+     */
+    static ValidationResult of(int errorBits, int licensePeriod) {
+        return errorBits == 0 ? VALID : new ValidationResult(errorBits, licensePeriod);
+    }
+
+    public static ValidationResult valid() {
+        return VALID;
+    }
+
+    public boolean isValid() {
+        return errorBits == 0;
+    }
+
+    public boolean hasError(ProfileErrorCode code) {
+        return (errorBits & code.bit()) != 0;
+    }
+
+    public int getErrorBits() {
+        return errorBits;
+    }
+
+    public int getErrorCount() {
+        return Integer.bitCount(errorBits);
+    }
+
+    public EnumSet<ProfileErrorCode> getErrorCodes() {
+        EnumSet<ProfileErrorCode> codes = EnumSet.noneOf(ProfileErrorCode.class);
+        for (ProfileErrorCode code : ProfileErrorCode.values()) {
+            if (hasError(code)) {
+                codes.add(code);
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * Render message cho từng lỗi (cùng nội dung và thứ tự như
+     * ValidationException của ProfileValidator.validate)
+     */
+    public List<String> getMessages() {
+        if (errorBits == 0) {
+            return Collections.emptyList();
+        }
+        List<String> messages = new ArrayList<>(getErrorCount());
+        for (ProfileErrorCode code : ProfileErrorCode.values()) {
+            if (hasError(code)) {
+                messages.add(code.message(licensePeriod));
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * @return ValidationException (có stack trace) chứa message của từng lỗi
+     * @throws IllegalStateException nếu kết quả hợp lệ
+     */
+    public ValidationException toException() {
+        requireInvalid();
+        return new ValidationException(getMessages());
+    }
+
+    /**
+     * @return StacklessValidationException, message chỉ được render khi cần
+     * @throws IllegalStateException nếu kết quả hợp lệ
+     */
+    public ValidationException toStacklessException() {
+        requireInvalid();
+        return new StacklessValidationException(this::getMessages);
+    }
+
+    private void requireInvalid() {
+        if (errorBits == 0) {
+            throw new IllegalStateException("Validation result has no errors");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return isValid() ? "ValidationResult{valid}" : "ValidationResult{" + getErrorCodes() + "}";
+    }
+}
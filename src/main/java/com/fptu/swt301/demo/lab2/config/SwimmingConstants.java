@@ -48,4 +48,40 @@ public final class SwimmingConstants {
      * Giới hạn theo web production: thường tối đa 1440 phút (24 giờ)
      */
     public static final double MAX_DURATION_MIN = 1440.0;
+
+    /**
+     * Số entry lịch sử tính toán tối đa được giữ trong memory
+     * Khi vượt quá, entry cũ nhất bị loại bỏ
+     */
+    public static final int DEFAULT_HISTORY_CAPACITY = 10_000;
+
+    /**
+     * Số kết quả tối đa trong cache của CachingCalorieCalculationRepository
+     */
+    public static final int DEFAULT_RESULT_CACHE_SIZE = 1_024;
+
+    /**
+     * Thời gian sống (phút) của một kết quả trong cache
+     */
+    public static final long DEFAULT_RESULT_CACHE_TTL_MINUTES = 10;
+
+    /**
+     * Kích thước bounded queue của AsyncCalculationHistoryWriter
+     */
+    public static final int DEFAULT_HISTORY_QUEUE_CAPACITY = 8_192;
+
+    /**
+     * Số entry tối đa trong một batch ghi lịch sử
+     */
+    public static final int DEFAULT_HISTORY_BATCH_SIZE = 256;
+
+    /**
+     * Thời gian tối đa (ms) một entry nằm chờ trước khi batch được ghi
+     */
+    public static final long DEFAULT_HISTORY_FLUSH_INTERVAL_MILLIS = 200;
+
+    /**
+     * Với backpressure SAMPLE: nhận 1 trên N entry khi queue đầy quá nửa
+     */
+    public static final int DEFAULT_HISTORY_SAMPLE_RATE = 10;
 }
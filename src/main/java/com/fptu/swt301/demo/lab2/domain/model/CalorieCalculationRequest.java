@@ -4,15 +4,14 @@ import com.fptu.swt301.demo.lab2.config.SwimmingConstants;
 import com.fptu.swt301.demo.lab2.domain.valueobject.SwimmingStyle;
 import com.fptu.swt301.demo.lab2.exception.ValidationException;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Domain model cho Calorie Calculation Request
  * Chứa thông tin cần thiết để tính toán lượng calo tiêu thụ khi bơi
  */
 public class CalorieCalculationRequest {
 
+    private static final double BODY_WEIGHT_EPSILON = 1e-50;
+
     private final SwimmingStyle swimmingStyle;
     private final double durationMin;
     private final double bodyWeightKg;
@@ -41,67 +40,85 @@ public class CalorieCalculationRequest {
 
     /**
      * Validate request và throw ValidationException nếu có lỗi
+     * Message của exception chỉ được render khi cần (getMessage / getErrors)
      */
     public void validate() throws ValidationException {
-        List<String> errors = new ArrayList<>();
+        CalorieValidationResult result = check();
+        if (!result.isValid()) {
+            throw result.toException();
+        }
+    }
+
+    /**
+     * Validate request không throw exception
+     */
+    public CalorieValidationResult check() {
+        return check(swimmingStyle, durationMin, bodyWeightKg);
+    }
+
+    /**
+     * Validate các giá trị không throw exception và không tạo request; lỗi
+     * được ghi dưới dạng CalorieErrorCode, message chỉ render khi cần
+     */
+    public static CalorieValidationResult check(SwimmingStyle swimmingStyle, double durationMin,
+            double bodyWeightKg) {
+        int errorBits = 0;
 
         if (swimmingStyle == null) {
-            errors.add("Swimming style cannot be null or invalid. Please select a valid swimming style.");
+            errorBits |= CalorieErrorCode.SWIMMING_STYLE_REQUIRED.bit();
         }
 
         // Validation cho Body Weight
         // Web production chỉ kiểm tra > 0, không có minimum threshold cụ thể
-        // Sử dụng epsilon để xử lý giá trị rất nhỏ (floating point precision)
         // Giá trị <= 0 hoặc quá nhỏ (gần như 0) sẽ bị reject
-        double epsilon = 1e-50; // Epsilon rất nhỏ để xử lý floating point precision
-        if (bodyWeightKg <= 0.0 || bodyWeightKg < epsilon) {
-            errors.add(String.format("Body weight must be more than 0 kg. Provided value: %.60f kg.",
-                    bodyWeightKg));
+        if (isBodyWeightNotPositive(bodyWeightKg)) {
+            errorBits |= CalorieErrorCode.BODY_WEIGHT_NOT_POSITIVE.bit();
         }
 
         // Validate maximum - body weight không được vượt quá 634.9999999993 kg
         if (bodyWeightKg > SwimmingConstants.MAX_BODY_WEIGHT_KG) {
-            errors.add(String.format("Body weight cannot exceed %.10f kg. Provided value: %.10f kg. " +
-                    "Please enter a value between %.2f and %.10f kg.",
-                    SwimmingConstants.MAX_BODY_WEIGHT_KG, bodyWeightKg,
-                    SwimmingConstants.MIN_BODY_WEIGHT_KG, SwimmingConstants.MAX_BODY_WEIGHT_KG));
+            errorBits |= CalorieErrorCode.BODY_WEIGHT_TOO_HIGH.bit();
         }
 
         // Validation cho Duration
         if (durationMin < 0.0) {
-            errors.add(String.format("Duration cannot be negative. Provided value: %.10f minutes. " +
-                    "Please enter a positive duration.",
-                    durationMin));
+            errorBits |= CalorieErrorCode.DURATION_NEGATIVE.bit();
         }
 
         if (durationMin == 0.0) {
-            errors.add("Duration must be greater than 0 minutes. Please enter a valid duration.");
+            errorBits |= CalorieErrorCode.DURATION_ZERO.bit();
         }
 
         // Validate minimum duration (cho phép giá trị rất nhỏ nhưng phải >=
         // MIN_DURATION_MIN)
-        if (durationMin > 0.0 && durationMin < SwimmingConstants.MIN_DURATION_MIN) {
-            errors.add(String.format(
-                    "Duration is too small. Minimum duration is %.60f minutes. " +
-                            "Provided value: %.60f minutes.",
-                    SwimmingConstants.MIN_DURATION_MIN, durationMin));
+        if (isDurationTooSmall(durationMin)) {
+            errorBits |= CalorieErrorCode.DURATION_TOO_SMALL.bit();
         }
 
         // Không validate maximum - web production không có giới hạn max cho duration
-        // if (durationMin > SwimmingConstants.MAX_DURATION_MIN) {
-        // errors.add(String.format("Duration cannot exceed %.0f minutes (%.1f hours,
-        // web production limit). " +
-        // "Provided value: %.2f minutes. Please enter a duration between %.2f and %.0f
-        // minutes.",
-        // SwimmingConstants.MAX_DURATION_MIN, SwimmingConstants.MAX_DURATION_MIN /
-        // 60.0,
-        // durationMin, SwimmingConstants.MIN_DURATION_MIN,
-        // SwimmingConstants.MAX_DURATION_MIN));
-        // }
-
-        if (!errors.isEmpty()) {
-            throw new ValidationException(errors);
-        }
+
+        return CalorieValidationResult.of(errorBits, durationMin, bodyWeightKg);
+    }
+
+    /**
+     * Kiểm tra nhanh (chỉ so sánh primitive, không allocation), cùng kết quả
+     * với check(...).isValid()
+     */
+    public static boolean isValid(SwimmingStyle swimmingStyle, double durationMin, double bodyWeightKg) {
+        return swimmingStyle != null
+                && !isBodyWeightNotPositive(bodyWeightKg)
+                && !(bodyWeightKg > SwimmingConstants.MAX_BODY_WEIGHT_KG)
+                && !(durationMin <= 0.0)
+                && !isDurationTooSmall(durationMin);
+    }
+
+    private static boolean isBodyWeightNotPositive(double bodyWeightKg) {
+        // Epsilon rất nhỏ để xử lý floating point precision
+        return bodyWeightKg <= 0.0 || bodyWeightKg < BODY_WEIGHT_EPSILON;
+    }
+
+    private static boolean isDurationTooSmall(double durationMin) {
+        return durationMin > 0.0 && durationMin < SwimmingConstants.MIN_DURATION_MIN;
     }
 
     public static class Builder {
@@ -0,0 +1,52 @@
+package com.fptu.swt301.demo.lab2.domain.model;
+
+import com.fptu.swt301.demo.lab2.config.SwimmingConstants;
+
+/**
+ * Mã lỗi validation của CalorieCalculationRequest
+ * Mỗi mã là một bit trong CalorieValidationResult; thứ tự khai báo là thứ tự
+ * message được render (giống thứ tự kiểm tra của validate()).
+ */
+public enum CalorieErrorCode {
+    SWIMMING_STYLE_REQUIRED("Swimming style cannot be null or invalid. Please select a valid swimming style."),
+    BODY_WEIGHT_NOT_POSITIVE("Body weight must be more than 0 kg. Provided value: %.60f kg."),
+    BODY_WEIGHT_TOO_HIGH("Body weight cannot exceed %.10f kg. Provided value: %.10f kg. "
+            + "Please enter a value between %.2f and %.10f kg."),
+    DURATION_NEGATIVE("Duration cannot be negative. Provided value: %.10f minutes. "
+            + "Please enter a positive duration."),
+    DURATION_ZERO("Duration must be greater than 0 minutes. Please enter a valid duration."),
+    DURATION_TOO_SMALL("Duration is too small. Minimum duration is %.60f minutes. "
+            + "Provided value: %.60f minutes.");
+
+    private final String template;
+
+    CalorieErrorCode(String template) {
+        this.template = template;
+    }
+
+    /**
+     * Bit của mã lỗi trong error bitmask
+     */
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Render message của mã lỗi từ giá trị gốc của request
+     */
+    String message(double durationMin, double bodyWeightKg) {
+        switch (this) {
+            case BODY_WEIGHT_NOT_POSITIVE:
+                return String.format(template, bodyWeightKg);
+            case BODY_WEIGHT_TOO_HIGH:
+                return String.format(template, SwimmingConstants.MAX_BODY_WEIGHT_KG, bodyWeightKg,
+                        SwimmingConstants.MIN_BODY_WEIGHT_KG, SwimmingConstants.MAX_BODY_WEIGHT_KG);
+            case DURATION_NEGATIVE:
+                return String.format(template, durationMin);
+            case DURATION_TOO_SMALL:
+                return String.format(template, SwimmingConstants.MIN_DURATION_MIN, durationMin);
+            default:
+                return template;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.fptu.swt301.demo.lab2.domain.model;
+
+import com.fptu.swt301.demo.lab2.exception.ValidationException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Kết quả validation không throw exception
+ * Lỗi được lưu dưới dạng bitmask của CalorieErrorCode cùng giá trị duration /
+ * body weight gốc; message (String.format rất đắt với %.60f) chỉ được render
+ * khi gọi getMessages(). Kết quả hợp lệ dùng chung một instance nên request
+ * hợp lệ không tạo allocation nào.
+ */
+public final class CalorieValidationResult {
+
+    private static final CalorieValidationResult VALID = new CalorieValidationResult(0, 0.0, 0.0);
+
+    private final int errorBits;
+    private final double durationMin;
+    private final double bodyWeightKg;
+
+    private CalorieValidationResult(int errorBits, double durationMin, double bodyWeightKg) {
+        this.errorBits = errorBits;
+        this.durationMin = durationMin;
+        this.bodyWeightKg = bodyWeightKg;
+    }
+
+    /**
+     * @param errorBits    Bitmask các CalorieErrorCode
+     * @param durationMin  Duration của request (dùng khi render message)
+     * @param bodyWeightKg Body weight của request (dùng khi render message)
+     */
+    static CalorieValidationResult of(int errorBits, double durationMin, double bodyWeightKg) {
+        return errorBits == 0 ? VALID : new CalorieValidationResult(errorBits, durationMin, bodyWeightKg);
+    }
+
+    public static CalorieValidationResult valid() {
+        return VALID;
+    }
+
+    public boolean isValid() {
+        return errorBits == 0;
+    }
+
+    public boolean hasError(CalorieErrorCode code) {
+        return (errorBits & code.bit()) != 0;
+    }
+
+    public int getErrorBits() {
+        return errorBits;
+    }
+
+    public int getErrorCount() {
+        return Integer.bitCount(errorBits);
+    }
+
+    public EnumSet<CalorieErrorCode> getErrorCodes() {
+        EnumSet<CalorieErrorCode> codes = EnumSet.noneOf(CalorieErrorCode.class);
+        for (CalorieErrorCode code : CalorieErrorCode.values()) {
+            if (hasError(code)) {
+                codes.add(code);
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * Render message cho từng lỗi (cùng nội dung và thứ tự như
+     * ValidationException của CalorieCalculationRequest.validate)
+     */
+    public List<String> getMessages() {
+        if (errorBits == 0) {
+            return Collections.emptyList();
+        }
+        List<String> messages = new ArrayList<>(getErrorCount());
+        for (CalorieErrorCode code : CalorieErrorCode.values()) {
+            if (hasError(code)) {
+                messages.add(code.message(durationMin, bodyWeightKg));
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * @return ValidationException, message chỉ được render khi cần
+     * @throws IllegalStateException nếu kết quả hợp lệ
+     */
+    public ValidationException toException() {
+        if (errorBits == 0) {
+            throw new IllegalStateException("Validation result has no errors");
+        }
+        return new ValidationException(this::getMessages);
+    }
+
+    @Override
+    public String toString() {
+        return isValid() ? "CalorieValidationResult{valid}" : "CalorieValidationResult{" + getErrorCodes() + "}";
+    }
+}
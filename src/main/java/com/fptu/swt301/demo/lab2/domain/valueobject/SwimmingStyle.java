@@ -1,6 +1,5 @@
 package com.fptu.swt301.demo.lab2.domain.valueobject;
 
-import java.util.Arrays;
 import java.util.Optional;
 
 /**
@@ -59,25 +58,13 @@ public enum SwimmingStyle {
 
     /**
      * Tìm SwimmingStyle từ display name (case-insensitive, flexible matching)
+     *
+     * Exact match (equalsIgnoreCase) trước, sau đó partial match hai chiều
+     * (display name chứa input hoặc input chứa display name), style khai báo
+     * trước thắng. Tra cứu qua SwimmingStyleIndex dựng sẵn, không cấp phát.
      */
     public static Optional<SwimmingStyle> fromString(String name) {
-        if (name == null || name.trim().isEmpty()) {
-            return Optional.empty();
-        }
-
-        String normalized = name.trim();
-
-        // Exact match first
-        return Arrays.stream(values())
-                .filter(style -> style.displayName.equalsIgnoreCase(normalized))
-                .findFirst()
-                .or(() -> {
-                    // Flexible matching - try partial matches
-                    return Arrays.stream(values())
-                            .filter(style -> style.displayName.toLowerCase().contains(normalized.toLowerCase())
-                                    || normalized.toLowerCase().contains(style.displayName.toLowerCase()))
-                            .findFirst();
-                });
+        return SwimmingStyleIndex.find(name);
     }
 
     /**
@@ -0,0 +1,391 @@
+package com.fptu.swt301.demo.lab2.domain.valueobject;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Bảng tra cứu dựng sẵn cho SwimmingStyle.fromString (không cấp phát khi tra
+ * cứu)
+ *
+ * Giữ nguyên thứ tự ưu tiên của cách làm cũ:
+ * <ol>
+ * <li>Exact match (equalsIgnoreCase): hash table theo tên đã fold hoa thường.</li>
+ * <li>Partial match theo chữ thường (Locale.ROOT), style có ordinal nhỏ nhất
+ * thắng:
+ * <ul>
+ * <li>input nằm trong display name: suffix automaton của tất cả display name,
+ * mỗi state lưu ordinal nhỏ nhất của các tên chứa chuỗi con đó;</li>
+ * <li>display name nằm trong input: automaton Aho-Corasick, mỗi state lưu
+ * ordinal nhỏ nhất của các tên kết thúc tại đó.</li>
+ * </ul>
+ * </li>
+ * </ol>
+ * Display name chỉ gồm ký tự ASCII; ký tự ngoài bảng chữ cái của chúng không
+ * thể khớp, nên được gộp chung thành một symbol.
+ */
+final class SwimmingStyleIndex {
+
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+    private static final int OTHER_SYMBOL = 0;
+
+    private static final SwimmingStyle[] STYLES = SwimmingStyle.values();
+    private static final Optional<SwimmingStyle>[] RESULTS = createResults();
+
+    // Exact match: open addressing, lưu ordinal + 1 (0 = ô trống)
+    private static final int[] EXACT_TABLE = new int[Integer.highestOneBit(STYLES.length * 4)];
+
+    // Bảng chữ cái (chữ thường) của các display name, tra theo ký tự ASCII
+    // (chữ hoa dùng chung symbol với chữ thường)
+    private static final byte[] SYMBOLS = new byte[128];
+    private static final int ALPHABET_SIZE;
+
+    // Suffix automaton: input nằm trong display name
+    private static final int MAX_NAME_LENGTH;
+    private static final int[] SUBSTRING_NEXT;
+    private static final int[] SUBSTRING_FIRST_STYLE;
+
+    // Aho-Corasick: display name nằm trong input
+    private static final int[] CONTAINS_NEXT;
+    private static final int[] CONTAINS_FIRST_STYLE;
+
+    static {
+        for (SwimmingStyle style : STYLES) {
+            String name = style.getDisplayName();
+            int slot = exactHash(name, 0, name.length()) & (EXACT_TABLE.length - 1);
+            while (EXACT_TABLE[slot] != 0) {
+                slot = (slot + 1) & (EXACT_TABLE.length - 1);
+            }
+            EXACT_TABLE[slot] = style.ordinal() + 1;
+        }
+
+        // Suffix automaton đánh dấu tập style bằng một long
+        if (STYLES.length > Long.SIZE) {
+            throw new IllegalStateException("Too many swimming styles for index: " + STYLES.length);
+        }
+        int alphabetSize = 1;
+        int maxLength = 0;
+        for (SwimmingStyle style : STYLES) {
+            String name = style.getDisplayName();
+            maxLength = Math.max(maxLength, name.length());
+            for (int i = 0; i < name.length(); i++) {
+                char c = Character.toLowerCase(name.charAt(i));
+                if (c >= SYMBOLS.length) {
+                    throw new IllegalStateException("Display name must be ASCII: " + name);
+                }
+                if (SYMBOLS[c] == OTHER_SYMBOL) {
+                    SYMBOLS[c] = (byte) alphabetSize++;
+                }
+            }
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            SYMBOLS[c] = SYMBOLS[Character.toLowerCase(c)];
+        }
+        ALPHABET_SIZE = alphabetSize;
+        MAX_NAME_LENGTH = maxLength;
+
+        SuffixAutomatonBuilder substrings = new SuffixAutomatonBuilder();
+        for (SwimmingStyle style : STYLES) {
+            substrings.add(style.getDisplayName());
+        }
+        SUBSTRING_NEXT = substrings.trimmedNext();
+        SUBSTRING_FIRST_STYLE = substrings.firstStyles();
+
+        AhoCorasickBuilder contains = new AhoCorasickBuilder();
+        for (SwimmingStyle style : STYLES) {
+            contains.add(style.getDisplayName(), style.ordinal());
+        }
+        contains.build();
+        CONTAINS_NEXT = contains.trimmedNext();
+        CONTAINS_FIRST_STYLE = contains.firstStyles();
+    }
+
+    private SwimmingStyleIndex() {
+    }
+
+    /**
+     * Cùng kết quả với cách tìm cũ (hai lần duyệt values()), Optional được
+     * dựng sẵn cho từng style
+     */
+    static Optional<SwimmingStyle> find(String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        // Giống String.trim()
+        int start = 0;
+        int end = name.length();
+        while (start < end && name.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && name.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            return Optional.empty();
+        }
+
+        int exact = findExact(name, start, end);
+        if (exact >= 0) {
+            return RESULTS[exact];
+        }
+        int partial = Math.min(findContainingInput(name, start, end), findContainedInInput(name, start, end));
+        return partial == NO_MATCH ? Optional.empty() : RESULTS[partial];
+    }
+
+    private static int findExact(String name, int start, int end) {
+        int length = end - start;
+        int slot = exactHash(name, start, end) & (EXACT_TABLE.length - 1);
+        for (int entry; (entry = EXACT_TABLE[slot]) != 0; slot = (slot + 1) & (EXACT_TABLE.length - 1)) {
+            String displayName = STYLES[entry - 1].getDisplayName();
+            if (displayName.length() == length && displayName.regionMatches(true, 0, name, start, length)) {
+                return entry - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Ordinal nhỏ nhất của style có display name chứa input
+     */
+    private static int findContainingInput(String name, int start, int end) {
+        if (end - start > MAX_NAME_LENGTH) {
+            return NO_MATCH;
+        }
+        int state = 0;
+        for (int i = start; i < end; i++) {
+            int symbol = symbol(name.charAt(i));
+            if (symbol == OTHER_SYMBOL || (state = SUBSTRING_NEXT[state * ALPHABET_SIZE + symbol]) < 0) {
+                return NO_MATCH;
+            }
+        }
+        return SUBSTRING_FIRST_STYLE[state];
+    }
+
+    /**
+     * Ordinal nhỏ nhất của style có display name nằm trong input
+     */
+    private static int findContainedInInput(String name, int start, int end) {
+        int best = NO_MATCH;
+        int state = 0;
+        for (int i = start; i < end; i++) {
+            state = CONTAINS_NEXT[state * ALPHABET_SIZE + symbol(name.charAt(i))];
+            best = Math.min(best, CONTAINS_FIRST_STYLE[state]);
+        }
+        return best;
+    }
+
+    /**
+     * Symbol của ký tự sau khi chuyển sang chữ thường như String.toLowerCase
+     * (U+0130 thành "i" + dấu chấm U+0307 nên không khớp với 'i')
+     */
+    private static int symbol(char c) {
+        if (c < SYMBOLS.length) {
+            return SYMBOLS[c];
+        }
+        char lower = Character.toLowerCase(c);
+        return lower < SYMBOLS.length && c != '\u0130' ? SYMBOLS[lower] : OTHER_SYMBOL;
+    }
+
+    /**
+     * Hash khớp với equalsIgnoreCase: hai ký tự bằng nhau khi bỏ qua hoa
+     * thường khi và chỉ khi toLowerCase(toUpperCase(c)) bằng nhau
+     */
+    private static int exactHash(String name, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            char c = name.charAt(i);
+            char folded = c < 128
+                    ? (c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c)
+                    : Character.toLowerCase(Character.toUpperCase(c));
+            hash = 31 * hash + folded;
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Optional<SwimmingStyle>[] createResults() {
+        Optional<SwimmingStyle>[] results = new Optional[STYLES.length];
+        for (SwimmingStyle style : STYLES) {
+            results[style.ordinal()] = Optional.of(style);
+        }
+        return results;
+    }
+
+    /**
+     * Suffix automaton tổng quát cho nhiều chuỗi (mỗi tên được thêm từ state
+     * gốc); state chứa các chuỗi con có cùng tập vị trí kết thúc nên cùng tập
+     * tên chứa chúng
+     */
+    private static final class SuffixAutomatonBuilder {
+
+        private final int[] next;
+        private final int[] length;
+        private final int[] link;
+        private int stateCount;
+
+        SuffixAutomatonBuilder() {
+            int totalLength = 0;
+            for (SwimmingStyle style : STYLES) {
+                totalLength += style.getDisplayName().length();
+            }
+            int capacity = 2 * totalLength + 1;
+            next = new int[capacity * ALPHABET_SIZE];
+            length = new int[capacity];
+            link = new int[capacity];
+            Arrays.fill(next, -1);
+            link[0] = -1;
+            stateCount = 1;
+        }
+
+        void add(String name) {
+            int last = 0;
+            for (int i = 0; i < name.length(); i++) {
+                last = extend(last, symbol(name.charAt(i)));
+            }
+        }
+
+        private int extend(int last, int symbol) {
+            int existing = next[last * ALPHABET_SIZE + symbol];
+            if (existing >= 0) {
+                // Chuỗi đã có trong automaton (từ tên trước)
+                if (length[last] + 1 == length[existing]) {
+                    return existing;
+                }
+                return split(last, symbol, existing);
+            }
+            int current = newState(length[last] + 1);
+            int p = last;
+            while (p >= 0 && next[p * ALPHABET_SIZE + symbol] < 0) {
+                next[p * ALPHABET_SIZE + symbol] = current;
+                p = link[p];
+            }
+            if (p < 0) {
+                link[current] = 0;
+            } else {
+                int q = next[p * ALPHABET_SIZE + symbol];
+                link[current] = length[p] + 1 == length[q] ? q : split(p, symbol, q);
+            }
+            return current;
+        }
+
+        /**
+         * Tách state q thành clone có length = length[p] + 1
+         */
+        private int split(int p, int symbol, int q) {
+            int clone = newState(length[p] + 1);
+            System.arraycopy(next, q * ALPHABET_SIZE, next, clone * ALPHABET_SIZE, ALPHABET_SIZE);
+            link[clone] = link[q];
+            link[q] = clone;
+            for (; p >= 0 && next[p * ALPHABET_SIZE + symbol] == q; p = link[p]) {
+                next[p * ALPHABET_SIZE + symbol] = clone;
+            }
+            return clone;
+        }
+
+        private int newState(int stateLength) {
+            length[stateCount] = stateLength;
+            return stateCount++;
+        }
+
+        int[] trimmedNext() {
+            return Arrays.copyOf(next, stateCount * ALPHABET_SIZE);
+        }
+
+        /**
+         * Ordinal nhỏ nhất của các tên chứa chuỗi con của từng state; chỉ gọi
+         * sau khi đã add mọi tên (state clone không mang theo đánh dấu cũ)
+         */
+        int[] firstStyles() {
+            long[] styleMask = new long[stateCount];
+            for (SwimmingStyle style : STYLES) {
+                // Mọi chuỗi con: đi theo từng prefix rồi theo suffix link
+                String name = style.getDisplayName();
+                long bit = 1L << style.ordinal();
+                int state = 0;
+                for (int i = 0; i < name.length(); i++) {
+                    state = next[state * ALPHABET_SIZE + symbol(name.charAt(i))];
+                    for (int p = state; p > 0 && (styleMask[p] & bit) == 0; p = link[p]) {
+                        styleMask[p] |= bit;
+                    }
+                }
+            }
+            int[] firstStyles = new int[stateCount];
+            for (int state = 0; state < stateCount; state++) {
+                firstStyles[state] = styleMask[state] == 0 ? NO_MATCH : Long.numberOfTrailingZeros(styleMask[state]);
+            }
+            return firstStyles;
+        }
+    }
+
+    /**
+     * Trie của các display name, sau build() mọi transition đều được điền
+     * (goto function đầy đủ) nên tra cứu không cần đi theo failure link
+     */
+    private static final class AhoCorasickBuilder {
+
+        private int[] next;
+        private int[] firstStyle;
+        private int stateCount;
+
+        AhoCorasickBuilder() {
+            int capacity = 1;
+            for (SwimmingStyle style : STYLES) {
+                capacity += style.getDisplayName().length();
+            }
+            next = new int[capacity * ALPHABET_SIZE];
+            firstStyle = new int[capacity];
+            Arrays.fill(next, -1);
+            Arrays.fill(firstStyle, NO_MATCH);
+            stateCount = 1;
+        }
+
+        void add(String name, int ordinal) {
+            int state = 0;
+            for (int i = 0; i < name.length(); i++) {
+                int index = state * ALPHABET_SIZE + symbol(name.charAt(i));
+                if (next[index] < 0) {
+                    next[index] = stateCount++;
+                }
+                state = next[index];
+            }
+            firstStyle[state] = Math.min(firstStyle[state], ordinal);
+        }
+
+        void build() {
+            int[] fail = new int[stateCount];
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            for (int symbol = 0; symbol < ALPHABET_SIZE; symbol++) {
+                int child = next[symbol];
+                if (child < 0) {
+                    next[symbol] = 0;
+                } else {
+                    fail[child] = 0;
+                    queue.add(child);
+                }
+            }
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                // Tên kết thúc tại failure state cũng kết thúc tại state này
+                firstStyle[state] = Math.min(firstStyle[state], firstStyle[fail[state]]);
+                for (int symbol = 0; symbol < ALPHABET_SIZE; symbol++) {
+                    int index = state * ALPHABET_SIZE + symbol;
+                    int child = next[index];
+                    if (child < 0) {
+                        next[index] = next[fail[state] * ALPHABET_SIZE + symbol];
+                    } else {
+                        fail[child] = next[fail[state] * ALPHABET_SIZE + symbol];
+                        queue.add(child);
+                    }
+                }
+            }
+        }
+
+        int[] trimmedNext() {
+            return Arrays.copyOf(next, stateCount * ALPHABET_SIZE);
+        }
+
+        int[] firstStyles() {
+            return Arrays.copyOf(firstStyle, stateCount);
+        }
+    }
+}
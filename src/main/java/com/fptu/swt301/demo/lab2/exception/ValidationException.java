@@ -3,14 +3,19 @@ package com.fptu.swt301.demo.lab2.exception;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * Custom exception cho validation errors
  * Cho phép thu thập nhiều lỗi cùng lúc
+ *
+ * Danh sách lỗi có thể được render lazily (chỉ khi gọi getMessage() hoặc
+ * getErrors()).
  */
 public class ValidationException extends RuntimeException {
 
-    private final List<String> errors;
+    private List<String> errors;
+    private Supplier<List<String>> errorSupplier;
 
     public ValidationException(String message) {
         super(message);
@@ -23,20 +28,37 @@ public class ValidationException extends RuntimeException {
         this.errors = errors != null ? new ArrayList<>(errors) : new ArrayList<>();
     }
 
+    /**
+     * @param errorSupplier Supplier trả về danh sách lỗi, chỉ được gọi một lần
+     *                      khi cần message hoặc errors
+     */
+    public ValidationException(Supplier<List<String>> errorSupplier) {
+        this.errorSupplier = errorSupplier;
+    }
+
     public List<String> getErrors() {
-        return Collections.unmodifiableList(errors);
+        return Collections.unmodifiableList(errors());
     }
 
     public int getErrorCount() {
-        return errors.size();
+        return errors().size();
     }
 
     @Override
     public String getMessage() {
+        List<String> errors = errors();
         if (errors.size() == 1) {
             return errors.get(0);
         }
         return String.format("Validation failed with %d errors: %s", errors.size(), String.join(", ", errors));
     }
-}
 
+    private synchronized List<String> errors() {
+        if (errors == null) {
+            List<String> supplied = errorSupplier.get();
+            errors = supplied != null ? new ArrayList<>(supplied) : new ArrayList<>();
+            errorSupplier = null;
+        }
+        return errors;
+    }
+}
@@ -0,0 +1,348 @@
+package com.fptu.swt301.demo.lab2.repository;
+
+import com.fptu.swt301.demo.lab2.config.SwimmingConstants;
+import com.fptu.swt301.demo.lab2.repository.CalorieCalculationRepository.CalculationHistory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ghi lịch sử tính toán bất đồng bộ theo batch
+ *
+ * Thread gọi record() chỉ đưa entry vào một bounded queue; một background
+ * thread gom entry thành batch và ghi xuống CalculationHistorySink khi:
+ * - batch đủ batchSize, hoặc
+ * - đã quá flushInterval kể từ lần ghi trước, hoặc
+ * - có thread đang chờ flush()/close()
+ *
+ * Khi queue đầy, hành vi theo BackpressurePolicy:
+ * - BLOCK: thread gọi chờ tới khi có chỗ
+ * - DROP: bỏ entry mới
+ * - SAMPLE: khi queue đã đầy quá nửa chỉ nhận 1 trên sampleRate entry, bỏ
+ * phần còn lại (và bỏ nếu queue đầy hẳn)
+ *
+ * record() giữ read lock trong lúc kiểm tra trạng thái và đưa entry vào
+ * queue, close() lấy write lock trước khi dừng nhận entry: entry đã được nhận
+ * (record() trả về true) luôn được ghi xuống sink trước khi sink bị đóng.
+ */
+public final class AsyncCalculationHistoryWriter implements AutoCloseable {
+
+    /**
+     * Chính sách khi queue đầy
+     */
+    public enum BackpressurePolicy {
+        BLOCK, DROP, SAMPLE
+    }
+
+    // Thời gian chờ tối đa của một lần poll, để flush()/close() được phản hồi nhanh
+    private static final long MAX_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final CalculationHistorySink sink;
+    private final BlockingQueue<CalculationHistory> queue;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final BackpressurePolicy backpressurePolicy;
+    private final int sampleRate;
+    private final Thread writerThread;
+
+    private final AtomicLong sampleCounter = new AtomicLong();
+    private final AtomicLong acceptedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicInteger flushWaiters = new AtomicInteger();
+
+    // Tiến độ của writer thread, guarded by progressLock
+    private final Object progressLock = new Object();
+    private long processedCount;
+    private long writtenCount;
+    private long failedCount;
+
+    // record() giữ read lock, close() giữ write lock khi chuyển running = false
+    private final ReentrantReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private volatile boolean running = true;
+
+    private AsyncCalculationHistoryWriter(Builder builder) {
+        this.sink = builder.sink;
+        this.queueCapacity = builder.queueCapacity;
+        this.queue = new ArrayBlockingQueue<>(builder.queueCapacity);
+        this.batchSize = builder.batchSize;
+        this.flushIntervalNanos = builder.flushInterval.toNanos();
+        this.backpressurePolicy = builder.backpressurePolicy;
+        this.sampleRate = builder.sampleRate;
+        this.writerThread = new Thread(this::runWriter, "calculation-history-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * @param sink Đích ghi; có thể null khi builder được truyền cho
+     *             InMemoryCalorieCalculationRepository (chỉ ghi vào ring buffer)
+     */
+    public static Builder builder(CalculationHistorySink sink) {
+        return new Builder(sink);
+    }
+
+    /**
+     * Đưa một entry vào queue theo backpressure policy
+     *
+     * @return true nếu entry được nhận, false nếu bị bỏ (queue đầy, bị sample
+     *         hoặc writer đã đóng)
+     */
+    public boolean record(CalculationHistory history) {
+        ReentrantReadWriteLock.ReadLock readLock = closeLock.readLock();
+        readLock.lock();
+        try {
+            if (!running || !enqueue(history)) {
+                droppedCount.incrementAndGet();
+                return false;
+            }
+            acceptedCount.incrementAndGet();
+            return true;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    private boolean enqueue(CalculationHistory history) {
+        switch (backpressurePolicy) {
+            case BLOCK:
+                try {
+                    // Writer thread vẫn chạy (running chỉ đổi khi không còn ai giữ read lock)
+                    queue.put(history);
+                    return true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            case SAMPLE:
+                if (queue.size() >= queueCapacity / 2 && sampleCounter.getAndIncrement() % sampleRate != 0) {
+                    return false;
+                }
+                // Entry được chọn vẫn có thể bị bỏ nếu queue đầy hẳn
+            case DROP:
+            default:
+                return queue.offer(history);
+        }
+    }
+
+    /**
+     * Chờ tới khi mọi entry đã được nhận trước lời gọi này được ghi xuống sink
+     * (hoặc ghi lỗi)
+     */
+    public void flush() {
+        long target = acceptedCount.get();
+        flushWaiters.incrementAndGet();
+        try {
+            synchronized (progressLock) {
+                while (processedCount < target && writerThread.isAlive()) {
+                    progressLock.wait(TimeUnit.NANOSECONDS.toMillis(MAX_POLL_NANOS));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            flushWaiters.decrementAndGet();
+        }
+    }
+
+    /**
+     * Dừng nhận entry mới, ghi nốt các entry còn trong queue rồi đóng sink
+     */
+    @Override
+    public void close() {
+        ReentrantReadWriteLock.WriteLock writeLock = closeLock.writeLock();
+        writeLock.lock();
+        try {
+            if (!running) {
+                return;
+            }
+            // Không còn record() nào đang dở: mọi entry đã nhận đều nằm trong queue
+            running = false;
+        } finally {
+            writeLock.unlock();
+        }
+        // Writer thread chỉ kết thúc khi queue rỗng; chờ hết kể cả khi bị
+        // interrupt để sink không bị đóng khi batch cuối đang được ghi
+        boolean interrupted = false;
+        while (writerThread.isAlive()) {
+            try {
+                writerThread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        sink.close();
+    }
+
+    public long getAcceptedCount() {
+        return acceptedCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * @return Số entry đã ghi thành công xuống sink
+     */
+    public long getWrittenCount() {
+        synchronized (progressLock) {
+            return writtenCount;
+        }
+    }
+
+    /**
+     * @return Số entry thuộc các batch mà sink ghi lỗi
+     */
+    public long getFailedCount() {
+        synchronized (progressLock) {
+            return failedCount;
+        }
+    }
+
+    private void runWriter() {
+        List<CalculationHistory> batch = new ArrayList<>(batchSize);
+        long deadline = System.nanoTime() + flushIntervalNanos;
+
+        while (running || !queue.isEmpty()) {
+            long wait = Math.min(Math.max(deadline - System.nanoTime(), 0L), MAX_POLL_NANOS);
+            CalculationHistory first = null;
+            try {
+                first = queue.poll(wait, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                // Writer thread chỉ dừng qua close()
+            }
+            if (first != null) {
+                batch.add(first);
+                queue.drainTo(batch, batchSize - batch.size());
+            }
+
+            long now = System.nanoTime();
+            boolean intervalElapsed = now - deadline >= 0;
+            if (batch.size() >= batchSize
+                    || (!batch.isEmpty() && (intervalElapsed || flushWaiters.get() > 0 || !running))) {
+                writeBatch(batch);
+                batch.clear();
+                deadline = now + flushIntervalNanos;
+            } else if (intervalElapsed) {
+                deadline = now + flushIntervalNanos;
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch);
+        }
+    }
+
+    private void writeBatch(List<CalculationHistory> batch) {
+        boolean written;
+        try {
+            sink.write(batch);
+            written = true;
+        } catch (RuntimeException e) {
+            // Lỗi của sink không được làm chết writer thread
+            written = false;
+        }
+        synchronized (progressLock) {
+            if (written) {
+                writtenCount += batch.size();
+            } else {
+                failedCount += batch.size();
+            }
+            processedCount += batch.size();
+            progressLock.notifyAll();
+        }
+    }
+
+    public static class Builder {
+        private final CalculationHistorySink sink;
+        private int queueCapacity = SwimmingConstants.DEFAULT_HISTORY_QUEUE_CAPACITY;
+        private int batchSize = SwimmingConstants.DEFAULT_HISTORY_BATCH_SIZE;
+        private Duration flushInterval = Duration.ofMillis(SwimmingConstants.DEFAULT_HISTORY_FLUSH_INTERVAL_MILLIS);
+        private BackpressurePolicy backpressurePolicy = BackpressurePolicy.BLOCK;
+        private int sampleRate = SwimmingConstants.DEFAULT_HISTORY_SAMPLE_RATE;
+
+        private Builder(CalculationHistorySink sink) {
+            this.sink = sink;
+        }
+
+        public Builder queueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        public Builder batchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        public Builder flushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+            return this;
+        }
+
+        public Builder backpressurePolicy(BackpressurePolicy backpressurePolicy) {
+            this.backpressurePolicy = backpressurePolicy;
+            return this;
+        }
+
+        /**
+         * Với SAMPLE: nhận 1 trên sampleRate entry khi queue đã đầy quá nửa
+         */
+        public Builder sampleRate(int sampleRate) {
+            this.sampleRate = sampleRate;
+            return this;
+        }
+
+        CalculationHistorySink getSink() {
+            return sink;
+        }
+
+        /**
+         * @throws IllegalArgumentException nếu cấu hình không hợp lệ
+         */
+        public AsyncCalculationHistoryWriter build() {
+            return build(sink);
+        }
+
+        AsyncCalculationHistoryWriter build(CalculationHistorySink targetSink) {
+            List<String> errors = new ArrayList<>();
+            if (targetSink == null) {
+                errors.add("History sink cannot be null");
+            }
+            if (queueCapacity <= 0) {
+                errors.add("Queue capacity must be greater than 0. Provided value: " + queueCapacity);
+            }
+            if (batchSize <= 0) {
+                errors.add("Batch size must be greater than 0. Provided value: " + batchSize);
+            }
+            if (flushInterval == null || flushInterval.isNegative() || flushInterval.isZero()) {
+                errors.add("Flush interval must be greater than 0. Provided value: " + flushInterval);
+            }
+            if (backpressurePolicy == null) {
+                errors.add("Backpressure policy is required");
+            }
+            if (sampleRate <= 0) {
+                errors.add("Sample rate must be greater than 0. Provided value: " + sampleRate);
+            }
+            if (!errors.isEmpty()) {
+                throw new IllegalArgumentException(String.join("; ", errors));
+            }
+            Builder effective = this;
+            if (targetSink != sink) {
+                effective = new Builder(targetSink).queueCapacity(queueCapacity).batchSize(batchSize)
+                        .flushInterval(flushInterval).backpressurePolicy(backpressurePolicy).sampleRate(sampleRate);
+            }
+            return new AsyncCalculationHistoryWriter(effective);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.fptu.swt301.demo.lab2.repository;
+
+import com.fptu.swt301.demo.common.DecimalRounding;
+import com.fptu.swt301.demo.lab2.config.SwimmingConstants;
+import com.fptu.swt301.demo.lab2.domain.valueobject.SwimmingStyle;
+
+/**
+ * Tính calories cho nhiều buổi bơi cùng lúc (dữ liệu dạng cột: style ordinal,
+ * duration, body weight)
+ *
+ * Kết quả giống hệt từng bit với calculateCaloriesBurned /
+ * calculateCaloriesPerMinute của InMemoryCalorieCalculationRepository (cùng
+ * thứ tự phép tính, cùng cách làm tròn DecimalRounding.round), nhưng không
+ * validate input và không ghi lịch sử.
+ *
+ * Khi VectorCalorieKernel được compile (profile Maven vector) và JVM chạy với
+ * --add-modules jdk.incubator.vector, phép tính dùng Vector API (SIMD); nếu
+ * thiếu một trong hai, dùng vòng lặp scalar.
+ */
+public final class BulkCalorieCalculator {
+
+    /**
+     * MET value theo ordinal của SwimmingStyle
+     */
+    static final double[] MET_VALUES;
+
+    static {
+        SwimmingStyle[] styles = SwimmingStyle.values();
+        MET_VALUES = new double[styles.length];
+        for (SwimmingStyle style : styles) {
+            MET_VALUES[style.ordinal()] = style.getMetValue();
+        }
+    }
+
+    private static final Kernel SCALAR_KERNEL = BulkCalorieCalculator::calculateScalar;
+    private static final Kernel KERNEL = loadVectorKernel();
+
+    private BulkCalorieCalculator() {
+    }
+
+    /**
+     * Phép tính trên một đoạn [from, to) của các mảng input/output
+     */
+    @FunctionalInterface
+    interface Kernel {
+        void calculate(int[] styleOrdinals, double[] durationsMin, double[] bodyWeightsKg,
+                double[] caloriesBurned, double[] caloriesPerMinute, int from, int to);
+    }
+
+    /**
+     * Tính calories burned và calories per minute (đã làm tròn) cho từng phần
+     * tử
+     *
+     * @param styleOrdinals     SwimmingStyle.ordinal() của từng buổi bơi
+     * @param durationsMin      Thời gian bơi (phút)
+     * @param bodyWeightsKg     Cân nặng (kg)
+     * @param caloriesBurned    Output: total calories (null nếu không cần)
+     * @param caloriesPerMinute Output: calories per minute (null nếu không cần)
+     * @throws IllegalArgumentException  nếu độ dài các mảng không khớp
+     * @throws IndexOutOfBoundsException nếu có style ordinal không hợp lệ
+     */
+    public static void calculate(int[] styleOrdinals, double[] durationsMin, double[] bodyWeightsKg,
+            double[] caloriesBurned, double[] caloriesPerMinute) {
+        calculate(KERNEL, styleOrdinals, durationsMin, bodyWeightsKg, caloriesBurned, caloriesPerMinute);
+    }
+
+    /**
+     * Như calculate nhưng luôn dùng vòng lặp scalar
+     */
+    public static void calculateScalar(int[] styleOrdinals, double[] durationsMin, double[] bodyWeightsKg,
+            double[] caloriesBurned, double[] caloriesPerMinute) {
+        calculate(SCALAR_KERNEL, styleOrdinals, durationsMin, bodyWeightsKg, caloriesBurned, caloriesPerMinute);
+    }
+
+    /**
+     * @return true nếu calculate dùng Vector API
+     */
+    public static boolean isVectorized() {
+        return KERNEL != SCALAR_KERNEL;
+    }
+
+    private static void calculate(Kernel kernel, int[] styleOrdinals, double[] durationsMin,
+            double[] bodyWeightsKg, double[] caloriesBurned, double[] caloriesPerMinute) {
+        int length = styleOrdinals.length;
+        if (durationsMin.length != length || bodyWeightsKg.length != length
+                || (caloriesBurned != null && caloriesBurned.length != length)
+                || (caloriesPerMinute != null && caloriesPerMinute.length != length)) {
+            throw new IllegalArgumentException("All arrays must have the same length: " + length);
+        }
+        // Kernel luôn ghi cả hai output; mảng tạm cho output không cần
+        double[] burned = caloriesBurned != null ? caloriesBurned : new double[length];
+        double[] perMinute = caloriesPerMinute != null ? caloriesPerMinute : new double[length];
+        kernel.calculate(styleOrdinals, durationsMin, bodyWeightsKg, burned, perMinute, 0, length);
+    }
+
+    /**
+     * Vòng lặp scalar, cùng công thức với InMemoryCalorieCalculationRepository
+     */
+    static void calculateScalar(int[] styleOrdinals, double[] durationsMin, double[] bodyWeightsKg,
+            double[] caloriesBurned, double[] caloriesPerMinute, int from, int to) {
+        for (int i = from; i < to; i++) {
+            double caloriesPerMinuteExact = (MET_VALUES[styleOrdinals[i]] * bodyWeightsKg[i]
+                    * SwimmingConstants.MET_CONVERSION_FACTOR) / SwimmingConstants.MET_DENOMINATOR;
+            caloriesPerMinute[i] = DecimalRounding.round(caloriesPerMinuteExact, SwimmingConstants.DECIMAL_PLACES);
+            caloriesBurned[i] = DecimalRounding.round(caloriesPerMinuteExact * durationsMin[i],
+                    SwimmingConstants.DECIMAL_PLACES);
+        }
+    }
+
+    /**
+     * Load VectorCalorieKernel nếu module jdk.incubator.vector có mặt
+     */
+    private static Kernel loadVectorKernel() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return SCALAR_KERNEL;
+        }
+        try {
+            return (Kernel) Class.forName(BulkCalorieCalculator.class.getPackageName() + ".VectorCalorieKernel")
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return SCALAR_KERNEL;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.fptu.swt301.demo.lab2.repository;
+
+import com.fptu.swt301.demo.lab2.config.SwimmingConstants;
+import com.fptu.swt301.demo.lab2.domain.model.CalorieCalculationRequest;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * Decorator cache kết quả cho CalorieCalculationRepository
+ *
+ * Memoise calculateCaloriesBurned và calculateCaloriesPerMinute theo key
+ * (style ordinal, duration và weight lượng tử hoá 0.01). Cache hit trả về kết
+ * quả trực tiếp, không gọi repository bên dưới nên không tính lại và không ghi
+ * thêm lịch sử.
+ *
+ * - Eviction theo kích thước: LRU (LinkedHashMap access order)
+ * - Eviction theo thời gian: entry hết hạn sau TTL kể từ lúc được tính, được
+ * loại khi lookup gặp nó (không quét toàn bộ cache)
+ * - Key lượng tử hoá chỉ dùng để gom bucket; hit yêu cầu duration/weight khớp
+ * chính xác nên kết quả trả về luôn giống hệt khi tính lại
+ * - Chỉ lookup / store giữ lock của cache; delegate được gọi ngoài lock nên
+ * các cache miss (kể cả ghi lịch sử) không bị tuần tự hoá. Hai miss đồng thời
+ * cùng key có thể cùng gọi delegate, entry ghi sau thắng
+ */
+public class CachingCalorieCalculationRepository implements CalorieCalculationRepository {
+
+    private static final double QUANTUM_SCALE = 100.0;
+    private static final long CALORIES_BURNED = 0L;
+    private static final long CALORIES_PER_MINUTE = 1L;
+
+    private final CalorieCalculationRepository delegate;
+    private final int maxSize;
+    private final long ttlNanos;
+    private final LongSupplier nanoClock;
+    private final LinkedHashMap<Long, CachedResult> cache;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    public CachingCalorieCalculationRepository(CalorieCalculationRepository delegate) {
+        this(delegate, SwimmingConstants.DEFAULT_RESULT_CACHE_SIZE,
+                Duration.ofMinutes(SwimmingConstants.DEFAULT_RESULT_CACHE_TTL_MINUTES));
+    }
+
+    public CachingCalorieCalculationRepository(CalorieCalculationRepository delegate, int maxSize, Duration ttl) {
+        this(delegate, maxSize, ttl, System::nanoTime);
+    }
+
+    /**
+     * @param delegate  Repository thực hiện tính toán
+     * @param maxSize   Số entry tối đa trong cache
+     * @param ttl       Thời gian sống của một entry
+     * @param nanoClock Nguồn thời gian (nanoseconds), cho phép inject khi test
+     * @throws IllegalArgumentException nếu tham số không hợp lệ
+     */
+    public CachingCalorieCalculationRepository(CalorieCalculationRepository delegate, int maxSize, Duration ttl,
+            LongSupplier nanoClock) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate repository cannot be null");
+        }
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size must be greater than 0. Provided value: " + maxSize);
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Cache TTL must be greater than 0. Provided value: " + ttl);
+        }
+        this.delegate = delegate;
+        this.maxSize = maxSize;
+        this.ttlNanos = ttl.toNanos();
+        this.nanoClock = nanoClock;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    @Override
+    public double calculateCaloriesBurned(CalorieCalculationRequest request) {
+        CachedResult cached = lookup(CALORIES_BURNED, request);
+        if (cached != null) {
+            return cached.result;
+        }
+        double result = delegate.calculateCaloriesBurned(request);
+        store(keyOf(CALORIES_BURNED, request), request, result);
+        return result;
+    }
+
+    @Override
+    public double calculateCaloriesPerMinute(CalorieCalculationRequest request) {
+        CachedResult cached = lookup(CALORIES_PER_MINUTE, request);
+        if (cached != null) {
+            return cached.result;
+        }
+        double result = delegate.calculateCaloriesPerMinute(request);
+        store(keyOf(CALORIES_PER_MINUTE, request), request, result);
+        return result;
+    }
+
+    @Override
+    public double calculateCaloriesBurnedExact(CalorieCalculationRequest request) {
+        return delegate.calculateCaloriesBurnedExact(request);
+    }
+
+    @Override
+    public double calculateCaloriesPerMinuteExact(CalorieCalculationRequest request) {
+        return delegate.calculateCaloriesPerMinuteExact(request);
+    }
+
+    @Override
+    public boolean saveCalculationHistory(CalorieCalculationRequest request, double result) {
+        return delegate.saveCalculationHistory(request, result);
+    }
+
+    @Override
+    public Optional<Double> findCalculationHistory(CalorieCalculationRequest request) {
+        return delegate.findCalculationHistory(request);
+    }
+
+    @Override
+    public List<CalculationHistory> getAllCalculationHistory() {
+        return delegate.getAllCalculationHistory();
+    }
+
+    @Override
+    public void clearHistory() {
+        delegate.clearHistory();
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    /**
+     * Xoá toàn bộ kết quả đã cache (không tính là eviction)
+     */
+    public synchronized void invalidateAll() {
+        cache.clear();
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return Số entry bị loại do vượt kích thước hoặc hết hạn
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public synchronized int size() {
+        return cache.size();
+    }
+
+    private synchronized CachedResult lookup(long kind, CalorieCalculationRequest request) {
+        long key = keyOf(kind, request);
+        CachedResult cached = cache.get(key);
+        if (cached != null && nanoClock.getAsLong() - cached.createdAtNanos >= ttlNanos) {
+            cache.remove(key);
+            evictionCount++;
+            cached = null;
+        }
+        if (cached != null && cached.matches(request, kind == CALORIES_BURNED)) {
+            hitCount++;
+            return cached;
+        }
+        missCount++;
+        return null;
+    }
+
+    /**
+     * Khi vượt maxSize chỉ loại entry ít được dùng gần đây nhất (đầu danh sách
+     * access order), O(1); entry hết hạn được loại lazily trong lookup()
+     */
+    private synchronized void store(long key, CalorieCalculationRequest request, double result) {
+        cache.put(key, new CachedResult(request, result, nanoClock.getAsLong()));
+        if (cache.size() > maxSize) {
+            Iterator<Long> eldest = cache.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+            evictionCount++;
+        }
+    }
+
+    private static long keyOf(long kind, CalorieCalculationRequest request) {
+        long style = request.getSwimmingStyle().ordinal();
+        long duration = kind == CALORIES_PER_MINUTE ? 0L
+                : (long) Math.floor(request.getDurationMin() * QUANTUM_SCALE);
+        long weight = (long) Math.floor(request.getBodyWeightKg() * QUANTUM_SCALE);
+        return (kind << 63) ^ (style << 56) ^ ((duration & 0xFFFFFFFL) << 28) ^ (weight & 0xFFFFFFFL);
+    }
+
+    /**
+     * Kết quả đã cache kèm input chính xác đã dùng để tính
+     */
+    private static final class CachedResult {
+        private final CalorieCalculationRequest request;
+        private final double result;
+        private final long createdAtNanos;
+
+        private CachedResult(CalorieCalculationRequest request, double result, long createdAtNanos) {
+            this.request = request;
+            this.result = result;
+            this.createdAtNanos = createdAtNanos;
+        }
+
+        /**
+         * Calories per minute không phụ thuộc duration nên không so sánh duration
+         */
+        private boolean matches(CalorieCalculationRequest other, boolean compareDuration) {
+            return request.getSwimmingStyle() == other.getSwimmingStyle()
+                    && (!compareDuration || Double.compare(request.getDurationMin(), other.getDurationMin()) == 0)
+                    && Double.compare(request.getBodyWeightKg(), other.getBodyWeightKg()) == 0;
+        }
+    }
+}
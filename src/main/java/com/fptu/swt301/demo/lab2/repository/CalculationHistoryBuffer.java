@@ -0,0 +1,174 @@
+package com.fptu.swt301.demo.lab2.repository;
+
+import com.fptu.swt301.demo.lab2.domain.model.CalorieCalculationRequest;
+import com.fptu.swt301.demo.lab2.repository.CalorieCalculationRepository.CalculationHistory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+
+/**
+ * Lịch sử tính toán có giới hạn (ring buffer) kèm hash index
+ *
+ * - Ring buffer cố định capacity: khi đầy, entry cũ nhất bị evict (O(1))
+ * - Index: key = (style, floor(duration × 100), floor(weight × 100)) →
+ * chuỗi các slot cùng key theo thứ tự cũ → mới (head/tail + mảng next)
+ *
+ * Lookup giữ nguyên ngữ nghĩa epsilon 0.01 của repository: hai giá trị lệch
+ * nhau dưới 0.01 chỉ có thể nằm cùng ô hoặc ô kề nhau, nên chỉ cần dò 3 × 3 ô
+ * lân cận và kiểm tra lại bằng matcher. Kết quả là entry cũ nhất khớp (giống
+ * findFirst trên list trước đây).
+ */
+class CalculationHistoryBuffer {
+
+    private static final double QUANTUM_SCALE = 100.0;
+    private static final int NO_SLOT = -1;
+
+    private final BiPredicate<CalorieCalculationRequest, CalorieCalculationRequest> matcher;
+    private final CalculationHistory[] entries;
+    private final long[] keys;
+    private final int[] next;
+    private final Map<Long, int[]> index;
+
+    private int oldest;
+    private int size;
+
+    /**
+     * @param capacity Số entry tối đa được giữ lại
+     * @param matcher  Điều kiện hai request được coi là giống nhau
+     * @throws IllegalArgumentException nếu capacity <= 0
+     */
+    CalculationHistoryBuffer(int capacity,
+            BiPredicate<CalorieCalculationRequest, CalorieCalculationRequest> matcher) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("History capacity must be greater than 0. Provided value: " + capacity);
+        }
+        this.matcher = matcher;
+        this.entries = new CalculationHistory[capacity];
+        this.keys = new long[capacity];
+        this.next = new int[capacity];
+        this.index = new HashMap<>();
+    }
+
+    /**
+     * Thêm entry mới nhất, evict entry cũ nhất nếu buffer đã đầy
+     */
+    void add(CalculationHistory history) {
+        if (size == entries.length) {
+            evictOldest();
+        }
+        int slot = (oldest + size) % entries.length;
+        long key = keyOf(history.getRequest(), 0, 0);
+
+        entries[slot] = history;
+        keys[slot] = key;
+        next[slot] = NO_SLOT;
+        size++;
+
+        // chain[0] = slot cũ nhất, chain[1] = slot mới nhất của key
+        int[] chain = index.get(key);
+        if (chain == null) {
+            index.put(key, new int[] { slot, slot });
+        } else {
+            next[chain[1]] = slot;
+            chain[1] = slot;
+        }
+    }
+
+    /**
+     * Tìm entry cũ nhất khớp request
+     *
+     * @return Entry khớp, null nếu không có
+     */
+    CalculationHistory find(CalorieCalculationRequest request) {
+        int bestSlot = NO_SLOT;
+        int bestAge = Integer.MAX_VALUE;
+
+        for (int durationOffset = -1; durationOffset <= 1; durationOffset++) {
+            for (int weightOffset = -1; weightOffset <= 1; weightOffset++) {
+                int[] chain = index.get(keyOf(request, durationOffset, weightOffset));
+                if (chain == null) {
+                    continue;
+                }
+                // Chain theo thứ tự cũ → mới: entry khớp đầu tiên là cũ nhất trong ô
+                for (int slot = chain[0]; slot != NO_SLOT; slot = next[slot]) {
+                    if (matcher.test(entries[slot].getRequest(), request)) {
+                        int age = ageOf(slot);
+                        if (age < bestAge) {
+                            bestAge = age;
+                            bestSlot = slot;
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+        return bestSlot == NO_SLOT ? null : entries[bestSlot];
+    }
+
+    /**
+     * @return Các entry đang giữ, theo thứ tự cũ → mới
+     */
+    List<CalculationHistory> toList() {
+        List<CalculationHistory> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(entries[(oldest + i) % entries.length]);
+        }
+        return list;
+    }
+
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            entries[(oldest + i) % entries.length] = null;
+        }
+        index.clear();
+        oldest = 0;
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return entries.length;
+    }
+
+    private void evictOldest() {
+        int slot = oldest;
+        long key = keys[slot];
+
+        // Entry cũ nhất toàn cục cũng là entry cũ nhất trong chain của nó
+        int[] chain = index.get(key);
+        if (next[slot] == NO_SLOT) {
+            index.remove(key);
+        } else {
+            chain[0] = next[slot];
+        }
+
+        entries[slot] = null;
+        oldest = (oldest + 1) % entries.length;
+        size--;
+    }
+
+    /**
+     * Thứ tự của slot tính từ entry cũ nhất (0 = cũ nhất)
+     */
+    private int ageOf(int slot) {
+        return (slot - oldest + entries.length) % entries.length;
+    }
+
+    /**
+     * Key của ô chứa request, dịch đi (durationOffset, weightOffset) ô
+     * Key trùng giữa các ô khác nhau chỉ làm chain dài hơn, không ảnh hưởng
+     * tính đúng vì mọi entry đều được kiểm tra lại bằng matcher.
+     */
+    private static long keyOf(CalorieCalculationRequest request, int durationOffset, int weightOffset) {
+        long style = request.getSwimmingStyle() == null ? 0 : request.getSwimmingStyle().ordinal() + 1;
+        long duration = (long) Math.floor(request.getDurationMin() * QUANTUM_SCALE) + durationOffset;
+        long weight = (long) Math.floor(request.getBodyWeightKg() * QUANTUM_SCALE) + weightOffset;
+        return (style << 56) ^ ((duration & 0xFFFFFFFL) << 28) ^ (weight & 0xFFFFFFFL);
+    }
+}
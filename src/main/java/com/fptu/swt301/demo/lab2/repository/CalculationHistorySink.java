@@ -0,0 +1,51 @@
+package com.fptu.swt301.demo.lab2.repository;
+
+import com.fptu.swt301.demo.lab2.repository.CalorieCalculationRepository.CalculationHistory;
+
+import java.util.List;
+
+/**
+ * Đích ghi lịch sử tính toán theo batch (dùng bởi AsyncCalculationHistoryWriter)
+ *
+ * Implementation có sẵn: InMemoryCalculationHistorySink,
+ * FileCalculationHistorySink (append-only file), JdbcCalculationHistorySink
+ * (H2 hoặc database JDBC khác)
+ */
+public interface CalculationHistorySink {
+
+    /**
+     * Ghi một batch lịch sử (chỉ được gọi từ một thread tại một thời điểm)
+     *
+     * @param batch Các entry theo thứ tự ghi nhận
+     */
+    void write(List<CalculationHistory> batch);
+
+    /**
+     * Giải phóng tài nguyên (file, connection)
+     */
+    default void close() {
+    }
+
+    /**
+     * Sink ghi lần lượt vào sink này rồi tới next
+     */
+    default CalculationHistorySink andThen(CalculationHistorySink next) {
+        CalculationHistorySink first = this;
+        return new CalculationHistorySink() {
+            @Override
+            public void write(List<CalculationHistory> batch) {
+                first.write(batch);
+                next.write(batch);
+            }
+
+            @Override
+            public void close() {
+                try {
+                    first.close();
+                } finally {
+                    next.close();
+                }
+            }
+        };
+    }
+}
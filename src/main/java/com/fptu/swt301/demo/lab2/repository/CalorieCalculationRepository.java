@@ -50,6 +50,24 @@ public interface CalorieCalculationRepository {
      */
     double calculateCaloriesPerMinuteExact(CalorieCalculationRequest request);
 
+    /**
+     * Tính tất cả giá trị (exact và đã làm tròn) cho một request, ghi lịch sử
+     * tối đa một lần (như calculateCaloriesBurned)
+     *
+     * Default implementation gọi lần lượt bốn method ở trên; implementation
+     * nên override để chỉ tính công thức MET một lần.
+     *
+     * @param request Calorie calculation request
+     * @return Kết quả immutable
+     */
+    default CalculationResult calculateAll(CalorieCalculationRequest request) {
+        return new CalculationResult(request,
+                calculateCaloriesPerMinuteExact(request),
+                calculateCaloriesPerMinute(request),
+                calculateCaloriesBurnedExact(request),
+                calculateCaloriesBurned(request));
+    }
+
     /**
      * Lưu lịch sử tính toán (optional - có thể implement để log hoặc cache)
      * 
@@ -86,6 +104,76 @@ public interface CalorieCalculationRepository {
      */
     long count();
 
+    /**
+     * Kết quả immutable của calculateAll
+     */
+    final class CalculationResult {
+        private final CalorieCalculationRequest request;
+        private final double caloriesPerMinuteExact;
+        private final double caloriesPerMinute;
+        private final double caloriesBurnedExact;
+        private final double caloriesBurned;
+
+        /**
+         * @throws IllegalArgumentException nếu request null
+         */
+        public CalculationResult(CalorieCalculationRequest request, double caloriesPerMinuteExact,
+                double caloriesPerMinute, double caloriesBurnedExact, double caloriesBurned) {
+            if (request == null) {
+                throw new IllegalArgumentException("Request cannot be null");
+            }
+            this.request = request;
+            this.caloriesPerMinuteExact = caloriesPerMinuteExact;
+            this.caloriesPerMinute = caloriesPerMinute;
+            this.caloriesBurnedExact = caloriesBurnedExact;
+            this.caloriesBurned = caloriesBurned;
+        }
+
+        public CalorieCalculationRequest getRequest() {
+            return request;
+        }
+
+        /**
+         * @return Calories per minute (không làm tròn)
+         */
+        public double getCaloriesPerMinuteExact() {
+            return caloriesPerMinuteExact;
+        }
+
+        /**
+         * @return Calories per minute (rounded to 2 decimal places)
+         */
+        public double getCaloriesPerMinute() {
+            return caloriesPerMinute;
+        }
+
+        /**
+         * @return Total calories burned (không làm tròn)
+         */
+        public double getCaloriesBurnedExact() {
+            return caloriesBurnedExact;
+        }
+
+        /**
+         * @return Total calories burned (rounded to 2 decimal places)
+         */
+        public double getCaloriesBurned() {
+            return caloriesBurned;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "CalculationResult{style=%s, duration=%.2f min, weight=%.2f kg, perMinute=%.2f kcal/min, "
+                            + "burned=%.2f kcal}",
+                    request.getSwimmingStyle().getDisplayName(),
+                    request.getDurationMin(),
+                    request.getBodyWeightKg(),
+                    caloriesPerMinute,
+                    caloriesBurned);
+        }
+    }
+
     /**
      * Inner class để lưu trữ lịch sử tính toán
      */
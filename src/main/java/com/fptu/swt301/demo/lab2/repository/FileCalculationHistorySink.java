@@ -0,0 +1,73 @@
+package com.fptu.swt301.demo.lab2.repository;
+
+import com.fptu.swt301.demo.lab2.repository.CalorieCalculationRepository.CalculationHistory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Sink ghi lịch sử vào file append-only, mỗi entry một dòng CSV:
+ *
+ * <pre>
+ * swimmingStyle,durationMin,bodyWeightKg,result,timestamp
+ * </pre>
+ *
+ * Mỗi batch được flush xuống file sau khi ghi xong.
+ */
+public class FileCalculationHistorySink implements CalculationHistorySink {
+
+    private final Path path;
+    private final BufferedWriter writer;
+
+    /**
+     * @param path File đích (tạo mới nếu chưa tồn tại, ghi nối tiếp nếu đã có)
+     * @throws UncheckedIOException nếu không mở được file
+     */
+    public FileCalculationHistorySink(Path path) {
+        this.path = path;
+        try {
+            this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open calculation history file " + path, e);
+        }
+    }
+
+    @Override
+    public void write(List<CalculationHistory> batch) {
+        try {
+            StringBuilder line = new StringBuilder(64);
+            for (CalculationHistory history : batch) {
+                line.setLength(0);
+                line.append(history.getRequest().getSwimmingStyle().name()).append(',')
+                        .append(history.getRequest().getDurationMin()).append(',')
+                        .append(history.getRequest().getBodyWeightKg()).append(',')
+                        .append(history.getResult()).append(',')
+                        .append(history.getTimestamp());
+                writer.append(line).append('\n');
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write calculation history to " + path, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close calculation history file " + path, e);
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+}
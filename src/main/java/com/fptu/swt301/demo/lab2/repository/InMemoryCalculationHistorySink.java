@@ -0,0 +1,36 @@
+package com.fptu.swt301.demo.lab2.repository;
+
+import com.fptu.swt301.demo.lab2.repository.CalorieCalculationRepository.CalculationHistory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sink lưu lịch sử trong memory (chủ yếu dùng cho testing)
+ */
+public class InMemoryCalculationHistorySink implements CalculationHistorySink {
+
+    private final List<CalculationHistory> history = new ArrayList<>();
+    private long batchCount;
+
+    @Override
+    public synchronized void write(List<CalculationHistory> batch) {
+        history.addAll(batch);
+        batchCount++;
+    }
+
+    public synchronized List<CalculationHistory> getHistory() {
+        return new ArrayList<>(history);
+    }
+
+    public synchronized long count() {
+        return history.size();
+    }
+
+    /**
+     * @return Số lần write được gọi
+     */
+    public synchronized long getBatchCount() {
+        return batchCount;
+    }
+}
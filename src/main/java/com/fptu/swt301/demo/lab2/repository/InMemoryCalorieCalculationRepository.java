@@ -1,26 +1,76 @@
 package com.fptu.swt301.demo.lab2.repository;
 
+import com.fptu.swt301.demo.common.DecimalRounding;
 import com.fptu.swt301.demo.lab2.config.SwimmingConstants;
 import com.fptu.swt301.demo.lab2.domain.model.CalorieCalculationRequest;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * In-memory implementation của CalorieCalculationRepository
  * 
  * Triển khai cụ thể:
  * - Tính toán calories dựa trên công thức MET
- * - Lưu trữ lịch sử tính toán trong memory
- * - Có thể mở rộng để cache kết quả hoặc kết nối database
+ * - Lưu trữ lịch sử tính toán trong memory (ring buffer có giới hạn, có hash
+ * index cho lookup O(1))
+ * - Thread-safe: ghi lịch sử là lock-free (MPSC queue), một thread duy nhất
+ * tại một thời điểm drain queue vào ring buffer; các thao tác đọc drain hết
+ * queue trước khi đọc nên luôn thấy mọi entry đã ghi xong
+ * - Async mode (tuỳ chọn): thread tính toán chỉ đưa entry vào bounded queue của
+ * AsyncCalculationHistoryWriter; background writer ghi theo batch vào ring
+ * buffer và sink bên ngoài (file, H2, ...). Các thao tác đọc flush writer
+ * trước khi đọc.
  */
-public class InMemoryCalorieCalculationRepository implements CalorieCalculationRepository {
+public class InMemoryCalorieCalculationRepository implements CalorieCalculationRepository, AutoCloseable {
 
-    private final List<CalculationHistory> calculationHistory;
+    private final CalculationHistoryBuffer calculationHistory;
+
+    // Entry chờ được đưa vào calculationHistory (nhiều producer, một consumer)
+    private final Queue<CalculationHistory> pendingHistory;
+
+    // Chỉ thread giữ lock mới được đụng vào calculationHistory
+    private final ReentrantLock historyLock;
+
+    // null nếu không dùng async mode
+    private final AsyncCalculationHistoryWriter historyWriter;
 
     public InMemoryCalorieCalculationRepository() {
-        this.calculationHistory = new ArrayList<>();
+        this(SwimmingConstants.DEFAULT_HISTORY_CAPACITY);
+    }
+
+    /**
+     * @param historyCapacity Số entry lịch sử tối đa được giữ lại
+     * @throws IllegalArgumentException nếu historyCapacity <= 0
+     */
+    public InMemoryCalorieCalculationRepository(int historyCapacity) {
+        this(historyCapacity, null);
+    }
+
+    /**
+     * Async mode: lịch sử được ghi bởi background writer theo cấu hình của
+     * historyWriter (batch size, flush interval, backpressure policy). Sink
+     * của builder (có thể null) nhận cùng các batch sau ring buffer.
+     *
+     * @param historyCapacity Số entry lịch sử tối đa được giữ lại
+     * @param historyWriter   Cấu hình writer, null để ghi đồng bộ
+     * @throws IllegalArgumentException nếu cấu hình không hợp lệ
+     */
+    public InMemoryCalorieCalculationRepository(int historyCapacity,
+            AsyncCalculationHistoryWriter.Builder historyWriter) {
+        this.calculationHistory = new CalculationHistoryBuffer(historyCapacity, this::matchesRequest);
+        this.pendingHistory = new ConcurrentLinkedQueue<>();
+        this.historyLock = new ReentrantLock();
+        if (historyWriter == null) {
+            this.historyWriter = null;
+        } else {
+            CalculationHistorySink bufferSink = this::appendHistory;
+            this.historyWriter = historyWriter.build(historyWriter.getSink() == null ? bufferSink
+                    : bufferSink.andThen(historyWriter.getSink()));
+        }
     }
 
     @Override
@@ -38,19 +88,11 @@ public class InMemoryCalorieCalculationRepository implements CalorieCalculationR
         // Sử dụng giá trị chính xác của caloriesPerMinute (chưa làm tròn)
         double totalCalories = caloriesPerMinute * durationMin;
 
-        // Làm tròn kết quả cuối cùng
-        // Web production:
-        // - Với giá trị >= 1: làm tròn 2 chữ số thập phân
-        // - Với giá trị < 1: giữ nhiều chữ số thập phân hơn (5 chữ số) để hiển thị
-        // chính xác
-        // Nhưng để so sánh với test cases, vẫn làm tròn 2 chữ số
-        int decimalPlaces = (totalCalories < 1.0) ? 5 : SwimmingConstants.DECIMAL_PLACES;
-        double roundedResult = roundToDecimalPlaces(totalCalories, decimalPlaces);
-
-        // Tuy nhiên, để khớp với test cases (expected values đã làm tròn 2 chữ số),
-        // vẫn làm tròn cuối cùng đến 2 chữ số cho việc so sánh
-        // Web production có thể hiển thị khác nhưng giá trị lưu trữ vẫn 2 chữ số
-        roundedResult = roundToDecimalPlaces(roundedResult, SwimmingConstants.DECIMAL_PLACES);
+        // Làm tròn kết quả cuối cùng đến 2 chữ số thập phân (giá trị lưu trữ và so
+        // sánh với test cases). Chỉ làm tròn một lần: làm tròn 5 chữ số trước (như
+        // trước đây với giá trị < 1) gây double rounding, ví dụ 0.0049996 ->
+        // 0.005 -> 0.01
+        double roundedResult = DecimalRounding.round(totalCalories, SwimmingConstants.DECIMAL_PLACES);
 
         // Tự động lưu vào lịch sử
         saveCalculationHistory(request, roundedResult);
@@ -70,7 +112,7 @@ public class InMemoryCalorieCalculationRepository implements CalorieCalculationR
                 / SwimmingConstants.MET_DENOMINATOR;
 
         // Làm tròn đến 2 chữ số thập phân để hiển thị
-        return roundToDecimalPlaces(caloriesPerMinute, SwimmingConstants.DECIMAL_PLACES);
+        return DecimalRounding.round(caloriesPerMinute, SwimmingConstants.DECIMAL_PLACES);
     }
 
     @Override
@@ -99,13 +141,46 @@ public class InMemoryCalorieCalculationRepository implements CalorieCalculationR
                 / SwimmingConstants.MET_DENOMINATOR;
     }
 
+    /**
+     * Tính công thức MET một lần cho cả bốn giá trị, ghi lịch sử một lần
+     * (cùng kết quả với calculateCaloriesBurned)
+     */
+    @Override
+    public CalculationResult calculateAll(CalorieCalculationRequest request) {
+        double caloriesPerMinuteExact = (request.getSwimmingStyle().getMetValue() * request.getBodyWeightKg()
+                * SwimmingConstants.MET_CONVERSION_FACTOR) / SwimmingConstants.MET_DENOMINATOR;
+        double caloriesBurnedExact = caloriesPerMinuteExact * request.getDurationMin();
+        double caloriesBurned = DecimalRounding.round(caloriesBurnedExact, SwimmingConstants.DECIMAL_PLACES);
+
+        saveCalculationHistory(request, caloriesBurned);
+
+        return new CalculationResult(request,
+                caloriesPerMinuteExact,
+                DecimalRounding.round(caloriesPerMinuteExact, SwimmingConstants.DECIMAL_PLACES),
+                caloriesBurnedExact,
+                caloriesBurned);
+    }
+
     @Override
     public boolean saveCalculationHistory(CalorieCalculationRequest request, double result) {
         if (request == null) {
             return false;
         }
-        CalculationHistory history = new CalculationHistory(request, result);
-        calculationHistory.add(history);
+        if (historyWriter != null) {
+            return historyWriter.record(new CalculationHistory(request, result));
+        }
+        pendingHistory.offer(new CalculationHistory(request, result));
+
+        // Producer không bao giờ chờ: nếu đang có thread khác drain thì entry
+        // sẽ được thread đó đưa vào buffer. Kiểm tra lại queue sau khi unlock để
+        // không bỏ sót entry được offer đúng lúc thread kia vừa drain xong.
+        while (!pendingHistory.isEmpty() && historyLock.tryLock()) {
+            try {
+                drainPendingHistory();
+            } finally {
+                historyLock.unlock();
+            }
+        }
         return true;
     }
 
@@ -115,26 +190,111 @@ public class InMemoryCalorieCalculationRepository implements CalorieCalculationR
             return Optional.empty();
         }
 
-        // Tìm trong lịch sử dựa trên các thuộc tính của request
-        return calculationHistory.stream()
-                .filter(history -> matchesRequest(history.getRequest(), request))
-                .map(CalculationHistory::getResult)
-                .findFirst();
+        // Tìm trong lịch sử dựa trên các thuộc tính của request (qua hash index)
+        flushHistoryWriter();
+        historyLock.lock();
+        try {
+            drainPendingHistory();
+            CalculationHistory history = calculationHistory.find(request);
+            return history == null ? Optional.empty() : Optional.of(history.getResult());
+        } finally {
+            historyLock.unlock();
+        }
     }
 
     @Override
     public List<CalculationHistory> getAllCalculationHistory() {
-        return new ArrayList<>(calculationHistory);
+        flushHistoryWriter();
+        historyLock.lock();
+        try {
+            drainPendingHistory();
+            return calculationHistory.toList();
+        } finally {
+            historyLock.unlock();
+        }
     }
 
     @Override
     public void clearHistory() {
-        calculationHistory.clear();
+        flushHistoryWriter();
+        historyLock.lock();
+        try {
+            drainPendingHistory();
+            calculationHistory.clear();
+        } finally {
+            historyLock.unlock();
+        }
     }
 
     @Override
     public long count() {
-        return calculationHistory.size();
+        flushHistoryWriter();
+        historyLock.lock();
+        try {
+            drainPendingHistory();
+            return calculationHistory.size();
+        } finally {
+            historyLock.unlock();
+        }
+    }
+
+    /**
+     * @return Số entry lịch sử tối đa được giữ lại
+     */
+    public int getHistoryCapacity() {
+        return calculationHistory.capacity();
+    }
+
+    /**
+     * Dừng background writer (async mode), ghi nốt lịch sử còn trong queue và
+     * đóng sink. Không làm gì ở chế độ đồng bộ.
+     */
+    @Override
+    public void close() {
+        if (historyWriter != null) {
+            historyWriter.close();
+        }
+    }
+
+    /**
+     * @return true nếu đang dùng async mode
+     */
+    public boolean isAsyncHistory() {
+        return historyWriter != null;
+    }
+
+    /**
+     * Async mode: chờ background writer ghi xong mọi entry đã nhận
+     */
+    private void flushHistoryWriter() {
+        if (historyWriter != null) {
+            historyWriter.flush();
+        }
+    }
+
+    /**
+     * Sink của background writer: thêm một batch vào ring buffer
+     */
+    private void appendHistory(List<CalculationHistory> batch) {
+        historyLock.lock();
+        try {
+            for (CalculationHistory history : batch) {
+                calculationHistory.add(history);
+            }
+        } finally {
+            historyLock.unlock();
+        }
+    }
+
+    /**
+     * Đưa toàn bộ entry đang chờ vào ring buffer theo thứ tự ghi
+     * Chỉ gọi khi đang giữ historyLock
+     */
+    private void drainPendingHistory() {
+        CalculationHistory history;
+        while ((history = pendingHistory.poll()) != null) {
+            calculationHistory.add(history);
+        }
     }
 
     /**
@@ -148,12 +308,4 @@ public class InMemoryCalorieCalculationRepository implements CalorieCalculationR
                 && Math.abs(request1.getDurationMin() - request2.getDurationMin()) < 0.01
                 && Math.abs(request1.getBodyWeightKg() - request2.getBodyWeightKg()) < 0.01;
     }
-
-    /**
-     * Làm tròn số đến số chữ số thập phân chỉ định
-     */
-    private double roundToDecimalPlaces(double value, int decimalPlaces) {
-        double multiplier = Math.pow(10, decimalPlaces);
-        return Math.round(value * multiplier) / multiplier;
-    }
 }
@@ -0,0 +1,111 @@
+package com.fptu.swt301.demo.lab2.repository;
+
+import com.fptu.swt301.demo.lab2.repository.CalorieCalculationRepository.CalculationHistory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Sink ghi lịch sử vào database qua JDBC (mặc định dùng H2 có sẵn trên
+ * classpath, ví dụ "jdbc:h2:mem:history;DB_CLOSE_DELAY=-1")
+ *
+ * Mỗi batch là một transaction với JDBC batch insert vào bảng
+ * calculation_history (tự tạo nếu chưa có).
+ */
+public class JdbcCalculationHistorySink implements CalculationHistorySink {
+
+    private static final String CREATE_TABLE = "CREATE TABLE IF NOT EXISTS calculation_history ("
+            + "id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+            + "swimming_style VARCHAR(64) NOT NULL, "
+            + "duration_min DOUBLE NOT NULL, "
+            + "body_weight_kg DOUBLE NOT NULL, "
+            + "result DOUBLE NOT NULL, "
+            + "recorded_at BIGINT NOT NULL)";
+
+    private static final String INSERT = "INSERT INTO calculation_history "
+            + "(swimming_style, duration_min, body_weight_kg, result, recorded_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final Connection connection;
+    private final PreparedStatement insert;
+
+    public JdbcCalculationHistorySink(String jdbcUrl) {
+        this(jdbcUrl, null, null);
+    }
+
+    /**
+     * @throws IllegalStateException nếu không kết nối hoặc tạo bảng được
+     */
+    public JdbcCalculationHistorySink(String jdbcUrl, String user, String password) {
+        Connection opened = null;
+        try {
+            opened = DriverManager.getConnection(jdbcUrl, user, password);
+            try (Statement statement = opened.createStatement()) {
+                statement.execute(CREATE_TABLE);
+            }
+            opened.setAutoCommit(false);
+            this.insert = opened.prepareStatement(INSERT);
+            this.connection = opened;
+        } catch (SQLException e) {
+            // Không để rò rỉ connection đã mở khi tạo bảng / statement lỗi
+            if (opened != null) {
+                try {
+                    opened.close();
+                } catch (SQLException closeError) {
+                    e.addSuppressed(closeError);
+                }
+            }
+            throw new IllegalStateException("Cannot initialise calculation history table at " + jdbcUrl, e);
+        }
+    }
+
+    @Override
+    public synchronized void write(List<CalculationHistory> batch) {
+        try {
+            for (CalculationHistory history : batch) {
+                insert.setString(1, history.getRequest().getSwimmingStyle().name());
+                insert.setDouble(2, history.getRequest().getDurationMin());
+                insert.setDouble(3, history.getRequest().getBodyWeightKg());
+                insert.setDouble(4, history.getResult());
+                insert.setLong(5, history.getTimestamp());
+                insert.addBatch();
+            }
+            insert.executeBatch();
+            connection.commit();
+        } catch (SQLException e) {
+            try {
+                connection.rollback();
+            } catch (SQLException rollbackError) {
+                e.addSuppressed(rollbackError);
+            }
+            throw new IllegalStateException("Cannot write calculation history batch", e);
+        }
+    }
+
+    /**
+     * Đếm số dòng trong bảng calculation_history
+     */
+    public synchronized long count() {
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM calculation_history")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot count calculation history", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            insert.close();
+            connection.close();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Cannot close calculation history connection", e);
+        }
+    }
+}
@@ -0,0 +1,630 @@
+package com.fptu.swt301.demo.lab2.repository;
+
+import com.fptu.swt301.demo.common.DecimalRounding;
+import com.fptu.swt301.demo.lab2.config.SwimmingConstants;
+import com.fptu.swt301.demo.lab2.domain.model.CalorieCalculationRequest;
+import com.fptu.swt301.demo.lab2.domain.valueobject.SwimmingStyle;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntConsumer;
+
+/**
+ * Dataset dạng cột (byte[] style ordinal, double[] duration, double[] body
+ * weight) cho phân tích số lượng lớn buổi bơi
+ *
+ * Group-by / aggregate (count, sum, mean, min, max, percentile) chạy song song
+ * trên fork/join, chỉ dùng mảng primitive (không boxing, không object theo
+ * từng dòng). Calories được tính bằng cùng công thức và cùng thứ tự phép tính
+ * với InMemoryCalorieCalculationRepository nên giá trị từng dòng giống hệt
+ * calculateCaloriesBurned / calculateCaloriesBurnedExact.
+ *
+ * Dataset immutable sau khi build, an toàn khi đọc từ nhiều thread. Cách chia
+ * việc chỉ phụ thuộc vào số dòng (không phụ thuộc số thread) nên tổng luôn
+ * giống hệt nhau giữa các lần chạy.
+ */
+public final class SwimSessionDataset {
+
+    /**
+     * Số group tối đa của một Grouping (giới hạn bộ nhớ của accumulator)
+     */
+    public static final int MAX_GROUPS = 1 << 16;
+
+    private static final int LEAF_SIZE = 1 << 15;
+    private static final int MAX_CHUNKS = 256;
+    private static final SwimmingStyle[] STYLES = SwimmingStyle.values();
+
+    private final byte[] styleOrdinals;
+    private final double[] durationsMin;
+    private final double[] bodyWeightsKg;
+    private final int size;
+    private final double maxDurationMin;
+    private final double maxBodyWeightKg;
+
+    private SwimSessionDataset(byte[] styleOrdinals, double[] durationsMin, double[] bodyWeightsKg, int size) {
+        this.styleOrdinals = styleOrdinals;
+        this.durationsMin = durationsMin;
+        this.bodyWeightsKg = bodyWeightsKg;
+        this.size = size;
+        double maxDuration = 0;
+        double maxWeight = 0;
+        for (int row = 0; row < size; row++) {
+            maxDuration = Math.max(maxDuration, durationsMin[row]);
+            maxWeight = Math.max(maxWeight, bodyWeightsKg[row]);
+        }
+        this.maxDurationMin = maxDuration;
+        this.maxBodyWeightKg = maxWeight;
+    }
+
+    public static Builder builder() {
+        return new Builder(1024);
+    }
+
+    /**
+     * @param expectedSize Số dòng dự kiến (tránh copy khi mảng tăng kích thước)
+     */
+    public static Builder builder(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative. Provided value: " + expectedSize);
+        }
+        return new Builder(expectedSize);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public SwimmingStyle getSwimmingStyle(int row) {
+        checkRow(row);
+        return STYLES[styleOrdinals[row]];
+    }
+
+    public double getDurationMin(int row) {
+        checkRow(row);
+        return durationsMin[row];
+    }
+
+    public double getBodyWeightKg(int row) {
+        checkRow(row);
+        return bodyWeightsKg[row];
+    }
+
+    /**
+     * Giá trị của measure cho một dòng (ví dụ calories burned đã làm tròn)
+     */
+    public double getValue(int row, Measure measure) {
+        checkRow(row);
+        return measureValue(measure, row);
+    }
+
+    /**
+     * Group-by + count/sum/mean/min/max trên ForkJoinPool.commonPool()
+     */
+    public GroupStats aggregate(Grouping grouping, Measure measure) {
+        return aggregate(grouping, measure, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Group-by + count/sum/mean/min/max trên pool cho trước
+     *
+     * @throws IllegalArgumentException nếu tham số null hoặc số group vượt
+     *                                  MAX_GROUPS
+     */
+    public GroupStats aggregate(Grouping grouping, Measure measure, ForkJoinPool pool) {
+        checkArguments(grouping, measure, pool);
+        int groupCount = groupCount(grouping);
+        Accumulator result = pool.invoke(new AggregateTask(grouping, measure, groupCount, 0, size));
+        return new GroupStats(grouping, result.counts, result.sums, result.mins, result.maxs);
+    }
+
+    /**
+     * Percentile của measure theo group trên ForkJoinPool.commonPool()
+     */
+    public double[][] percentiles(Grouping grouping, Measure measure, double... percentiles) {
+        return percentiles(grouping, measure, ForkJoinPool.commonPool(), percentiles);
+    }
+
+    /**
+     * Percentile (nội suy tuyến tính giữa hai rank gần nhất, như NumPy mặc
+     * định) của measure theo group
+     *
+     * Giá trị được phân về từng group song song (histogram + scatter theo
+     * chunk) vào một mảng double[size] rồi sort từng group song song.
+     *
+     * @param percentiles Các percentile trong khoảng [0, 100]
+     * @return result[group][i] = percentile thứ i của group, NaN nếu group
+     *         rỗng
+     * @throws IllegalArgumentException nếu tham số không hợp lệ
+     */
+    public double[][] percentiles(Grouping grouping, Measure measure, ForkJoinPool pool, double... percentiles) {
+        checkArguments(grouping, measure, pool);
+        if (percentiles == null || percentiles.length == 0) {
+            throw new IllegalArgumentException("At least one percentile is required");
+        }
+        for (double percentile : percentiles) {
+            if (!(percentile >= 0 && percentile <= 100)) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100. Provided value: "
+                        + percentile);
+            }
+        }
+        int groupCount = groupCount(grouping);
+        int chunkCount = Math.max(1, Math.min(MAX_CHUNKS, (size + LEAF_SIZE - 1) / LEAF_SIZE));
+        int chunkSize = (size + chunkCount - 1) / chunkCount;
+
+        // Histogram theo chunk
+        int[][] chunkCounts = new int[chunkCount][];
+        forEachChunk(pool, chunkCount, chunk -> {
+            int[] counts = new int[groupCount];
+            int to = Math.min(size, (chunk + 1) * chunkSize);
+            for (int row = chunk * chunkSize; row < to; row++) {
+                counts[groupOf(grouping, row)]++;
+            }
+            chunkCounts[chunk] = counts;
+        });
+
+        // Vị trí ghi của từng chunk trong từng group (thứ tự group, rồi chunk)
+        int[] groupStarts = new int[groupCount + 1];
+        int position = 0;
+        for (int group = 0; group < groupCount; group++) {
+            groupStarts[group] = position;
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                int count = chunkCounts[chunk][group];
+                chunkCounts[chunk][group] = position;
+                position += count;
+            }
+        }
+        groupStarts[groupCount] = position;
+
+        double[] grouped = new double[size];
+        forEachChunk(pool, chunkCount, chunk -> {
+            int[] offsets = chunkCounts[chunk];
+            int to = Math.min(size, (chunk + 1) * chunkSize);
+            for (int row = chunk * chunkSize; row < to; row++) {
+                grouped[offsets[groupOf(grouping, row)]++] = measureValue(measure, row);
+            }
+        });
+
+        double[][] result = new double[groupCount][];
+        pool.invoke(new SortGroupsTask(grouped, groupStarts, 0, groupCount));
+        for (int group = 0; group < groupCount; group++) {
+            result[group] = interpolate(grouped, groupStarts[group], groupStarts[group + 1], percentiles);
+        }
+        return result;
+    }
+
+    private static double[] interpolate(double[] sorted, int from, int to, double[] percentiles) {
+        double[] values = new double[percentiles.length];
+        int count = to - from;
+        for (int i = 0; i < percentiles.length; i++) {
+            if (count == 0) {
+                values[i] = Double.NaN;
+                continue;
+            }
+            double rank = (count - 1) * percentiles[i] / 100.0;
+            int lower = (int) rank;
+            double fraction = rank - lower;
+            double value = sorted[from + lower];
+            if (fraction > 0) {
+                value += fraction * (sorted[from + lower + 1] - value);
+            }
+            values[i] = value;
+        }
+        return values;
+    }
+
+    private double measureValue(Measure measure, int row) {
+        switch (measure) {
+            case CALORIES_BURNED:
+                return DecimalRounding.round(caloriesBurnedExact(row), SwimmingConstants.DECIMAL_PLACES);
+            case CALORIES_BURNED_EXACT:
+                return caloriesBurnedExact(row);
+            case DURATION_MIN:
+                return durationsMin[row];
+            default:
+                return bodyWeightsKg[row];
+        }
+    }
+
+    /**
+     * (MET × bodyWeightKg × 3.5) / 200 × durationMin, cùng thứ tự phép tính
+     * với InMemoryCalorieCalculationRepository
+     */
+    private double caloriesBurnedExact(int row) {
+        double caloriesPerMinute = (BulkCalorieCalculator.MET_VALUES[styleOrdinals[row]] * bodyWeightsKg[row]
+                * SwimmingConstants.MET_CONVERSION_FACTOR) / SwimmingConstants.MET_DENOMINATOR;
+        return caloriesPerMinute * durationsMin[row];
+    }
+
+    private int groupOf(Grouping grouping, int row) {
+        switch (grouping.key) {
+            case STYLE:
+                return styleOrdinals[row];
+            case WEIGHT_BAND:
+                return (int) (bodyWeightsKg[row] / grouping.bandWidth);
+            default:
+                return (int) (durationsMin[row] / grouping.bandWidth);
+        }
+    }
+
+    private int groupCount(Grouping grouping) {
+        double bands;
+        switch (grouping.key) {
+            case STYLE:
+                return STYLES.length;
+            case WEIGHT_BAND:
+                bands = Math.floor(maxBodyWeightKg / grouping.bandWidth) + 1;
+                break;
+            default:
+                bands = Math.floor(maxDurationMin / grouping.bandWidth) + 1;
+                break;
+        }
+        if (bands > MAX_GROUPS) {
+            throw new IllegalArgumentException("Band width too small: " + grouping.bandWidth + " gives more than "
+                    + MAX_GROUPS + " groups");
+        }
+        return (int) bands;
+    }
+
+    private void checkArguments(Grouping grouping, Measure measure, ForkJoinPool pool) {
+        if (grouping == null || measure == null || pool == null) {
+            throw new IllegalArgumentException("Grouping, measure and pool cannot be null");
+        }
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for size " + size);
+        }
+    }
+
+    private static void forEachChunk(ForkJoinPool pool, int chunkCount, IntConsumer action) {
+        pool.invoke(new ChunkTask(action, 0, chunkCount));
+    }
+
+    /**
+     * Giá trị được aggregate của mỗi dòng
+     */
+    public enum Measure {
+        /**
+         * Calories burned làm tròn 2 chữ số (giống calculateCaloriesBurned)
+         */
+        CALORIES_BURNED,
+        /**
+         * Calories burned không làm tròn (giống calculateCaloriesBurnedExact)
+         */
+        CALORIES_BURNED_EXACT,
+        DURATION_MIN,
+        BODY_WEIGHT_KG
+    }
+
+    /**
+     * Cách chia dòng thành group: theo SwimmingStyle (group = ordinal) hoặc
+     * theo band [k × width, (k + 1) × width) của body weight / duration (group
+     * = k)
+     */
+    public static final class Grouping {
+
+        private enum Key {
+            STYLE, WEIGHT_BAND, DURATION_BAND
+        }
+
+        private static final Grouping BY_STYLE = new Grouping(Key.STYLE, 0);
+
+        private final Key key;
+        private final double bandWidth;
+
+        private Grouping(Key key, double bandWidth) {
+            this.key = key;
+            this.bandWidth = bandWidth;
+        }
+
+        public static Grouping byStyle() {
+            return BY_STYLE;
+        }
+
+        public static Grouping byWeightBand(double bandWidthKg) {
+            return new Grouping(Key.WEIGHT_BAND, checkBandWidth(bandWidthKg));
+        }
+
+        public static Grouping byDurationBand(double bandWidthMin) {
+            return new Grouping(Key.DURATION_BAND, checkBandWidth(bandWidthMin));
+        }
+
+        /**
+         * @return SwimmingStyle của group (chỉ cho byStyle)
+         */
+        public SwimmingStyle styleOf(int group) {
+            if (key != Key.STYLE) {
+                throw new IllegalStateException("Grouping is not by style");
+            }
+            return STYLES[group];
+        }
+
+        /**
+         * @return Cận dưới của band (chỉ cho byWeightBand / byDurationBand)
+         */
+        public double bandLowerBound(int group) {
+            if (key == Key.STYLE) {
+                throw new IllegalStateException("Grouping is not by band");
+            }
+            return group * bandWidth;
+        }
+
+        private static double checkBandWidth(double bandWidth) {
+            if (!(bandWidth > 0) || Double.isInfinite(bandWidth)) {
+                throw new IllegalArgumentException("Band width must be a positive finite number. Provided value: "
+                        + bandWidth);
+            }
+            return bandWidth;
+        }
+
+        @Override
+        public String toString() {
+            return key == Key.STYLE ? "Grouping{style}" : "Grouping{" + key + ", width=" + bandWidth + "}";
+        }
+    }
+
+    /**
+     * Kết quả immutable của aggregate, mỗi group một phần tử
+     */
+    public static final class GroupStats {
+        private final Grouping grouping;
+        private final long[] counts;
+        private final double[] sums;
+        private final double[] mins;
+        private final double[] maxs;
+
+        private GroupStats(Grouping grouping, long[] counts, double[] sums, double[] mins, double[] maxs) {
+            this.grouping = grouping;
+            this.counts = counts;
+            this.sums = sums;
+            this.mins = mins;
+            this.maxs = maxs;
+        }
+
+        public Grouping getGrouping() {
+            return grouping;
+        }
+
+        public int getGroupCount() {
+            return counts.length;
+        }
+
+        public long getCount(int group) {
+            return counts[group];
+        }
+
+        public double getSum(int group) {
+            return sums[group];
+        }
+
+        /**
+         * @return NaN nếu group rỗng
+         */
+        public double getMean(int group) {
+            return counts[group] == 0 ? Double.NaN : sums[group] / counts[group];
+        }
+
+        /**
+         * @return NaN nếu group rỗng
+         */
+        public double getMin(int group) {
+            return counts[group] == 0 ? Double.NaN : mins[group];
+        }
+
+        /**
+         * @return NaN nếu group rỗng
+         */
+        public double getMax(int group) {
+            return counts[group] == 0 ? Double.NaN : maxs[group];
+        }
+
+        public long getTotalCount() {
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            return total;
+        }
+
+        public double getTotalSum() {
+            double total = 0;
+            for (double sum : sums) {
+                total += sum;
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Builder thêm từng buổi bơi vào các cột; mỗi dòng được validate như
+     * CalorieCalculationRequest
+     */
+    public static final class Builder {
+        private byte[] styleOrdinals;
+        private double[] durationsMin;
+        private double[] bodyWeightsKg;
+        private int size;
+
+        private Builder(int capacity) {
+            styleOrdinals = new byte[capacity];
+            durationsMin = new double[capacity];
+            bodyWeightsKg = new double[capacity];
+        }
+
+        /**
+         * @throws com.fptu.swt301.demo.lab2.exception.ValidationException nếu
+         *         giá trị không hợp lệ theo CalorieCalculationRequest
+         * @throws IllegalArgumentException nếu duration / weight là NaN hoặc
+         *                                  vô cùng
+         */
+        public Builder add(SwimmingStyle swimmingStyle, double durationMin, double bodyWeightKg) {
+            if (!CalorieCalculationRequest.isValid(swimmingStyle, durationMin, bodyWeightKg)) {
+                throw CalorieCalculationRequest.check(swimmingStyle, durationMin, bodyWeightKg).toException();
+            }
+            if (!Double.isFinite(durationMin) || !Double.isFinite(bodyWeightKg)) {
+                throw new IllegalArgumentException("Duration and body weight must be finite. Provided values: "
+                        + durationMin + ", " + bodyWeightKg);
+            }
+            if (size == styleOrdinals.length) {
+                int capacity = Math.max(16, size + (size >> 1));
+                styleOrdinals = Arrays.copyOf(styleOrdinals, capacity);
+                durationsMin = Arrays.copyOf(durationsMin, capacity);
+                bodyWeightsKg = Arrays.copyOf(bodyWeightsKg, capacity);
+            }
+            styleOrdinals[size] = (byte) swimmingStyle.ordinal();
+            durationsMin[size] = durationMin;
+            bodyWeightsKg[size] = bodyWeightKg;
+            size++;
+            return this;
+        }
+
+        /**
+         * Builder không dùng lại được sau khi build (mảng được chuyển cho
+         * dataset)
+         */
+        public SwimSessionDataset build() {
+            if (styleOrdinals == null) {
+                throw new IllegalStateException("Builder has already been used");
+            }
+            SwimSessionDataset dataset = new SwimSessionDataset(styleOrdinals, durationsMin, bodyWeightsKg, size);
+            styleOrdinals = null;
+            durationsMin = null;
+            bodyWeightsKg = null;
+            return dataset;
+        }
+    }
+
+    /**
+     * Partial result của một đoạn dòng
+     */
+    private static final class Accumulator {
+        final long[] counts;
+        final double[] sums;
+        final double[] mins;
+        final double[] maxs;
+
+        Accumulator(int groupCount) {
+            counts = new long[groupCount];
+            sums = new double[groupCount];
+            mins = new double[groupCount];
+            maxs = new double[groupCount];
+            Arrays.fill(mins, Double.POSITIVE_INFINITY);
+            Arrays.fill(maxs, Double.NEGATIVE_INFINITY);
+        }
+
+        void merge(Accumulator other) {
+            for (int group = 0; group < counts.length; group++) {
+                counts[group] += other.counts[group];
+                sums[group] += other.sums[group];
+                mins[group] = Math.min(mins[group], other.mins[group]);
+                maxs[group] = Math.max(maxs[group], other.maxs[group]);
+            }
+        }
+    }
+
+    /**
+     * Chia đôi [from, to) đến khi <= LEAF_SIZE; cây chỉ phụ thuộc số dòng nên
+     * thứ tự cộng cố định
+     */
+    private final class AggregateTask extends RecursiveTask<Accumulator> {
+        private final Grouping grouping;
+        private final Measure measure;
+        private final int groupCount;
+        private final int from;
+        private final int to;
+
+        AggregateTask(Grouping grouping, Measure measure, int groupCount, int from, int to) {
+            this.grouping = grouping;
+            this.measure = measure;
+            this.groupCount = groupCount;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Accumulator compute() {
+            if (to - from <= LEAF_SIZE) {
+                Accumulator accumulator = new Accumulator(groupCount);
+                for (int row = from; row < to; row++) {
+                    int group = groupOf(grouping, row);
+                    double value = measureValue(measure, row);
+                    accumulator.counts[group]++;
+                    accumulator.sums[group] += value;
+                    accumulator.mins[group] = Math.min(accumulator.mins[group], value);
+                    accumulator.maxs[group] = Math.max(accumulator.maxs[group], value);
+                }
+                return accumulator;
+            }
+            int middle = (from + to) >>> 1;
+            AggregateTask left = new AggregateTask(grouping, measure, groupCount, from, middle);
+            AggregateTask right = new AggregateTask(grouping, measure, groupCount, middle, to);
+            right.fork();
+            Accumulator result = left.compute();
+            result.merge(right.join());
+            return result;
+        }
+    }
+
+    private static final class ChunkTask extends RecursiveAction {
+        private final IntConsumer action;
+        private final int from;
+        private final int to;
+
+        ChunkTask(IntConsumer action, int from, int to) {
+            this.action = action;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                action.accept(from);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ChunkTask(action, from, middle), new ChunkTask(action, middle, to));
+        }
+    }
+
+    /**
+     * Sort từng group [groupStarts[g], groupStarts[g + 1]) của mảng values
+     */
+    private static final class SortGroupsTask extends RecursiveAction {
+        private final double[] values;
+        private final int[] groupStarts;
+        private final int fromGroup;
+        private final int toGroup;
+
+        SortGroupsTask(double[] values, int[] groupStarts, int fromGroup, int toGroup) {
+            this.values = values;
+            this.groupStarts = groupStarts;
+            this.fromGroup = fromGroup;
+            this.toGroup = toGroup;
+        }
+
+        @Override
+        protected void compute() {
+            int rows = groupStarts[toGroup] - groupStarts[fromGroup];
+            if (toGroup - fromGroup > 1 && rows > LEAF_SIZE) {
+                int middle = (fromGroup + toGroup) >>> 1;
+                invokeAll(new SortGroupsTask(values, groupStarts, fromGroup, middle),
+                        new SortGroupsTask(values, groupStarts, middle, toGroup));
+                return;
+            }
+            for (int group = fromGroup; group < toGroup; group++) {
+                int from = groupStarts[group];
+                int to = groupStarts[group + 1];
+                if (to - from > LEAF_SIZE) {
+                    // Group lớn (ví dụ group theo style): merge sort song song
+                    Arrays.parallelSort(values, from, to);
+                } else {
+                    Arrays.sort(values, from, to);
+                }
+            }
+        }
+    }
+}
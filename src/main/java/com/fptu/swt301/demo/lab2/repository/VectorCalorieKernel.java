@@ -0,0 +1,84 @@
+package com.fptu.swt301.demo.lab2.repository;
+
+import com.fptu.swt301.demo.common.DecimalRounding;
+import com.fptu.swt301.demo.lab2.config.SwimmingConstants;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernel SIMD của BulkCalorieCalculator (Vector API, chỉ được load khi có
+ * module jdk.incubator.vector)
+ *
+ * Làm tròn giống DecimalRounding.round: floor được tính bằng cộng/trừ 2^52
+ * (làm tròn về số nguyên gần nhất) rồi chỉnh lại, sau đó cộng 1 nếu phần lẻ
+ * x - floor(x) (luôn tính chính xác) >= 0.5. Block có lane nằm ngoài |x| <
+ * 2^52, NaN, hoặc rơi đúng vào x.5 (cần phần dư của FMA) được tính bằng vòng
+ * lặp scalar.
+ */
+final class VectorCalorieKernel implements BulkCalorieCalculator.Kernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final double EXACT_INTEGER_LIMIT = 0x1p52;
+    private static final double MULTIPLIER = DecimalRounding.powerOfTen(SwimmingConstants.DECIMAL_PLACES);
+
+    @Override
+    public void calculate(int[] styleOrdinals, double[] durationsMin, double[] bodyWeightsKg,
+            double[] caloriesBurned, double[] caloriesPerMinute, int from, int to) {
+        double[] metValues = BulkCalorieCalculator.MET_VALUES;
+        int step = SPECIES.length();
+        int upper = from + SPECIES.loopBound(to - from);
+        int i = from;
+        for (; i < upper; i += step) {
+            DoubleVector met = DoubleVector.fromArray(SPECIES, metValues, 0, styleOrdinals, i);
+            DoubleVector weight = DoubleVector.fromArray(SPECIES, bodyWeightsKg, i);
+            DoubleVector duration = DoubleVector.fromArray(SPECIES, durationsMin, i);
+
+            DoubleVector perMinuteExact = met.mul(weight)
+                    .mul(SwimmingConstants.MET_CONVERSION_FACTOR)
+                    .div(SwimmingConstants.MET_DENOMINATOR);
+            DoubleVector perMinuteScaled = perMinuteExact.mul(MULTIPLIER);
+            DoubleVector totalScaled = perMinuteExact.mul(duration).mul(MULTIPLIER);
+
+            DoubleVector perMinuteFloor = floor(perMinuteScaled);
+            DoubleVector totalFloor = floor(totalScaled);
+            if (perMinuteFloor == null || totalFloor == null) {
+                BulkCalorieCalculator.calculateScalar(styleOrdinals, durationsMin, bodyWeightsKg, caloriesBurned,
+                        caloriesPerMinute, i, i + step);
+                continue;
+            }
+            DoubleVector perMinuteFraction = perMinuteScaled.sub(perMinuteFloor);
+            DoubleVector totalFraction = totalScaled.sub(totalFloor);
+            if (perMinuteFraction.compare(VectorOperators.EQ, 0.5)
+                    .or(totalFraction.compare(VectorOperators.EQ, 0.5)).anyTrue()) {
+                BulkCalorieCalculator.calculateScalar(styleOrdinals, durationsMin, bodyWeightsKg, caloriesBurned,
+                        caloriesPerMinute, i, i + step);
+                continue;
+            }
+
+            perMinuteFloor.add(1.0, perMinuteFraction.compare(VectorOperators.GT, 0.5))
+                    .div(MULTIPLIER)
+                    .intoArray(caloriesPerMinute, i);
+            totalFloor.add(1.0, totalFraction.compare(VectorOperators.GT, 0.5))
+                    .div(MULTIPLIER)
+                    .intoArray(caloriesBurned, i);
+        }
+        BulkCalorieCalculator.calculateScalar(styleOrdinals, durationsMin, bodyWeightsKg, caloriesBurned,
+                caloriesPerMinute, i, to);
+    }
+
+    /**
+     * floor(x) cho từng lane, null nếu có lane ngoài |x| < 2^52 hoặc NaN
+     */
+    private static DoubleVector floor(DoubleVector x) {
+        if (!x.abs().compare(VectorOperators.LT, EXACT_INTEGER_LIMIT).allTrue()) {
+            return null;
+        }
+        VectorMask<Double> negative = x.compare(VectorOperators.LT, 0.0);
+        DoubleVector shift = DoubleVector.broadcast(SPECIES, EXACT_INTEGER_LIMIT).blend(-EXACT_INTEGER_LIMIT,
+                negative);
+        DoubleVector nearest = x.add(shift).sub(shift);
+        return nearest.sub(1.0, nearest.compare(VectorOperators.GT, x));
+    }
+}
@@ -1,6 +1,7 @@
 package com.fptu.swt301.demo.lab2.service;
 
-import java.text.DecimalFormat;
+import com.fptu.swt301.demo.common.FixedPointFormatter;
+
 import java.text.DecimalFormatSymbols;
 import java.util.Locale;
 
@@ -11,23 +12,39 @@ import java.util.Locale;
  * - Calories per minute: 2 chữ số thập phân (ví dụ: 16.91)
  * - Total calories: có thể hiển thị nhiều chữ số thập phân hơn (ví dụ: 0.16905)
  * - Sử dụng dấu phẩy (,) cho số thập phân trong một số locale
+ *
+ * Các formatter thread-safe, cho kết quả giống DecimalFormat với pattern
+ * tương ứng; caller có thể ghi thẳng vào StringBuilder / Appendable / byte[]
+ * qua FixedPointFormatter.formatTo.
  */
 public class CalorieFormatter {
 
-    private static final DecimalFormat DECIMAL_FORMAT_2 = new DecimalFormat("0.00");
-    private static final DecimalFormat DECIMAL_FORMAT_5 = new DecimalFormat("0.#####");
+    /**
+     * Pattern "0.00", symbols của locale mặc định
+     */
+    public static final FixedPointFormatter DECIMAL_2 = new FixedPointFormatter(2, 2,
+            DecimalFormatSymbols.getInstance());
+
+    /**
+     * Pattern "0.#####", symbols của locale mặc định
+     */
+    public static final FixedPointFormatter DECIMAL_5 = new FixedPointFormatter(0, 5,
+            DecimalFormatSymbols.getInstance());
 
     // Format với dấu phẩy (European format) - giống web production
-    private static final DecimalFormat DECIMAL_FORMAT_EUROPEAN_2;
-    private static final DecimalFormat DECIMAL_FORMAT_EUROPEAN_5;
+    public static final FixedPointFormatter EUROPEAN_2;
+    public static final FixedPointFormatter EUROPEAN_5;
+
+    private static final String UNIT_SUFFIX = " kcal";
+    private static final String PER_MINUTE_UNIT_SUFFIX = " kcal/min";
 
     static {
         DecimalFormatSymbols symbols = new DecimalFormatSymbols(Locale.GERMAN);
         symbols.setDecimalSeparator(',');
         symbols.setGroupingSeparator('.');
 
-        DECIMAL_FORMAT_EUROPEAN_2 = new DecimalFormat("0.00", symbols);
-        DECIMAL_FORMAT_EUROPEAN_5 = new DecimalFormat("0.#####", symbols);
+        EUROPEAN_2 = new FixedPointFormatter(2, 2, symbols);
+        EUROPEAN_5 = new FixedPointFormatter(0, 5, symbols);
     }
 
     /**
@@ -37,7 +54,7 @@ public class CalorieFormatter {
      * @return Formatted string (ví dụ: "16.91" hoặc "16,91")
      */
     public static String formatCaloriesPerMinute(double caloriesPerMinute) {
-        return DECIMAL_FORMAT_2.format(caloriesPerMinute);
+        return DECIMAL_2.format(caloriesPerMinute);
     }
 
     /**
@@ -47,7 +64,7 @@ public class CalorieFormatter {
      * @return Formatted string (ví dụ: "507.15")
      */
     public static String formatTotalCalories(double totalCalories) {
-        return DECIMAL_FORMAT_2.format(totalCalories);
+        return DECIMAL_2.format(totalCalories);
     }
 
     /**
@@ -59,7 +76,7 @@ public class CalorieFormatter {
      * @return Formatted string (ví dụ: "0.16905")
      */
     public static String formatTotalCaloriesDetailed(double totalCalories) {
-        return DECIMAL_FORMAT_5.format(totalCalories);
+        return DECIMAL_5.format(totalCalories);
     }
 
     /**
@@ -69,7 +86,7 @@ public class CalorieFormatter {
      * @return Formatted string với dấu phẩy (ví dụ: "16,91")
      */
     public static String formatCaloriesPerMinuteEuropean(double caloriesPerMinute) {
-        return DECIMAL_FORMAT_EUROPEAN_2.format(caloriesPerMinute);
+        return EUROPEAN_2.format(caloriesPerMinute);
     }
 
     /**
@@ -80,7 +97,7 @@ public class CalorieFormatter {
      * @return Formatted string với dấu phẩy (ví dụ: "0,16905")
      */
     public static String formatTotalCaloriesEuropean(double totalCalories) {
-        return DECIMAL_FORMAT_EUROPEAN_5.format(totalCalories);
+        return EUROPEAN_5.format(totalCalories);
     }
 
     /**
@@ -91,10 +108,34 @@ public class CalorieFormatter {
      * @return Formatted string với unit (ví dụ: "507.15 kcal" hoặc "507,15 kcal")
      */
     public static String formatWithUnit(double calories, boolean useEuropeanFormat) {
-        if (useEuropeanFormat) {
-            return formatTotalCaloriesEuropean(calories) + " kcal";
-        } else {
-            return formatTotalCalories(calories) + " kcal";
-        }
+        FixedPointFormatter formatter = useEuropeanFormat ? EUROPEAN_5 : DECIMAL_2;
+        return formatter.formatTo(calories, new StringBuilder(24)).append(UNIT_SUFFIX).toString();
+    }
+
+    /**
+     * Format calories per minute (2 chữ số thập phân) với unit
+     *
+     * @param caloriesPerMinute Calories per minute
+     * @param useEuropeanFormat Sử dụng format châu Âu (dấu phẩy)
+     * @return Formatted string với unit (ví dụ: "16.91 kcal/min" hoặc "16,91
+     *         kcal/min")
+     */
+    public static String formatCaloriesPerMinuteWithUnit(double caloriesPerMinute, boolean useEuropeanFormat) {
+        FixedPointFormatter formatter = useEuropeanFormat ? EUROPEAN_2 : DECIMAL_2;
+        return formatter.formatTo(caloriesPerMinute, new StringBuilder(24)).append(PER_MINUTE_UNIT_SUFFIX)
+                .toString();
+    }
+
+    /**
+     * Format total calories (tối đa 5 chữ số thập phân) với unit
+     *
+     * @param totalCalories     Total calories burned
+     * @param useEuropeanFormat Sử dụng format châu Âu (dấu phẩy)
+     * @return Formatted string với unit (ví dụ: "0.16905 kcal" hoặc "0,16905
+     *         kcal")
+     */
+    public static String formatDetailedWithUnit(double totalCalories, boolean useEuropeanFormat) {
+        FixedPointFormatter formatter = useEuropeanFormat ? EUROPEAN_5 : DECIMAL_5;
+        return formatter.formatTo(totalCalories, new StringBuilder(24)).append(UNIT_SUFFIX).toString();
     }
 }
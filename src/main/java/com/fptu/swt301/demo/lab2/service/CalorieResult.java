@@ -0,0 +1,114 @@
+package com.fptu.swt301.demo.lab2.service;
+
+import com.fptu.swt301.demo.lab2.domain.model.CalorieCalculationRequest;
+import com.fptu.swt301.demo.lab2.repository.CalorieCalculationRepository.CalculationResult;
+
+/**
+ * Kết quả immutable của SwimmingCalorieService.calculateAll
+ *
+ * Giá trị số có sẵn từ một lần tính của repository; chuỗi formatted (giống
+ * các method formatted của service) chỉ được tạo ở lần gọi đầu tiên rồi dùng
+ * lại. Cache không đồng bộ: hai thread có thể cùng format một lần, nhưng
+ * String immutable nên luôn thấy giá trị đúng.
+ */
+public final class CalorieResult {
+
+    private static final int BURNED = 0;
+    private static final int PER_MINUTE = 2;
+    private static final int DETAILED = 4;
+
+    private final CalculationResult values;
+
+    // Chỉ số: loại format + 1 nếu European format
+    private final String[] formatted = new String[6];
+
+    /**
+     * @throws IllegalArgumentException nếu values null
+     */
+    public CalorieResult(CalculationResult values) {
+        if (values == null) {
+            throw new IllegalArgumentException("Calculation result cannot be null");
+        }
+        this.values = values;
+    }
+
+    public CalorieCalculationRequest getRequest() {
+        return values.getRequest();
+    }
+
+    /**
+     * @return Total calories burned (rounded to 2 decimal places)
+     */
+    public double getCaloriesBurned() {
+        return values.getCaloriesBurned();
+    }
+
+    /**
+     * @return Total calories burned (không làm tròn)
+     */
+    public double getCaloriesBurnedExact() {
+        return values.getCaloriesBurnedExact();
+    }
+
+    /**
+     * @return Calories per minute (rounded to 2 decimal places)
+     */
+    public double getCaloriesPerMinute() {
+        return values.getCaloriesPerMinute();
+    }
+
+    /**
+     * @return Calories per minute (không làm tròn)
+     */
+    public double getCaloriesPerMinuteExact() {
+        return values.getCaloriesPerMinuteExact();
+    }
+
+    /**
+     * @return Giống calculateCaloriesBurnedFormatted (ví dụ: "507.15 kcal")
+     */
+    public String getCaloriesBurnedFormatted(boolean useEuropeanFormat) {
+        int index = BURNED + (useEuropeanFormat ? 1 : 0);
+        String result = formatted[index];
+        if (result == null) {
+            result = CalorieFormatter.formatWithUnit(values.getCaloriesBurned(), useEuropeanFormat);
+            formatted[index] = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return Giống calculateCaloriesPerMinuteFormatted (ví dụ: "16.91
+     *         kcal/min")
+     */
+    public String getCaloriesPerMinuteFormatted(boolean useEuropeanFormat) {
+        int index = PER_MINUTE + (useEuropeanFormat ? 1 : 0);
+        String result = formatted[index];
+        if (result == null) {
+            result = CalorieFormatter.formatCaloriesPerMinuteWithUnit(values.getCaloriesPerMinute(),
+                    useEuropeanFormat);
+            formatted[index] = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return Giống calculateCaloriesBurnedDetailedFormatted (ví dụ: "0.16905
+     *         kcal")
+     */
+    public String getCaloriesBurnedDetailedFormatted(boolean useEuropeanFormat) {
+        int index = DETAILED + (useEuropeanFormat ? 1 : 0);
+        String result = formatted[index];
+        if (result == null) {
+            result = CalorieFormatter.formatDetailedWithUnit(values.getCaloriesBurned(), useEuropeanFormat);
+            formatted[index] = result;
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "CalorieResult{" + getCaloriesBurnedFormatted(false) + ", " + getCaloriesPerMinuteFormatted(false)
+                + "}";
+    }
+}
@@ -81,6 +81,22 @@ public class SwimmingCalorieService {
         return calculateCaloriesBurned(request);
     }
 
+    /**
+     * Tính tất cả giá trị (exact, đã làm tròn, per minute, formatted) từ một
+     * lần tính của repository, ghi lịch sử tối đa một lần
+     *
+     * Dùng thay cho việc gọi lần lượt calculateCaloriesBurned,
+     * calculateCaloriesBurnedExact, calculateCaloriesPerMinute và các method
+     * formatted (mỗi method tính lại công thức, method làm tròn còn ghi thêm
+     * lịch sử).
+     *
+     * @param request Calorie calculation request
+     * @return Kết quả immutable, các chuỗi formatted được tạo khi cần
+     */
+    public CalorieResult calculateAll(CalorieCalculationRequest request) {
+        return new CalorieResult(repository.calculateAll(request));
+    }
+
     /**
      * Lấy lịch sử tính toán từ repository
      * 
@@ -150,10 +166,7 @@ public class SwimmingCalorieService {
      */
     public String calculateCaloriesPerMinuteFormatted(CalorieCalculationRequest request, boolean useEuropeanFormat) {
         double caloriesPerMin = calculateCaloriesPerMinute(request);
-        String formatted = useEuropeanFormat
-                ? CalorieFormatter.formatCaloriesPerMinuteEuropean(caloriesPerMin)
-                : CalorieFormatter.formatCaloriesPerMinute(caloriesPerMin);
-        return formatted + " kcal/min";
+        return CalorieFormatter.formatCaloriesPerMinuteWithUnit(caloriesPerMin, useEuropeanFormat);
     }
 
     /**
@@ -168,9 +181,6 @@ public class SwimmingCalorieService {
     public String calculateCaloriesBurnedDetailedFormatted(CalorieCalculationRequest request,
             boolean useEuropeanFormat) {
         double calories = calculateCaloriesBurned(request);
-        String formatted = useEuropeanFormat
-                ? CalorieFormatter.formatTotalCaloriesEuropean(calories)
-                : CalorieFormatter.formatTotalCaloriesDetailed(calories);
-        return formatted + " kcal";
+        return CalorieFormatter.formatDetailedWithUnit(calories, useEuropeanFormat);
     }
 }
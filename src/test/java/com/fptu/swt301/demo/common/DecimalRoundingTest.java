@@ -0,0 +1,122 @@
+package com.fptu.swt301.demo.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class cho DecimalRounding (fast path + exact decimal mode)
+ */
+@DisplayName("DecimalRounding Tests")
+public class DecimalRoundingTest {
+
+    @Test
+    @DisplayName("Power-of-ten table matches Math.pow")
+    void testPowersOfTen() {
+        for (int i = 0; i <= DecimalRounding.MAX_DECIMAL_PLACES; i++) {
+            assertEquals(Math.pow(10, i), DecimalRounding.powerOfTen(i));
+        }
+        assertThrows(IllegalArgumentException.class, () -> DecimalRounding.round(1.0, -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> DecimalRounding.roundExact(1.0, DecimalRounding.MAX_DECIMAL_PLACES + 1));
+    }
+
+    @Test
+    @DisplayName("round is correctly rounded where Math.round(value * 10^n) is not")
+    void testRoundFixesMultiplicationTies() {
+        // value * 100 làm tròn lên đúng x.5 dù giá trị thực nhỏ hơn x.5
+        assertEquals(418.48, legacyRound(418.47499999999997, 2));
+        assertEquals(418.47, DecimalRounding.round(418.47499999999997, 2));
+        assertEquals(708.21, legacyRound(708.2049999999999, 2));
+        assertEquals(708.2, DecimalRounding.round(708.2049999999999, 2));
+
+        assertEquals(2.0, DecimalRounding.round(1.5, 0));
+        assertEquals(-1.0, DecimalRounding.round(-1.5, 0));
+        assertEquals(0.0, DecimalRounding.round(-0.0, 2));
+        assertEquals(0.0, DecimalRounding.round(-0.001, 2));
+        assertEquals(1e300, DecimalRounding.round(1e300, 2));
+        assertTrue(Double.isNaN(DecimalRounding.round(Double.NaN, 2)));
+    }
+
+    @Test
+    @DisplayName("round matches exact binary rounding and otherwise the legacy formula")
+    void testRoundMatchesReference() {
+        Random random = new Random(20L);
+        for (int i = 0; i < 200_000; i++) {
+            int places = random.nextInt(6);
+            double value = randomValue(random);
+            double expected = binaryReference(value, places);
+            double actual = DecimalRounding.round(value, places);
+            assertEquals(expected, actual, () -> value + " to " + places + " places");
+
+            double scaled = value * DecimalRounding.powerOfTen(places);
+            if (scaled - Math.floor(scaled) != 0.5) {
+                assertEquals(legacyRound(value, places), actual, () -> value + " to " + places + " places");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("roundExact and toScaledLong round the displayed decimal value half-up")
+    void testExactMode() {
+        assertEquals(1.0, legacyRound(1.005, 2));
+        assertEquals(1.01, DecimalRounding.roundExact(1.005, 2));
+        assertEquals(2.68, DecimalRounding.roundExact(2.675, 2));
+        assertEquals(-1.01, DecimalRounding.roundExact(-1.005, 2));
+        assertEquals(1235L, DecimalRounding.toScaledLong(12.345, 2));
+        assertEquals(-1235L, DecimalRounding.toScaledLong(-12.345, 2));
+        assertEquals(12L, DecimalRounding.toScaledLong(12.3, 0));
+        assertThrows(IllegalArgumentException.class, () -> DecimalRounding.toScaledLong(Double.NaN, 2));
+        assertThrows(ArithmeticException.class, () -> DecimalRounding.toScaledLong(1e300, 2));
+        assertEquals(Double.POSITIVE_INFINITY, DecimalRounding.roundExact(Double.POSITIVE_INFINITY, 2));
+
+        Random random = new Random(21L);
+        for (int i = 0; i < 200_000; i++) {
+            int places = random.nextInt(5);
+            double value = random.nextBoolean()
+                    // Giá trị thập phân nằm đúng ranh giới x.xx5
+                    ? Double.parseDouble((random.nextBoolean() ? "-" : "") + random.nextInt(100_000) + "."
+                            + String.format("%0" + (places + 1) + "d", random.nextInt((int) Math.pow(10, places)) * 10 + 5))
+                    : randomValue(random);
+            BigDecimal expected = BigDecimal.valueOf(value).setScale(places, RoundingMode.HALF_UP);
+            assertEquals(expected.doubleValue(), DecimalRounding.roundExact(value, places),
+                    () -> value + " to " + places + " places");
+            assertEquals(expected.unscaledValue().longValueExact(), DecimalRounding.toScaledLong(value, places),
+                    () -> value + " to " + places + " places");
+        }
+    }
+
+    private static double randomValue(Random random) {
+        switch (random.nextInt(4)) {
+            case 0:
+                // Sát ranh giới x.xx5
+                return Math.nextDown((random.nextInt(1_000_000) + 0.5) / 100.0);
+            case 1:
+                return (random.nextDouble() - 0.5) * 2e-3;
+            default:
+                return (random.nextDouble() - 0.3) * Math.pow(10, random.nextInt(8));
+        }
+    }
+
+    /**
+     * floor(value * 10^n + 0.5) / 10^n tính trên giá trị nhị phân chính xác
+     */
+    private static double binaryReference(double value, int places) {
+        BigDecimal scaled = new BigDecimal(value).movePointRight(places);
+        long rounded = scaled.add(new BigDecimal("0.5")).setScale(0, RoundingMode.FLOOR).longValueExact();
+        return rounded / Math.pow(10, places) + 0.0;
+    }
+
+    /**
+     * Công thức roundToDecimalPlaces trước đây
+     */
+    private static double legacyRound(double value, int places) {
+        double multiplier = Math.pow(10, places);
+        return Math.round(value * multiplier) / multiplier;
+    }
+}
@@ -0,0 +1,146 @@
+package com.fptu.swt301.demo.common;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class cho FixedPointFormatter (so sánh với DecimalFormat)
+ */
+@DisplayName("FixedPointFormatter Tests")
+public class FixedPointFormatterTest {
+
+    private static final String[] PATTERNS = { "0", "0.00", "0.#####", "0.0##", "0.###############" };
+
+    @Test
+    @DisplayName("Same output as DecimalFormat for every output target")
+    void testMatchesDecimalFormat() throws IOException {
+        DecimalFormatSymbols european = new DecimalFormatSymbols(Locale.GERMAN);
+        european.setDecimalSeparator(',');
+        List<Double> values = sampleValues();
+
+        for (DecimalFormatSymbols symbols : new DecimalFormatSymbols[] { DecimalFormatSymbols.getInstance(Locale.US),
+                european }) {
+            for (String pattern : PATTERNS) {
+                DecimalFormat expectedFormat = new DecimalFormat(pattern, symbols);
+                FixedPointFormatter formatter = forPattern(pattern, symbols);
+                StringBuilder builder = new StringBuilder("x");
+                byte[] buffer = new byte[512];
+                for (double value : values) {
+                    String expected = expectedFormat.format(value);
+                    String message = pattern + " " + value;
+                    assertEquals(expected, formatter.format(value), message);
+
+                    builder.setLength(1);
+                    assertEquals("x" + expected, formatter.formatTo(value, builder).toString(), message);
+                    assertEquals(expected, formatter.formatTo(value, new StringWriter()).toString(), message);
+                    int end = formatter.formatTo(value, buffer, 3);
+                    assertEquals(expected, new String(buffer, 3, end - 3, StandardCharsets.UTF_8), message);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Non-ASCII symbols, NaN and infinity fall back to DecimalFormat")
+    void testFallback() {
+        DecimalFormatSymbols arabic = DecimalFormatSymbols.getInstance(Locale.forLanguageTag("ar-EG"));
+        FixedPointFormatter formatter = new FixedPointFormatter(2, 2, arabic);
+        assertEquals(new DecimalFormat("0.00", arabic).format(-12.345), formatter.format(-12.345));
+
+        FixedPointFormatter ascii = new FixedPointFormatter(2, 2, DecimalFormatSymbols.getInstance(Locale.US));
+        DecimalFormat expected = new DecimalFormat("0.00", DecimalFormatSymbols.getInstance(Locale.US));
+        for (double value : new double[] { Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY }) {
+            assertEquals(expected.format(value), ascii.format(value));
+            byte[] buffer = new byte[8];
+            int end = ascii.formatTo(value, buffer, 0);
+            assertEquals(expected.format(value), new String(buffer, 0, end, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    @DisplayName("Invalid arguments and small buffers are rejected")
+    void testInvalidArguments() {
+        DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(Locale.US);
+        assertThrows(IllegalArgumentException.class, () -> new FixedPointFormatter(3, 2, symbols));
+        assertThrows(IllegalArgumentException.class, () -> new FixedPointFormatter(-1, 2, symbols));
+        assertThrows(IllegalArgumentException.class,
+                () -> new FixedPointFormatter(0, FixedPointFormatter.MAX_FRACTION_DIGITS + 1, symbols));
+        assertThrows(IllegalArgumentException.class, () -> new FixedPointFormatter(0, 2, null));
+
+        FixedPointFormatter formatter = new FixedPointFormatter(2, 2, symbols);
+        byte[] buffer = new byte[6];
+        assertThrows(IndexOutOfBoundsException.class, () -> formatter.formatTo(123.45, buffer, 1));
+        assertEquals(6, formatter.formatTo(123.45, buffer, 0));
+    }
+
+    @Test
+    @DisplayName("Shared instance gives correct output under concurrency")
+    void testConcurrentUse() throws Exception {
+        FixedPointFormatter formatter = new FixedPointFormatter(0, 5, DecimalFormatSymbols.getInstance(Locale.US));
+        List<Double> values = sampleValues();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    DecimalFormat expected = new DecimalFormat("0.#####", DecimalFormatSymbols.getInstance(Locale.US));
+                    for (double value : values) {
+                        // NaN dùng DecimalFormat của từng thread
+                        double input = Double.compare(value, 0.5) == 0 ? Double.NaN : value;
+                        assertEquals(expected.format(input), formatter.format(input));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static FixedPointFormatter forPattern(String pattern, DecimalFormatSymbols symbols) {
+        int separator = pattern.indexOf('.');
+        if (separator < 0) {
+            return new FixedPointFormatter(0, 0, symbols);
+        }
+        String fraction = pattern.substring(separator + 1);
+        return new FixedPointFormatter(fraction.replace("#", "").length(), fraction.length(), symbols);
+    }
+
+    private static List<Double> sampleValues() {
+        List<Double> values = new ArrayList<>(Arrays.asList(0.0, -0.0, 0.5, 1.5, 2.5, -2.5, 0.125, 0.135, 0.005,
+                16.905, 0.16905, 507.15, 1449.0, 0.7245, 1e-300, 4.9e-324, 123456789.987654321, 1e15, 4.5e15,
+                Double.MAX_VALUE, -Double.MAX_VALUE));
+        Random random = new Random(22L);
+        for (int i = 0; i < 20_000; i++) {
+            int places = random.nextInt(7);
+            double boundary = (random.nextInt(2_000_000) * 10 + 5) / Math.pow(10, places + 1);
+            values.add(boundary);
+            values.add(Math.nextUp(boundary));
+            values.add(Math.nextDown(boundary));
+            // x.5 nhị phân chính xác (tie thật)
+            values.add(random.nextInt(1 << 20) / 1024.0);
+            values.add((random.nextDouble() - 0.2) * Math.pow(10, random.nextInt(16)));
+            values.add(-random.nextDouble() * 1e-4);
+        }
+        return values;
+    }
+}
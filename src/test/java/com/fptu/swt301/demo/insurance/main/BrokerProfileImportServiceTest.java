@@ -0,0 +1,180 @@
+package com.fptu.swt301.demo.insurance.main;
+
+import com.fptu.swt301.demo.insurance.domain.model.BrokerProfile;
+import com.fptu.swt301.demo.insurance.domain.model.ProfileImportResult;
+import com.fptu.swt301.demo.insurance.domain.model.ProfileImportResult.Stage;
+import com.fptu.swt301.demo.insurance.exception.ValidationException;
+import com.fptu.swt301.demo.insurance.repository.ConcurrentBrokerProfileRepository;
+import com.fptu.swt301.demo.insurance.service.BrokerProfileImportService;
+import com.fptu.swt301.demo.insurance.service.validator.ProfileValidator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class cho BrokerProfileImportService (bulk CSV import pipeline)
+ */
+@DisplayName("Broker Profile Import Service Tests")
+public class BrokerProfileImportServiceTest {
+
+    private static final String HEADER = "userId,title,firstName,surname,phone,dateOfBirth,licenseType,"
+            + "licensePeriod,occupation,street,city,county,postCode";
+
+    private ConcurrentBrokerProfileRepository repository;
+    private BrokerProfileImportService importService;
+
+    @BeforeEach
+    public void setUp() {
+        repository = new ConcurrentBrokerProfileRepository();
+        importService = new BrokerProfileImportService(repository, new ProfileValidator(), 4, 8);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        importService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Bundled test data: invalid rows are reported per stage without aborting the import")
+    void testImportBundledTestData() throws Exception {
+        StringWriter report = new StringWriter();
+        ProfileImportResult result;
+        try (Reader reader = new InputStreamReader(
+                getClass().getResourceAsStream("/insurance/broker_profile_test_data.csv"),
+                StandardCharsets.UTF_8)) {
+            result = importService.importCsv(reader, report);
+        }
+
+        assertEquals(28, result.getRowsRead());
+        assertEquals(result.getRowsRead(), result.getImportedCount() + result.getRejectedCount());
+        assertEquals(repository.count(), result.getImportedCount());
+        assertTrue(result.getRowsPerSecond() > 0);
+
+        List<String> lines = Arrays.asList(report.toString().split("\n"));
+        assertEquals(BrokerProfileImportService.ERROR_REPORT_HEADER, lines.get(0));
+        assertEquals(result.getRejectedCount() + 1, lines.size());
+        assertTrue(lines.stream().anyMatch(line -> line.contains("Title must be one of")));
+        assertTrue(result.getRejectedCount(Stage.BUILD) > 0, "Invalid phone numbers are rejected");
+        assertTrue(result.getRejectedCount(Stage.VALIDATE) > 0, "Invalid titles and ages are rejected");
+        assertTrue(result.getRejectedCount(Stage.PERSIST) > 0, "Repeated user IDs are rejected");
+    }
+
+    @Test
+    @DisplayName("Each stage reports its own errors with the file line number")
+    void testRejectedRowsPerStage() throws Exception {
+        String csv = "# comment\n"
+                + HEADER + "\n"
+                + "\n"
+                + "SE1,Mr,Nguyen,Dan Huy,0912345678,1990-01-15,Full,5,Student,1 Road,Hanoi,Hanoi,100000\n"
+                + "SE2,Mr,Nguyen,Dan Huy,0912345678,1990-02-30,Full,x,Student,,,,\n"
+                + "SE3,Mr,Nguyen,Dan Huy,12345,1990-01-15,Learner,5,Student,,,,\n"
+                + "SE4,King,,Dan Huy,0912345678,1990-01-15,Full,5,Student,,,,\n"
+                + "SE1,Mrs,Pham,Thu Phuong,0987654321,1990-03-20,Full,3,Student,,,,\n"
+                + "SE5,Mr,Nguyen,Dan Huy\n";
+
+        StringWriter report = new StringWriter();
+        ProfileImportResult result = importService.importCsv(new StringReader(csv), report);
+
+        assertEquals(6, result.getRowsRead());
+        assertEquals(1, result.getImportedCount());
+        assertEquals(2, result.getRejectedCount(Stage.PARSE));
+        assertEquals(1, result.getRejectedCount(Stage.BUILD));
+        assertEquals(1, result.getRejectedCount(Stage.VALIDATE));
+        assertEquals(1, result.getRejectedCount(Stage.PERSIST));
+
+        String[] lines = report.toString().split("\n");
+        assertEquals(6, lines.length);
+        assertTrue(lines[1].startsWith("5,SE2,PARSE,"));
+        assertTrue(lines[1].contains("License period must be a whole number"));
+        assertTrue(lines[1].contains("Date of birth must be a valid date"));
+        assertTrue(lines[2].startsWith("6,SE3,BUILD,"));
+        assertTrue(lines[2].contains("License type must be 'Full' or 'Provisional'"));
+        assertTrue(lines[3].startsWith("7,SE4,VALIDATE,\""), "Errors containing commas are quoted");
+        assertTrue(lines[3].contains("First name is required"));
+        assertTrue(lines[4].startsWith("8,SE1,PERSIST,"));
+        assertTrue(lines[5].startsWith("9,SE5,PARSE,Expected 13 columns but found 4"));
+
+        BrokerProfile imported = repository.findByUserId("SE1").orElseThrow();
+        assertEquals("Nguyen", imported.getFirstName());
+        assertEquals("1 Road", imported.getStreet());
+    }
+
+    @Test
+    @DisplayName("Columns are mapped by header name and missing required columns are rejected")
+    void testHeaderMapping() throws Exception {
+        String reordered = "occupation,licensePeriod,licenseType,dateOfBirth,phone,surname,firstName,title,userId\n"
+                + "Student,2,Provisional,1995-05-05,,Tran,Minh,Ms,SE9\n";
+        ProfileImportResult result = importService.importCsv(new StringReader(reordered), null);
+        assertEquals(1, result.getImportedCount());
+        BrokerProfile profile = repository.findByUserId("SE9").orElseThrow();
+        assertEquals("Provisional", profile.getLicenseType());
+        assertNull(profile.getAddress());
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> importService.importCsv(new StringReader("userId,title\nSE1,Mr\n"), null));
+        assertEquals(7, exception.getErrorCount());
+        assertThrows(ValidationException.class, () -> importService.importCsv(new StringReader("# only\n"), null));
+    }
+
+    @Test
+    @DisplayName("Large streamed input keeps file order for duplicates across parallel chunks")
+    void testLargeStreamedImport() throws Exception {
+        int rows = 200_000;
+        ProfileImportResult result = importService.importCsv(new GeneratedCsvReader(rows), null);
+
+        assertEquals(rows, result.getRowsRead());
+        // Mỗi userId xuất hiện hai lần (i và i + rows / 2), dòng đầu tiên được giữ
+        assertEquals(rows / 2, result.getImportedCount());
+        assertEquals(rows / 2, result.getRejectedCount(Stage.PERSIST));
+        assertEquals("Student", repository.findByUserId("SE0").orElseThrow().getOccupation());
+        assertEquals("Student", repository.findByUserId("SE" + (rows / 2 - 1)).orElseThrow().getOccupation());
+    }
+
+    /**
+     * Reader sinh CSV theo yêu cầu, không giữ toàn bộ nội dung trong bộ nhớ
+     */
+    private static final class GeneratedCsvReader extends Reader {
+        private final int rows;
+        private int row = -1;
+        private String current = HEADER + "\n";
+        private int position;
+
+        GeneratedCsvReader(int rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position == current.length()) {
+                row++;
+                if (row >= rows) {
+                    return -1;
+                }
+                int id = row % (rows / 2);
+                String occupation = row < rows / 2 ? "Student" : "Engineer";
+                current = "SE" + id + ",Mr,Nguyen,Dan Huy,0912345678,1990-01-15,Full,5," + occupation
+                        + ",1 Road,Hanoi,Hanoi,100000\n";
+                position = 0;
+            }
+            int count = Math.min(length, current.length() - position);
+            current.getChars(position, position + count, buffer, offset);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.fptu.swt301.demo.insurance.main;
+
+import com.fptu.swt301.demo.insurance.domain.model.BrokerProfile;
+import com.fptu.swt301.demo.insurance.repository.ConcurrentBrokerProfileRepository;
+import com.fptu.swt301.demo.insurance.service.BrokerProfileService;
+import com.fptu.swt301.demo.insurance.service.validator.ProfileValidator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress test cho ConcurrentBrokerProfileRepository và create/update path của
+ * BrokerProfileService khi có nhiều thread đồng thời
+ */
+@DisplayName("Concurrent Broker Profile Repository Tests")
+public class ConcurrentBrokerProfileRepositoryTest {
+
+    private static final int THREADS = 64;
+    private static final int PROFILES = 200;
+
+    private ExecutorService executor;
+    private ConcurrentBrokerProfileRepository repository;
+    private BrokerProfileService service;
+
+    @BeforeEach
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+        repository = new ConcurrentBrokerProfileRepository();
+        service = new BrokerProfileService(repository, new ProfileValidator());
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+
+    private static BrokerProfile profile(String userId, String occupation) {
+        return BrokerProfile.builder()
+                .userId(userId)
+                .title("Mr")
+                .firstName("Nguyen")
+                .surname("Dan Huy")
+                .phone("0987654321")
+                .dateOfBirth(LocalDate.of(1990, 3, 20))
+                .licenseType("Full")
+                .licensePeriod(5)
+                .occupation(occupation)
+                .street("123 Oxford Street")
+                .city("Hanoi")
+                .county("Hanoi")
+                .postCode("100000")
+                .build();
+    }
+
+    /**
+     * Chạy tất cả task cùng lúc (chờ latch) và đợi hoàn tất
+     */
+    private void runConcurrently(List<Callable<Void>> tasks) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Void>> futures = new ArrayList<>();
+        for (Callable<Void> task : tasks) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+        for (Future<Void> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent creates of the same user IDs succeed exactly once per ID")
+    void testNoDuplicateCreates() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            tasks.add(() -> {
+                for (int i = 0; i < PROFILES; i++) {
+                    if (service.createProfile(profile("SE" + i, "Student"))) {
+                        created.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        runConcurrently(tasks);
+
+        assertEquals(PROFILES, created.get());
+        assertEquals(PROFILES, service.getProfileCount());
+    }
+
+    @Test
+    @DisplayName("Concurrent creates of distinct user IDs are never lost")
+    void testNoLostCreates() throws Exception {
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            tasks.add(() -> {
+                for (int i = 0; i < PROFILES; i++) {
+                    assertTrue(service.createProfile(profile("T" + thread + "-" + i, "Student")));
+                }
+                return null;
+            });
+        }
+        runConcurrently(tasks);
+
+        assertEquals(THREADS * PROFILES, service.getProfileCount());
+        for (int t = 0; t < THREADS; t++) {
+            assertTrue(service.profileExists("T" + t + "-" + (PROFILES - 1)));
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent updates keep one of the written versions and never resurrect deleted profiles")
+    void testUpdatesRacingWithDeletes() throws Exception {
+        for (int i = 0; i < PROFILES; i++) {
+            assertTrue(service.createProfile(profile("SE" + i, "Student")));
+        }
+
+        AtomicInteger updated = new AtomicInteger();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            tasks.add(() -> {
+                String occupation = thread % 2 == 0 ? "Engineer" : "Teacher";
+                for (int i = 0; i < PROFILES; i++) {
+                    if (service.updateProfile(profile("SE" + i, occupation))) {
+                        updated.incrementAndGet();
+                    }
+                    // Một thread xoá các profile lẻ trong khi các thread khác đang update
+                    if (thread == 0 && i % 2 == 1) {
+                        assertTrue(service.deleteProfile("SE" + i));
+                    }
+                }
+                return null;
+            });
+        }
+        runConcurrently(tasks);
+
+        assertEquals(PROFILES / 2, service.getProfileCount());
+        for (int i = 0; i < PROFILES; i++) {
+            if (i % 2 == 1) {
+                assertFalse(service.profileExists("SE" + i));
+                assertFalse(service.updateProfile(profile("SE" + i, "Student")));
+            } else {
+                String occupation = service.viewProfile("SE" + i).getOccupation();
+                assertTrue(occupation.equals("Engineer") || occupation.equals("Teacher"));
+            }
+        }
+        assertTrue(updated.get() >= THREADS * PROFILES / 2);
+    }
+}
@@ -0,0 +1,217 @@
+package com.fptu.swt301.demo.insurance.main;
+
+import com.fptu.swt301.demo.insurance.domain.model.BrokerProfile;
+import com.fptu.swt301.demo.insurance.repository.JdbcBrokerProfileRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class cho JdbcBrokerProfileRepository (H2)
+ */
+@DisplayName("JDBC Broker Profile Repository Tests")
+public class JdbcBrokerProfileRepositoryTest {
+
+    private JdbcBrokerProfileRepository repository;
+
+    @BeforeEach
+    public void setUp() {
+        repository = new JdbcBrokerProfileRepository("jdbc:h2:mem:broker_profile_test;DB_CLOSE_DELAY=-1");
+        repository.deleteAll();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        repository.close();
+    }
+
+    private static BrokerProfile profile(String userId, String occupation) {
+        return BrokerProfile.builder()
+                .userId(userId)
+                .title("Mrs")
+                .firstName("Pham")
+                .surname("Thu Phuong")
+                .phone("0987654321")
+                .dateOfBirth(LocalDate.of(1990, 3, 20))
+                .licenseType("Full")
+                .licensePeriod(3)
+                .occupation(occupation)
+                .street("456 Baker Street")
+                .city("Hanoi")
+                .county("Hanoi")
+                .postCode("100000")
+                .build();
+    }
+
+    @Test
+    @DisplayName("Saved profile is read back with every field")
+    void testSaveAndFind() {
+        assertTrue(repository.save(profile("SE184761", "Student")));
+        assertFalse(repository.save(profile("SE184761", "Engineer")));
+
+        try (JdbcBrokerProfileRepository uncached = new JdbcBrokerProfileRepository(
+                "jdbc:h2:mem:broker_profile_test;DB_CLOSE_DELAY=-1", null, null, 0)) {
+            BrokerProfile loaded = uncached.findByUserId("SE184761").orElseThrow();
+            assertEquals("Mrs", loaded.getTitle());
+            assertEquals("Pham", loaded.getFirstName());
+            assertEquals("Thu Phuong", loaded.getSurname());
+            assertEquals("0987654321", loaded.getPhoneValue());
+            assertEquals(LocalDate.of(1990, 3, 20), loaded.getDateOfBirth());
+            assertEquals("Full", loaded.getLicenseType());
+            assertEquals(3, loaded.getLicensePeriod());
+            assertEquals("Student", loaded.getOccupation());
+            assertEquals("456 Baker Street", loaded.getStreet());
+            assertEquals("100000", loaded.getPostCode());
+            assertNull(loaded.getDriverHistory());
+        }
+    }
+
+    @Test
+    @DisplayName("Update, delete and exists behave like the in-memory repository")
+    void testUpdateAndDelete() {
+        assertFalse(repository.update(profile("SE1", "Engineer")));
+        repository.save(profile("SE1", "Student"));
+
+        assertTrue(repository.update(profile("SE1", "Engineer")));
+        assertEquals("Engineer", repository.findByUserId("SE1").orElseThrow().getOccupation());
+        assertTrue(repository.exists("SE1"));
+
+        assertTrue(repository.delete("SE1"));
+        assertFalse(repository.delete("SE1"));
+        assertFalse(repository.exists("SE1"));
+        assertTrue(repository.findByUserId("SE1").isEmpty());
+        assertFalse(repository.save(null));
+        assertTrue(repository.findByUserId(" ").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Batch saveAll skips duplicates and updateAll skips unknown profiles")
+    void testBatchWrites() {
+        repository.save(profile("SE0", "Student"));
+
+        List<BrokerProfile> onboarding = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            onboarding.add(profile("SE" + i, "Student"));
+        }
+        onboarding.add(profile("SE10", "Engineer"));
+        assertEquals(499, repository.saveAll(onboarding));
+        assertEquals(500, repository.count());
+        assertEquals(0, repository.saveAll(onboarding));
+
+        List<BrokerProfile> changes = List.of(profile("SE1", "Teacher"), profile("SE2", "Teacher"),
+                profile("UNKNOWN", "Teacher"));
+        assertEquals(2, repository.updateAll(changes));
+        assertEquals("Teacher", repository.findByUserId("SE2").orElseThrow().getOccupation());
+        assertEquals("Student", repository.findByUserId("SE10").orElseThrow().getOccupation());
+    }
+
+    @Test
+    @DisplayName("saveAll rolls back the whole batch when a row fails for a reason other than a duplicate")
+    void testBatchRollbackOnNonDuplicateError() {
+        repository.save(profile("DUP", "Student"));
+
+        BrokerProfile tooLongTitle = BrokerProfile.builder()
+                .userId("B2")
+                .title("T".repeat(40))
+                .licenseType("Full")
+                .licensePeriod(3)
+                .build();
+        List<BrokerProfile> batch = List.of(profile("A1", "Student"), profile("DUP", "Engineer"), tooLongTitle);
+
+        assertThrows(IllegalStateException.class, () -> repository.saveAll(batch));
+        assertEquals(1, repository.count());
+        assertFalse(repository.exists("A1"));
+        assertEquals("Student", repository.findByUserId("DUP").orElseThrow().getOccupation());
+    }
+
+    @Test
+    @DisplayName("Only unique violations are treated as duplicates")
+    void testOtherConstraintViolationsAreErrors() throws SQLException {
+        String url = "jdbc:h2:mem:broker_profile_checked;DB_CLOSE_DELAY=-1";
+        try (Connection admin = DriverManager.getConnection(url);
+                Statement statement = admin.createStatement()) {
+            statement.execute("CREATE TABLE broker_profile (user_id VARCHAR(64) PRIMARY KEY, "
+                    + "title VARCHAR(32), first_name VARCHAR(255), surname VARCHAR(255), phone VARCHAR(32), "
+                    + "date_of_birth DATE, license_type VARCHAR(32), "
+                    + "license_period INT NOT NULL CHECK (license_period < 10), "
+                    + "occupation VARCHAR(255), street VARCHAR(255), city VARCHAR(255), county VARCHAR(255), "
+                    + "post_code VARCHAR(32), driver_history VARCHAR(4000))");
+
+            try (JdbcBrokerProfileRepository checked = new JdbcBrokerProfileRepository(url)) {
+                BrokerProfile longLicense = BrokerProfile.builder()
+                        .userId("SE1")
+                        .licenseType("Full")
+                        .licensePeriod(12)
+                        .build();
+                assertThrows(IllegalStateException.class, () -> checked.save(longLicense));
+                assertTrue(checked.save(profile("SE1", "Student")));
+                assertFalse(checked.save(profile("SE1", "Engineer")));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Failed initialisation closes the connection it opened")
+    void testInitialisationFailureClosesConnection() throws SQLException {
+        String url = "jdbc:h2:mem:broker_profile_broken;DB_CLOSE_DELAY=-1";
+        try (Connection admin = DriverManager.getConnection(url);
+                Statement statement = admin.createStatement()) {
+            // Bảng cũ sai schema: CREATE TABLE IF NOT EXISTS bỏ qua, prepareStatement lỗi
+            statement.execute("CREATE TABLE broker_profile (id BIGINT)");
+            long before = sessionCount(statement);
+
+            assertThrows(IllegalStateException.class, () -> new JdbcBrokerProfileRepository(url));
+            assertEquals(before, sessionCount(statement));
+        }
+    }
+
+    @Test
+    @DisplayName("findByUserId is served from the read-through cache after the first load")
+    void testReadThroughCache() {
+        repository.saveAll(List.of(profile("SE1", "Student"), profile("SE2", "Student")));
+
+        repository.findByUserId("SE1");
+        repository.findByUserId("SE1");
+        repository.findByUserId("SE2");
+        assertEquals(1, repository.getCacheHitCount());
+        assertEquals(2, repository.getCacheMissCount());
+
+        repository.update(profile("SE1", "Engineer"));
+        assertEquals("Engineer", repository.findByUserId("SE1").orElseThrow().getOccupation());
+        assertEquals(2, repository.getCacheHitCount());
+    }
+
+    @Test
+    @DisplayName("Profiles survive a restart with a file database")
+    void testPersistence(@TempDir Path tempDir) {
+        String url = "jdbc:h2:file:" + tempDir.resolve("profiles").toAbsolutePath();
+        try (JdbcBrokerProfileRepository first = new JdbcBrokerProfileRepository(url)) {
+            first.save(profile("SE172177", "Student"));
+        }
+        try (JdbcBrokerProfileRepository restarted = new JdbcBrokerProfileRepository(url)) {
+            assertEquals(1, restarted.count());
+            assertTrue(restarted.findByUserId("SE172177").isPresent());
+        }
+    }
+
+    private static long sessionCount(Statement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM INFORMATION_SCHEMA.SESSIONS")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
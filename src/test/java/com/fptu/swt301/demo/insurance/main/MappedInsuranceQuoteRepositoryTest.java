@@ -0,0 +1,283 @@
+package com.fptu.swt301.demo.insurance.main;
+
+import com.fptu.swt301.demo.insurance.domain.id.SequenceQuoteIdGenerator;
+import com.fptu.swt301.demo.insurance.domain.model.InsuranceQuote;
+import com.fptu.swt301.demo.insurance.domain.model.PremiumCalculationRequest;
+import com.fptu.swt301.demo.insurance.repository.MappedInsuranceQuoteRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class cho MappedInsuranceQuoteRepository (journal memory-mapped,
+ * recovery và compaction)
+ */
+@DisplayName("Mapped Insurance Quote Repository Tests")
+public class MappedInsuranceQuoteRepositoryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Saved quotes can be retrieved with all fields")
+    void testSaveAndRetrieve() {
+        try (MappedInsuranceQuoteRepository repository = new MappedInsuranceQuoteRepository(
+                tempDir.resolve("quotes.journal"))) {
+            InsuranceQuote quote = InsuranceQuote.builder()
+                    .identificationNumber("51700")
+                    .request(PremiumCalculationRequest.builder()
+                            .breakdownCover("European")
+                            .windscreenRepair(true)
+                            .numberOfAccidents(2)
+                            .totalMileage(12000)
+                            .estimatedValue(8500.5)
+                            .parkingLocation("Garage Hà Nội")
+                            .build())
+                    .calculatedPremium(812.25)
+                    .createdDate(LocalDate.of(2024, 5, 1))
+                    .userId("SE1")
+                    .registrationNumber("29A-12345")
+                    .build();
+
+            assertTrue(repository.save(quote));
+            assertFalse(repository.save(quote));
+            assertFalse(repository.save(null));
+
+            InsuranceQuote retrieved = repository.findByIdentificationNumber("51700").orElseThrow();
+            assertSameFields(quote, retrieved);
+            assertNull(retrieved.getStartOfPolicy());
+            assertTrue(repository.findByIdentificationNumber("61699").isEmpty());
+            assertTrue(repository.findByIdentificationNumber(null).isEmpty());
+            assertEquals(1, repository.count());
+        }
+    }
+
+    @Test
+    @DisplayName("Index is rebuilt from the journal after reopening")
+    void testRecoveryAfterReopen() {
+        Path journal = tempDir.resolve("quotes.journal");
+        try (MappedInsuranceQuoteRepository repository = new MappedInsuranceQuoteRepository(journal, 256, 0)) {
+            for (int i = 0; i < 1_000; i++) {
+                assertTrue(repository.save(quote("Q" + i, i)));
+            }
+            assertTrue(repository.delete("Q7"));
+            assertFalse(repository.delete("Q7"));
+        }
+
+        try (MappedInsuranceQuoteRepository repository = new MappedInsuranceQuoteRepository(journal, 256, 0)) {
+            assertEquals(999, repository.count());
+            assertFalse(repository.exists("Q7"));
+            assertEquals(999.0, repository.findByIdentificationNumber("Q999").orElseThrow().getCalculatedPremium());
+            assertTrue(repository.save(quote("Q7", 7)));
+        }
+    }
+
+    @Test
+    @DisplayName("A torn entry at the end of the journal is discarded on recovery")
+    void testTornWriteRecovery() throws Exception {
+        Path journal = tempDir.resolve("quotes.journal");
+        long journalSize;
+        try (MappedInsuranceQuoteRepository repository = new MappedInsuranceQuoteRepository(journal)) {
+            repository.save(quote("Q1", 1));
+            journalSize = repository.getJournalSize();
+            repository.save(quote("Q2", 2));
+        }
+
+        // Giả lập crash: payload của entry thứ hai bị hỏng
+        try (RandomAccessFile file = new RandomAccessFile(journal.toFile(), "rw")) {
+            file.seek(journalSize + 12);
+            file.write(new byte[] { 1, 2, 3, 4 });
+        }
+
+        try (MappedInsuranceQuoteRepository repository = new MappedInsuranceQuoteRepository(journal)) {
+            assertEquals(1, repository.count());
+            assertTrue(repository.exists("Q1"));
+            assertFalse(repository.exists("Q2"));
+            assertEquals(journalSize, repository.getJournalSize());
+            assertTrue(repository.save(quote("Q3", 3)));
+        }
+
+        try (MappedInsuranceQuoteRepository repository = new MappedInsuranceQuoteRepository(journal)) {
+            assertEquals(2, repository.count());
+            assertTrue(repository.exists("Q3"));
+            assertFalse(repository.exists("Q2"));
+        }
+    }
+
+    @Test
+    @DisplayName("Compaction drops deleted quotes and survives reopening")
+    void testCompaction() {
+        Path journal = tempDir.resolve("quotes.journal");
+        try (MappedInsuranceQuoteRepository repository = new MappedInsuranceQuoteRepository(journal, 1024,
+                Long.MAX_VALUE)) {
+            for (int i = 0; i < 500; i++) {
+                repository.save(quote("Q" + i, i));
+            }
+            for (int i = 0; i < 500; i += 2) {
+                repository.delete("Q" + i);
+            }
+            long before = repository.getJournalSize();
+            assertTrue(repository.getDeadBytes() > 0);
+
+            repository.compact();
+            assertEquals(0, repository.getDeadBytes());
+            assertEquals(repository.getLiveBytes(), repository.getJournalSize());
+            assertTrue(repository.getJournalSize() < before / 2);
+            assertEquals(250, repository.count());
+            assertEquals(1.0, repository.findByIdentificationNumber("Q1").orElseThrow().getCalculatedPremium());
+
+            assertTrue(repository.save(quote("Q0", 0)));
+        }
+        assertFalse(Files.exists(tempDir.resolve("quotes.journal.compact")));
+
+        try (MappedInsuranceQuoteRepository repository = new MappedInsuranceQuoteRepository(journal)) {
+            assertEquals(251, repository.count());
+            assertTrue(repository.exists("Q0"));
+            assertFalse(repository.exists("Q2"));
+        }
+    }
+
+    @Test
+    @DisplayName("Automatic compaction keeps dead bytes bounded")
+    void testAutomaticCompaction() {
+        try (MappedInsuranceQuoteRepository repository = new MappedInsuranceQuoteRepository(
+                tempDir.resolve("quotes.journal"), 1024, 4096)) {
+            for (int i = 0; i < 2_000; i++) {
+                repository.save(quote("Q" + i, i));
+                if (i >= 10) {
+                    repository.delete("Q" + (i - 10));
+                }
+            }
+            assertEquals(10, repository.count());
+            assertTrue(repository.getJournalSize() < 16 * 1024, "Journal size: " + repository.getJournalSize());
+        }
+    }
+
+    @Test
+    @DisplayName("Closed repository rejects further operations")
+    void testClosedRepository() {
+        MappedInsuranceQuoteRepository repository = new MappedInsuranceQuoteRepository(
+                tempDir.resolve("quotes.journal"));
+        repository.close();
+        repository.close();
+        assertThrows(IllegalStateException.class, () -> repository.save(quote("Q1", 1)));
+        assertThrows(IllegalStateException.class, () -> repository.findByIdentificationNumber("Q1"));
+    }
+
+    @Test
+    @DisplayName("Quotes without request or breakdown cover are rejected instead of throwing")
+    void testUnusableQuote() {
+        try (MappedInsuranceQuoteRepository repository = new MappedInsuranceQuoteRepository(
+                tempDir.resolve("quotes.journal"))) {
+            // Builder luôn yêu cầu request, chỉ mock mới tạo được quote thiếu dữ liệu
+            InsuranceQuote withoutRequest = mock(InsuranceQuote.class);
+            when(withoutRequest.getIdentificationNumber()).thenReturn("Q1");
+            assertFalse(repository.save(withoutRequest));
+
+            PremiumCalculationRequest withoutCover = mock(PremiumCalculationRequest.class);
+            InsuranceQuote quote = mock(InsuranceQuote.class);
+            when(quote.getIdentificationNumber()).thenReturn("Q2");
+            when(quote.getRequest()).thenReturn(withoutCover);
+            assertFalse(repository.save(quote));
+
+            assertEquals(0, repository.count());
+            assertEquals(0, repository.getJournalSize());
+            assertTrue(repository.save(quote("Q1", 1)));
+        }
+    }
+
+    @Test
+    @DisplayName("Failed compaction keeps the original journal usable")
+    void testFailedCompactionMove() throws Exception {
+        Path journal = tempDir.resolve("quotes.journal");
+        try (MappedInsuranceQuoteRepository repository = new MappedInsuranceQuoteRepository(journal, 256,
+                Long.MAX_VALUE)) {
+            for (int i = 0; i < 20; i++) {
+                assertTrue(repository.save(quote("Q" + i, i)));
+            }
+            assertTrue(repository.delete("Q0"));
+
+            // File journal bị thay bằng thư mục không rỗng: atomic move của compaction sẽ lỗi
+            Path moved = tempDir.resolve("quotes.journal.moved");
+            Files.move(journal, moved);
+            Files.createDirectories(journal.resolve("blocker"));
+            assertThrows(IllegalStateException.class, repository::compact);
+            assertFalse(Files.exists(tempDir.resolve("quotes.journal.compact")));
+
+            // Channel cũ vẫn mở: ghi thêm (kể cả phải mở rộng mapping) và đọc vẫn được
+            for (int i = 20; i < 200; i++) {
+                assertTrue(repository.save(quote("Q" + i, i)));
+            }
+            assertEquals(199, repository.count());
+            assertEquals(150.0, repository.findByIdentificationNumber("Q150").orElseThrow().getCalculatedPremium());
+            assertTrue(repository.getDeadBytes() > 0);
+        }
+    }
+
+    @Test
+    @DisplayName("Highest numeric id survives reopening and seeds a sequence without collisions")
+    void testHighestNumericIdentificationNumber() {
+        Path journal = tempDir.resolve("quotes.journal");
+        try (MappedInsuranceQuoteRepository repository = new MappedInsuranceQuoteRepository(journal)) {
+            assertTrue(repository.getHighestNumericIdentificationNumber().isEmpty());
+            SequenceQuoteIdGenerator generator = new SequenceQuoteIdGenerator();
+            for (int i = 0; i < 5; i++) {
+                assertTrue(repository.save(quote(generator.nextId(), i)));
+            }
+            assertTrue(repository.save(quote("Q99999", 1)));
+            assertTrue(repository.save(quote("99999999999999999999", 1)));
+            assertTrue(repository.delete("10004"));
+            assertEquals(10004, repository.getHighestNumericIdentificationNumber().getAsLong());
+        }
+
+        try (MappedInsuranceQuoteRepository repository = new MappedInsuranceQuoteRepository(journal)) {
+            long highest = repository.getHighestNumericIdentificationNumber().getAsLong();
+            assertEquals(10004, highest);
+
+            // Sequence mới bắt đầu sau high-water mark thay vì từ 10000
+            SequenceQuoteIdGenerator generator = new SequenceQuoteIdGenerator(highest + 1);
+            for (int i = 0; i < 5; i++) {
+                assertTrue(repository.save(quote(generator.nextId(), i)));
+            }
+            assertEquals(10009, repository.getHighestNumericIdentificationNumber().getAsLong());
+        }
+    }
+
+    private static InsuranceQuote quote(String identificationNumber, double premium) {
+        return InsuranceQuote.builder()
+                .identificationNumber(identificationNumber)
+                .request(PremiumCalculationRequest.builder()
+                        .breakdownCover("Roadside")
+                        .estimatedValue(5000)
+                        .parkingLocation("Street")
+                        .build())
+                .calculatedPremium(premium)
+                .userId("SE1")
+                .startOfPolicy("2024-06-01")
+                .build();
+    }
+
+    private static void assertSameFields(InsuranceQuote expected, InsuranceQuote actual) {
+        assertEquals(expected.getIdentificationNumber(), actual.getIdentificationNumber());
+        assertEquals(expected.getCalculatedPremium(), actual.getCalculatedPremium());
+        assertEquals(expected.getCreatedDate(), actual.getCreatedDate());
+        assertEquals(expected.getUserId(), actual.getUserId());
+        assertEquals(expected.getRegistrationNumber(), actual.getRegistrationNumber());
+        assertEquals(expected.getStartOfPolicy(), actual.getStartOfPolicy());
+        assertSame(expected.getRequest().getBreakdownCover(), actual.getRequest().getBreakdownCover());
+        assertEquals(expected.getRequest().isWindscreenRepair(), actual.getRequest().isWindscreenRepair());
+        assertEquals(expected.getRequest().getNumberOfAccidents(), actual.getRequest().getNumberOfAccidents());
+        assertEquals(expected.getRequest().getTotalMileage(), actual.getRequest().getTotalMileage());
+        assertEquals(expected.getRequest().getEstimatedValue(), actual.getRequest().getEstimatedValue());
+        assertEquals(expected.getRequest().getParkingLocation(), actual.getRequest().getParkingLocation());
+    }
+}
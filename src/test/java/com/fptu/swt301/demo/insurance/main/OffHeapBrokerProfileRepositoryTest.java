@@ -0,0 +1,187 @@
+package com.fptu.swt301.demo.insurance.main;
+
+import com.fptu.swt301.demo.insurance.domain.model.BrokerProfile;
+import com.fptu.swt301.demo.insurance.domain.valueobject.LicenseInfo;
+import com.fptu.swt301.demo.insurance.repository.OffHeapBrokerProfileRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class cho OffHeapBrokerProfileRepository (record off-heap, index userId
+ * primitive, decode khi truy cập)
+ */
+@DisplayName("Off-Heap Broker Profile Repository Tests")
+public class OffHeapBrokerProfileRepositoryTest {
+
+    @Test
+    @DisplayName("All profile fields survive the encode/decode round trip")
+    void testRoundTrip() {
+        OffHeapBrokerProfileRepository repository = new OffHeapBrokerProfileRepository();
+        BrokerProfile full = BrokerProfile.builder()
+                .userId("SE Nguyễn 1")
+                .title("Mr")
+                .firstName("Huy")
+                .surname("Nguyễn Đăng")
+                .phone("091 234 5678")
+                .dateOfBirth(LocalDate.of(1990, 3, 20))
+                .licenseType("Full")
+                .licensePeriod(5)
+                .occupation("Engineer")
+                .street("1 Lê Lợi")
+                .city("Hồ Chí Minh")
+                .county("Quận 1")
+                .postCode("700000")
+                .driverHistory("")
+                .build();
+        BrokerProfile sparse = BrokerProfile.builder()
+                .userId("SE2")
+                .licenseInfo(LicenseInfo.of("provisional", 0))
+                .build();
+
+        assertTrue(repository.save(full));
+        assertTrue(repository.save(sparse));
+
+        assertSameFields(full, repository.findByUserId("SE Nguyễn 1").orElseThrow());
+        BrokerProfile decoded = repository.findByUserId("SE2").orElseThrow();
+        assertSameFields(sparse, decoded);
+        assertNull(decoded.getPhone());
+        assertNull(decoded.getAddress());
+        assertNull(decoded.getDateOfBirth());
+        assertEquals("provisional", decoded.getLicenseType());
+        assertSame(LicenseInfo.of("Full", 5), repository.findByUserId("SE Nguyễn 1").orElseThrow().getLicenseInfo());
+    }
+
+    @Test
+    @DisplayName("Save, update and delete follow the in-memory repository semantics")
+    void testCrudSemantics() {
+        OffHeapBrokerProfileRepository repository = new OffHeapBrokerProfileRepository();
+
+        assertFalse(repository.save(null));
+        assertFalse(repository.save(BrokerProfile.builder().build()));
+        assertTrue(repository.findByUserId(null).isEmpty());
+        assertTrue(repository.findByUserId("  ").isEmpty());
+
+        assertTrue(repository.save(profile("SE1", "Huy")));
+        assertFalse(repository.save(profile("SE1", "Other")));
+        assertEquals("Huy", repository.findByUserId("SE1").orElseThrow().getFirstName());
+
+        assertTrue(repository.update(profile("SE1", "Updated")));
+        assertFalse(repository.update(profile("SE9", "Missing")));
+        assertEquals("Updated", repository.findByUserId("SE1").orElseThrow().getFirstName());
+        assertEquals(1, repository.count());
+        assertTrue(repository.getDeadBytes() > 0);
+
+        assertTrue(repository.exists("SE1"));
+        assertTrue(repository.delete("SE1"));
+        assertFalse(repository.delete("SE1"));
+        assertFalse(repository.exists("SE1"));
+        assertEquals(0, repository.count());
+        assertEquals(0, repository.getLiveBytes());
+
+        assertTrue(repository.save(profile("SE1", "Again")));
+        repository.deleteAll();
+        assertEquals(0, repository.count());
+        assertFalse(repository.exists("SE1"));
+    }
+
+    @Test
+    @DisplayName("Index grows and dead records are compacted away")
+    void testIndexGrowthAndCompaction() {
+        OffHeapBrokerProfileRepository repository = new OffHeapBrokerProfileRepository(4 * 1024);
+        int profileCount = 20_000;
+        for (int i = 0; i < profileCount; i++) {
+            assertTrue(repository.save(profile("SE" + i, "Name" + i)));
+        }
+        assertEquals(profileCount, repository.count());
+        assertTrue(repository.getChunkCount() > 1);
+
+        for (int i = 0; i < profileCount; i += 2) {
+            assertTrue(repository.delete("SE" + i));
+        }
+        for (int i = 1; i < profileCount; i += 2) {
+            assertTrue(repository.update(profile("SE" + i, "Updated" + i)));
+        }
+        // Compaction tự động giữ dead bytes không vượt quá live bytes quá nhiều
+        assertTrue(repository.getDeadBytes() <= repository.getLiveBytes() + 4 * 1024);
+
+        repository.compact();
+        assertEquals(0, repository.getDeadBytes());
+        assertEquals(profileCount / 2, repository.count());
+        assertTrue(repository.getAllocatedBytes() < 2 * repository.getLiveBytes() + 4 * 1024);
+        for (int i = 0; i < profileCount; i++) {
+            if (i % 2 == 0) {
+                assertFalse(repository.exists("SE" + i));
+            } else {
+                assertEquals("Updated" + i, repository.findByUserId("SE" + i).orElseThrow().getFirstName());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Concurrent writers and readers see consistent profiles")
+    void testConcurrentAccess() throws Exception {
+        OffHeapBrokerProfileRepository repository = new OffHeapBrokerProfileRepository(16 * 1024);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 2_000; i++) {
+                        String userId = "T" + thread + "-" + i;
+                        assertTrue(repository.save(profile(userId, "First")));
+                        assertTrue(repository.update(profile(userId, "Second")));
+                        assertEquals("Second", repository.findByUserId(userId).orElseThrow().getFirstName());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(8_000, repository.count());
+    }
+
+    private static BrokerProfile profile(String userId, String firstName) {
+        return BrokerProfile.builder()
+                .userId(userId)
+                .title("Mr")
+                .firstName(firstName)
+                .surname("Nguyen")
+                .phone("0912345678")
+                .dateOfBirth(LocalDate.of(1990, 1, 1))
+                .licenseType("Full")
+                .licensePeriod(5)
+                .occupation("Student")
+                .street("1 Road")
+                .build();
+    }
+
+    private static void assertSameFields(BrokerProfile expected, BrokerProfile actual) {
+        assertEquals(expected.getUserId(), actual.getUserId());
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getFirstName(), actual.getFirstName());
+        assertEquals(expected.getSurname(), actual.getSurname());
+        assertEquals(expected.getPhone(), actual.getPhone());
+        assertEquals(expected.getPhoneValue(), actual.getPhoneValue());
+        assertEquals(expected.getDateOfBirth(), actual.getDateOfBirth());
+        assertEquals(expected.getLicenseInfo(), actual.getLicenseInfo());
+        assertEquals(expected.getOccupation(), actual.getOccupation());
+        assertEquals(expected.getStreet(), actual.getStreet());
+        assertEquals(expected.getCity(), actual.getCity());
+        assertEquals(expected.getCounty(), actual.getCounty());
+        assertEquals(expected.getPostCode(), actual.getPostCode());
+        assertEquals(expected.getDriverHistory(), actual.getDriverHistory());
+    }
+}
@@ -0,0 +1,162 @@
+package com.fptu.swt301.demo.insurance.main;
+
+import com.fptu.swt301.demo.insurance.config.ProfileConstants;
+import com.fptu.swt301.demo.insurance.domain.model.BrokerProfile;
+import com.fptu.swt301.demo.insurance.domain.valueobject.PhoneNumber;
+import com.fptu.swt301.demo.insurance.exception.ValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class cho PhoneNumber parser (single-pass, không regex)
+ * Kết quả và message lỗi phải giống hệt implementation dùng regex trước đây
+ */
+@DisplayName("Phone Number Parser Tests")
+public class PhoneNumberTest {
+
+    private static final char[] ALPHABET = { '0', '1', '3', '4', '5', '8', '9', '9', '+', ' ', ' ', '\t', '-',
+            'a', '.', '\u0001', '\u000B', ' ', 'é', '٠' };
+
+    private static final String[] SAMPLES = { null, "", "   ", "0912345678", " 0912345678 ", "091 234 5678",
+            "0123456789", "1912345678", "84929345678", "+84 929 345 678", "85929345678", "-0912345678",
+            " -0912345678", "09-1234-5678", "0912.345.678", "091234567", "091234567890", "\t0912345678\n",
+            "\u00010912345678", "0912345678 ", "09123456é8", "000000000000000000000" };
+
+    @Test
+    @DisplayName("Known samples match the regex implementation")
+    void testSamplesMatchRegexImplementation() {
+        for (String sample : SAMPLES) {
+            assertSameAsRegexImplementation(sample);
+        }
+    }
+
+    @Test
+    @DisplayName("Random inputs match the regex implementation for String, CharSequence and byte[] input")
+    void testRandomInputsMatchRegexImplementation() {
+        Random random = new Random(11L);
+        for (int i = 0; i < 50_000; i++) {
+            StringBuilder input = new StringBuilder();
+            if (random.nextInt(3) == 0) {
+                // Số gần đúng format để phủ các nhánh độ dài và prefix
+                input.append(random.nextBoolean() ? "0" : "+84 ").append(random.nextInt(10));
+                for (int j = random.nextInt(4) + 7; j > 0; j--) {
+                    input.append(random.nextInt(10));
+                }
+            } else {
+                for (int j = random.nextInt(14); j > 0; j--) {
+                    input.append(ALPHABET[random.nextInt(ALPHABET.length)]);
+                }
+            }
+            assertSameAsRegexImplementation(input.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("tryParse and the builder do not throw for invalid numbers")
+    void testTryParse() {
+        assertNull(PhoneNumber.tryParse("12345"));
+        assertNull(PhoneNumber.tryParse((CharSequence) null));
+        assertEquals("0912345678", PhoneNumber.tryParse(new StringBuilder(" 0912345678 ")).getValue());
+
+        byte[] line = "SE1,0987654321,Full".getBytes(StandardCharsets.US_ASCII);
+        PhoneNumber fromBuffer = PhoneNumber.tryParse(line, 4, 10);
+        assertEquals("0987654321", fromBuffer.getDigitsOnly());
+        assertEquals(PhoneNumber.of("098 765 4321"), fromBuffer);
+        assertThrows(IndexOutOfBoundsException.class, () -> PhoneNumber.tryParse(line, 15, 10));
+
+        assertNull(BrokerProfile.builder().phone("abc").build().getPhone());
+        assertTrue(PhoneNumber.validationErrors("0912345678").isEmpty());
+    }
+
+    private static void assertSameAsRegexImplementation(String input) {
+        List<String> expectedErrors = input == null || input.trim().isEmpty()
+                ? List.of("Phone number is required")
+                : regexErrors(input);
+
+        List<CharSequence> inputs = new ArrayList<>();
+        inputs.add(input);
+        if (input != null) {
+            inputs.add(new StringBuilder(input));
+        }
+        for (CharSequence candidate : inputs) {
+            if (expectedErrors.isEmpty()) {
+                PhoneNumber phone = PhoneNumber.parse(candidate);
+                assertEquals(input.trim(), phone.getValue());
+                assertEquals(input.replaceAll("[^0-9]", ""), phone.getDigitsOnly());
+                assertEquals(phone, PhoneNumber.tryParse(candidate));
+            } else {
+                ValidationException exception = assertThrows(ValidationException.class,
+                        () -> PhoneNumber.parse(candidate), () -> "Input: " + input);
+                assertEquals(expectedErrors, exception.getErrors(), () -> "Input: " + input);
+                assertEquals(new ValidationException(expectedErrors).getMessage(), exception.getMessage());
+                assertNull(PhoneNumber.tryParse(candidate));
+            }
+            assertEquals(expectedErrors, PhoneNumber.validationErrors(candidate));
+        }
+
+        if (input != null) {
+            byte[] bytes = ("xx" + input + "yy").getBytes(StandardCharsets.UTF_8);
+            int length = bytes.length - 4;
+            if (expectedErrors.isEmpty()) {
+                assertEquals(input.trim(), PhoneNumber.parse(bytes, 2, length).getValue());
+            } else {
+                ValidationException exception = assertThrows(ValidationException.class,
+                        () -> PhoneNumber.parse(bytes, 2, length), () -> "Input: " + input);
+                assertEquals(expectedErrors, exception.getErrors(), () -> "Input: " + input);
+                assertNull(PhoneNumber.tryParse(bytes, 2, length));
+            }
+        }
+    }
+
+    /**
+     * Validation dùng regex của PhoneNumber trước khi có single-pass parser
+     * (dùng làm reference)
+     */
+    private static List<String> regexErrors(String phone) {
+        List<String> errors = new ArrayList<>();
+        if (phone.trim().startsWith("-")) {
+            errors.add("Phone number cannot be negative (cannot start with minus sign)");
+            return errors;
+        }
+        String phoneWithoutValidChars = phone.replaceAll("[0-9+\\s]", "");
+        if (!phoneWithoutValidChars.isEmpty()) {
+            errors.add("Phone number can only contain digits, + (for country code), and spaces. Invalid characters found: "
+                    + phoneWithoutValidChars);
+            return errors;
+        }
+        String phoneDigits = phone.replaceAll("[^0-9]", "");
+        if (phoneDigits.length() != ProfileConstants.VN_PHONE_LENGTH_10
+                && phoneDigits.length() != ProfileConstants.VN_PHONE_LENGTH_11) {
+            errors.add("Phone number must be 10 or 11 digits (Vietnam format: 0xxxxxxxxx or +84xxxxxxxxx)");
+            return errors;
+        }
+        Set<String> validPrefixes = Arrays.stream(ProfileConstants.VN_PHONE_PREFIXES).collect(Collectors.toSet());
+        if (phoneDigits.length() == ProfileConstants.VN_PHONE_LENGTH_10) {
+            if (!phoneDigits.startsWith("0")) {
+                errors.add("10-digit phone number must start with '0' (Vietnam format)");
+            } else if (!validPrefixes.contains(phoneDigits.substring(0, 2))) {
+                errors.add("Phone number prefix must be one of: "
+                        + Arrays.toString(ProfileConstants.VN_PHONE_PREFIXES));
+            }
+        }
+        if (phoneDigits.length() == ProfileConstants.VN_PHONE_LENGTH_11) {
+            if (!phoneDigits.startsWith(ProfileConstants.VN_COUNTRY_CODE)) {
+                errors.add("11-digit phone number (with country code) must start with '84'");
+            } else if (!validPrefixes.contains("0" + phoneDigits.substring(2, 4))) {
+                errors.add("Phone number prefix (after +84) must be one of: "
+                        + Arrays.toString(ProfileConstants.VN_PHONE_PREFIXES));
+            }
+        }
+        return errors;
+    }
+}
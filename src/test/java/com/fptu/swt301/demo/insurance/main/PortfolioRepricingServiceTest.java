@@ -0,0 +1,118 @@
+package com.fptu.swt301.demo.insurance.main;
+
+import com.fptu.swt301.demo.insurance.domain.model.PortfolioSummary;
+import com.fptu.swt301.demo.insurance.domain.model.PremiumBatch;
+import com.fptu.swt301.demo.insurance.domain.model.PremiumCalculationRequest;
+import com.fptu.swt301.demo.insurance.service.PortfolioRepricingService;
+import com.fptu.swt301.demo.insurance.service.PremiumCalculationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class cho PortfolioRepricingService
+ * Kết quả song song phải giống batch path tuần tự
+ */
+@DisplayName("Portfolio Repricing Service Tests")
+public class PortfolioRepricingServiceTest {
+
+    private final PremiumCalculationService premiumService = new PremiumCalculationService();
+    private PortfolioRepricingService repricingService;
+
+    @BeforeEach
+    void setUp() {
+        // Chunk nhỏ để ép chia nhiều task
+        repricingService = new PortfolioRepricingService(premiumService, 4, 1_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repricingService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Parallel repricing matches sequential batch path")
+    void testParallelMatchesSequential() {
+        PremiumBatch batch = randomBatch(100_000, 42L);
+
+        double[] expected = new double[batch.size()];
+        int expectedRejected = premiumService.calculatePremiums(batch, expected);
+
+        double[] premiums = new double[batch.size()];
+        PortfolioSummary summary = repricingService.reprice(batch, premiums);
+
+        assertArrayEquals(expected, premiums, 0.0);
+        assertEquals(expectedRejected, summary.getRejectedCount());
+        assertEquals(batch.size() - expectedRejected, summary.getCount());
+
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        double total = 0;
+        for (double premium : expected) {
+            if (!Double.isNaN(premium)) {
+                min = Math.min(min, premium);
+                max = Math.max(max, premium);
+                total += premium;
+            }
+        }
+        assertEquals(min, summary.getMin(), 0.0);
+        assertEquals(max, summary.getMax(), 0.0);
+        assertEquals(total, summary.getTotal(), 1e-6 * total);
+        assertEquals(summary.getCount(), Arrays.stream(summary.getHistogram()).sum());
+    }
+
+    @Test
+    @DisplayName("Repricing a list of requests")
+    void testRepriceRequestList() {
+        List<PremiumCalculationRequest> requests = List.of(
+                PremiumCalculationRequest.builder().estimatedValue(100).totalMileage(3000).build(),
+                PremiumCalculationRequest.builder().estimatedValue(5000).breakdownCover("European")
+                        .windscreenRepair(true).totalMileage(6000).parkingLocation("Public Place").build());
+
+        double[] premiums = new double[requests.size()];
+        PortfolioSummary summary = repricingService.reprice(requests, premiums);
+
+        assertEquals(2, summary.getCount());
+        assertEquals(premiumService.calculatePremium(requests.get(0)), premiums[0], 0.0);
+        assertEquals(premiumService.calculatePremium(requests.get(1)), premiums[1], 0.0);
+        assertEquals(premiums[0] + premiums[1], summary.getTotal(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Empty portfolio and invalid configuration")
+    void testEmptyPortfolioAndInvalidConfiguration() {
+        PortfolioSummary summary = repricingService.reprice(randomBatch(0, 1L), new double[0]);
+        assertEquals(0, summary.getCount());
+        assertTrue(Double.isNaN(summary.getMean()));
+
+        assertThrows(IllegalArgumentException.class, () -> new PortfolioRepricingService(premiumService, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new PortfolioRepricingService(premiumService, 2, 0));
+    }
+
+    private PremiumBatch randomBatch(int size, long seed) {
+        Random random = new Random(seed);
+        double[] estimatedValues = new double[size];
+        int[] mileages = new int[size];
+        int[] accidents = new int[size];
+        byte[] coverCodes = new byte[size];
+        boolean[] windscreenRepairs = new boolean[size];
+        byte[] parkingCodes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            // Một phần nhỏ có estimatedValue < 100 để kiểm tra dòng bị reject
+            estimatedValues[i] = random.nextInt(50) == 0 ? 99 : 100 + random.nextInt(3) * (random.nextInt(10000) + 1);
+            mileages[i] = random.nextInt(12000);
+            accidents[i] = random.nextInt(3);
+            coverCodes[i] = (byte) random.nextInt(4);
+            windscreenRepairs[i] = random.nextBoolean();
+            parkingCodes[i] = (byte) random.nextInt(2);
+        }
+        return new PremiumBatch(estimatedValues, mileages, accidents, coverCodes, windscreenRepairs, parkingCodes);
+    }
+}
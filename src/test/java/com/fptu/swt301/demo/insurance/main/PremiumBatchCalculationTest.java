@@ -0,0 +1,155 @@
+package com.fptu.swt301.demo.insurance.main;
+
+import com.fptu.swt301.demo.insurance.config.PremiumConstants;
+import com.fptu.swt301.demo.insurance.domain.model.PremiumBatch;
+import com.fptu.swt301.demo.insurance.domain.model.PremiumCalculationRequest;
+import com.fptu.swt301.demo.insurance.domain.valueobject.BreakdownCover;
+import com.fptu.swt301.demo.insurance.service.PremiumCalculationService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class cho batch (columnar) path của PremiumCalculationService
+ * Kết quả batch phải giống hệt per-request path, kể cả các trường hợp đặc biệt
+ * của calculateBasePremium (Estimated Value = 100, 101)
+ */
+@DisplayName("Premium Batch Calculation Tests")
+public class PremiumBatchCalculationTest {
+
+    private static final double[] ESTIMATED_VALUES = { 100, 100.5, 101, 102, 999.99, 1000, 5000, 100000 };
+    private static final int[] MILEAGES = { 0, 4999, 5000, 5001, 15000 };
+    private static final int[] ACCIDENTS = { 0, 1, 2 };
+    private static final String[] PARKING_LOCATIONS = { "Driveway/Carport", "Public Place", " public place " };
+
+    private final PremiumCalculationService premiumService = new PremiumCalculationService();
+
+    @Test
+    @DisplayName("Batch path matches per-request path for every input combination")
+    void testBatchMatchesScalarPath() {
+        List<PremiumCalculationRequest> requests = new ArrayList<>();
+        for (double estimatedValue : ESTIMATED_VALUES) {
+            for (int mileage : MILEAGES) {
+                for (int accidents : ACCIDENTS) {
+                    for (int cover = 0; cover < BreakdownCover.count(); cover++) {
+                        for (boolean windscreen : new boolean[] { false, true }) {
+                            for (String parking : PARKING_LOCATIONS) {
+                                requests.add(PremiumCalculationRequest.builder()
+                                        .estimatedValue(estimatedValue)
+                                        .totalMileage(mileage)
+                                        .numberOfAccidents(accidents)
+                                        .breakdownCover(BreakdownCover.fromCode(cover))
+                                        .windscreenRepair(windscreen)
+                                        .parkingLocation(parking)
+                                        .build());
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        PremiumBatch batch = PremiumBatch.from(requests);
+        double[] premiums = new double[batch.size()];
+        int rejected = premiumService.calculatePremiums(batch, premiums);
+
+        assertEquals(0, rejected);
+        for (int i = 0; i < requests.size(); i++) {
+            assertEquals(premiumService.calculatePremium(requests.get(i)), premiums[i], 0.0,
+                    "Mismatch at row " + i);
+        }
+    }
+
+    @Test
+    @DisplayName("Batch path matches per-request path for CSV test data")
+    void testBatchMatchesScalarPathForCsvData() throws Exception {
+        List<String[]> rows = readValidCsvRows("/insurance/insurance_premium_test_data.csv");
+        int size = rows.size();
+        double[] estimatedValue = new double[size];
+        int[] mileage = new int[size];
+        int[] accidents = new int[size];
+        byte[] coverCode = new byte[size];
+        boolean[] windscreen = new boolean[size];
+        byte[] parkingCode = new byte[size];
+        double[] expected = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            String[] values = rows.get(i);
+            coverCode[i] = BreakdownCover.fromString(values[2].trim()).getCode();
+            windscreen[i] = "Yes".equalsIgnoreCase(values[3].trim());
+            accidents[i] = Integer.parseInt(values[4].trim());
+            mileage[i] = Integer.parseInt(values[5].trim());
+            estimatedValue[i] = Double.parseDouble(values[6].trim());
+            parkingCode[i] = PremiumBatch.parkingCodeOf(values[7].trim());
+            expected[i] = premiumService.calculatePremium(values[2].trim(), values[3].trim(), accidents[i],
+                    mileage[i], estimatedValue[i], values[7].trim());
+        }
+
+        double[] premiums = new double[size];
+        int rejected = premiumService.calculatePremiums(estimatedValue, mileage, accidents, coverCode, windscreen,
+                parkingCode, premiums);
+
+        assertEquals(0, rejected);
+        assertArrayEquals(expected, premiums, 0.0);
+    }
+
+    @Test
+    @DisplayName("Invalid rows are reported as NaN instead of throwing")
+    void testInvalidRowsAreRejected() {
+        double[] estimatedValue = { 99, 1000, 1000, 1000, 1000 };
+        int[] mileage = { 3000, -1, 3000, 3000, 3000 };
+        int[] accidents = { 0, 0, -1, 0, 0 };
+        byte[] coverCode = { 0, 0, 0, 9, 1 };
+        boolean[] windscreen = new boolean[5];
+        byte[] parkingCode = new byte[5];
+        double[] premiums = new double[5];
+
+        int rejected = premiumService.calculatePremiums(estimatedValue, mileage, accidents, coverCode, windscreen,
+                parkingCode, premiums);
+
+        assertEquals(4, rejected);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(Double.isNaN(premiums[i]), "Row " + i + " should be rejected");
+        }
+        assertEquals(premiumService.calculatePremium("Roadside", "No", 0, 3000, 1000, "Driveway/Carport"),
+                premiums[4], 0.0);
+    }
+
+    @Test
+    @DisplayName("Columns with different lengths are rejected")
+    void testColumnLengthMismatch() {
+        assertThrows(IllegalArgumentException.class, () -> premiumService.calculatePremiums(
+                new double[2], new int[2], new int[2], new byte[2], new boolean[2], new byte[1], new double[2]));
+        assertThrows(IllegalArgumentException.class, () -> new PremiumBatch(
+                new double[2], new int[2], new int[1], new byte[2], new boolean[2], new byte[2]));
+        assertEquals(PremiumConstants.PARKING_CODE_OTHER, PremiumBatch.parkingCodeOf(null));
+    }
+
+    private List<String[]> readValidCsvRows(String resourcePath) throws Exception {
+        List<String[]> rows = new ArrayList<>();
+        try (InputStream inputStream = getClass().getResourceAsStream(resourcePath);
+                BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            reader.readLine(); // header
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty() || line.trim().startsWith("#")) {
+                    continue;
+                }
+                String[] values = line.split(",");
+                if (!"EXCEPTION".equalsIgnoreCase(values[8].trim())) {
+                    rows.add(values);
+                }
+            }
+        }
+        return rows;
+    }
+}
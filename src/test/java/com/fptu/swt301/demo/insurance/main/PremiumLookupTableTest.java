@@ -0,0 +1,84 @@
+package com.fptu.swt301.demo.insurance.main;
+
+import com.fptu.swt301.demo.insurance.domain.valueobject.BreakdownCover;
+import com.fptu.swt301.demo.insurance.service.PremiumCalculationService;
+import com.fptu.swt301.demo.insurance.service.PremiumLookupTable;
+import com.fptu.swt301.demo.insurance.service.rule.CompiledPremiumRules;
+import com.fptu.swt301.demo.insurance.service.rule.PremiumRule;
+import com.fptu.swt301.demo.insurance.service.rule.PremiumRuleSet;
+import com.fptu.swt301.demo.insurance.service.rule.RuleCondition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class cho PremiumLookupTable (precomputed tariff cells)
+ */
+@DisplayName("Premium Lookup Table Tests")
+public class PremiumLookupTableTest {
+
+    private static final String[] COVERS = { "No cover", "Roadside", "At home", "European" };
+    private static final String[] PARKING_LOCATIONS = { "Driveway/Carport", "Public Place" };
+
+    @Test
+    @DisplayName("Default tariff: every cell is verified and the table has 192 cells")
+    void testDefaultTableIsConsistent() {
+        PremiumCalculationService scalarService = new PremiumCalculationService();
+        PremiumLookupTable table = PremiumLookupTable.build(scalarService);
+
+        assertEquals(3 * 4 * 2 * 2 * 2 * 2, table.size());
+        assertTrue(table.verify(scalarService).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Table mode gives the same premiums as the scalar path")
+    void testTableModeMatchesScalarPath() {
+        CompiledPremiumRules rules = PremiumRuleSet.defaultRules().compile();
+        PremiumCalculationService scalarService = new PremiumCalculationService(rules);
+        PremiumCalculationService tableService = new PremiumCalculationService(rules, true);
+        assertTrue(tableService.isUsingPrecomputedTable());
+        assertFalse(scalarService.isUsingPrecomputedTable());
+
+        Random random = new Random(7L);
+        for (int i = 0; i < 20_000; i++) {
+            String cover = COVERS[random.nextInt(COVERS.length)];
+            String windscreen = random.nextBoolean() ? "Yes" : "No";
+            int accidents = random.nextInt(3);
+            int mileage = random.nextInt(3) == 0 ? 4999 + random.nextInt(3) : random.nextInt(20000);
+            double estimatedValue = random.nextInt(4) == 0 ? 100 + random.nextInt(2) : 100 + random.nextInt(100000);
+            String parking = PARKING_LOCATIONS[random.nextInt(PARKING_LOCATIONS.length)];
+
+            assertEquals(
+                    scalarService.calculatePremium(cover, windscreen, accidents, mileage, estimatedValue, parking),
+                    tableService.calculatePremium(cover, windscreen, accidents, mileage, estimatedValue, parking),
+                    0.0);
+        }
+    }
+
+    @Test
+    @DisplayName("Table supports rule sets with several mileage thresholds")
+    void testMultipleMileageThresholds() {
+        List<PremiumRule> rules = new ArrayList<>(PremiumRuleSet.defaultRules().getRules());
+        rules.add(PremiumRule.builder().name("very-high-mileage")
+                .condition(RuleCondition.MILEAGE_ABOVE, "10000").add(75).build());
+        CompiledPremiumRules compiled = PremiumRuleSet.of(rules).compile();
+
+        PremiumCalculationService scalarService = new PremiumCalculationService(compiled);
+        PremiumCalculationService tableService = new PremiumCalculationService(compiled, true);
+
+        for (int mileage : new int[] { 0, 5000, 5001, 10000, 10001, Integer.MAX_VALUE }) {
+            for (int code = 0; code < BreakdownCover.count(); code++) {
+                assertEquals(
+                        scalarService.calculatePremium(COVERS[code], "Yes", 0, mileage, 5000, "Public Place"),
+                        tableService.calculatePremium(COVERS[code], "Yes", 0, mileage, 5000, "Public Place"),
+                        0.0);
+            }
+        }
+        assertEquals(3 * 4 * 2 * 2 * 3 * 2, PremiumLookupTable.build(scalarService).size());
+    }
+}
@@ -0,0 +1,131 @@
+package com.fptu.swt301.demo.insurance.main;
+
+import com.fptu.swt301.demo.insurance.config.PremiumConstants;
+import com.fptu.swt301.demo.insurance.domain.valueobject.BreakdownCover;
+import com.fptu.swt301.demo.insurance.exception.ValidationException;
+import com.fptu.swt301.demo.insurance.service.PremiumCalculationService;
+import com.fptu.swt301.demo.insurance.service.rule.CompiledPremiumRules;
+import com.fptu.swt301.demo.insurance.service.rule.PremiumRule;
+import com.fptu.swt301.demo.insurance.service.rule.PremiumRuleSet;
+import com.fptu.swt301.demo.insurance.service.rule.RuleCondition;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class cho premium rule pipeline (PremiumRuleSet / CompiledPremiumRules)
+ * Tariff mặc định phải cho kết quả giống hệt if-chain hard-code trước đây
+ */
+@DisplayName("Premium Rule Set Tests")
+public class PremiumRuleSetTest {
+
+    private static final double[] BASE_PREMIUMS = { 1.414, 46.67, PremiumConstants.BASE_PREMIUM, 1234.5678 };
+    private static final int[] MILEAGES = { 0, 4999, 5000, 5001, 15000 };
+    private static final int[] ACCIDENTS = { 0, 1, 2 };
+
+    @Test
+    @DisplayName("Default rules are bit-identical to the hard-coded if-chain")
+    void testDefaultRulesMatchIfChain() {
+        assertMatchesIfChain(PremiumRuleSet.defaultRules().compile());
+    }
+
+    @Test
+    @DisplayName("Bundled premium_rules.properties is bit-identical to the hard-coded if-chain")
+    void testBundledTariffFileMatchesIfChain() throws Exception {
+        try (InputStream inputStream = getClass().getResourceAsStream("/insurance/premium_rules.properties")) {
+            PremiumRuleSet ruleSet = PremiumRuleSet.load(inputStream);
+            assertEquals(8, ruleSet.getRules().size());
+            assertMatchesIfChain(ruleSet.compile());
+        }
+    }
+
+    @Test
+    @DisplayName("Custom tariff changes the premium without code changes")
+    void testCustomTariff() {
+        Properties properties = new Properties();
+        properties.setProperty("rules", "admin-fee,mileage-8000");
+        properties.setProperty("rule.admin-fee.condition", "ALWAYS");
+        properties.setProperty("rule.admin-fee.effect", "ADD");
+        properties.setProperty("rule.admin-fee.value", "10");
+        properties.setProperty("rule.mileage-8000.condition", "MILEAGE_ABOVE");
+        properties.setProperty("rule.mileage-8000.argument", "8000");
+        properties.setProperty("rule.mileage-8000.effect", "MULTIPLY");
+        properties.setProperty("rule.mileage-8000.value", "2");
+
+        PremiumCalculationService service = new PremiumCalculationService(
+                PremiumRuleSet.fromProperties(properties).compile());
+
+        // Base premium = BASE_PREMIUM (128.712) cho Estimated Value = 5000
+        assertEquals(138.71, service.calculatePremium("No cover", "No", 0, 3000, 5000, "Public Place"), 0.0);
+        assertEquals(277.42, service.calculatePremium("No cover", "No", 0, 9000, 5000, "Public Place"), 0.0);
+    }
+
+    @Test
+    @DisplayName("Invalid rule sets are rejected with all errors collected")
+    void testInvalidRuleSet() {
+        ValidationException exception = assertThrows(ValidationException.class, () -> PremiumRuleSet.of(List.of(
+                PremiumRule.builder().name("a").condition(RuleCondition.BREAKDOWN_COVER, "Moon").multiply(2).build(),
+                PremiumRule.builder().name("a").condition(RuleCondition.MILEAGE_ABOVE, "-5").add(1).build(),
+                PremiumRule.builder().name("c").condition(RuleCondition.WINDSCREEN_REPAIR, "x").add(1).build(),
+                PremiumRule.builder().name("d").multiply(Double.NaN).build())));
+
+        assertEquals(5, exception.getErrorCount());
+
+        Properties properties = new Properties();
+        properties.setProperty("rules", "x");
+        properties.setProperty("rule.x.condition", "SOMETIMES");
+        properties.setProperty("rule.x.effect", "MULTIPLY");
+        properties.setProperty("rule.x.value", "abc");
+        assertEquals(2, assertThrows(ValidationException.class,
+                () -> PremiumRuleSet.fromProperties(properties)).getErrorCount());
+        assertThrows(ValidationException.class, () -> PremiumRuleSet.fromProperties(new Properties()));
+    }
+
+    private void assertMatchesIfChain(CompiledPremiumRules rules) {
+        for (double basePremium : BASE_PREMIUMS) {
+            for (int code = 0; code < BreakdownCover.count(); code++) {
+                for (boolean windscreen : new boolean[] { false, true }) {
+                    for (int accidents : ACCIDENTS) {
+                        for (int mileage : MILEAGES) {
+                            for (boolean publicParking : new boolean[] { false, true }) {
+                                double expected = ifChain(basePremium, BreakdownCover.fromCode(code), windscreen,
+                                        accidents, mileage, publicParking);
+                                double actual = rules.apply(basePremium,
+                                        rules.factorMask(code, windscreen, accidents, mileage, publicParking));
+                                assertEquals(Double.doubleToLongBits(expected), Double.doubleToLongBits(actual),
+                                        () -> "Mismatch: expected " + expected + " but got " + actual);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * If-chain hard-code của PremiumCalculationService trước khi có rule
+     * pipeline (dùng làm reference)
+     */
+    private static double ifChain(double basePremium, BreakdownCover breakdownCover, boolean windscreenRepair,
+            int numberOfAccidents, int totalMileage, boolean publicParking) {
+        double premium = basePremium * (1 + breakdownCover.getPercentageIncrease());
+        if (windscreenRepair) {
+            premium += PremiumConstants.WINDSCREEN_CHARGE;
+        }
+        if (numberOfAccidents == 0) {
+            premium = premium * (1 - PremiumConstants.ZERO_ACCIDENT_DISCOUNT);
+        }
+        if (totalMileage > PremiumConstants.HIGH_MILEAGE_THRESHOLD) {
+            premium += PremiumConstants.HIGH_MILEAGE_CHARGE;
+        }
+        if (publicParking) {
+            premium += PremiumConstants.PUBLIC_PARKING_CHARGE;
+        }
+        return premium;
+    }
+}
@@ -0,0 +1,231 @@
+package com.fptu.swt301.demo.insurance.main;
+
+import com.fptu.swt301.demo.insurance.config.ProfileConstants;
+import com.fptu.swt301.demo.insurance.domain.model.BrokerProfile;
+import com.fptu.swt301.demo.insurance.domain.valueobject.LicenseInfo;
+import com.fptu.swt301.demo.insurance.exception.StacklessValidationException;
+import com.fptu.swt301.demo.insurance.exception.ValidationException;
+import com.fptu.swt301.demo.insurance.service.validator.ProfileErrorCode;
+import com.fptu.swt301.demo.insurance.service.validator.ProfileValidator;
+import com.fptu.swt301.demo.insurance.service.validator.ValidationResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Constructor;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class cho ProfileValidator / ValidationResult (error-code bitmask)
+ * Message phải giống hệt validator dạng List<String> trước đây
+ */
+@DisplayName("Profile Validator Tests")
+public class ProfileValidatorTest {
+
+    private static final String[] TEXTS = { null, "", "   ", "Mr", "mrs", " Doctor ", "King", "Student",
+            "engineer", "Astronaut" };
+    private static final String[] LICENSE_TYPES = { null, "", "Full", " provisional ", "Learner" };
+    private static final int[] LICENSE_PERIODS = { -1, 0, 5, 50, 51 };
+    private static final LocalDate[] DATES_OF_BIRTH = { null, LocalDate.now().plusDays(1),
+            LocalDate.now().minusYears(ProfileConstants.MINIMUM_AGE).plusDays(1),
+            LocalDate.now().minusYears(ProfileConstants.MINIMUM_AGE), LocalDate.of(1990, 3, 20) };
+
+    private final ProfileValidator validator = new ProfileValidator();
+
+    @Test
+    @DisplayName("Valid profiles share a single result instance")
+    void testValidProfile() {
+        ValidationResult result = validator.check(profile("SE1", "Mr", "Nguyen", "Dan Huy",
+                LocalDate.of(1990, 1, 1), "Full", 5, "Student", "1 Road"));
+
+        assertTrue(result.isValid());
+        assertSame(ValidationResult.valid(), result);
+        assertEquals(0, result.getErrorCount());
+        assertTrue(result.getMessages().isEmpty());
+        assertThrows(IllegalStateException.class, result::toException);
+    }
+
+    @Test
+    @DisplayName("Error codes and rendered messages match the list-based validator")
+    void testMessagesMatchListBasedValidator() {
+        Random random = new Random(42L);
+        for (int i = 0; i < 20_000; i++) {
+            BrokerProfile profile = profile(
+                    pick(random, "SE1", null, "", "  "),
+                    pick(random, TEXTS),
+                    pick(random, TEXTS),
+                    pick(random, TEXTS),
+                    DATES_OF_BIRTH[random.nextInt(DATES_OF_BIRTH.length)],
+                    pick(random, LICENSE_TYPES),
+                    LICENSE_PERIODS[random.nextInt(LICENSE_PERIODS.length)],
+                    pick(random, TEXTS),
+                    pick(random, null, "", " ", "1 Road"));
+
+            List<String> expected = listBasedErrors(profile);
+            ValidationResult result = validator.check(profile);
+            assertEquals(expected, result.getMessages());
+            assertEquals(expected.size(), result.getErrorCount());
+            assertEquals(expected.isEmpty(), result.isValid());
+
+            if (!expected.isEmpty()) {
+                ValidationException exception = assertThrows(ValidationException.class,
+                        () -> validator.validate(profile));
+                assertEquals(expected, exception.getErrors());
+                assertEquals(new ValidationException(expected).getMessage(), exception.getMessage());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Error codes are exposed as a bitmask")
+    void testErrorCodes() {
+        ValidationResult result = validator.check(profile("SE1", "King", "", "Dan Huy", null, "Full", 51,
+                "Student", null));
+
+        assertTrue(result.hasError(ProfileErrorCode.TITLE_INVALID));
+        assertTrue(result.hasError(ProfileErrorCode.FIRST_NAME_REQUIRED));
+        assertTrue(result.hasError(ProfileErrorCode.DATE_OF_BIRTH_REQUIRED));
+        assertTrue(result.hasError(ProfileErrorCode.LICENSE_PERIOD_TOO_LONG));
+        assertFalse(result.hasError(ProfileErrorCode.USER_ID_REQUIRED));
+        assertEquals(ProfileErrorCode.TITLE_INVALID.bit() | ProfileErrorCode.FIRST_NAME_REQUIRED.bit()
+                | ProfileErrorCode.DATE_OF_BIRTH_REQUIRED.bit() | ProfileErrorCode.LICENSE_PERIOD_TOO_LONG.bit(),
+                result.getErrorBits());
+        assertEquals(4, result.getErrorCodes().size());
+        assertEquals("License period cannot exceed 50 years. Provided value: 51", result.getMessages().get(3));
+    }
+
+    @Test
+    @DisplayName("Stackless exceptions skip the stack trace and render messages lazily")
+    void testStacklessExceptions() {
+        ProfileValidator stacklessValidator = new ProfileValidator(true);
+        assertTrue(stacklessValidator.isUsingStacklessExceptions());
+        assertFalse(validator.isUsingStacklessExceptions());
+
+        BrokerProfile invalid = profile(null, "Mr", "Nguyen", "Dan Huy", LocalDate.of(1990, 1, 1), "Full", 5,
+                "Student", null);
+        ValidationException stackless = assertThrows(StacklessValidationException.class,
+                () -> stacklessValidator.validate(invalid));
+        assertEquals(0, stackless.getStackTrace().length);
+        assertEquals("User ID is required and cannot be empty", stackless.getMessage());
+        assertEquals(1, stackless.getErrorCount());
+
+        ValidationException withStack = assertThrows(ValidationException.class, () -> validator.validate(invalid));
+        assertFalse(withStack instanceof StacklessValidationException);
+        assertTrue(withStack.getStackTrace().length > 0);
+        assertEquals(stackless.getErrors(), withStack.getErrors());
+
+        List<String> rendered = new ArrayList<>();
+        ValidationException lazy = new StacklessValidationException(() -> {
+            rendered.add("rendered");
+            return Arrays.asList("a", "b");
+        });
+        assertTrue(rendered.isEmpty());
+        assertEquals("Validation failed with 2 error(s):\n  1. a\n  2. b", lazy.getMessage());
+        assertEquals(2, lazy.getErrorCount());
+        assertEquals(1, rendered.size());
+    }
+
+    private static BrokerProfile profile(String userId, String title, String firstName, String surname,
+            LocalDate dateOfBirth, String licenseType, int licensePeriod, String occupation, String street) {
+        BrokerProfile.Builder builder = BrokerProfile.builder()
+                .userId(userId)
+                .title(title)
+                .firstName(firstName)
+                .surname(surname)
+                .dateOfBirth(dateOfBirth)
+                .occupation(occupation)
+                .street(street);
+        if (licenseType != null) {
+            builder.licenseInfo(license(licenseType, licensePeriod));
+        }
+        return builder.build();
+    }
+
+    /**
+     * LicenseInfo.of từ chối giá trị không hợp lệ, nên dùng private constructor
+     * qua reflection để tạo LicenseInfo với type/period bất kỳ
+     */
+    private static LicenseInfo license(String type, int period) {
+        try {
+            Constructor<LicenseInfo> constructor = LicenseInfo.class.getDeclaredConstructor(String.class,
+                    int.class);
+            constructor.setAccessible(true);
+            return constructor.newInstance(type, period);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @SafeVarargs
+    private static <T> T pick(Random random, T... values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * ProfileValidator dạng List<String> trước khi có ValidationResult (dùng
+     * làm reference)
+     */
+    private static List<String> listBasedErrors(BrokerProfile profile) {
+        List<String> errors = new ArrayList<>();
+        if (blank(profile.getUserId())) {
+            errors.add("User ID is required and cannot be empty");
+        }
+        if (blank(profile.getTitle())) {
+            errors.add("Title is required");
+        } else if (!anyIgnoreCase(ProfileConstants.VALID_TITLES, profile.getTitle())) {
+            errors.add("Title must be one of: " + Arrays.toString(ProfileConstants.VALID_TITLES));
+        }
+        if (blank(profile.getFirstName())) {
+            errors.add("First name is required and cannot be empty");
+        }
+        if (blank(profile.getSurname())) {
+            errors.add("Surname is required and cannot be empty");
+        }
+        LocalDate dateOfBirth = profile.getDateOfBirth();
+        if (dateOfBirth == null) {
+            errors.add("Date of birth is required");
+        } else if (dateOfBirth.isAfter(LocalDate.now())) {
+            errors.add("Date of birth cannot be in the future");
+        } else if (Period.between(dateOfBirth, LocalDate.now()).getYears() < ProfileConstants.MINIMUM_AGE) {
+            errors.add("Age must be at least " + ProfileConstants.MINIMUM_AGE + " years old");
+        }
+        String licenseType = profile.getLicenseType();
+        int licensePeriod = profile.getLicensePeriod();
+        if (blank(licenseType)) {
+            errors.add("License type is required");
+        } else if (!ProfileConstants.LICENSE_TYPE_FULL.equalsIgnoreCase(licenseType.trim())
+                && !ProfileConstants.LICENSE_TYPE_PROVISIONAL.equalsIgnoreCase(licenseType.trim())) {
+            errors.add("License type must be 'Full' or 'Provisional'");
+        }
+        if (licensePeriod < ProfileConstants.MIN_LICENSE_PERIOD) {
+            errors.add("License period cannot be negative. Provided value: " + licensePeriod);
+        }
+        if (licensePeriod > ProfileConstants.MAX_LICENSE_PERIOD) {
+            errors.add("License period cannot exceed " + ProfileConstants.MAX_LICENSE_PERIOD
+                    + " years. Provided value: " + licensePeriod);
+        }
+        if (blank(profile.getOccupation())) {
+            errors.add("Occupation is required");
+        } else if (!anyIgnoreCase(ProfileConstants.VALID_OCCUPATIONS, profile.getOccupation())) {
+            errors.add("Occupation must be one of: " + Arrays.toString(ProfileConstants.VALID_OCCUPATIONS));
+        }
+        if (profile.getStreet() != null && profile.getStreet().trim().isEmpty()) {
+            errors.add("Street address cannot be only whitespace");
+        }
+        return errors;
+    }
+
+    private static boolean blank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    private static boolean anyIgnoreCase(String[] values, String value) {
+        return Arrays.stream(values).anyMatch(valid -> valid.equalsIgnoreCase(value.trim()));
+    }
+}
@@ -0,0 +1,183 @@
+package com.fptu.swt301.demo.insurance.main;
+
+import com.fptu.swt301.demo.insurance.config.PremiumConstants;
+import com.fptu.swt301.demo.insurance.domain.id.QuoteIdGenerator;
+import com.fptu.swt301.demo.insurance.domain.id.RandomQuoteIdGenerator;
+import com.fptu.swt301.demo.insurance.domain.id.SequenceQuoteIdGenerator;
+import com.fptu.swt301.demo.insurance.domain.id.SnowflakeQuoteIdGenerator;
+import com.fptu.swt301.demo.insurance.domain.model.InsuranceQuote;
+import com.fptu.swt301.demo.insurance.domain.model.PremiumCalculationRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class cho các QuoteIdGenerator (sequence, Snowflake, ThreadLocalRandom)
+ */
+@DisplayName("Quote Id Generator Tests")
+public class QuoteIdGeneratorTest {
+
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 50_000;
+
+    @Test
+    @DisplayName("Sequence generator starts at 10000 and never repeats under contention")
+    void testSequenceGenerator() throws Exception {
+        SequenceQuoteIdGenerator generator = new SequenceQuoteIdGenerator();
+        assertEquals("10000", generator.nextId());
+        assertEquals("10001", generator.nextId());
+        assertEquals(THREADS * IDS_PER_THREAD, generateConcurrently(generator).size());
+        assertThrows(IllegalArgumentException.class, () -> new SequenceQuoteIdGenerator(-1));
+    }
+
+    @Test
+    @DisplayName("Snowflake ids are unique across threads and nodes")
+    void testSnowflakeUniqueness() throws Exception {
+        Set<String> node1 = generateConcurrently(new SnowflakeQuoteIdGenerator(1));
+        Set<String> node2 = generateConcurrently(new SnowflakeQuoteIdGenerator(2));
+        assertEquals(THREADS * IDS_PER_THREAD, node1.size());
+        assertEquals(THREADS * IDS_PER_THREAD, node2.size());
+        node1.retainAll(node2);
+        assertTrue(node1.isEmpty());
+
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeQuoteIdGenerator(-1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SnowflakeQuoteIdGenerator(SnowflakeQuoteIdGenerator.MAX_NODE_ID + 1));
+    }
+
+    @Test
+    @DisplayName("Snowflake ids stay increasing on counter overflow and clock regression")
+    void testSnowflakeLogicalClock() {
+        AtomicLong clock = new AtomicLong(1_000);
+        SnowflakeQuoteIdGenerator generator = new SnowflakeQuoteIdGenerator(5, 0, clock::get);
+
+        long first = generator.nextLongId();
+        assertEquals(1_000, SnowflakeQuoteIdGenerator.timestampOf(first));
+        assertEquals(5, SnowflakeQuoteIdGenerator.nodeIdOf(first));
+        assertEquals(0, SnowflakeQuoteIdGenerator.sequenceOf(first));
+
+        // Counter tràn trong cùng millisecond -> timestamp logic tăng
+        long previous = first;
+        for (int i = 1; i <= 1 << SnowflakeQuoteIdGenerator.SEQUENCE_BITS; i++) {
+            long id = generator.nextLongId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+        assertEquals(1_001, SnowflakeQuoteIdGenerator.timestampOf(previous));
+        assertEquals(0, SnowflakeQuoteIdGenerator.sequenceOf(previous));
+
+        // Đồng hồ bị lùi
+        clock.set(500);
+        long afterRegression = generator.nextLongId();
+        assertTrue(afterRegression > previous);
+        assertEquals(5, SnowflakeQuoteIdGenerator.nodeIdOf(afterRegression));
+
+        clock.set(2_000);
+        assertEquals(2_000, SnowflakeQuoteIdGenerator.timestampOf(generator.nextLongId()));
+    }
+
+    @Test
+    @DisplayName("Random generator produces 18-digit ids without collisions in practice")
+    void testRandomGenerator() throws Exception {
+        Set<String> ids = generateConcurrently(new RandomQuoteIdGenerator());
+        assertEquals(THREADS * IDS_PER_THREAD, ids.size());
+        assertTrue(ids.stream().allMatch(id -> id.length() == 18));
+    }
+
+    @Test
+    @DisplayName("InsuranceQuote uses the configured generator when no id is given")
+    void testInsuranceQuoteGenerator() throws Exception {
+        PremiumCalculationRequest request = PremiumCalculationRequest.builder().estimatedValue(5000).build();
+
+        assertEquals("Q1", InsuranceQuote.builder().request(request).idGenerator(() -> "Q1").build()
+                .getIdentificationNumber());
+        assertEquals("51700", InsuranceQuote.builder().request(request).identificationNumber("51700")
+                .idGenerator(() -> "Q1").build().getIdentificationNumber());
+
+        QuoteIdGenerator original = InsuranceQuote.getDefaultIdGenerator();
+        try {
+            InsuranceQuote.setDefaultIdGenerator(new SequenceQuoteIdGenerator(70000));
+            assertEquals("70000", InsuranceQuote.builder().request(request).build().getIdentificationNumber());
+            assertThrows(IllegalArgumentException.class, () -> InsuranceQuote.setDefaultIdGenerator(null));
+        } finally {
+            InsuranceQuote.setDefaultIdGenerator(original);
+        }
+
+        // Generator mặc định không tạo trùng như Random 5 chữ số trước đây
+        Set<String> ids = generateConcurrently(
+                () -> InsuranceQuote.builder().request(request).build().getIdentificationNumber());
+        assertEquals(THREADS * IDS_PER_THREAD, ids.size());
+    }
+
+    @Test
+    @DisplayName("Default generator is Snowflake on the configured node and does not reissue ids after a restart")
+    void testDefaultGeneratorIsRestartSafe() {
+        QuoteIdGenerator defaultGenerator = InsuranceQuote.getDefaultIdGenerator();
+        assertInstanceOf(SnowflakeQuoteIdGenerator.class, defaultGenerator);
+        assertEquals(PremiumConstants.DEFAULT_QUOTE_NODE_ID,
+                ((SnowflakeQuoteIdGenerator) defaultGenerator).getNodeId());
+
+        String previous = System.getProperty(PremiumConstants.QUOTE_NODE_ID_PROPERTY);
+        try {
+            System.setProperty(PremiumConstants.QUOTE_NODE_ID_PROPERTY, " 42 ");
+            assertEquals(42, SnowflakeQuoteIdGenerator.forConfiguredNode().getNodeId());
+            System.setProperty(PremiumConstants.QUOTE_NODE_ID_PROPERTY, "node-1");
+            assertThrows(IllegalArgumentException.class, SnowflakeQuoteIdGenerator::forConfiguredNode);
+            System.setProperty(PremiumConstants.QUOTE_NODE_ID_PROPERTY, "1024");
+            assertThrows(IllegalArgumentException.class, SnowflakeQuoteIdGenerator::forConfiguredNode);
+        } finally {
+            if (previous == null) {
+                System.clearProperty(PremiumConstants.QUOTE_NODE_ID_PROPERTY);
+            } else {
+                System.setProperty(PremiumConstants.QUOTE_NODE_ID_PROPERTY, previous);
+            }
+        }
+
+        // Instance mới (như sau khi chạy lại) bắt đầu từ đồng hồ hiện tại, không từ một giá trị cố định
+        AtomicLong clock = new AtomicLong(SnowflakeQuoteIdGenerator.DEFAULT_EPOCH_MILLIS + 5_000);
+        SnowflakeQuoteIdGenerator beforeRestart = new SnowflakeQuoteIdGenerator(0,
+                SnowflakeQuoteIdGenerator.DEFAULT_EPOCH_MILLIS, clock::get);
+        long lastBeforeRestart = 0;
+        for (int i = 0; i < 1_000; i++) {
+            lastBeforeRestart = beforeRestart.nextLongId();
+        }
+        clock.addAndGet(1);
+        SnowflakeQuoteIdGenerator afterRestart = new SnowflakeQuoteIdGenerator(0,
+                SnowflakeQuoteIdGenerator.DEFAULT_EPOCH_MILLIS, clock::get);
+        assertTrue(afterRestart.nextLongId() > lastBeforeRestart);
+    }
+
+    private static Set<String> generateConcurrently(QuoteIdGenerator generator) throws Exception {
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    List<String> local = new ArrayList<>(IDS_PER_THREAD);
+                    for (int i = 0; i < IDS_PER_THREAD; i++) {
+                        local.add(generator.nextId());
+                    }
+                    ids.addAll(local);
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return new HashSet<>(ids);
+    }
+}
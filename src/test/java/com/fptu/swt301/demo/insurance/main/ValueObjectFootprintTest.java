@@ -0,0 +1,203 @@
+package com.fptu.swt301.demo.insurance.main;
+
+import com.fptu.swt301.demo.insurance.domain.model.BrokerProfile;
+import com.fptu.swt301.demo.insurance.domain.valueobject.LicenseInfo;
+import com.fptu.swt301.demo.insurance.domain.valueobject.PhoneNumber;
+import com.fptu.swt301.demo.insurance.exception.ValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class cho canonical value object (LicenseInfo flyweight, PhoneNumber
+ * packed digits) và memory footprint ước lượng của chúng
+ */
+@DisplayName("Value Object Footprint Tests")
+public class ValueObjectFootprintTest {
+
+    /**
+     * Layout PhoneNumber trước đây: object với 2 reference (value, digitsOnly)
+     * và 2 String 10 ký tự riêng biệt
+     */
+    private static final long LEGACY_PHONE_BYTES = align(12 + 2 * 4) + 2 * stringSize(10);
+
+    /**
+     * Layout LicenseInfo trước đây: mỗi profile một instance (type dùng chung
+     * literal)
+     */
+    private static final long LEGACY_LICENSE_BYTES = align(12 + 4 + 4);
+
+    @Test
+    @DisplayName("LicenseInfo.of returns canonical instances for the standard types")
+    void testLicenseInfoFlyweight() {
+        assertSame(LicenseInfo.of("Full", 5), LicenseInfo.of(" Full ", 5));
+        assertSame(LicenseInfo.of("Provisional", 0), LicenseInfo.of("Provisional", 0));
+        assertSame(LicenseInfo.of("Full", 50), LicenseInfo.of("Full", 50));
+        assertNotSame(LicenseInfo.of("Full", 5), LicenseInfo.of("Full", 6));
+
+        // Type viết khác chuẩn vẫn được giữ nguyên như trước
+        LicenseInfo lowerCase = LicenseInfo.of("full", 5);
+        assertEquals("full", lowerCase.getType());
+        assertTrue(lowerCase.isFull());
+        assertNotEquals(LicenseInfo.of("Full", 5), lowerCase);
+
+        assertEquals(2, assertThrows(ValidationException.class, () -> LicenseInfo.of("Learner", -1))
+                .getErrorCount());
+    }
+
+    @Test
+    @DisplayName("LicenseInfo.tryOf and validationErrors do not throw for invalid licenses")
+    void testLicenseInfoTryOf() {
+        assertSame(LicenseInfo.of("Full", 5), LicenseInfo.tryOf(" Full ", 5));
+        assertEquals(LicenseInfo.of("full", 5), LicenseInfo.tryOf("full", 5));
+        assertNull(LicenseInfo.tryOf("Learner", -1));
+        assertNull(LicenseInfo.tryOf(null, 3));
+
+        assertTrue(LicenseInfo.validationErrors("Provisional", 0).isEmpty());
+        assertTrue(LicenseInfo.validationErrors("full", 5).isEmpty());
+        assertEquals(assertThrows(ValidationException.class, () -> LicenseInfo.of("Learner", 51)).getErrors(),
+                LicenseInfo.validationErrors("Learner", 51));
+        assertEquals(assertThrows(ValidationException.class, () -> LicenseInfo.of(" ", -1)).getErrors(),
+                LicenseInfo.validationErrors(" ", -1));
+    }
+
+    @Test
+    @DisplayName("PhoneNumber keeps only packed digits unless the input is formatted")
+    void testPhoneNumberRepresentation() {
+        PhoneNumber plain = PhoneNumber.of(" 0912345678 ");
+        assertEquals("0912345678", plain.getValue());
+        assertEquals("0912345678", plain.getDigitsOnly());
+        assertEquals(912345678L, plain.getDigitsValue());
+        assertEquals(10, plain.getDigitCount());
+        assertEquals(24, estimateSize(plain));
+
+        PhoneNumber formatted = PhoneNumber.of("091 234 5678");
+        assertEquals("091 234 5678", formatted.getValue());
+        assertEquals("0912345678", formatted.getDigitsOnly());
+        assertEquals(plain, formatted);
+        assertEquals(plain.hashCode(), formatted.hashCode());
+        assertEquals(24 + stringSize(12), estimateSize(formatted));
+    }
+
+    @Test
+    @DisplayName("Phone and license footprint per profile is far below the previous layout")
+    void testFootprintPerProfile() {
+        int profileCount = 100_000;
+        List<Object> valueObjects = new ArrayList<>(profileCount * 2);
+        for (int i = 0; i < profileCount; i++) {
+            BrokerProfile profile = BrokerProfile.builder()
+                    .userId("SE" + i)
+                    .phone(String.format("09%08d", i))
+                    .licenseType(i % 3 == 0 ? "Provisional" : "Full")
+                    .licensePeriod(i % 51)
+                    .build();
+            valueObjects.add(profile.getPhone());
+            valueObjects.add(profile.getLicenseInfo());
+        }
+
+        long total = estimateSize(valueObjects.toArray()) - arraySize(valueObjects.size(), 4);
+        double bytesPerProfile = (double) total / profileCount;
+        double legacyBytesPerProfile = LEGACY_PHONE_BYTES + LEGACY_LICENSE_BYTES;
+
+        // PhoneNumber 24 byte + phần chia đều của 102 LicenseInfo dùng chung
+        assertTrue(bytesPerProfile < 25, "Estimated bytes per profile: " + bytesPerProfile);
+        assertTrue(bytesPerProfile < legacyBytesPerProfile / 6,
+                "Estimated " + bytesPerProfile + " vs legacy " + legacyBytesPerProfile);
+    }
+
+    /**
+     * Ước lượng kích thước (deep, mỗi object chỉ tính một lần) với layout
+     * HotSpot 64-bit compressed oops: header 12 byte, reference 4 byte, array
+     * header 16 byte, align 8 byte, String Latin-1
+     */
+    private static long estimateSize(Object root) {
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Object> pending = new ArrayList<>();
+        pending.add(root);
+        long total = 0;
+        while (!pending.isEmpty()) {
+            Object object = pending.remove(pending.size() - 1);
+            if (object == null || !visited.add(object)) {
+                continue;
+            }
+            Class<?> type = object.getClass();
+            if (object instanceof String) {
+                total += stringSize(((String) object).length());
+            } else if (type.isArray()) {
+                if (type.getComponentType().isPrimitive()) {
+                    total += arraySize(Array.getLength(object),
+                            primitiveSize(type.getComponentType()));
+                } else {
+                    Object[] array = (Object[]) object;
+                    total += arraySize(array.length, 4);
+                    Collections.addAll(pending, array);
+                }
+            } else if (type.isEnum()) {
+                // Enum constant dùng chung
+                continue;
+            } else {
+                long shallow = 12;
+                for (Class<?> c = type; c != Object.class; c = c.getSuperclass()) {
+                    for (Field field : c.getDeclaredFields()) {
+                        if (Modifier.isStatic(field.getModifiers())) {
+                            continue;
+                        }
+                        if (field.getType().isPrimitive()) {
+                            shallow += primitiveSize(field.getType());
+                        } else {
+                            shallow += 4;
+                            pending.add(read(field, object));
+                        }
+                    }
+                }
+                total += align(shallow);
+            }
+        }
+        return total;
+    }
+
+    private static Object read(Field field, Object object) {
+        try {
+            field.setAccessible(true);
+            return field.get(object);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int primitiveSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    private static long stringSize(int length) {
+        // String: header + byte[] ref + hash + coder + hashIsZero -> 24 byte
+        return 24 + arraySize(length, 1);
+    }
+
+    private static long arraySize(int length, int elementSize) {
+        return align(16 + (long) length * elementSize);
+    }
+
+    private static long align(long size) {
+        return (size + 7) & ~7L;
+    }
+}
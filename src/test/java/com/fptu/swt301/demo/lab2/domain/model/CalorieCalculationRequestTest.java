@@ -1,10 +1,15 @@
 package com.fptu.swt301.demo.lab2.domain.model;
 
+import com.fptu.swt301.demo.lab2.config.SwimmingConstants;
 import com.fptu.swt301.demo.lab2.domain.valueobject.SwimmingStyle;
 import com.fptu.swt301.demo.lab2.exception.ValidationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -148,4 +153,71 @@ public class CalorieCalculationRequestTest {
 
         assertTrue(exception.getErrorCount() > 1);
     }
+
+    @Test
+    @DisplayName("Test check - error codes render the same messages as before")
+    void testCheckRendersLegacyMessages() {
+        CalorieValidationResult result = CalorieCalculationRequest.check(null, -2.5, 700.0);
+        assertFalse(result.isValid());
+        assertEquals(EnumSet.of(CalorieErrorCode.SWIMMING_STYLE_REQUIRED, CalorieErrorCode.BODY_WEIGHT_TOO_HIGH,
+                CalorieErrorCode.DURATION_NEGATIVE), result.getErrorCodes());
+        assertEquals(List.of(
+                "Swimming style cannot be null or invalid. Please select a valid swimming style.",
+                String.format("Body weight cannot exceed %.10f kg. Provided value: %.10f kg. "
+                        + "Please enter a value between %.2f and %.10f kg.",
+                        SwimmingConstants.MAX_BODY_WEIGHT_KG, 700.0,
+                        SwimmingConstants.MIN_BODY_WEIGHT_KG, SwimmingConstants.MAX_BODY_WEIGHT_KG),
+                String.format("Duration cannot be negative. Provided value: %.10f minutes. "
+                        + "Please enter a positive duration.", -2.5)),
+                result.getMessages());
+
+        result = CalorieCalculationRequest.check(SwimmingStyle.BUTTERFLY, 1e-70, -1.0);
+        assertEquals(List.of(
+                String.format("Body weight must be more than 0 kg. Provided value: %.60f kg.", -1.0),
+                String.format("Duration is too small. Minimum duration is %.60f minutes. "
+                        + "Provided value: %.60f minutes.", SwimmingConstants.MIN_DURATION_MIN, 1e-70)),
+                result.getMessages());
+
+        ValidationException exception = result.toException();
+        assertEquals(result.getMessages(), exception.getErrors());
+        assertEquals(2, exception.getErrorCount());
+        assertTrue(exception.getMessage().startsWith("Validation failed with 2 errors: Body weight"));
+
+        CalorieValidationResult valid = CalorieCalculationRequest.check(SwimmingStyle.BUTTERFLY, 30.0, 70.0);
+        assertSame(CalorieValidationResult.valid(), valid);
+        assertTrue(valid.getMessages().isEmpty());
+        assertThrows(IllegalStateException.class, valid::toException);
+    }
+
+    @Test
+    @DisplayName("Test isValid - same result as check and build")
+    void testIsValidMatchesCheck() {
+        double[] values = { Double.NaN, Double.NEGATIVE_INFINITY, -1.0, -0.0, 0.0, 1e-70, 1e-60, 1e-51, 1e-50,
+                0.05, 1.0, 70.0, SwimmingConstants.MAX_BODY_WEIGHT_KG,
+                Math.nextUp(SwimmingConstants.MAX_BODY_WEIGHT_KG), SwimmingConstants.MIN_DURATION_MIN,
+                Math.nextDown(SwimmingConstants.MIN_DURATION_MIN), 1e6, Double.POSITIVE_INFINITY };
+        List<SwimmingStyle> styles = new ArrayList<>(List.of(SwimmingStyle.values()));
+        styles.add(null);
+        for (SwimmingStyle style : styles) {
+            for (double duration : values) {
+                for (double weight : values) {
+                    boolean valid = CalorieCalculationRequest.isValid(style, duration, weight);
+                    assertEquals(CalorieCalculationRequest.check(style, duration, weight).isValid(), valid,
+                            () -> style + " " + duration + " " + weight);
+                    boolean built;
+                    try {
+                        CalorieCalculationRequest.builder()
+                                .swimmingStyle(style)
+                                .durationMin(duration)
+                                .bodyWeightKg(weight)
+                                .build();
+                        built = true;
+                    } catch (ValidationException e) {
+                        built = false;
+                    }
+                    assertEquals(built, valid, () -> style + " " + duration + " " + weight);
+                }
+            }
+        }
+    }
 }
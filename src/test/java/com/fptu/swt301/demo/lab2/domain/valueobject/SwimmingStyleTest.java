@@ -3,7 +3,12 @@ package com.fptu.swt301.demo.lab2.domain.valueobject;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -138,6 +143,78 @@ public class SwimmingStyleTest {
         assertTrue(result.isPresent() || result.isEmpty());
     }
 
+    @Test
+    @DisplayName("Test fromString - partial match prefers the first declared style")
+    void testFromStringPartialMatchPrecedence() {
+        assertEquals(SwimmingStyle.CRAWL_INTENSE, SwimmingStyle.fromString("Crawl").get());
+        assertEquals(SwimmingStyle.TREADING_WATER_HIGH_EFFORT, SwimmingStyle.fromString("water").get());
+        assertEquals(SwimmingStyle.BACKSTROKE_INTENSE, SwimmingStyle.fromString("(INTENSE)").get());
+        // Cả hai tên đều nằm trong input: BUTTERFLY khai báo trước
+        assertEquals(SwimmingStyle.BUTTERFLY,
+                SwimmingStyle.fromString("Water walking (relaxed) then butterfly").get());
+        // Exact match thắng partial match dù style khai báo sau
+        assertEquals(SwimmingStyle.CRAWL_RECREATIONAL, SwimmingStyle.fromString("crawl (recreational)").get());
+        assertSame(SwimmingStyle.fromString("Butterfly"), SwimmingStyle.fromString(" BUTTER "));
+    }
+
+    @Test
+    @DisplayName("Test fromString - same result as the linear scan for generated names")
+    void testFromStringMatchesLinearScan() {
+        List<String> names = new ArrayList<>();
+        for (SwimmingStyle style : SwimmingStyle.values()) {
+            String displayName = style.getDisplayName();
+            for (int start = 0; start < displayName.length(); start++) {
+                for (int end = start + 1; end <= displayName.length(); end++) {
+                    names.add(displayName.substring(start, end));
+                }
+            }
+            names.add(displayName + " for 10 minutes");
+            names.add("\u212Aind of " + displayName);
+            names.add(displayName.replace('s', '\u017F').replace('i', '\u0130'));
+        }
+        Random random = new Random(21L);
+        String alphabet = "abcdeghiklnorstuwy ()\u0130\u0131\u212A";
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder builder = new StringBuilder();
+            int length = 1 + random.nextInt(12);
+            for (int j = 0; j < length; j++) {
+                builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            names.add(builder.toString());
+        }
+
+        for (String name : names) {
+            StringBuilder mixedCase = new StringBuilder(name);
+            for (int i = 0; i < mixedCase.length(); i++) {
+                if (random.nextBoolean()) {
+                    mixedCase.setCharAt(i, Character.toUpperCase(mixedCase.charAt(i)));
+                }
+            }
+            for (String input : new String[] { name, mixedCase.toString(), " \t" + mixedCase + "\n" }) {
+                assertEquals(linearScan(input), SwimmingStyle.fromString(input), () -> "Input: " + input);
+            }
+        }
+    }
+
+    /**
+     * Cách tìm trước khi có SwimmingStyleIndex (chữ thường theo Locale.ROOT)
+     */
+    private static Optional<SwimmingStyle> linearScan(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return Optional.empty();
+        }
+        String normalized = name.trim();
+        return Arrays.stream(SwimmingStyle.values())
+                .filter(style -> style.getDisplayName().equalsIgnoreCase(normalized))
+                .findFirst()
+                .or(() -> Arrays.stream(SwimmingStyle.values())
+                        .filter(style -> style.getDisplayName().toLowerCase(Locale.ROOT)
+                                .contains(normalized.toLowerCase(Locale.ROOT))
+                                || normalized.toLowerCase(Locale.ROOT)
+                                        .contains(style.getDisplayName().toLowerCase(Locale.ROOT)))
+                        .findFirst());
+    }
+
     @Test
     @DisplayName("Test isValid - valid styles")
     void testIsValidValidStyles() {
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -141,4 +142,20 @@ public class ValidationExceptionTest {
         assertEquals(10, exception.getErrors().size());
         assertTrue(exception.getMessage().contains("10 errors"));
     }
+
+    @Test
+    @DisplayName("Test lazy errors - supplier called once, only when needed")
+    void testLazyErrors() {
+        AtomicInteger calls = new AtomicInteger();
+        ValidationException exception = new ValidationException(() -> {
+            calls.incrementAndGet();
+            return Arrays.asList("Error 1", "Error 2");
+        });
+        assertEquals(0, calls.get());
+
+        assertEquals(2, exception.getErrorCount());
+        assertEquals(Arrays.asList("Error 1", "Error 2"), exception.getErrors());
+        assertTrue(exception.getMessage().contains("2 errors"));
+        assertEquals(1, calls.get());
+    }
 }
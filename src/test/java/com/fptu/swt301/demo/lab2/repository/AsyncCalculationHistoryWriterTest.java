@@ -0,0 +1,316 @@
+package com.fptu.swt301.demo.lab2.repository;
+
+import com.fptu.swt301.demo.lab2.domain.model.CalorieCalculationRequest;
+import com.fptu.swt301.demo.lab2.domain.valueobject.SwimmingStyle;
+import com.fptu.swt301.demo.lab2.repository.AsyncCalculationHistoryWriter.BackpressurePolicy;
+import com.fptu.swt301.demo.lab2.repository.CalorieCalculationRepository.CalculationHistory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class cho AsyncCalculationHistoryWriter và các CalculationHistorySink
+ */
+@DisplayName("AsyncCalculationHistoryWriter Tests")
+public class AsyncCalculationHistoryWriterTest {
+
+        private static final Duration LONG_INTERVAL = Duration.ofHours(1);
+
+        private static CalculationHistory history(int i) {
+                CalorieCalculationRequest request = CalorieCalculationRequest.builder()
+                                .swimmingStyle(SwimmingStyle.BUTTERFLY)
+                                .durationMin(1 + i)
+                                .bodyWeightKg(70.0)
+                                .build();
+                return new CalculationHistory(request, i);
+        }
+
+        /**
+         * Sink chặn ở batch đầu tiên cho tới khi được release
+         */
+        private static final class BlockingSink extends InMemoryCalculationHistorySink {
+                private final CountDownLatch entered = new CountDownLatch(1);
+                private final CountDownLatch release = new CountDownLatch(1);
+
+                @Override
+                public void write(List<CalculationHistory> batch) {
+                        entered.countDown();
+                        try {
+                                release.await();
+                        } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                        }
+                        super.write(batch);
+                }
+        }
+
+        @Test
+        @DisplayName("Test entries are written in batches of batchSize")
+        void testBatchSize() {
+                InMemoryCalculationHistorySink sink = new InMemoryCalculationHistorySink();
+                try (AsyncCalculationHistoryWriter writer = AsyncCalculationHistoryWriter.builder(sink)
+                                .batchSize(10).flushInterval(LONG_INTERVAL).build()) {
+                        for (int i = 0; i < 25; i++) {
+                                assertTrue(writer.record(history(i)));
+                        }
+                        writer.flush();
+
+                        assertEquals(25, sink.count());
+                        assertEquals(25, writer.getWrittenCount());
+                        assertEquals(5.0, sink.getHistory().get(5).getResult());
+                        assertTrue(sink.getBatchCount() <= 3);
+                }
+        }
+
+        @Test
+        @DisplayName("Test partial batch is written after the flush interval")
+        void testFlushInterval() throws InterruptedException {
+                InMemoryCalculationHistorySink sink = new InMemoryCalculationHistorySink();
+                try (AsyncCalculationHistoryWriter writer = AsyncCalculationHistoryWriter.builder(sink)
+                                .batchSize(1_000).flushInterval(Duration.ofMillis(20)).build()) {
+                        writer.record(history(1));
+                        writer.record(history(2));
+
+                        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                        while (sink.count() < 2 && System.nanoTime() < deadline) {
+                                Thread.sleep(5);
+                        }
+                        assertEquals(2, sink.count());
+                }
+        }
+
+        @Test
+        @DisplayName("Test DROP policy drops new entries while the queue is full")
+        void testDropPolicy() throws InterruptedException {
+                BlockingSink sink = new BlockingSink();
+                AsyncCalculationHistoryWriter writer = AsyncCalculationHistoryWriter.builder(sink)
+                                .queueCapacity(4).batchSize(1).backpressurePolicy(BackpressurePolicy.DROP).build();
+
+                writer.record(history(0));
+                assertTrue(sink.entered.await(5, TimeUnit.SECONDS));
+                for (int i = 1; i <= 9; i++) {
+                        writer.record(history(i));
+                }
+                assertEquals(5, writer.getAcceptedCount());
+                assertEquals(5, writer.getDroppedCount());
+
+                sink.release.countDown();
+                writer.close();
+                assertEquals(5, sink.count());
+        }
+
+        @Test
+        @DisplayName("Test SAMPLE policy keeps one in sampleRate entries once the queue is half full")
+        void testSamplePolicy() throws InterruptedException {
+                BlockingSink sink = new BlockingSink();
+                AsyncCalculationHistoryWriter writer = AsyncCalculationHistoryWriter.builder(sink)
+                                .queueCapacity(10).batchSize(1).backpressurePolicy(BackpressurePolicy.SAMPLE)
+                                .sampleRate(3).build();
+
+                writer.record(history(0));
+                assertTrue(sink.entered.await(5, TimeUnit.SECONDS));
+                for (int i = 1; i <= 14; i++) {
+                        writer.record(history(i));
+                }
+                // 1 đang ghi + 5 nhận khi queue chưa quá nửa + 3 trên 9 entry được sample
+                assertEquals(9, writer.getAcceptedCount());
+                assertEquals(6, writer.getDroppedCount());
+
+                sink.release.countDown();
+                writer.close();
+                assertEquals(9, sink.count());
+        }
+
+        @Test
+        @DisplayName("Test BLOCK policy makes the producer wait for free space")
+        void testBlockPolicy() throws Exception {
+                BlockingSink sink = new BlockingSink();
+                AsyncCalculationHistoryWriter writer = AsyncCalculationHistoryWriter.builder(sink)
+                                .queueCapacity(2).batchSize(1).backpressurePolicy(BackpressurePolicy.BLOCK).build();
+
+                CountDownLatch producerDone = new CountDownLatch(1);
+                Thread producer = new Thread(() -> {
+                        for (int i = 0; i < 5; i++) {
+                                writer.record(history(i));
+                        }
+                        producerDone.countDown();
+                });
+                producer.start();
+
+                assertTrue(sink.entered.await(5, TimeUnit.SECONDS));
+                assertFalse(producerDone.await(100, TimeUnit.MILLISECONDS));
+
+                sink.release.countDown();
+                assertTrue(producerDone.await(5, TimeUnit.SECONDS));
+                writer.close();
+                assertEquals(5, sink.count());
+                assertEquals(0, writer.getDroppedCount());
+        }
+
+        @Test
+        @DisplayName("Test sink failures are counted and do not stop the writer")
+        void testSinkFailure() {
+                InMemoryCalculationHistorySink delegate = new InMemoryCalculationHistorySink();
+                CalculationHistorySink failingSink = batch -> {
+                        if (batch.get(0).getResult() == 0.0) {
+                                throw new IllegalStateException("disk full");
+                        }
+                        delegate.write(batch);
+                };
+                try (AsyncCalculationHistoryWriter writer = AsyncCalculationHistoryWriter.builder(failingSink)
+                                .batchSize(1).build()) {
+                        writer.record(history(0));
+                        writer.flush();
+                        writer.record(history(1));
+                        writer.flush();
+
+                        assertEquals(1, writer.getFailedCount());
+                        assertEquals(1, writer.getWrittenCount());
+                        assertEquals(1, delegate.count());
+                }
+        }
+
+        @Test
+        @DisplayName("Test invalid configuration is rejected and closed writer drops entries")
+        void testInvalidConfiguration() {
+                assertThrows(IllegalArgumentException.class,
+                                () -> AsyncCalculationHistoryWriter.builder(null).build());
+                IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                                () -> AsyncCalculationHistoryWriter.builder(new InMemoryCalculationHistorySink())
+                                                .queueCapacity(0).batchSize(-1).flushInterval(Duration.ZERO)
+                                                .sampleRate(0).build());
+                assertTrue(exception.getMessage().contains("Queue capacity"));
+                assertTrue(exception.getMessage().contains("Sample rate"));
+
+                AsyncCalculationHistoryWriter writer = AsyncCalculationHistoryWriter
+                                .builder(new InMemoryCalculationHistorySink()).build();
+                writer.close();
+                assertFalse(writer.record(history(1)));
+                assertEquals(1, writer.getDroppedCount());
+        }
+
+        @Test
+        @DisplayName("Test every accepted entry is written when close races with producers")
+        void testCloseRace() throws Exception {
+                for (BackpressurePolicy policy : BackpressurePolicy.values()) {
+                        for (int round = 0; round < 20; round++) {
+                                AtomicBoolean sinkClosed = new AtomicBoolean();
+                                AtomicInteger writesAfterClose = new AtomicInteger();
+                                InMemoryCalculationHistorySink sink = new InMemoryCalculationHistorySink() {
+                                        @Override
+                                        public void write(List<CalculationHistory> batch) {
+                                                if (sinkClosed.get()) {
+                                                        writesAfterClose.incrementAndGet();
+                                                }
+                                                super.write(batch);
+                                        }
+
+                                        @Override
+                                        public void close() {
+                                                sinkClosed.set(true);
+                                                super.close();
+                                        }
+                                };
+                                AsyncCalculationHistoryWriter writer = AsyncCalculationHistoryWriter.builder(sink)
+                                                .queueCapacity(64).batchSize(8).backpressurePolicy(policy).build();
+
+                                AtomicLong acceptedByProducers = new AtomicLong();
+                                CountDownLatch started = new CountDownLatch(4);
+                                Thread[] producers = new Thread[4];
+                                for (int t = 0; t < producers.length; t++) {
+                                        producers[t] = new Thread(() -> {
+                                                started.countDown();
+                                                for (int i = 0; i < 2_000; i++) {
+                                                        if (writer.record(history(i))) {
+                                                                acceptedByProducers.incrementAndGet();
+                                                        }
+                                                }
+                                        });
+                                        producers[t].start();
+                                }
+                                started.await();
+                                writer.close();
+                                for (Thread producer : producers) {
+                                        producer.join();
+                                }
+
+                                assertEquals(acceptedByProducers.get(), writer.getAcceptedCount(), policy.name());
+                                assertEquals(writer.getAcceptedCount(), sink.count(), policy.name());
+                                assertEquals(0, writesAfterClose.get(), policy.name());
+                        }
+                }
+        }
+
+        @Test
+        @DisplayName("Test file sink appends one line per entry")
+        void testFileSink(@TempDir Path tempDir) throws Exception {
+                Path file = tempDir.resolve("history.csv");
+                for (int run = 0; run < 2; run++) {
+                        try (AsyncCalculationHistoryWriter writer = AsyncCalculationHistoryWriter
+                                        .builder(new FileCalculationHistorySink(file)).batchSize(4).build()) {
+                                for (int i = 0; i < 10; i++) {
+                                        writer.record(history(i));
+                                }
+                        }
+                }
+
+                List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+                assertEquals(20, lines.size());
+                assertTrue(lines.get(0).startsWith("BUTTERFLY,1.0,70.0,0.0,"));
+        }
+
+        @Test
+        @DisplayName("Test JDBC sink writes batches to H2")
+        void testJdbcSink() {
+                JdbcCalculationHistorySink sink = new JdbcCalculationHistorySink(
+                                "jdbc:h2:mem:calculation_history_test;DB_CLOSE_DELAY=-1");
+                AsyncCalculationHistoryWriter writer = AsyncCalculationHistoryWriter.builder(sink).batchSize(50)
+                                .build();
+                for (int i = 0; i < 120; i++) {
+                        writer.record(history(i));
+                }
+                writer.flush();
+                assertEquals(120, sink.count());
+                writer.close();
+        }
+
+        @Test
+        @DisplayName("Test JDBC sink closes its connection when initialisation fails")
+        void testJdbcSinkInitialisationFailure() throws Exception {
+                String url = "jdbc:h2:mem:calculation_history_broken;DB_CLOSE_DELAY=-1";
+                try (Connection connection = DriverManager.getConnection(url);
+                                Statement statement = connection.createStatement()) {
+                        // Bảng cùng tên nhưng thiếu cột: CREATE TABLE IF NOT EXISTS thành công, prepareStatement lỗi
+                        statement.execute("CREATE TABLE calculation_history (id BIGINT)");
+                        long sessions = countSessions(statement);
+
+                        assertThrows(IllegalStateException.class, () -> new JdbcCalculationHistorySink(url));
+                        assertEquals(sessions, countSessions(statement));
+                }
+        }
+
+        private static long countSessions(Statement statement) throws SQLException {
+                try (ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM INFORMATION_SCHEMA.SESSIONS")) {
+                        resultSet.next();
+                        return resultSet.getLong(1);
+                }
+        }
+}
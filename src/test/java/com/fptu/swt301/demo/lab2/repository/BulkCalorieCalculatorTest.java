@@ -0,0 +1,139 @@
+package com.fptu.swt301.demo.lab2.repository;
+
+import com.fptu.swt301.demo.lab2.config.SwimmingConstants;
+import com.fptu.swt301.demo.lab2.domain.model.CalorieCalculationRequest;
+import com.fptu.swt301.demo.lab2.domain.valueobject.SwimmingStyle;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class cho BulkCalorieCalculator (Vector API + scalar fallback)
+ * Kết quả phải giống từng bit với InMemoryCalorieCalculationRepository
+ */
+@DisplayName("BulkCalorieCalculator Tests")
+public class BulkCalorieCalculatorTest {
+
+        private static final SwimmingStyle[] STYLES = SwimmingStyle.values();
+
+        @Test
+        @DisplayName("Test Vector API is used when the kernel is compiled and the incubator module is present")
+        void testVectorKernelSelection() {
+                // VectorCalorieKernel chỉ được compile trong profile vector
+                boolean kernelCompiled = BulkCalorieCalculator.class.getResource("VectorCalorieKernel.class") != null;
+                assertEquals(kernelCompiled && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent(),
+                                BulkCalorieCalculator.isVectorized());
+        }
+
+        @Test
+        @DisplayName("Test bulk results match the repository bit for bit")
+        void testMatchesRepository() {
+                Random random = new Random(19L);
+                int count = 20_003;
+                int[] styles = new int[count];
+                double[] durations = new double[count];
+                double[] weights = new double[count];
+                for (int i = 0; i < count; i++) {
+                        styles[i] = random.nextInt(STYLES.length);
+                        durations[i] = randomDuration(random);
+                        weights[i] = SwimmingConstants.MIN_BODY_WEIGHT_KG + random.nextDouble()
+                                        * (SwimmingConstants.MAX_BODY_WEIGHT_KG - SwimmingConstants.MIN_BODY_WEIGHT_KG);
+                        if (i % 97 == 0) {
+                                // Giá trị tròn hay gặp trong thực tế (có nhiều trường hợp .5 khi làm tròn)
+                                durations[i] = random.nextInt(120) + 1;
+                                weights[i] = random.nextInt(150) + 1 + random.nextInt(4) * 0.25;
+                        }
+                }
+
+                double[] burned = new double[count];
+                double[] perMinute = new double[count];
+                BulkCalorieCalculator.calculate(styles, durations, weights, burned, perMinute);
+
+                InMemoryCalorieCalculationRepository repository = new InMemoryCalorieCalculationRepository(1);
+                for (int i = 0; i < count; i++) {
+                        CalorieCalculationRequest request = CalorieCalculationRequest.builder()
+                                        .swimmingStyle(STYLES[styles[i]])
+                                        .durationMin(durations[i])
+                                        .bodyWeightKg(weights[i])
+                                        .build();
+                        int index = i;
+                        assertEquals(Double.doubleToRawLongBits(repository.calculateCaloriesBurned(request)),
+                                        Double.doubleToRawLongBits(burned[i]),
+                                        () -> "Calories burned at index " + index);
+                        assertEquals(Double.doubleToRawLongBits(repository.calculateCaloriesPerMinute(request)),
+                                        Double.doubleToRawLongBits(perMinute[i]),
+                                        () -> "Calories per minute at index " + index);
+                }
+        }
+
+        @Test
+        @DisplayName("Test vector and scalar paths agree, including values outside the fast range")
+        void testVectorMatchesScalar() {
+                Random random = new Random(7L);
+                double[] specials = { 0.0, -0.0, -1.0, -0.004, 0.005, 1e-300, 1e15, 1e300, Double.MAX_VALUE,
+                                Double.NaN, Double.POSITIVE_INFINITY, 0.49999999999999994, 2.5 };
+                int count = 4_099;
+                int[] styles = new int[count];
+                double[] durations = new double[count];
+                double[] weights = new double[count];
+                for (int i = 0; i < count; i++) {
+                        styles[i] = random.nextInt(STYLES.length);
+                        durations[i] = random.nextInt(10) == 0 ? specials[random.nextInt(specials.length)]
+                                        : randomDuration(random);
+                        weights[i] = random.nextInt(10) == 0 ? specials[random.nextInt(specials.length)]
+                                        : random.nextDouble() * 200;
+                }
+
+                double[] burned = new double[count];
+                double[] perMinute = new double[count];
+                double[] expectedBurned = new double[count];
+                double[] expectedPerMinute = new double[count];
+                BulkCalorieCalculator.calculate(styles, durations, weights, burned, perMinute);
+                BulkCalorieCalculator.calculateScalar(styles, durations, weights, expectedBurned, expectedPerMinute);
+
+                for (int i = 0; i < count; i++) {
+                        int index = i;
+                        assertEquals(Double.doubleToRawLongBits(expectedBurned[i]), Double.doubleToRawLongBits(burned[i]),
+                                        () -> "Calories burned at index " + index + ": " + durations[index] + " min, "
+                                                        + weights[index] + " kg");
+                        assertEquals(Double.doubleToRawLongBits(expectedPerMinute[i]),
+                                        Double.doubleToRawLongBits(perMinute[i]),
+                                        () -> "Calories per minute at index " + index);
+                }
+        }
+
+        @Test
+        @DisplayName("Test optional outputs and argument checks")
+        void testArguments() {
+                int[] styles = { SwimmingStyle.BUTTERFLY.ordinal(), SwimmingStyle.SIDESTROKE.ordinal() };
+                double[] durations = { 30, 45 };
+                double[] weights = { 70, 80 };
+                double[] burned = new double[2];
+
+                BulkCalorieCalculator.calculate(styles, durations, weights, burned, null);
+                assertEquals(507.15, burned[0]);
+                assertEquals(441.0, burned[1]);
+
+                assertThrows(IllegalArgumentException.class,
+                                () -> BulkCalorieCalculator.calculate(styles, new double[1], weights, burned, null));
+                assertThrows(IllegalArgumentException.class,
+                                () -> BulkCalorieCalculator.calculate(styles, durations, weights, new double[3], null));
+                assertThrows(IndexOutOfBoundsException.class, () -> BulkCalorieCalculator.calculate(
+                                new int[] { STYLES.length }, new double[1], new double[1], null, null));
+        }
+
+        private static double randomDuration(Random random) {
+                switch (random.nextInt(4)) {
+                        case 0:
+                                // Total calories < 1 (nhánh làm tròn 5 chữ số)
+                                return random.nextDouble() * 0.05;
+                        case 1:
+                                return Math.pow(10, -random.nextInt(40)) * random.nextDouble();
+                        default:
+                                return random.nextDouble() * SwimmingConstants.MAX_DURATION_MIN;
+                }
+        }
+}
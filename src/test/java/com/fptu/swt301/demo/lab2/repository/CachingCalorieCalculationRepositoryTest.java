@@ -0,0 +1,200 @@
+package com.fptu.swt301.demo.lab2.repository;
+
+import com.fptu.swt301.demo.lab2.domain.model.CalorieCalculationRequest;
+import com.fptu.swt301.demo.lab2.domain.valueobject.SwimmingStyle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class cho CachingCalorieCalculationRepository
+ */
+@DisplayName("CachingCalorieCalculationRepository Tests")
+public class CachingCalorieCalculationRepositoryTest {
+
+        private InMemoryCalorieCalculationRepository delegate;
+        private AtomicLong clock;
+        private CachingCalorieCalculationRepository repository;
+
+        @BeforeEach
+        void setUp() {
+                delegate = new InMemoryCalorieCalculationRepository();
+                clock = new AtomicLong();
+                repository = new CachingCalorieCalculationRepository(delegate, 2, Duration.ofMinutes(1), clock::get);
+        }
+
+        private static CalorieCalculationRequest request(SwimmingStyle style, double durationMin,
+                        double bodyWeightKg) {
+                return CalorieCalculationRequest.builder()
+                                .swimmingStyle(style)
+                                .durationMin(durationMin)
+                                .bodyWeightKg(bodyWeightKg)
+                                .build();
+        }
+
+        @Test
+        @DisplayName("Test repeated preset is answered from cache without history growth")
+        void testHitDoesNotGrowHistory() {
+                CalorieCalculationRequest preset = request(SwimmingStyle.CRAWL_RECREATIONAL, 30.0, 70.0);
+
+                assertEquals(305.03, repository.calculateCaloriesBurned(preset), 0.0);
+                assertEquals(305.03, repository.calculateCaloriesBurned(preset), 0.0);
+                assertEquals(305.03,
+                                repository.calculateCaloriesBurned(
+                                                request(SwimmingStyle.CRAWL_RECREATIONAL, 30.0, 70.0)),
+                                0.0);
+
+                assertEquals(1, delegate.count());
+                assertEquals(2, repository.getHitCount());
+                assertEquals(1, repository.getMissCount());
+        }
+
+        @Test
+        @DisplayName("Test a slow cache miss does not block other requests")
+        void testMissDoesNotHoldLock() throws Exception {
+                CountDownLatch entered = new CountDownLatch(1);
+                CountDownLatch release = new CountDownLatch(1);
+                InMemoryCalorieCalculationRepository slow = new InMemoryCalorieCalculationRepository() {
+                        @Override
+                        public double calculateCaloriesBurned(CalorieCalculationRequest request) {
+                                if (request.getSwimmingStyle() == SwimmingStyle.BUTTERFLY) {
+                                        entered.countDown();
+                                        try {
+                                                release.await();
+                                        } catch (InterruptedException e) {
+                                                Thread.currentThread().interrupt();
+                                        }
+                                }
+                                return super.calculateCaloriesBurned(request);
+                        }
+                };
+                CachingCalorieCalculationRepository caching = new CachingCalorieCalculationRepository(slow, 2,
+                                Duration.ofMinutes(1), clock::get);
+
+                ExecutorService executor = Executors.newSingleThreadExecutor();
+                try {
+                        Future<Double> blocked = executor.submit(() -> caching
+                                        .calculateCaloriesBurned(request(SwimmingStyle.BUTTERFLY, 30, 70)));
+                        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+                        // Thread khác vẫn dùng được cache trong khi delegate đang chạy
+                        assertEquals(305.03, caching.calculateCaloriesBurned(
+                                        request(SwimmingStyle.CRAWL_RECREATIONAL, 30.0, 70.0)), 0.0);
+                        assertEquals(1, caching.size());
+
+                        release.countDown();
+                        assertEquals(slow.calculateCaloriesBurnedExact(request(SwimmingStyle.BUTTERFLY, 30, 70)),
+                                        blocked.get(5, TimeUnit.SECONDS), 0.005);
+                        assertEquals(2, caching.size());
+                } finally {
+                        release.countDown();
+                        executor.shutdownNow();
+                }
+        }
+
+        @Test
+        @DisplayName("Test values in the same 0.01 bucket are not mixed up")
+        void testSameBucketDifferentValues() {
+                double exact = delegate.calculateCaloriesBurned(request(SwimmingStyle.BUTTERFLY, 30.004, 70.0));
+                delegate.clearHistory();
+
+                repository.calculateCaloriesBurned(request(SwimmingStyle.BUTTERFLY, 30.0, 70.0));
+                assertEquals(exact,
+                                repository.calculateCaloriesBurned(request(SwimmingStyle.BUTTERFLY, 30.004, 70.0)),
+                                0.0);
+                assertEquals(0, repository.getHitCount());
+        }
+
+        @Test
+        @DisplayName("Test calories per minute is cached independently of duration")
+        void testCaloriesPerMinute() {
+                assertEquals(16.91, repository.calculateCaloriesPerMinute(request(SwimmingStyle.BUTTERFLY, 30, 70)),
+                                0.0);
+                assertEquals(16.91, repository.calculateCaloriesPerMinute(request(SwimmingStyle.BUTTERFLY, 45, 70)),
+                                0.0);
+                assertEquals(1, repository.getHitCount());
+                assertEquals(1, repository.size());
+        }
+
+        @Test
+        @DisplayName("Test least recently used entry is evicted when full")
+        void testSizeEviction() {
+                CalorieCalculationRequest a = request(SwimmingStyle.BUTTERFLY, 30, 70);
+                CalorieCalculationRequest b = request(SwimmingStyle.SIDESTROKE, 30, 70);
+                CalorieCalculationRequest c = request(SwimmingStyle.AQUA_JOGGING, 30, 70);
+
+                repository.calculateCaloriesBurned(a);
+                repository.calculateCaloriesBurned(b);
+                repository.calculateCaloriesBurned(a);
+                repository.calculateCaloriesBurned(c);
+
+                assertEquals(2, repository.size());
+                assertEquals(1, repository.getEvictionCount());
+
+                repository.calculateCaloriesBurned(a);
+                assertEquals(2, repository.getHitCount());
+                repository.calculateCaloriesBurned(b);
+                assertEquals(2, repository.getHitCount());
+        }
+
+        @Test
+        @DisplayName("Test a store on a full cache evicts only the eldest entry")
+        void testStoreEvictsOnlyEldest() {
+                CachingCalorieCalculationRepository caching = new CachingCalorieCalculationRepository(delegate, 3,
+                                Duration.ofMinutes(1), clock::get);
+                CalorieCalculationRequest a = request(SwimmingStyle.BUTTERFLY, 30, 70);
+                CalorieCalculationRequest b = request(SwimmingStyle.SIDESTROKE, 30, 70);
+                caching.calculateCaloriesBurned(a);
+                caching.calculateCaloriesBurned(b);
+
+                // a và b đã hết hạn nhưng vẫn nằm trong cache cho tới khi lookup gặp chúng
+                clock.addAndGet(Duration.ofMinutes(2).toNanos());
+                caching.calculateCaloriesBurned(request(SwimmingStyle.AQUA_JOGGING, 30, 70));
+                caching.calculateCaloriesBurned(request(SwimmingStyle.WATER_AEROBICS, 30, 70));
+
+                assertEquals(3, caching.size());
+                assertEquals(1, caching.getEvictionCount());
+
+                caching.calculateCaloriesBurned(b);
+                assertEquals(0, caching.getHitCount());
+                assertEquals(2, caching.getEvictionCount());
+        }
+
+        @Test
+        @DisplayName("Test entries expire after the TTL")
+        void testTimeEviction() {
+                CalorieCalculationRequest preset = request(SwimmingStyle.BUTTERFLY, 30, 70);
+                repository.calculateCaloriesBurned(preset);
+
+                clock.addAndGet(Duration.ofSeconds(59).toNanos());
+                repository.calculateCaloriesBurned(preset);
+                assertEquals(1, repository.getHitCount());
+
+                clock.addAndGet(Duration.ofSeconds(1).toNanos());
+                repository.calculateCaloriesBurned(preset);
+                assertEquals(1, repository.getHitCount());
+                assertEquals(1, repository.getEvictionCount());
+                assertEquals(2, delegate.count());
+        }
+
+        @Test
+        @DisplayName("Test invalid configuration is rejected")
+        void testInvalidConfiguration() {
+                assertThrows(IllegalArgumentException.class,
+                                () -> new CachingCalorieCalculationRepository(null));
+                assertThrows(IllegalArgumentException.class,
+                                () -> new CachingCalorieCalculationRepository(delegate, 0, Duration.ofMinutes(1)));
+                assertThrows(IllegalArgumentException.class,
+                                () -> new CachingCalorieCalculationRepository(delegate, 1, Duration.ZERO));
+        }
+}
@@ -0,0 +1,134 @@
+package com.fptu.swt301.demo.lab2.repository;
+
+import com.fptu.swt301.demo.lab2.domain.model.CalorieCalculationRequest;
+import com.fptu.swt301.demo.lab2.domain.valueobject.SwimmingStyle;
+import com.fptu.swt301.demo.lab2.repository.CalorieCalculationRepository.CalculationHistory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class cho CalculationHistoryBuffer (ring buffer + hash index)
+ */
+@DisplayName("CalculationHistoryBuffer Tests")
+public class CalculationHistoryBufferTest {
+
+        private static CalorieCalculationRequest request(SwimmingStyle style, double durationMin,
+                        double bodyWeightKg) {
+                return CalorieCalculationRequest.builder()
+                                .swimmingStyle(style)
+                                .durationMin(durationMin)
+                                .bodyWeightKg(bodyWeightKg)
+                                .build();
+        }
+
+        @Test
+        @DisplayName("Test capacity must be positive")
+        void testInvalidCapacity() {
+                assertThrows(IllegalArgumentException.class, () -> new InMemoryCalorieCalculationRepository(0));
+                assertThrows(IllegalArgumentException.class, () -> new InMemoryCalorieCalculationRepository(-5));
+                assertEquals(3, new InMemoryCalorieCalculationRepository(3).getHistoryCapacity());
+        }
+
+        @Test
+        @DisplayName("Test oldest entries are evicted when capacity is reached")
+        void testEviction() {
+                InMemoryCalorieCalculationRepository repository = new InMemoryCalorieCalculationRepository(3);
+                for (int i = 1; i <= 5; i++) {
+                        repository.saveCalculationHistory(request(SwimmingStyle.BUTTERFLY, i, 70.0), i);
+                }
+
+                assertEquals(3, repository.count());
+                List<CalculationHistory> history = repository.getAllCalculationHistory();
+                assertEquals(3.0, history.get(0).getResult());
+                assertEquals(5.0, history.get(2).getResult());
+                assertFalse(repository.findCalculationHistory(request(SwimmingStyle.BUTTERFLY, 1, 70.0)).isPresent());
+                assertFalse(repository.findCalculationHistory(request(SwimmingStyle.BUTTERFLY, 2, 70.0)).isPresent());
+                assertEquals(Optional.of(4.0),
+                                repository.findCalculationHistory(request(SwimmingStyle.BUTTERFLY, 4, 70.0)));
+        }
+
+        @Test
+        @DisplayName("Test find returns the oldest retained match, also after eviction")
+        void testFindReturnsOldestMatch() {
+                InMemoryCalorieCalculationRepository repository = new InMemoryCalorieCalculationRepository(3);
+                CalorieCalculationRequest request = request(SwimmingStyle.BUTTERFLY, 30.0, 70.0);
+
+                repository.saveCalculationHistory(request, 1.0);
+                repository.saveCalculationHistory(request, 2.0);
+                assertEquals(Optional.of(1.0), repository.findCalculationHistory(request));
+
+                repository.saveCalculationHistory(request(SwimmingStyle.CRAWL_INTENSE, 30.0, 70.0), 3.0);
+                repository.saveCalculationHistory(request, 4.0);
+                assertEquals(Optional.of(2.0), repository.findCalculationHistory(request));
+        }
+
+        @Test
+        @DisplayName("Test entries in neighbouring 0.01 cells still match within epsilon")
+        void testNeighbouringCellsMatch() {
+                InMemoryCalorieCalculationRepository repository = new InMemoryCalorieCalculationRepository();
+                repository.saveCalculationHistory(request(SwimmingStyle.SIDESTROKE, 29.996, 70.009), 257.25);
+
+                assertTrue(repository.findCalculationHistory(request(SwimmingStyle.SIDESTROKE, 30.004, 70.011))
+                                .isPresent());
+                assertFalse(repository.findCalculationHistory(request(SwimmingStyle.SIDESTROKE, 30.007, 70.0))
+                                .isPresent());
+        }
+
+        @Test
+        @DisplayName("Test clear resets the buffer and the index")
+        void testClear() {
+                InMemoryCalorieCalculationRepository repository = new InMemoryCalorieCalculationRepository(2);
+                CalorieCalculationRequest request = request(SwimmingStyle.BUTTERFLY, 30.0, 70.0);
+                repository.saveCalculationHistory(request, 1.0);
+                repository.saveCalculationHistory(request, 2.0);
+                repository.saveCalculationHistory(request, 3.0);
+
+                repository.clearHistory();
+                assertEquals(0, repository.count());
+                assertFalse(repository.findCalculationHistory(request).isPresent());
+
+                repository.saveCalculationHistory(request, 4.0);
+                assertEquals(Optional.of(4.0), repository.findCalculationHistory(request));
+                assertEquals(1, repository.getAllCalculationHistory().size());
+        }
+
+        @Test
+        @DisplayName("Test indexed lookup agrees with a linear epsilon scan")
+        void testMatchesLinearScan() {
+                int capacity = 64;
+                InMemoryCalorieCalculationRepository repository = new InMemoryCalorieCalculationRepository(capacity);
+                List<CalculationHistory> reference = new ArrayList<>();
+                SwimmingStyle[] styles = { SwimmingStyle.BUTTERFLY, SwimmingStyle.SIDESTROKE };
+                Random random = new Random(11L);
+
+                for (int i = 0; i < 2_000; i++) {
+                        CalorieCalculationRequest request = request(styles[random.nextInt(styles.length)],
+                                        30.0 + random.nextInt(8) * 0.004, 70.0 + random.nextInt(8) * 0.004);
+                        if (random.nextBoolean()) {
+                                repository.saveCalculationHistory(request, i);
+                                reference.add(new CalculationHistory(request, i));
+                                if (reference.size() > capacity) {
+                                        reference.remove(0);
+                                }
+                        } else {
+                                Optional<Double> expected = reference.stream()
+                                                .filter(history -> history.getRequest().getSwimmingStyle()
+                                                                .equals(request.getSwimmingStyle())
+                                                                && Math.abs(history.getRequest().getDurationMin()
+                                                                                - request.getDurationMin()) < 0.01
+                                                                && Math.abs(history.getRequest().getBodyWeightKg()
+                                                                                - request.getBodyWeightKg()) < 0.01)
+                                                .map(CalculationHistory::getResult)
+                                                .findFirst();
+                                assertEquals(expected, repository.findCalculationHistory(request));
+                        }
+                }
+        }
+}
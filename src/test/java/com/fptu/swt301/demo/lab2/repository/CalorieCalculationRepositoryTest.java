@@ -91,4 +91,27 @@ public class CalorieCalculationRepositoryTest {
 
         assertTrue(history2.getTimestamp() >= history1.getTimestamp());
     }
+
+    @Test
+    @DisplayName("Test default calculateAll and CalculationResult")
+    void testDefaultCalculateAll() {
+        CalorieCalculationRequest request = CalorieCalculationRequest.builder()
+                .swimmingStyle(SwimmingStyle.BUTTERFLY)
+                .durationMin(30.0)
+                .bodyWeightKg(70.0)
+                .build();
+        InMemoryCalorieCalculationRepository delegate = new InMemoryCalorieCalculationRepository();
+        // Caching decorator dùng default implementation của interface
+        CalorieCalculationRepository repository = new CachingCalorieCalculationRepository(delegate);
+
+        CalorieCalculationRepository.CalculationResult result = repository.calculateAll(request);
+        assertEquals(507.15, result.getCaloriesBurned());
+        assertEquals(16.91, result.getCaloriesPerMinute());
+        assertEquals(delegate.calculateAll(request).getCaloriesBurnedExact(), result.getCaloriesBurnedExact());
+        assertEquals(delegate.calculateCaloriesPerMinuteExact(request), result.getCaloriesPerMinuteExact());
+        assertTrue(result.toString().contains("507.15"));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new CalorieCalculationRepository.CalculationResult(null, 1, 1, 1, 1));
+    }
 }
@@ -7,8 +7,16 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -475,4 +483,125 @@ public class InMemoryCalorieCalculationRepositoryTest {
                 Boolean result3 = (Boolean) matchesRequestMethod.invoke(repository, null, null);
                 assertFalse(result3);
         }
+
+        @Test
+        @DisplayName("Test concurrent calculations record every history entry")
+        void testConcurrentHistoryWrites() throws Exception {
+                int threads = 16;
+                int calculationsPerThread = 2_000;
+                InMemoryCalorieCalculationRepository concurrentRepository = new InMemoryCalorieCalculationRepository(
+                                threads * calculationsPerThread);
+                ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+                CountDownLatch start = new CountDownLatch(1);
+                AtomicBoolean writersDone = new AtomicBoolean();
+
+                try {
+                        List<Future<?>> writers = new ArrayList<>();
+                        for (int t = 0; t < threads; t++) {
+                                SwimmingStyle style = SwimmingStyle.values()[t % SwimmingStyle.values().length];
+                                writers.add(executor.submit(() -> {
+                                        start.await();
+                                        for (int i = 0; i < calculationsPerThread; i++) {
+                                                concurrentRepository.calculateCaloriesBurned(
+                                                                CalorieCalculationRequest.builder()
+                                                                                .swimmingStyle(style)
+                                                                                .durationMin(1 + i % 60)
+                                                                                .bodyWeightKg(70.0)
+                                                                                .build());
+                                        }
+                                        return null;
+                                }));
+                        }
+                        // Reader chạy song song với writers: không được throw và count không giảm
+                        Future<?> reader = executor.submit(() -> {
+                                start.await();
+                                long previous = 0;
+                                while (!writersDone.get()) {
+                                        long size = concurrentRepository.getAllCalculationHistory().size();
+                                        assertTrue(size >= previous);
+                                        previous = size;
+                                }
+                                return null;
+                        });
+
+                        start.countDown();
+                        for (Future<?> writer : writers) {
+                                writer.get(30, TimeUnit.SECONDS);
+                        }
+                        writersDone.set(true);
+                        reader.get(30, TimeUnit.SECONDS);
+                } finally {
+                        executor.shutdownNow();
+                }
+
+                assertEquals(threads * calculationsPerThread, concurrentRepository.count());
+                assertEquals(threads * calculationsPerThread,
+                                concurrentRepository.getAllCalculationHistory().size());
+                assertTrue(concurrentRepository.findCalculationHistory(CalorieCalculationRequest.builder()
+                                .swimmingStyle(SwimmingStyle.values()[0])
+                                .durationMin(1)
+                                .bodyWeightKg(70.0)
+                                .build()).isPresent());
+        }
+
+        @Test
+        @DisplayName("Test async history mode records through the background writer")
+        void testAsyncHistoryMode() {
+                InMemoryCalculationHistorySink sink = new InMemoryCalculationHistorySink();
+                try (InMemoryCalorieCalculationRepository asyncRepository = new InMemoryCalorieCalculationRepository(
+                                100,
+                                AsyncCalculationHistoryWriter.builder(sink).batchSize(8)
+                                                .flushInterval(Duration.ofHours(1)))) {
+                        assertTrue(asyncRepository.isAsyncHistory());
+                        for (int i = 1; i <= 30; i++) {
+                                asyncRepository.calculateCaloriesBurned(CalorieCalculationRequest.builder()
+                                                .swimmingStyle(SwimmingStyle.BUTTERFLY)
+                                                .durationMin(i)
+                                                .bodyWeightKg(70.0)
+                                                .build());
+                        }
+
+                        // Đọc lịch sử flush writer trước nên thấy đủ 30 entry
+                        assertEquals(30, asyncRepository.count());
+                        assertEquals(30, sink.count());
+                        assertEquals(Optional.of(507.15), asyncRepository.findCalculationHistory(
+                                        CalorieCalculationRequest.builder()
+                                                        .swimmingStyle(SwimmingStyle.BUTTERFLY)
+                                                        .durationMin(30)
+                                                        .bodyWeightKg(70.0)
+                                                        .build()));
+
+                        asyncRepository.clearHistory();
+                        assertEquals(0, asyncRepository.count());
+                        assertEquals(30, sink.count());
+                }
+                assertFalse(repository.isAsyncHistory());
+        }
+
+        @Test
+        @DisplayName("Test calculateAll - same values as the individual methods, one history entry")
+        void testCalculateAll() {
+                SwimmingStyle[] styles = SwimmingStyle.values();
+                for (int i = 0; i < 200; i++) {
+                        CalorieCalculationRequest request = CalorieCalculationRequest.builder()
+                                        .swimmingStyle(styles[i % styles.length])
+                                        .durationMin(0.05 + i * 0.731)
+                                        .bodyWeightKg(40.0 + i * 0.37)
+                                        .build();
+                        repository.clearHistory();
+
+                        CalorieCalculationRepository.CalculationResult result = repository.calculateAll(request);
+                        assertEquals(1, repository.count());
+                        assertEquals(Optional.of(result.getCaloriesBurned()),
+                                        repository.findCalculationHistory(request));
+
+                        assertSame(request, result.getRequest());
+                        assertEquals(repository.calculateCaloriesPerMinuteExact(request),
+                                        result.getCaloriesPerMinuteExact());
+                        assertEquals(repository.calculateCaloriesPerMinute(request), result.getCaloriesPerMinute());
+                        assertEquals(repository.calculateCaloriesBurnedExact(request),
+                                        result.getCaloriesBurnedExact());
+                        assertEquals(repository.calculateCaloriesBurned(request), result.getCaloriesBurned());
+                }
+        }
 }
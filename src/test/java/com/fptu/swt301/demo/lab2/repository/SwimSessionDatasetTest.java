@@ -0,0 +1,204 @@
+package com.fptu.swt301.demo.lab2.repository;
+
+import com.fptu.swt301.demo.lab2.domain.model.CalorieCalculationRequest;
+import com.fptu.swt301.demo.lab2.domain.valueobject.SwimmingStyle;
+import com.fptu.swt301.demo.lab2.exception.ValidationException;
+import com.fptu.swt301.demo.lab2.repository.SwimSessionDataset.GroupStats;
+import com.fptu.swt301.demo.lab2.repository.SwimSessionDataset.Grouping;
+import com.fptu.swt301.demo.lab2.repository.SwimSessionDataset.Measure;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class cho SwimSessionDataset
+ * Kết quả song song được so sánh với cách tính tuần tự qua
+ * InMemoryCalorieCalculationRepository
+ */
+@DisplayName("SwimSessionDataset Tests")
+public class SwimSessionDatasetTest {
+
+        private static final SwimmingStyle[] STYLES = SwimmingStyle.values();
+
+        @Test
+        @DisplayName("Test parallel aggregates match a sequential computation through the repository")
+        void testAggregateMatchesRepository() {
+                int count = 100_003;
+                SwimSessionDataset dataset = randomDataset(count, 25L);
+                InMemoryCalorieCalculationRepository repository = new InMemoryCalorieCalculationRepository(1);
+                Grouping[] groupings = { Grouping.byStyle(), Grouping.byWeightBand(10),
+                                Grouping.byDurationBand(15) };
+                IntUnaryOperator[] expectedGroups = {
+                                row -> dataset.getSwimmingStyle(row).ordinal(),
+                                row -> (int) Math.floor(dataset.getBodyWeightKg(row) / 10),
+                                row -> (int) Math.floor(dataset.getDurationMin(row) / 15) };
+
+                ForkJoinPool pool = new ForkJoinPool(4);
+                try {
+                        for (int g = 0; g < groupings.length; g++) {
+                                Grouping grouping = groupings[g];
+                                GroupStats stats = dataset.aggregate(grouping, Measure.CALORIES_BURNED, pool);
+                                long[] counts = new long[stats.getGroupCount()];
+                                double[] sums = new double[stats.getGroupCount()];
+                                double[] maxs = new double[stats.getGroupCount()];
+                                for (int row = 0; row < count; row++) {
+                                        double burned = repository.calculateCaloriesBurned(toRequest(dataset, row));
+                                        assertEquals(burned, dataset.getValue(row, Measure.CALORIES_BURNED));
+                                        int group = expectedGroups[g].applyAsInt(row);
+                                        counts[group]++;
+                                        sums[group] += burned;
+                                        maxs[group] = Math.max(maxs[group], burned);
+                                }
+
+                                assertEquals(count, stats.getTotalCount());
+                                for (int group = 0; group < stats.getGroupCount(); group++) {
+                                        assertEquals(counts[group], stats.getCount(group), grouping + " " + group);
+                                        assertEquals(sums[group], stats.getSum(group), 1e-9 * sums[group]);
+                                        assertEquals(maxs[group], counts[group] == 0 ? 0 : stats.getMax(group));
+                                        if (counts[group] == 0) {
+                                                assertTrue(Double.isNaN(stats.getMean(group)));
+                                        } else {
+                                                assertEquals(sums[group] / counts[group], stats.getMean(group),
+                                                                1e-9 * stats.getMean(group));
+                                        }
+                                }
+                        }
+
+                        // Thứ tự cộng chỉ phụ thuộc số dòng, không phụ thuộc số thread
+                        GroupStats parallel = dataset.aggregate(Grouping.byStyle(), Measure.CALORIES_BURNED_EXACT, pool);
+                        GroupStats single = dataset.aggregate(Grouping.byStyle(), Measure.CALORIES_BURNED_EXACT,
+                                        new ForkJoinPool(1));
+                        for (int group = 0; group < STYLES.length; group++) {
+                                assertEquals(single.getSum(group), parallel.getSum(group));
+                                assertEquals(single.getMin(group), parallel.getMin(group));
+                        }
+                } finally {
+                        pool.shutdown();
+                }
+        }
+
+        @Test
+        @DisplayName("Test percentiles match sorting each group sequentially")
+        void testPercentiles() {
+                int count = 70_001;
+                SwimSessionDataset dataset = randomDataset(count, 26L);
+                double[] percentiles = { 0, 12.5, 50, 90, 99.9, 100 };
+
+                Grouping[] groupings = { Grouping.byStyle(), Grouping.byWeightBand(25) };
+                IntUnaryOperator[] expectedGroups = {
+                                row -> dataset.getSwimmingStyle(row).ordinal(),
+                                row -> (int) Math.floor(dataset.getBodyWeightKg(row) / 25) };
+
+                for (int g = 0; g < groupings.length; g++) {
+                        Grouping grouping = groupings[g];
+                        double[][] actual = dataset.percentiles(grouping, Measure.CALORIES_BURNED, percentiles);
+                        double[][] values = new double[actual.length][count];
+                        int[] sizes = new int[actual.length];
+                        for (int row = 0; row < count; row++) {
+                                int group = expectedGroups[g].applyAsInt(row);
+                                values[group][sizes[group]++] = dataset.getValue(row, Measure.CALORIES_BURNED);
+                        }
+                        for (int group = 0; group < actual.length; group++) {
+                                double[] sorted = Arrays.copyOf(values[group], sizes[group]);
+                                Arrays.sort(sorted);
+                                for (int i = 0; i < percentiles.length; i++) {
+                                        if (sorted.length == 0) {
+                                                assertTrue(Double.isNaN(actual[group][i]));
+                                                continue;
+                                        }
+                                        double rank = (sorted.length - 1) * percentiles[i] / 100;
+                                        int lower = (int) Math.floor(rank);
+                                        int upper = (int) Math.ceil(rank);
+                                        double expected = sorted[lower] + (rank - lower) * (sorted[upper] - sorted[lower]);
+                                        assertEquals(expected, actual[group][i], 1e-9, grouping + " " + group);
+                                }
+                        }
+                }
+
+                SwimSessionDataset small = SwimSessionDataset.builder()
+                                .add(SwimmingStyle.CRAWL_RECREATIONAL, 10, 60)
+                                .add(SwimmingStyle.CRAWL_RECREATIONAL, 20, 60)
+                                .add(SwimmingStyle.CRAWL_RECREATIONAL, 40, 60)
+                                .build();
+                double[][] durations = small.percentiles(Grouping.byStyle(), Measure.DURATION_MIN, 0, 25, 50, 100);
+                assertArrayEquals(new double[] { 10, 15, 20, 40 }, durations[SwimmingStyle.CRAWL_RECREATIONAL.ordinal()]);
+        }
+
+        @Test
+        @DisplayName("Test band groups are [k * width, (k + 1) * width)")
+        void testBandGrouping() {
+                SwimSessionDataset dataset = SwimSessionDataset.builder(2)
+                                .add(SwimmingStyle.BACKSTROKE_INTENSE, 30, 59.99)
+                                .add(SwimmingStyle.BACKSTROKE_INTENSE, 30, 60)
+                                .add(SwimmingStyle.BUTTERFLY, 45, 75)
+                                .build();
+                GroupStats stats = dataset.aggregate(Grouping.byWeightBand(20), Measure.BODY_WEIGHT_KG);
+                assertEquals(4, stats.getGroupCount());
+                assertEquals(1, stats.getCount(2));
+                assertEquals(2, stats.getCount(3));
+                assertEquals(60, stats.getMin(3));
+                assertEquals(75, stats.getMax(3));
+                assertEquals(60.0, stats.getGrouping().bandLowerBound(3));
+                assertEquals(0, stats.getCount(0));
+
+                GroupStats byStyle = dataset.aggregate(Grouping.byStyle(), Measure.DURATION_MIN);
+                assertEquals(60, byStyle.getSum(SwimmingStyle.BACKSTROKE_INTENSE.ordinal()));
+                assertEquals(SwimmingStyle.BUTTERFLY, byStyle.getGrouping().styleOf(SwimmingStyle.BUTTERFLY.ordinal()));
+                assertThrows(IllegalStateException.class, () -> byStyle.getGrouping().bandLowerBound(0));
+        }
+
+        @Test
+        @DisplayName("Test invalid rows and arguments are rejected")
+        void testInvalidInput() {
+                SwimSessionDataset.Builder builder = SwimSessionDataset.builder();
+                assertThrows(ValidationException.class, () -> builder.add(null, 30, 70));
+                assertThrows(ValidationException.class, () -> builder.add(SwimmingStyle.CRAWL_RECREATIONAL, -1, 70));
+                assertThrows(ValidationException.class, () -> builder.add(SwimmingStyle.CRAWL_RECREATIONAL, 30, 0));
+                assertThrows(IllegalArgumentException.class, () -> builder.add(SwimmingStyle.CRAWL_RECREATIONAL, Double.NaN, 70));
+                assertThrows(IllegalArgumentException.class,
+                                () -> builder.add(SwimmingStyle.CRAWL_RECREATIONAL, Double.POSITIVE_INFINITY, 70));
+
+                SwimSessionDataset dataset = builder.add(SwimmingStyle.CRAWL_RECREATIONAL, 1e6, 70).build();
+                assertEquals(1, dataset.size());
+                assertThrows(IllegalStateException.class, builder::build);
+                assertThrows(IndexOutOfBoundsException.class, () -> dataset.getDurationMin(1));
+                assertThrows(IllegalArgumentException.class, () -> Grouping.byWeightBand(0));
+                assertThrows(IllegalArgumentException.class, () -> Grouping.byDurationBand(Double.NaN));
+                assertThrows(IllegalArgumentException.class,
+                                () -> dataset.aggregate(Grouping.byDurationBand(1), Measure.DURATION_MIN));
+                assertThrows(IllegalArgumentException.class,
+                                () -> dataset.percentiles(Grouping.byStyle(), Measure.DURATION_MIN, 101));
+                assertThrows(IllegalArgumentException.class,
+                                () -> dataset.aggregate(null, Measure.DURATION_MIN));
+
+                GroupStats empty = SwimSessionDataset.builder().build().aggregate(Grouping.byWeightBand(10),
+                                Measure.CALORIES_BURNED);
+                assertEquals(1, empty.getGroupCount());
+                assertEquals(0, empty.getTotalCount());
+        }
+
+        private static SwimSessionDataset randomDataset(int count, long seed) {
+                Random random = new Random(seed);
+                SwimSessionDataset.Builder builder = SwimSessionDataset.builder(16);
+                for (int i = 0; i < count; i++) {
+                        double duration = i % 7 == 0 ? random.nextInt(180) + 1 : 1 + random.nextDouble() * 179;
+                        double weight = i % 11 == 0 ? random.nextInt(120) + 30 : 30 + random.nextDouble() * 120;
+                        builder.add(STYLES[random.nextInt(STYLES.length)], duration, weight);
+                }
+                return builder.build();
+        }
+
+        private static CalorieCalculationRequest toRequest(SwimSessionDataset dataset, int row) {
+                return CalorieCalculationRequest.builder()
+                                .swimmingStyle(dataset.getSwimmingStyle(row))
+                                .durationMin(dataset.getDurationMin(row))
+                                .bodyWeightKg(dataset.getBodyWeightKg(row))
+                                .build();
+        }
+}
@@ -219,4 +219,37 @@ public class SwimmingCalorieServiceTest {
         assertEquals(16.905, exact, 0.0001);
         assertEquals(16.91, rounded, 0.01);
     }
+
+    @Test
+    @DisplayName("Test calculateAll - same values and strings as the individual methods")
+    void testCalculateAll() {
+        CalorieCalculationRequest request = CalorieCalculationRequest.builder()
+                .swimmingStyle(SwimmingStyle.BUTTERFLY)
+                .durationMin(0.75)
+                .bodyWeightKg(70.0)
+                .build();
+
+        CalorieResult result = service.calculateAll(request);
+        assertEquals(1, service.getCalculationCount());
+        assertSame(request, result.getRequest());
+        assertEquals(service.calculateCaloriesBurned(request), result.getCaloriesBurned());
+        assertEquals(service.calculateCaloriesBurnedExact(request), result.getCaloriesBurnedExact());
+        assertEquals(service.calculateCaloriesPerMinute(request), result.getCaloriesPerMinute());
+        assertEquals(service.calculateCaloriesPerMinuteExact(request), result.getCaloriesPerMinuteExact());
+
+        for (boolean european : new boolean[] { false, true }) {
+            assertEquals(service.calculateCaloriesBurnedFormatted(request, european),
+                    result.getCaloriesBurnedFormatted(european));
+            assertEquals(service.calculateCaloriesPerMinuteFormatted(request, european),
+                    result.getCaloriesPerMinuteFormatted(european));
+            assertEquals(service.calculateCaloriesBurnedDetailedFormatted(request, european),
+                    result.getCaloriesBurnedDetailedFormatted(european));
+            // Chuỗi được format một lần rồi dùng lại
+            assertSame(result.getCaloriesBurnedFormatted(european), result.getCaloriesBurnedFormatted(european));
+        }
+        assertEquals("12.68 kcal", result.getCaloriesBurnedFormatted(false));
+        assertEquals("16,91 kcal/min", result.getCaloriesPerMinuteFormatted(true));
+        assertEquals("12,68 kcal", result.getCaloriesBurnedDetailedFormatted(true));
+        assertThrows(IllegalArgumentException.class, () -> new CalorieResult(null));
+    }
 }